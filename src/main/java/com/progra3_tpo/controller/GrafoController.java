@@ -2,22 +2,44 @@ package com.progra3_tpo.controller;
 
 import com.progra3_tpo.service.PathRequest;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.SearchBudgetDefaults;
+import com.progra3_tpo.service.alphaSweepService.AlphaSweepResponse;
+import com.progra3_tpo.service.alphaSweepService.AlphaSweepService;
 import com.progra3_tpo.service.backtrackingService.BacktrackingService;
+import com.progra3_tpo.service.batchService.BatchService;
+import com.progra3_tpo.service.bfsService.BfsMode;
 import com.progra3_tpo.service.bfsService.BfsService;
 import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.dikstraService.DijkstraMode;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.ShortestPathTreeCache;
 import com.progra3_tpo.service.grafoService.GrafoService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.matrixService.MatrixRequest;
+import com.progra3_tpo.service.matrixService.MatrixResponse;
+import com.progra3_tpo.service.matrixService.MatrixService;
+import com.progra3_tpo.service.paretoService.ParetoService;
+import com.progra3_tpo.service.resultCacheService.RouteResultCache;
+import com.progra3_tpo.service.yenService.YenService;
 import com.progra3_tpo.service.primService.PrimService;
 import com.progra3_tpo.service.kruscalService.KruscalService;
 import com.progra3_tpo.service.ramificacion_podaService.Ramificacion_podaService;
 import com.progra3_tpo.service.greedy.GreedyService;
 import com.progra3_tpo.service.progradinamica.PrograDinamicaService;
 import com.progra3_tpo.service.divideyconquista.DivideyConquistaService;
+import com.progra3_tpo.validator.RequestGraphContext;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api")
 public class GrafoController {
 
+    // Métrica de la clave de caché para los algoritmos que no la usan
+    private static final String SIN_METRICA = "-";
+
     private final GrafoService grafoService;
     private final BacktrackingService backtrackingService;
     private final PrimService primService;
@@ -28,12 +50,23 @@ public class GrafoController {
     private final GreedyService greedyService;
     private final PrograDinamicaService prograDinamicaService;
     private final DivideyConquistaService divideyConquistaService;
+    private final MatrixService matrixService;
+    private final ParetoService paretoService;
+    private final AlphaSweepService alphaSweepService;
+    private final YenService yenService;
+    private final BatchService batchService;
+    private final RouteResultCache resultCache;
+    private final RequestGraphContext graphContext;
+    private final SearchBudgetDefaults presupuestos;
 
     public GrafoController(GrafoService grafoService, BacktrackingService backtrackingService,
                            PrimService primService, KruscalService kruscalService,
                            Ramificacion_podaService ramificacionPodaService, BfsService bfsService, DfsService dfsService,
                            GreedyService greedyService, PrograDinamicaService prograDinamicaService,
-                           DivideyConquistaService divideyConquistaService) {
+                           DivideyConquistaService divideyConquistaService, MatrixService matrixService,
+                           ParetoService paretoService, AlphaSweepService alphaSweepService,
+                           YenService yenService, BatchService batchService, RouteResultCache resultCache,
+                           RequestGraphContext graphContext, SearchBudgetDefaults presupuestos) {
         this.grafoService = grafoService;
         this.backtrackingService = backtrackingService;
         this.primService = primService;
@@ -44,6 +77,14 @@ public class GrafoController {
         this.greedyService = greedyService;
         this.prograDinamicaService = prograDinamicaService;
         this.divideyConquistaService = divideyConquistaService;
+        this.matrixService = matrixService;
+        this.paretoService = paretoService;
+        this.alphaSweepService = alphaSweepService;
+        this.yenService = yenService;
+        this.batchService = batchService;
+        this.resultCache = resultCache;
+        this.graphContext = graphContext;
+        this.presupuestos = presupuestos;
     }
 // alpha permite combinar dos criterios (distancia y costo) en una sola métrica ponderada para el algoritmo de búsqueda.
 // alpha es el peso de la distancia en la métrica compuesta; (1 - alpha) es el peso del costo./
@@ -54,26 +95,126 @@ public class GrafoController {
     Usá un valor entre 0 y 1 para controlar la importancia relativa de la distancia frente al costo.*/
 //Alpha es el parámetro que balancea distancia vs costo cuando se usa la métrica "weighted"
 
+    // heap elige la cola de prioridad de Dijkstra: "dary" (por defecto, heap indexado con decrease-key)
+    // o "pq" (PriorityQueue con borrado perezoso). arity es la cantidad de hijos del heap d-ario (4 por defecto).
+    // "radix" corre sobre pesos enteros en centésimos con una cola de baldes (totales exactos a dos decimales).
+    // mode elige la búsqueda: "unidirectional" (por defecto), "bidirectional" (desde origen y destino a la vez),
+    // "alt" (A* con landmarks) o "ch" (jerarquías de contracción; "weighted" sólo con los alpha de routing.ch.alphas).
+    // settledNodes en la respuesta dice cuántos nodos asentó la búsqueda.
     @PostMapping("/dijkstra")
     public PathResponse computePath(
             @RequestBody PathRequest req,
             @RequestParam(required = false, defaultValue = "distance") String metric,
+            @RequestParam(required = false) Double alpha,
+            @RequestParam(required = false) String heap,
+            @RequestParam(required = false) Integer arity,
+            @RequestParam(required = false) String mode
+    ) {
+        double alphaVal = (alpha == null) ? 0.5 : alpha;
+        String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
+        // heap, arity y mode no cambian el óptimo pero sí settledNodes: van en la clave
+        String algoritmo = "dijkstra:" + DijkstraMode.of(mode) + ":" + heap + ":" + arity;
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), algoritmo, req.getFrom(), req.getTo(), metricVal, alphaVal,
+                () -> conVersion(g, grafoService.computeWithDijkstra(g, req.getFrom(), req.getTo(), metricVal, alphaVal,
+                        DijkstraQueue.of(heap, arity), DijkstraMode.of(mode))));
+    }
+
+    // Aciertos, fallos y desalojos de la caché de árboles de caminos mínimos de /dijkstra
+    @GetMapping("/dijkstra/cache")
+    public ShortestPathTreeCache.Stats dijkstraCacheStats() {
+        return grafoService.dijkstraCacheStats();
+    }
+
+    // Aciertos, fallos, desalojos y memoria de la caché de respuestas de los endpoints de recorrido
+    @GetMapping("/cache/results")
+    public RouteResultCache.Stats resultCacheStats() {
+        return resultCache.stats();
+    }
+
+    // Matriz origen × destino de distancia y costo totales (un Dijkstra uno-a-muchos por origen).
+    // metric y alpha pueden venir en el body o como parámetros; el body tiene prioridad.
+    @PostMapping("/matrix")
+    public MatrixResponse computeMatrix(
+            @RequestBody MatrixRequest req,
+            @RequestParam(required = false, defaultValue = "distance") String metric,
+            @RequestParam(required = false) Double alpha
+    ) {
+        if (req.getMetric() == null || req.getMetric().isBlank()) req.setMetric(metric);
+        if (req.getAlpha() == null) req.setAlpha(alpha);
+        return matrixService.compute(req);
+    }
+
+    // Frente de Pareto en (distancia, costo): todos los caminos no dominados, de menor a mayor costo.
+    // maxLabels acota las etiquetas por nodo (por defecto, routing.pareto.max-labels).
+    @PostMapping("/pareto")
+    public List<PathResponse> computeParetoFront(
+            @RequestBody PathRequest req,
+            @RequestParam(required = false) Integer maxLabels
+    ) {
+        GraphSnapshot g = graphContext.snapshot();
+        List<PathResponse> frente = paretoService.computeParetoFront(g, req.getFrom(), req.getTo(), maxLabels);
+        frente.forEach(r -> conVersion(g, r));
+        return frente;
+    }
+
+    // Todos los quiebres de alpha de "weighted": intervalos contiguos de [0, 1] con el camino óptimo de cada uno
+    @PostMapping("/alpha-sweep")
+    public AlphaSweepResponse computeAlphaSweep(@RequestBody PathRequest req) {
+        GraphSnapshot g = graphContext.snapshot();
+        AlphaSweepResponse resp = alphaSweepService.sweep(g, req.getFrom(), req.getTo());
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    // Los k caminos simples más cortos según la métrica (Yen), del mejor al k-ésimo
+    @PostMapping("/k-shortest")
+    public List<PathResponse> computeKShortest(
+            @RequestBody PathRequest req,
+            @RequestParam(required = false, defaultValue = "3") int k,
+            @RequestParam(required = false, defaultValue = "distance") String metric,
             @RequestParam(required = false) Double alpha
     ) {
         double alphaVal = (alpha == null) ? 0.5 : alpha;
         String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
-        return grafoService.computeWithDijkstra(req.getFrom(), req.getTo(), metricVal, alphaVal);
+        GraphSnapshot g = graphContext.snapshot();
+        List<PathResponse> caminos = yenService.computeKShortest(g, req.getFrom(), req.getTo(), k, metricVal, alphaVal);
+        caminos.forEach(r -> conVersion(g, r));
+        return caminos;
+    }
+
+    // Lote de pedidos para un mismo algoritmo (mismos nombres que los endpoints individuales), todos contra
+    // una sola foto del grafo. Cada ítem puede traer su metric y alpha; si no, se usan los de la URL.
+    // Las respuestas vuelven en el mismo orden; un ítem inválido o que falla trae su mensaje de error.
+    @PostMapping("/batch/{algorithm}")
+    public List<PathResponse> computeBatch(
+            @PathVariable String algorithm,
+            @RequestBody List<PathRequest> reqs,
+            @RequestParam(required = false, defaultValue = "distance") String metric,
+            @RequestParam(required = false) Double alpha
+    ) {
+        return batchService.compute(algorithm, reqs, metric, alpha);
     }
 
+    // Búsquedas exhaustivas (/backtracking, /ramificacion_poda, /dfs, /divideyconquista): maxExpansions y timeoutMs
+    // limitan los nodos expandidos y el tiempo (0 = sin límite; si no vienen, los de routing.exhaustive.*).
+    // Si se agotan, la respuesta trae el mejor recorrido encontrado hasta ahí con provenOptimal = false;
+    // exploredNodes dice cuántos nodos expandió. Las respuestas cortadas no se guardan en la caché.
     @PostMapping("/backtracking")
     public PathResponse computePathBacktracking(
             @RequestBody PathRequest req,
             @RequestParam(required = false, defaultValue = "distance") String metric,
-            @RequestParam(required = false) Double alpha
+            @RequestParam(required = false) Double alpha,
+            @RequestParam(required = false) Long maxExpansions,
+            @RequestParam(required = false) Long timeoutMs
     ) {
         double alphaVal = (alpha == null) ? 0.5 : alpha;
         String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
-        return backtrackingService.computeOptimalPath(req.getFrom(), req.getTo(), metricVal, alphaVal);
+        GraphSnapshot g = graphContext.snapshot();
+        SearchBudget presupuesto = presupuestos.forRequest(maxExpansions, timeoutMs);
+        return resultCache.get(g.getVersion(), "backtracking", req.getFrom(), req.getTo(), metricVal, alphaVal, presupuesto,
+                () -> conVersion(g, backtrackingService.computeOptimalPath(g, req.getFrom(), req.getTo(), metricVal, alphaVal,
+                        presupuesto)));
     }
 
     @PostMapping("/prim")
@@ -84,7 +225,9 @@ public class GrafoController {
     ) {
         double alphaVal = (alpha == null) ? 0.5 : alpha;
         String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
-        return primService.computeOptimalPath(req.getFrom(), req.getTo(), metricVal, alphaVal);
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), "prim", req.getFrom(), req.getTo(), metricVal, alphaVal,
+                () -> conVersion(g, primService.computeOptimalPath(g, req.getFrom(), req.getTo(), metricVal, alphaVal)));
     }
 
     @PostMapping("/kruscal")
@@ -95,44 +238,89 @@ public class GrafoController {
     ) {
         double alphaVal = (alpha == null) ? 0.5 : alpha;
         String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
-        return kruscalService.computeOptimalPath(req.getFrom(), req.getTo(), metricVal, alphaVal);
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), "kruscal", req.getFrom(), req.getTo(), metricVal, alphaVal,
+                () -> conVersion(g, kruscalService.computeOptimalPath(g, req.getFrom(), req.getTo(), metricVal, alphaVal)));
     }
 
     @PostMapping("/ramificacion_poda")
     public PathResponse computePathRamificacionPoda(
             @RequestBody PathRequest req,
             @RequestParam(required = false, defaultValue = "distance") String metric,
-            @RequestParam(required = false) Double alpha
+            @RequestParam(required = false) Double alpha,
+            @RequestParam(required = false) Long maxExpansions,
+            @RequestParam(required = false) Long timeoutMs
     ) {
         double alphaVal = (alpha == null) ? 0.5 : alpha;
         String metricVal = (metric == null || metric.isBlank()) ? "distance" : metric;
-        return ramificacionPodaService.computeOptimalPath(req.getFrom(), req.getTo(), metricVal, alphaVal);
+        GraphSnapshot g = graphContext.snapshot();
+        SearchBudget presupuesto = presupuestos.forRequest(maxExpansions, timeoutMs);
+        return resultCache.get(g.getVersion(), "ramificacion_poda", req.getFrom(), req.getTo(), metricVal, alphaVal, presupuesto,
+                () -> conVersion(g, ramificacionPodaService.computeOptimalPath(g, req.getFrom(), req.getTo(), metricVal, alphaVal,
+                        presupuesto)));
     }
 
+    // Camino con menos saltos. mode: "bidirectional" (por defecto, BFS desde origen y destino a la vez) o
+    // "direction-optimizing" (un BFS que alterna top-down y bottom-up). maxHops descarta caminos más largos
+    // y corta la búsqueda apenas ya no puede encontrar uno dentro del límite.
     @PostMapping("/bfs")
-    public PathResponse computePathBfs(@RequestBody PathRequest req) {
-        return bfsService.computeBfsShortestHops(req.getFrom(), req.getTo());
+    public PathResponse computePathBfs(
+            @RequestBody PathRequest req,
+            @RequestParam(required = false) Integer maxHops,
+            @RequestParam(required = false) String mode
+    ) {
+        BfsMode modo = BfsMode.of(mode);
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), "bfs:" + modo + ":" + maxHops, req.getFrom(), req.getTo(), SIN_METRICA, 0,
+                () -> conVersion(g, bfsService.computeBfsShortestHops(g, req.getFrom(), req.getTo(), maxHops, modo)));
     }
 
     @PostMapping("/dfs")
-    public PathResponse computePathDfs(@RequestBody PathRequest req) {
-        return dfsService.computeDfsPure(req.getFrom(), req.getTo());
+    public PathResponse computePathDfs(
+            @RequestBody PathRequest req,
+            @RequestParam(required = false) Long maxExpansions,
+            @RequestParam(required = false) Long timeoutMs
+    ) {
+        GraphSnapshot g = graphContext.snapshot();
+        SearchBudget presupuesto = presupuestos.forRequest(maxExpansions, timeoutMs);
+        return resultCache.get(g.getVersion(), "dfs", req.getFrom(), req.getTo(), SIN_METRICA, 0, presupuesto,
+                () -> conVersion(g, dfsService.computeDfsPure(g, req.getFrom(), req.getTo(), presupuesto)));
     }
 
 
 
     @PostMapping("/greedy")
     public PathResponse computeGreedy(@RequestBody PathRequest request) {
-        return greedyService.compute(request.getFrom(), request.getTo());
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), "greedy", request.getFrom(), request.getTo(), SIN_METRICA, 0,
+                () -> conVersion(g, greedyService.compute(g, request.getFrom(), request.getTo())));
     }
 
+    // Divide y conquista sobre la descomposición del grafo por separadores (tablas borde a borde por celda).
+    // maxExpansions y timeoutMs acotan la búsqueda exhaustiva de caminos, que se usa si el grafo tiene pesos negativos
+    // o si la descomposición de la foto todavía se está armando.
     @PostMapping("/divideyconquista")
-    public PathResponse computeDivideYConquista(@RequestBody PathRequest req) {
-        return divideyConquistaService.compute(req.getFrom(), req.getTo());
+    public PathResponse computeDivideYConquista(
+            @RequestBody PathRequest req,
+            @RequestParam(required = false) Long maxExpansions,
+            @RequestParam(required = false) Long timeoutMs
+    ) {
+        GraphSnapshot g = graphContext.snapshot();
+        SearchBudget presupuesto = presupuestos.forRequest(maxExpansions, timeoutMs);
+        return resultCache.get(g.getVersion(), "divideyconquista", req.getFrom(), req.getTo(), SIN_METRICA, 0, presupuesto,
+                () -> conVersion(g, divideyConquistaService.compute(g, req.getFrom(), req.getTo(), presupuesto)));
     }
 
     @PostMapping("/programaciondinamica")
     public PathResponse computePathProgramacionDinamica(@RequestBody PathRequest req) {
-        return prograDinamicaService.compute(req.getFrom(), req.getTo());
+        GraphSnapshot g = graphContext.snapshot();
+        return resultCache.get(g.getVersion(), "programaciondinamica", req.getFrom(), req.getTo(), SIN_METRICA, 0,
+                () -> conVersion(g, prograDinamicaService.compute(g, req.getFrom(), req.getTo())));
+    }
+
+    // Marca la respuesta con la versión de la foto del pedido sobre la que se calculó
+    private static PathResponse conVersion(GraphSnapshot g, PathResponse r) {
+        r.setGraphVersion(g.getVersion());
+        return r;
     }
 }
@@ -8,6 +8,10 @@ public class PathResponse {
     private List<String> aristasARecorrer;        // antes 'routes'
     private double totalDistance;
     private double totalCost;
+    private Long graphVersion;                    // versión del grafo sobre la que se calculó (null si no aplica)
+    private Integer settledNodes;                 // nodos que la búsqueda sacó de la cola (null si no aplica)
+    private Long exploredNodes;                   // nodos que expandió una búsqueda exhaustiva (null si no aplica)
+    private Boolean provenOptimal;                // false si la búsqueda cortó por presupuesto (null si no aplica)
 
     public PathResponse() {}
 
@@ -40,4 +44,16 @@ public class PathResponse {
 
     public double getTotalCost() { return totalCost; }
     public void setTotalCost(double totalCost) { this.totalCost = totalCost; }
+
+    public Long getGraphVersion() { return graphVersion; }
+    public void setGraphVersion(Long graphVersion) { this.graphVersion = graphVersion; }
+
+    public Integer getSettledNodes() { return settledNodes; }
+    public void setSettledNodes(Integer settledNodes) { this.settledNodes = settledNodes; }
+
+    public Long getExploredNodes() { return exploredNodes; }
+    public void setExploredNodes(Long exploredNodes) { this.exploredNodes = exploredNodes; }
+
+    public Boolean getProvenOptimal() { return provenOptimal; }
+    public void setProvenOptimal(Boolean provenOptimal) { this.provenOptimal = provenOptimal; }
 }
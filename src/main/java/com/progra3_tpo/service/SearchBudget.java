@@ -0,0 +1,95 @@
+package com.progra3_tpo.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SearchBudget
+ * -------------------------------------------------------------
+ * Presupuesto de una consulta a un algoritmo exhaustivo (backtracking, DFS, divide y conquista, ramificación y
+ * poda): a lo sumo maxExpansions nodos expandidos y/o un tiempo límite que empieza a correr al crearlo.
+ *   - La búsqueda va descontando lo que expande con spend() (en lotes, para no mirar el reloj a cada paso);
+ *     cuando el presupuesto se agota, spend() devuelve false y la búsqueda corta devolviendo lo mejor que tenga.
+ *   - Cuenta los nodos explorados aunque no tenga límites, para informarlos en la respuesta.
+ *   - Es thread-safe: varias ramas en paralelo pueden descontar del mismo presupuesto.
+ * Un presupuesto es de una sola consulta (el reloj y el contador no se reinician).
+ */
+public final class SearchBudget {
+
+    private final long maxExpansions;   // Long.MAX_VALUE = sin límite
+    private final long deadlineNanos;   // momento límite según System.nanoTime()
+    private final boolean conDeadline;
+    private final AtomicLong explorados = new AtomicLong();
+    private volatile boolean agotado;
+
+    // Tiempo límite más largo que se puede pasar a nanosegundos sin desbordar; más que eso es "sin límite"
+    // (el vencimiento se compara por diferencia con System.nanoTime(), así que el origen del reloj no importa)
+    private static final long MAX_TIMEOUT_MILLIS = Long.MAX_VALUE / 1_000_000L;
+
+    private SearchBudget(long maxExpansions, long timeoutMillis) {
+        this.maxExpansions = (maxExpansions > 0) ? maxExpansions : Long.MAX_VALUE;
+        this.conDeadline = timeoutMillis > 0 && timeoutMillis <= MAX_TIMEOUT_MILLIS;
+        this.deadlineNanos = conDeadline ? System.nanoTime() + timeoutMillis * 1_000_000L : 0;
+    }
+
+    // maxExpansions y timeoutMillis <= 0 = sin ese límite (un timeoutMillis que no entra en nanosegundos, también)
+    public static SearchBudget of(long maxExpansions, long timeoutMillis) {
+        return new SearchBudget(maxExpansions, timeoutMillis);
+    }
+
+    // Sin límites: la búsqueda siempre termina y sólo se cuentan los nodos explorados
+    public static SearchBudget unlimited() {
+        return new SearchBudget(0, 0);
+    }
+
+    /**
+     * spend
+     * -----
+     * ENTRA: cantidad de nodos expandidos desde la última llamada.
+     * HACE: los suma al total y mira si se pasó del máximo de expansiones o del tiempo límite.
+     * SALE: true si todavía queda presupuesto; false si se agotó (ahora o antes, en este u otro hilo).
+     */
+    public boolean spend(long nodos) {
+        long total = explorados.addAndGet(nodos);
+        if (agotado) return false;
+        if (total > maxExpansions || (conDeadline && System.nanoTime() - deadlineNanos >= 0)) {
+            agotado = true;
+            return false;
+        }
+        return true;
+    }
+
+    // Suma nodos sin mirar los límites: lo que quedó del último lote de una búsqueda que ya terminó
+    public void record(long nodos) {
+        explorados.addAndGet(nodos);
+    }
+
+    // true si la búsqueda tuvo que cortar antes de terminar
+    public boolean exhausted() { return agotado; }
+
+    public long explored() { return explorados.get(); }
+
+    // true si no tiene ni máximo de expansiones ni tiempo límite
+    public boolean isUnlimited() { return maxExpansions == Long.MAX_VALUE && !conDeadline; }
+
+    // Milisegundos que quedan hasta el tiempo límite, redondeado para arriba (0 si ya pasó);
+    // Long.MAX_VALUE si no tiene tiempo límite
+    public long remainingMillis() {
+        if (!conDeadline) return Long.MAX_VALUE;
+        long resto = deadlineNanos - System.nanoTime();
+        if (resto <= 0) return 0;
+        return resto / 1_000_000L + ((resto % 1_000_000L != 0) ? 1 : 0);
+    }
+
+    /**
+     * report
+     * ------
+     * ENTRA: la respuesta de la búsqueda que usó este presupuesto.
+     * HACE: le agrega los nodos explorados y si el recorrido está probado óptimo (la búsqueda terminó).
+     * SALE: la misma respuesta.
+     */
+    public PathResponse report(PathResponse r) {
+        r.setExploredNodes(explored());
+        r.setProvenOptimal(!agotado);
+        return r;
+    }
+}
@@ -0,0 +1,30 @@
+package com.progra3_tpo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * SearchBudgetDefaults
+ * -------------------------------------------------------------
+ * Presupuesto por defecto de los endpoints exhaustivos (/backtracking, /dfs, /divideyconquista,
+ * /ramificacion_poda): así una consulta sobre un grafo grande no deja tomado un hilo de Tomcat por minutos.
+ * Cada pedido puede pedir otros límites con maxExpansions y timeoutMs (0 = sin ese límite).
+ */
+@Component
+public class SearchBudgetDefaults {
+
+    private final long maxExpansions;
+    private final long timeoutMillis;
+
+    public SearchBudgetDefaults(@Value("${routing.exhaustive.max-expansions:0}") long maxExpansions,
+                                @Value("${routing.exhaustive.timeout-ms:10000}") long timeoutMillis) {
+        this.maxExpansions = maxExpansions;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Presupuesto nuevo para un pedido: los límites que trae y, los que no, los configurados (el reloj arranca ya)
+    public SearchBudget forRequest(Long maxExpansions, Long timeoutMs) {
+        return SearchBudget.of(maxExpansions != null ? maxExpansions : this.maxExpansions,
+                timeoutMs != null ? timeoutMs : this.timeoutMillis);
+    }
+}
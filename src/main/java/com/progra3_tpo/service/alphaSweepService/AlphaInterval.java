@@ -0,0 +1,26 @@
+package com.progra3_tpo.service.alphaSweepService;
+
+import com.progra3_tpo.service.PathResponse;
+
+public class AlphaInterval {
+    private double alphaFrom;   // extremo inferior del intervalo de alpha
+    private double alphaTo;     // extremo superior del intervalo de alpha
+    private PathResponse path;  // camino óptimo de "weighted" para todo alpha en [alphaFrom, alphaTo]
+
+    public AlphaInterval() {}
+
+    public AlphaInterval(double alphaFrom, double alphaTo, PathResponse path) {
+        this.alphaFrom = alphaFrom;
+        this.alphaTo = alphaTo;
+        this.path = path;
+    }
+
+    public double getAlphaFrom() { return alphaFrom; }
+    public void setAlphaFrom(double alphaFrom) { this.alphaFrom = alphaFrom; }
+
+    public double getAlphaTo() { return alphaTo; }
+    public void setAlphaTo(double alphaTo) { this.alphaTo = alphaTo; }
+
+    public PathResponse getPath() { return path; }
+    public void setPath(PathResponse path) { this.path = path; }
+}
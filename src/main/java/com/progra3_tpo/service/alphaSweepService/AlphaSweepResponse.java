@@ -0,0 +1,34 @@
+package com.progra3_tpo.service.alphaSweepService;
+
+import java.util.List;
+
+public class AlphaSweepResponse {
+    private String message;
+    private List<AlphaInterval> intervals;  // intervalos contiguos que cubren [0, 1], de menor a mayor alpha
+    private List<Double> breakpoints;       // valores de alpha donde cambia el camino óptimo
+    private Long graphVersion;
+    private Integer dijkstraRuns;           // búsquedas que hizo falta correr
+
+    public AlphaSweepResponse() {}
+
+    public AlphaSweepResponse(String message, List<AlphaInterval> intervals, List<Double> breakpoints) {
+        this.message = message;
+        this.intervals = intervals;
+        this.breakpoints = breakpoints;
+    }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public List<AlphaInterval> getIntervals() { return intervals; }
+    public void setIntervals(List<AlphaInterval> intervals) { this.intervals = intervals; }
+
+    public List<Double> getBreakpoints() { return breakpoints; }
+    public void setBreakpoints(List<Double> breakpoints) { this.breakpoints = breakpoints; }
+
+    public Long getGraphVersion() { return graphVersion; }
+    public void setGraphVersion(Long graphVersion) { this.graphVersion = graphVersion; }
+
+    public Integer getDijkstraRuns() { return dijkstraRuns; }
+    public void setDijkstraRuns(Integer dijkstraRuns) { this.dijkstraRuns = dijkstraRuns; }
+}
@@ -0,0 +1,148 @@
+package com.progra3_tpo.service.alphaSweepService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.dikstraService.ShortestPathTree;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AlphaSweepService
+ * -------------------------------------------------------------
+ * POST /api/alpha-sweep: el camino óptimo de "weighted" para TODOS los alpha en [0, 1] en una llamada.
+ * El peso de un camino es alpha · d + (1 - alpha) · c, lineal en alpha, así que el óptimo es una función
+ * a trozos: cambia sólo en un conjunto finito de alphas (los quiebres) y entre dos quiebres es el mismo.
+ * Los caminos que aparecen son los vértices de la envolvente convexa inferior de los puntos (d, c).
+ * Bisección recursiva sobre esa envolvente:
+ *   - A = óptimo con alpha = 0 (mínimo costo), B = óptimo con alpha = 1 (mínima distancia).
+ *   - Para dos vértices A y B se calcula el alpha en que empatan y se corre Dijkstra ahí. Si aparece un
+ *     camino C estrictamente mejor que ambos, C es otro vértice y se repite con (A, C) y (C, B);
+ *     si no, A y B son vecinos en la envolvente y ese alpha es un quiebre.
+ * Con k caminos distintos en la respuesta se corren 2k - 1 búsquedas como mucho.
+ */
+@Service
+public class AlphaSweepService {
+
+    // Tolerancia relativa para decidir si un camino mejora el empate (evita quiebres fantasma por redondeo)
+    private static final double EPS = 1e-9;
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final DijkstraService dijkstraService;
+
+    public AlphaSweepService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.dijkstraService = dijkstraService;
+    }
+
+    // Vértice de la envolvente: el camino y sus totales
+    private static final class Punto {
+        final PathResponse path;
+        final double distance;
+        final double cost;
+
+        Punto(PathResponse path) {
+            this.path = path;
+            this.distance = path.getTotalDistance();
+            this.cost = path.getTotalCost();
+        }
+
+        double peso(double alpha) {
+            return alpha * distance + (1 - alpha) * cost;
+        }
+
+        boolean mismosTotales(Punto o) {
+            return distance == o.distance && cost == o.cost;
+        }
+    }
+
+    public AlphaSweepResponse sweep(String from, String to) {
+        GraphSnapshot g = graphSnapshotService.current();
+        AlphaSweepResponse resp = sweep(g, from, to);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    /**
+     * sweep
+     * -----
+     * ENTRA: foto del grafo y nombres de origen y destino.
+     * HACE: bisección recursiva sobre la envolvente convexa inferior de (distancia, costo), con una búsqueda
+     *       Dijkstra punto a punto (uno-a-muchos con un solo destino, sin pasar por la caché de árboles) por alpha probado.
+     * SALE: intervalos contiguos de alpha que cubren [0, 1], cada uno con su camino óptimo, y la lista de quiebres.
+     * COMPLEJIDAD: O(k · (V + E) log V) con k caminos distintos en la respuesta.
+     */
+    public AlphaSweepResponse sweep(GraphSnapshot g, String from, String to) {
+        int s = g.indexOf(from);
+        int t = g.indexOf(to);
+        if (s < 0 || t < 0)
+            return new AlphaSweepResponse("Inicio o destino no encontrado", List.of(), List.of());
+
+        int[] corridas = {0};
+        Punto a = resolver(g, s, t, 0.0, corridas);
+        if (a == null)
+            return error("No existe un camino entre los nodos.", corridas[0]);
+        Punto b = resolver(g, s, t, 1.0, corridas);
+
+        // Vértices de la envolvente en orden de alpha creciente (de menor costo a menor distancia)
+        List<Punto> envolvente = new ArrayList<>();
+        envolvente.add(a);
+        bisectar(g, s, t, a, b, envolvente, corridas);
+        if (!b.mismosTotales(a)) envolvente.add(b);
+
+        // Quiebre entre vértices vecinos: el alpha en que empatan
+        List<AlphaInterval> intervalos = new ArrayList<>();
+        List<Double> quiebres = new ArrayList<>();
+        double desde = 0.0;
+        for (int i = 0; i < envolvente.size(); i++) {
+            double hasta = (i + 1 < envolvente.size()) ? empate(envolvente.get(i), envolvente.get(i + 1)) : 1.0;
+            if (hasta <= desde) continue; // vértice que sólo es óptimo en un alpha puntual: lo cubren sus vecinos
+            if (!intervalos.isEmpty()) quiebres.add(desde);
+            intervalos.add(new AlphaInterval(desde, hasta, envolvente.get(i).path));
+            desde = hasta;
+        }
+
+        AlphaSweepResponse resp = new AlphaSweepResponse("Barrido de alpha calculado exitosamente.", intervalos, quiebres);
+        resp.setDijkstraRuns(corridas[0]);
+        return resp;
+    }
+
+    // Agrega en orden los vértices de la envolvente estrictamente entre A y B
+    private void bisectar(GraphSnapshot g, int s, int t, Punto a, Punto b, List<Punto> envolvente, int[] corridas) {
+        if (a.mismosTotales(b)) return;
+        double alpha = empate(a, b);
+        if (alpha <= 0.0 || alpha >= 1.0) return;
+
+        Punto c = resolver(g, s, t, alpha, corridas);
+        double enEmpate = a.peso(alpha);
+        if (c.peso(alpha) >= enEmpate - EPS * Math.max(1.0, Math.abs(enEmpate))) return; // A y B son vecinos
+
+        bisectar(g, s, t, a, c, envolvente, corridas);
+        envolvente.add(c);
+        bisectar(g, s, t, c, b, envolvente, corridas);
+    }
+
+    // alpha donde A (óptimo con alpha menor: menos costo) y B (más a la derecha: menos distancia) pesan lo mismo
+    private static double empate(Punto a, Punto b) {
+        double denominador = (a.distance - b.distance) + (b.cost - a.cost);
+        if (denominador <= 0) return 1.0;
+        return Math.max(0.0, Math.min(1.0, (b.cost - a.cost) / denominador));
+    }
+
+    // Óptimo de "weighted" con ese alpha, o null si el destino no es alcanzable
+    private Punto resolver(GraphSnapshot g, int s, int t, double alpha, int[] corridas) {
+        corridas[0]++;
+        ShortestPathTree arbol = dijkstraService.oneToMany(g, s, new int[]{t}, MetricWeight.of("weighted", alpha));
+        return arbol.reaches(t) ? new Punto(arbol.toPathResponse(t)) : null;
+    }
+
+    private static AlphaSweepResponse error(String mensaje, int corridas) {
+        AlphaSweepResponse resp = new AlphaSweepResponse(mensaje, List.of(), List.of());
+        resp.setDijkstraRuns(corridas);
+        return resp;
+    }
+}
@@ -0,0 +1,152 @@
+package com.progra3_tpo.service.altService;
+
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LandmarkIndex
+ * -------------------------------------------------------------
+ * Preprocesamiento ALT (A*, Landmarks, desigualdad triangular) de una versión del grafo.
+ * Para cada landmark L guarda, por distancia y por costo:
+ *   - from[L][v] = d(L, v)   (Dijkstra hacia adelante desde L)
+ *   - to[L][v]   = d(v, L)   (Dijkstra sobre las rutas entrantes hacia L)
+ * Con eso, para cualquier v y destino t:
+ *   d(v, t) >= d(L, t) - d(L, v)   y   d(v, t) >= d(v, L) - d(t, L)
+ * La cota de "weighted" es alpha · cotaDistancia + (1 - alpha) · cotaCosto: el camino óptimo
+ * ponderado nunca tiene menos distancia ni menos costo que los óptimos de cada métrica.
+ * LocationDto no tiene coordenadas, así que estas cotas salen sólo del grafo.
+ */
+public final class LandmarkIndex {
+
+    private final long version;
+    private final int[] landmarks;
+    private final double[][] fromDist;
+    private final double[][] toDist;
+    private final double[][] fromCost;
+    private final double[][] toCost;
+
+    private LandmarkIndex(long version, int[] landmarks, double[][] fromDist, double[][] toDist,
+                          double[][] fromCost, double[][] toCost) {
+        this.version = version;
+        this.landmarks = landmarks;
+        this.fromDist = fromDist;
+        this.toDist = toDist;
+        this.fromCost = fromCost;
+        this.toCost = toCost;
+    }
+
+    /**
+     * build
+     * -----
+     * ENTRA: snapshot, cantidad de landmarks deseada y el servicio de Dijkstra.
+     * HACE: toma primero los nodos DEPOSITO y completa con selección del punto más lejano
+     *       (el nodo peor cubierto por los landmarks ya elegidos, medido en distancia).
+     *       Después corre Dijkstra hacia adelante y hacia atrás desde cada landmark, por métrica.
+     * SALE: índice inmutable atado a la versión del snapshot.
+     * COMPLEJIDAD: O(K · (V + E) log V).
+     */
+    public static LandmarkIndex build(GraphSnapshot g, int k, DijkstraService dijkstra) {
+        int n = g.nodeCount();
+        int cantidad = Math.max(0, Math.min(k, n));
+        MetricWeight distancia = MetricWeight.of("distance", 1.0);
+        MetricWeight costo = MetricWeight.of("cost", 0.0);
+
+        List<Integer> elegidos = new ArrayList<>(cantidad);
+        List<double[]> desde = new ArrayList<>(cantidad);
+        List<double[]> hacia = new ArrayList<>(cantidad);
+        boolean[] esLandmark = new boolean[n];
+
+        // 1. Los depósitos son los orígenes más consultados: van primero
+        for (int v = 0; v < n && elegidos.size() < cantidad; v++) {
+            if ("DEPOSITO".equalsIgnoreCase(g.tipoOf(v))) {
+                agregar(g, v, dijkstra, distancia, elegidos, desde, hacia, esLandmark);
+            }
+        }
+
+        // 2. Punto más lejano: cobertura[v] = min sobre L de min(d(L, v), d(v, L))
+        double[] cobertura = new double[n];
+        Arrays.fill(cobertura, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < elegidos.size(); i++) cubrir(cobertura, desde.get(i), hacia.get(i));
+
+        while (elegidos.size() < cantidad) {
+            int mejor = -1;
+            for (int v = 0; v < n; v++) {
+                if (esLandmark[v]) continue;
+                if (mejor < 0 || cobertura[v] > cobertura[mejor]) mejor = v;
+            }
+            if (mejor < 0) break;
+            agregar(g, mejor, dijkstra, distancia, elegidos, desde, hacia, esLandmark);
+            cubrir(cobertura, desde.get(desde.size() - 1), hacia.get(hacia.size() - 1));
+        }
+
+        // 3. Tablas por costo para los mismos landmarks
+        int[] ids = elegidos.stream().mapToInt(Integer::intValue).toArray();
+        double[][] fromCost = new double[ids.length][];
+        double[][] toCost = new double[ids.length][];
+        for (int i = 0; i < ids.length; i++) {
+            fromCost[i] = dijkstra.distancesFrom(g, ids[i], costo, false);
+            toCost[i] = dijkstra.distancesFrom(g, ids[i], costo, true);
+        }
+
+        return new LandmarkIndex(g.getVersion(), ids,
+                desde.toArray(new double[0][]), hacia.toArray(new double[0][]), fromCost, toCost);
+    }
+
+    private static void agregar(GraphSnapshot g, int v, DijkstraService dijkstra, MetricWeight distancia,
+                                List<Integer> elegidos, List<double[]> desde, List<double[]> hacia,
+                                boolean[] esLandmark) {
+        elegidos.add(v);
+        esLandmark[v] = true;
+        desde.add(dijkstra.distancesFrom(g, v, distancia, false));
+        hacia.add(dijkstra.distancesFrom(g, v, distancia, true));
+    }
+
+    private static void cubrir(double[] cobertura, double[] desde, double[] hacia) {
+        for (int v = 0; v < cobertura.length; v++) {
+            cobertura[v] = Math.min(cobertura[v], Math.min(desde[v], hacia[v]));
+        }
+    }
+
+    /**
+     * lowerBound
+     * ----------
+     * ENTRA: nodo v, destino t y los factores de distancia y costo de la métrica (1/0, 0/1 o alpha/1-alpha).
+     * HACE: combina las cotas de la desigualdad triangular de todos los landmarks.
+     * SALE: cota inferior admisible de d(v, t); infinito si algún landmark prueba que t no es alcanzable desde v.
+     * COMPLEJIDAD: O(K).
+     */
+    public double lowerBound(int v, int t, double factorDistancia, double factorCosto) {
+        double h = 0;
+        if (factorDistancia > 0) h += factorDistancia * cota(fromDist, toDist, v, t);
+        if (factorCosto > 0) h += factorCosto * cota(fromCost, toCost, v, t);
+        return h;
+    }
+
+    private static double cota(double[][] from, double[][] to, int v, int t) {
+        double mejor = 0;
+        for (int i = 0; i < from.length; i++) {
+            double lv = from[i][v];
+            double lt = from[i][t];
+            if (lv != Double.POSITIVE_INFINITY) {
+                if (lt == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY; // L llega a v pero no a t
+                mejor = Math.max(mejor, lt - lv);
+            }
+            double vl = to[i][v];
+            double tl = to[i][t];
+            if (tl != Double.POSITIVE_INFINITY) {
+                if (vl == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY; // t llega a L pero v no
+                mejor = Math.max(mejor, vl - tl);
+            }
+        }
+        return mejor;
+    }
+
+    public long getVersion() { return version; }
+
+    public int[] getLandmarks() { return landmarks; }
+}
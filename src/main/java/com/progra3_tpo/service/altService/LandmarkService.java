@@ -0,0 +1,152 @@
+package com.progra3_tpo.service.altService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.IndexedDaryHeap;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotPublishedEvent;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LandmarkService
+ * -------------------------------------------------------------
+ * Modo "alt" de /api/dijkstra: A* guiado por las cotas de landmarks de LandmarkIndex.
+ * El índice se arma en segundo plano (un hilo propio) cada vez que se publica una foto nueva
+ * del grafo; mientras no esté listo para la versión de la consulta, se responde con el
+ * Dijkstra común, así nunca se usan cotas de una versión vieja (que podrían no ser admisibles).
+ */
+@Service
+public class LandmarkService {
+
+    private static final ThreadLocal<IndexedDaryHeap> HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final DijkstraService dijkstraService;
+    private final int landmarks;
+    private final AtomicReference<LandmarkIndex> indice = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "alt-landmarks");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LandmarkService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                           @Value("${routing.alt.landmarks:8}") int landmarks) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.dijkstraService = dijkstraService;
+        this.landmarks = landmarks;
+    }
+
+    // Cada foto nueva dispara el preprocesamiento en segundo plano
+    @EventListener
+    public void onSnapshotPublished(GraphSnapshotPublishedEvent event) {
+        executor.execute(this::rebuild);
+    }
+
+    // Arma el índice para la foto vigente; si llegaron varias fotos seguidas, sólo se procesa la última
+    private void rebuild() {
+        GraphSnapshot g = graphSnapshotService.current();
+        LandmarkIndex actual = indice.get();
+        if (actual != null && actual.getVersion() >= g.getVersion()) return;
+        indice.set(LandmarkIndex.build(g, landmarks, dijkstraService));
+    }
+
+    // Índice listo para esa versión del grafo, o null si todavía se está armando
+    public LandmarkIndex indexFor(GraphSnapshot g) {
+        LandmarkIndex idx = indice.get();
+        return (idx != null && idx.getVersion() == g.getVersion()) ? idx : null;
+    }
+
+    public PathResponse compute(GraphSnapshot g, int start, int goal, String metric, double alpha, DijkstraQueue queue) {
+        LandmarkIndex idx = indexFor(g);
+        if (idx == null) return dijkstraService.compute(g, start, goal, metric, alpha, queue);
+        return search(g, idx, start, goal, metric, alpha, queue);
+    }
+
+    /**
+     * search
+     * ------
+     * ENTRA: snapshot, índice de landmarks de esa versión, origen, destino, métrica, alpha y cola (se usa su aridad).
+     * HACE: A* con prioridad dist[v] + h(v), donde h es la cota de los landmarks hacia el destino.
+     *       Los nodos con cota infinita no pueden llegar al destino y ni se encolan.
+     * SALE: el mismo PathResponse que Dijkstra, con la cantidad de nodos asentados.
+     * COMPLEJIDAD: O((V + E) · (K + log V)) en el peor caso; en la práctica asienta muchos menos nodos.
+     */
+    PathResponse search(GraphSnapshot g, LandmarkIndex idx, int start, int goal, String metric, double alpha,
+                        DijkstraQueue queue) {
+        int n = g.nodeCount();
+        if (start < 0 || goal < 0 || start >= n || goal >= n)
+            return new PathResponse("Parámetros inválidos", List.of(), List.of(), 0, 0);
+
+        MetricWeight peso = MetricWeight.of(metric, alpha);
+        double factorDistancia = switch (peso.metricName()) {
+            case "cost" -> 0.0;
+            case "weighted" -> peso.alpha();
+            default -> 1.0;
+        };
+        double factorCosto = switch (peso.metricName()) {
+            case "cost" -> 1.0;
+            case "weighted" -> 1.0 - peso.alpha();
+            default -> 0.0;
+        };
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
+        double[] dist = new double[n];
+        double[] h = new double[n];     // cota de cada nodo, calculada una sola vez (NaN = todavía no)
+        int[] prevEdge = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(h, Double.NaN);
+        Arrays.fill(prevEdge, -1);
+        dist[start] = 0;
+
+        IndexedDaryHeap heap = HEAPS.get();
+        heap.reset(n, (queue == null || !queue.isIndexed()) ? IndexedDaryHeap.DEFAULT_ARITY : queue.arity());
+        int settled = 0;
+
+        h[start] = idx.lowerBound(start, goal, factorDistancia, factorCosto);
+        if (h[start] != Double.POSITIVE_INFINITY) heap.insertOrDecrease(start, h[start]);
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled++;
+            if (u == goal) break;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                double weight = peso.apply(distances[e], costs[e]);
+                if (weight < 0 || Double.isNaN(weight)) continue;
+                int v = targets[e];
+                double nd = dist[u] + weight;
+                if (nd >= dist[v]) continue;
+
+                if (Double.isNaN(h[v])) h[v] = idx.lowerBound(v, goal, factorDistancia, factorCosto);
+                if (h[v] == Double.POSITIVE_INFINITY) continue; // poda: desde v no se llega al destino
+                dist[v] = nd;
+                prevEdge[v] = e;
+                heap.insertOrDecrease(v, nd + h[v]);
+            }
+        }
+
+        PathResponse resp;
+        if (Double.isInfinite(dist[goal]))
+            resp = new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        else
+            resp = DijkstraService.buildPathResponse(g, start, goal, prevEdge);
+        resp.setSettledNodes(settled);
+        return resp;
+    }
+}
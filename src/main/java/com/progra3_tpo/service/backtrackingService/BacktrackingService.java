@@ -1,10 +1,11 @@
 package com.progra3_tpo.service.backtrackingService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
 import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -12,109 +13,89 @@ import java.util.*;
 @Service
 public class BacktrackingService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
     private final DijkstraService dijkstraService;
+    // Búsqueda repartida entre hilos (fork-join); deshabilitada si no se configura
+    private final ParallelSimplePathSearch busquedaParalela;
     private static final double EPS = 1e-9; // margen de error para comparar números con coma flotante
 
-    public BacktrackingService(LocationRepository locationRepository, DijkstraService dijkstraService) {
-        this.locationRepository = locationRepository;
+    public BacktrackingService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService) {
+        this(graphSnapshotService, dijkstraService, ParallelSimplePathSearch.disabled());
+    }
+
+    @Autowired
+    public BacktrackingService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                               ParallelSimplePathSearch busquedaParalela) {
+        this.graphSnapshotService = graphSnapshotService;
         this.dijkstraService = dijkstraService;
+        this.busquedaParalela = busquedaParalela;
     }
 
     // Método principal que calcula el mejor camino entre dos nodos
     public PathResponse computeOptimalPath(String origen, String destino, String metric, double alpha) {
-        // Se obtienen todos los nodos almacenados en la base de datos
-        List<LocationDto> nodos = locationRepository.findAll();
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = computeOptimalPath(g, origen, destino, metric, alpha);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
 
-        if (nodos.isEmpty()) {
+    // Variante que trabaja sobre una foto del grafo ya tomada por quien llama
+    public PathResponse computeOptimalPath(GraphSnapshot g, String origen, String destino, String metric, double alpha) {
+        return computeOptimalPath(g, origen, destino, metric, alpha, SearchBudget.unlimited());
+    }
+
+    // Con presupuesto: si se agota, devuelve el mejor camino encontrado hasta ahí (provenOptimal = false);
+    // la respuesta informa siempre los nodos explorados
+    public PathResponse computeOptimalPath(GraphSnapshot g, String origen, String destino, String metric, double alpha,
+                                           SearchBudget presupuesto) {
+        if (g.isEmpty()) {
             // Si no hay nodos cargados, se devuelve una respuesta vacía
             return new PathResponse("No hay nodos cargados.", Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        // Se arma un mapa para asociar el nombre de cada nodo con su índice en la lista
-        Map<String, Integer> nombreAIndice = armarMapaDeIndices(nodos);
-
         // Se obtiene el índice del nodo origen y destino a partir de sus nombres
-        Integer idxOrigen = nombreAIndice.get(origen);
-        Integer idxDestino = nombreAIndice.get(destino);
+        int idxOrigen = g.indexOf(origen);
+        int idxDestino = g.indexOf(destino);
 
-        if (idxOrigen == null || idxDestino == null) {
+        if (idxOrigen < 0 || idxDestino < 0) {
             // Si alguno de los nodos no existe, no se puede calcular el camino
             return new PathResponse("Origen o destino no encontrado.", Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        // Se construye la lista de adyacencia, que representa las conexiones entre nodos
-        List<List<DijkstraService.EdgeDto>> listaAdyacencia = armarListaAdyacencia(nodos, nombreAIndice);
-
         // Se calcula un primer camino usando Dijkstra, que servirá como punto de partida
-        Candidate mejorCamino = inicializarMejorCaminoConDijkstra(idxOrigen, idxDestino, listaAdyacencia, nodos, alpha);
+        Candidate mejorCamino = inicializarMejorCaminoConDijkstra(g, idxOrigen, idxDestino, alpha);
 
-        // Se exploran todos los caminos posibles con backtracking (búsqueda exhaustiva)
-        explorarCaminosBacktracking(idxOrigen, idxDestino, listaAdyacencia, nodos, mejorCamino);
+        // Se exploran todos los caminos posibles con backtracking (búsqueda exhaustiva sobre los arrays CSR)
+        explorarCaminosBacktracking(g, idxOrigen, idxDestino, mejorCamino, presupuesto);
 
         // Si no se encontró ningún camino válido, se devuelve una respuesta vacía
         if (Double.isInfinite(mejorCamino.totalCost)) {
-            return new PathResponse("No se encontró camino.", Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
+            String mensaje = presupuesto.exhausted()
+                    ? "No se encontró camino dentro del presupuesto de búsqueda." : "No se encontró camino.";
+            return presupuesto.report(new PathResponse(mensaje, Collections.emptyList(), Collections.emptyList(), 0.0, 0.0));
         }
 
         // Si se encontró un camino, se devuelve la información del recorrido
-        return new PathResponse(
-                "Recorrido calculado exitosamente.",
+        return presupuesto.report(new PathResponse(
+                presupuesto.exhausted()
+                        ? "Recorrido calculado con el presupuesto de búsqueda agotado: puede no ser el óptimo."
+                        : "Recorrido calculado exitosamente.",
                 mejorCamino.nodeNames,
                 mejorCamino.routeNames,
                 mejorCamino.totalDistance,
                 mejorCamino.totalCost
-        );
+        ));
     }
 
     // -------------------- métodos auxiliares --------------------
 
-    // Crea un mapa donde se asocia el nombre de cada nodo con su índice en la lista
-    private Map<String, Integer> armarMapaDeIndices(List<LocationDto> nodos) {
-        Map<String, Integer> mapa = new HashMap<>();
-        for (int i = 0; i < nodos.size(); i++) {
-            String nombre = nodos.get(i).getNombre();
-            if (nombre != null) mapa.put(nombre, i);
-        }
-        return mapa;
-    }
-
-    // Construye la lista de adyacencia que representa las rutas salientes de cada nodo
-    private List<List<DijkstraService.EdgeDto>> armarListaAdyacencia(List<LocationDto> nodos, Map<String, Integer> nombreAIndice) {
-        int n = nodos.size();
-        List<List<DijkstraService.EdgeDto>> adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-
-        // Se recorren los nodos para crear las conexiones (aristas)
-        for (int i = 0; i < n; i++) {
-            LocationDto origen = nodos.get(i);
-            List<RouteDto> rutas = origen.getRutas();
-            if (rutas == null) continue;
-
-            for (RouteDto r : rutas) {
-                // Se verifica que la ruta y su destino sean válidos
-                if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) continue;
-
-                Integer idxDestino = nombreAIndice.get(r.getDestino().getNombre());
-                if (idxDestino != null) {
-                    // Se agrega la conexión (arista) a la lista de adyacencia
-                    adj.get(i).add(new DijkstraService.EdgeDto(idxDestino, r.getDistancia(), r.getCosto(), r));
-                }
-            }
-        }
-        return adj;
-    }
-
     // Usa Dijkstra para obtener una primera solución inicial, tanto por costo como por distancia
-    private Candidate inicializarMejorCaminoConDijkstra(int origen, int destino,
-                                                        List<List<DijkstraService.EdgeDto>> adjList,
-                                                        List<LocationDto> nodos,
-                                                        double alpha) {
+    private Candidate inicializarMejorCaminoConDijkstra(GraphSnapshot g, int origen, int destino, double alpha) {
         Candidate mejor = new Candidate();
 
         // Se ejecuta Dijkstra priorizando el costo
         try {
-            PathResponse porCosto = dijkstraService.compute(origen, destino, adjList, nodos, "cost", alpha);
+            PathResponse porCosto = dijkstraService.compute(g, origen, destino, "cost", alpha);
             if (porCosto != null && !porCosto.getAristasARecorrer().isEmpty()) {
                 Candidate c = new Candidate(
                         porCosto.getNodosARecorrer(),
@@ -128,7 +109,7 @@ public class BacktrackingService {
 
         // Se ejecuta Dijkstra priorizando la distancia
         try {
-            PathResponse porDistancia = dijkstraService.compute(origen, destino, adjList, nodos, "distance", alpha);
+            PathResponse porDistancia = dijkstraService.compute(g, origen, destino, "distance", alpha);
             if (porDistancia != null && !porDistancia.getAristasARecorrer().isEmpty()) {
                 Candidate c = new Candidate(
                         porDistancia.getNodosARecorrer(),
@@ -143,71 +124,18 @@ public class BacktrackingService {
         return mejor;
     }
 
-    // Inicia la búsqueda por backtracking desde el nodo origen
-    private void explorarCaminosBacktracking(int u, int target,
-                                             List<List<DijkstraService.EdgeDto>> adjList,
-                                             List<LocationDto> nodos,
-                                             Candidate mejorCamino) {
-        boolean[] visitados = new boolean[nodos.size()]; // array que marca qué nodos ya se visitaron
-        List<String> caminoActual = new ArrayList<>();   // guarda los nombres de los nodos del camino actual
-        List<String> rutasActuales = new ArrayList<>();  // guarda los nombres de las rutas del camino actual
-
-        visitados[u] = true;
-        caminoActual.add(nodos.get(u).getNombre());
-
-        // Se llama al DFS recursivo para recorrer todas las rutas posibles
-        dfs(u, target, visitados, caminoActual, rutasActuales, 0.0, 0.0, adjList, nodos, mejorCamino);
-    }
-
-    // Algoritmo DFS recursivo que explora todos los caminos posibles (backtracking)
-    private void dfs(int u,
-                     int target,
-                     boolean[] visitados,
-                     List<String> caminoActual,
-                     List<String> rutasActuales,
-                     double distanciaAcum,
-                     double costoAcum,
-                     List<List<DijkstraService.EdgeDto>> adjList,
-                     List<LocationDto> nodos,
-                     Candidate mejorCamino) {
-
-        // Si llegamos al destino, se crea un candidato con el camino recorrido
-        if (u == target) {
-            Candidate cand = new Candidate(new ArrayList<>(caminoActual), new ArrayList<>(rutasActuales), costoAcum, distanciaAcum);
-            actualizarMejorCamino(cand, mejorCamino);
-            return;
-        }
-
-        // Si el costo actual ya es mayor que el mejor encontrado, se corta la rama (poda)
-        if (!Double.isInfinite(mejorCamino.totalCost) && costoAcum > mejorCamino.totalCost + EPS) return;
-
-        // Se recorren todas las rutas salientes del nodo actual
-        for (DijkstraService.EdgeDto e : adjList.get(u)) {
-            int v = e.to;
-            if (visitados[v]) continue; // se evita volver a un nodo ya visitado
-
-            RouteDto r = e.route;
-            double d = (r == null) ? e.distance : r.getDistancia();
-            double c = (r == null) ? e.cost : r.getCosto();
-            String ruta = (r == null || r.getNombreRuta() == null) ? "?" : r.getNombreRuta();
-            String nodo = (nodos.get(v).getNombre() == null) ? "?" : nodos.get(v).getNombre();
-
-            // Si el nuevo costo supera al mejor camino, se evita seguir explorando
-            if (!Double.isInfinite(mejorCamino.totalCost) && costoAcum + c > mejorCamino.totalCost + EPS) continue;
-
-            // Se marca el nodo como visitado y se agregan los datos actuales al camino
-            visitados[v] = true;
-            rutasActuales.add(ruta);
-            caminoActual.add(nodo);
-
-            // Llamada recursiva para seguir explorando desde el nuevo nodo
-            dfs(v, target, visitados, caminoActual, rutasActuales, distanciaAcum + d, costoAcum + c, adjList, nodos, mejorCamino);
-
-            // Se desmarcan los cambios para poder probar otros caminos (backtracking)
-            visitados[v] = false;
-            rutasActuales.remove(rutasActuales.size() - 1);
-            caminoActual.remove(caminoActual.size() - 1);
-        }
+    // Búsqueda exhaustiva con backtracking (SimplePathSearch: pila explícita sobre índices del CSR, repartida
+    // entre hilos si está configurado), usando el mejor camino actual como cota; los nombres se arman sólo si
+    // aparece uno mejor
+    private void explorarCaminosBacktracking(GraphSnapshot g, int u, int target, Candidate mejorCamino,
+                                             SearchBudget presupuesto) {
+        SimplePathSearch.Result r = busquedaParalela.search(g, u, target, mejorCamino.totalCost, mejorCamino.totalDistance,
+                presupuesto);
+        if (!r.found()) return;
+        mejorCamino.nodeNames = r.nodeNames(g, u);
+        mejorCamino.routeNames = r.routeNames(g);
+        mejorCamino.totalCost = r.cost();
+        mejorCamino.totalDistance = r.distance();
     }
 
     // Actualiza el mejor camino si el nuevo candidato es más conveniente
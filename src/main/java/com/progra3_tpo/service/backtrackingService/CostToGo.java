@@ -0,0 +1,100 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.dikstraService.IndexedDaryHeap;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * CostToGo
+ * -------------------------------------------------------------
+ * Cotas inferiores de lo que falta para llegar a un destino, para podar búsquedas exhaustivas:
+ *   - cost[v]     → costo mínimo de cualquier camino v → destino (Dijkstra por costo desde el destino sobre
+ *                   el CSR inverso de la foto);
+ *   - distance[v] → distancia mínima de cualquier camino v → destino (otro Dijkstra, por distancia).
+ * Son exactas para caminos cualesquiera, así que nunca superan lo que le falta a un camino simple: una rama
+ * con acumulado + cota peor que el mejor camino ya encontrado no puede mejorarlo. Infinito en v significa que
+ * desde v no se llega al destino (alcanzabilidad inversa) y la rama se descarta sin entrar.
+ * Si la métrica tiene aristas negativas o NaN, Dijkstra no sirve como cota (y 0 tampoco: lo que falta puede ser
+ * negativo): se usa -infinito para los nodos que llegan al destino, así sólo queda la poda por alcanzabilidad.
+ * Se calcula una vez por consulta en O((V + E) log V) y es de sólo lectura (se puede compartir entre hilos).
+ */
+public final class CostToGo {
+
+    // Cola de prioridad por hilo para los dos Dijkstra inversos
+    private static final ThreadLocal<IndexedDaryHeap> HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+
+    private final double[] cost;
+    private final double[] distance;
+
+    private CostToGo(double[] cost, double[] distance) {
+        this.cost = cost;
+        this.distance = distance;
+    }
+
+    /**
+     * toTarget
+     * --------
+     * ENTRA: foto del grafo e índice del destino.
+     * HACE: un Dijkstra inverso desde el destino por costo y otro por distancia.
+     * SALE: las cotas de cada nodo (infinito para los que no llegan al destino).
+     * COMPLEJIDAD: O((V + E) log V).
+     */
+    public static CostToGo toTarget(GraphSnapshot g, int destino) {
+        return new CostToGo(haciaDestino(g, destino, g.getCosts()), haciaDestino(g, destino, g.getDistances()));
+    }
+
+    // Peso mínimo de v al destino por las aristas de la foto, recorriendo el CSR inverso desde el destino
+    private static double[] haciaDestino(GraphSnapshot g, int destino, double[] pesos) {
+        int n = g.nodeCount();
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+        int[] revEdges = g.getReverseEdges();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[destino] = 0;
+
+        boolean sinNegativos = true;
+        for (double p : pesos) {
+            if (p < 0 || Double.isNaN(p)) {
+                sinNegativos = false;
+                break;
+            }
+        }
+
+        IndexedDaryHeap cola = HEAPS.get();
+        cola.reset(n, IndexedDaryHeap.DEFAULT_ARITY);
+        cola.insertOrDecrease(destino, 0);
+        while (!cola.isEmpty()) {
+            int u = cola.pollMin();
+            for (int i = revOffsets[u]; i < revOffsets[u + 1]; i++) {
+                int v = revSources[i];
+                // Sin negativos: Dijkstra; con negativos: sólo alcanzabilidad (0 en la cola, -infinito al final)
+                double nd = sinNegativos ? dist[u] + pesos[revEdges[i]] : 0;
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    cola.insertOrDecrease(v, nd);
+                }
+            }
+        }
+        if (!sinNegativos) {
+            for (int v = 0; v < n; v++) {
+                if (v != destino && dist[v] != Double.POSITIVE_INFINITY) dist[v] = Double.NEGATIVE_INFINITY;
+            }
+        }
+        return dist;
+    }
+
+    public boolean reaches(int v) { return cost[v] != Double.POSITIVE_INFINITY; }
+
+    // Cota inferior del costo de v al destino (infinito si no llega)
+    public double costTo(int v) { return cost[v]; }
+
+    // Cota inferior de la distancia de v al destino (infinito si no llega)
+    public double distanceTo(int v) { return distance[v]; }
+
+    // Arrays completos, para los ciclos internos de las búsquedas (no se modifican)
+    double[] costs() { return cost; }
+
+    double[] distances() { return distance; }
+}
@@ -0,0 +1,167 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelSimplePathSearch
+ * -------------------------------------------------------------
+ * La búsqueda exhaustiva de SimplePathSearch repartida entre los hilos de un ForkJoinPool propio.
+ *   - El árbol de búsqueda se parte en sus primeros niveles: cada prefijo de splitDepth aristas desde el origen
+ *     es una tarea que recorre su subárbol con SimplePathSearch. Las ramas que terminan desbalanceadas se
+ *     equilibran solas: los hilos libres roban tareas pendientes de las colas de los ocupados.
+ *   - Todas las tareas podan contra un SharedCostBound (el costo del mejor camino que encontró cualquiera),
+ *     con las cotas de CostToGo de la consulta, que se calculan una sola vez y se comparten.
+ *   - Cada tarea elige su mejor camino con la regla de siempre partiendo de cero, y los resultados se combinan
+ *     en el orden de las aristas (el mismo en que los vería la búsqueda secuencial) con esa misma regla. La cota
+ *     compartida sólo descarta caminos que ya tienen uno mejor en más de EPS, así que el camino elegido es el
+ *     mismo que el de la búsqueda secuencial sin importar cómo se repartan los hilos.
+ * Con un presupuesto, todas las tareas descuentan del mismo SearchBudget; cuando se agota cada una corta en su
+ * próximo lote y se combina lo mejor que encontraron hasta ahí (ya no tiene por qué coincidir con la secuencial).
+ * Con un solo hilo, o en grafos de menos de minNodes nodos (donde repartir cuesta más que buscar), corre la
+ * búsqueda secuencial en el hilo que llama.
+ */
+@Component
+public class ParallelSimplePathSearch {
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    private final int minNodes;
+
+    public ParallelSimplePathSearch(@Value("${routing.backtracking.threads:0}") int threads,
+                                    @Value("${routing.backtracking.split-depth:3}") int splitDepth,
+                                    @Value("${routing.backtracking.min-nodes:32}") int minNodes) {
+        int hilos = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = (hilos > 1) ? new ForkJoinPool(hilos) : null;
+        this.splitDepth = Math.max(1, splitDepth);
+        this.minNodes = Math.max(0, minNodes);
+    }
+
+    // Deshabilitado: BacktrackingService sin Spring sigue siempre con la búsqueda secuencial
+    public static ParallelSimplePathSearch disabled() {
+        return new ParallelSimplePathSearch(1, 1, 0);
+    }
+
+    /**
+     * search
+     * ------
+     * ENTRA: foto del grafo, índices de origen y destino y la cota inicial (como SimplePathSearch.search).
+     * HACE: arma una tarea por rama de los primeros splitDepth niveles, las corre en el pool con la cota
+     *       compartida y combina sus mejores caminos en el orden de la búsqueda secuencial.
+     * SALE: exactamente el mismo Result que SimplePathSearch.search.
+     * COMPLEJIDAD: el mismo trabajo que la secuencial (menos, cuando una rama encuentra temprano un camino barato
+     *       que poda a las demás), dividido entre los hilos.
+     */
+    public SimplePathSearch.Result search(GraphSnapshot g, int origen, int destino, double costoCota, double distanciaCota) {
+        return search(g, origen, destino, costoCota, distanciaCota, SearchBudget.unlimited());
+    }
+
+    // Igual que el de arriba, con todas las tareas descontando del mismo presupuesto
+    public SimplePathSearch.Result search(GraphSnapshot g, int origen, int destino, double costoCota, double distanciaCota,
+                                         SearchBudget presupuesto) {
+        if (pool == null || origen == destino || g.nodeCount() < minNodes
+                || (!Double.isInfinite(costoCota) && 0.0 > costoCota + SimplePathSearch.EPS)) {
+            return SimplePathSearch.search(g, origen, destino, costoCota, distanciaCota, presupuesto);
+        }
+        SharedCostBound cota = new SharedCostBound(costoCota);
+        CostToGo cotas = CostToGo.toTarget(g, destino);
+        SimplePathSearch.Result r = pool.invoke(new Rama(g, origen, destino, new int[0], 0.0, 0.0, cota, cotas,
+                presupuesto));
+        if (r.found() && SimplePathSearch.improves(r.cost(), r.distance(), costoCota, distanciaCota)) return r;
+        return new SimplePathSearch.Result(null, costoCota, distanciaCota);
+    }
+
+    // Subárbol de los caminos que empiezan con un prefijo de aristas desde el origen.
+    // RecursiveTask es Serializable, pero estas tareas sólo viven en el ForkJoinPool y nunca se serializan.
+    @SuppressWarnings("serial")
+    private final class Rama extends RecursiveTask<SimplePathSearch.Result> {
+        private final GraphSnapshot g;
+        private final int origen;
+        private final int destino;
+        private final int[] prefijo;
+        private final double costo;
+        private final double distancia;
+        private final SharedCostBound cota;
+        private final CostToGo cotas;
+        private final SearchBudget presupuesto;
+
+        Rama(GraphSnapshot g, int origen, int destino, int[] prefijo, double costo, double distancia,
+             SharedCostBound cota, CostToGo cotas, SearchBudget presupuesto) {
+            this.g = g;
+            this.origen = origen;
+            this.destino = destino;
+            this.prefijo = prefijo;
+            this.costo = costo;
+            this.distancia = distancia;
+            this.cota = cota;
+            this.cotas = cotas;
+            this.presupuesto = presupuesto;
+        }
+
+        @Override
+        protected SimplePathSearch.Result compute() {
+            double infinito = Double.POSITIVE_INFINITY;
+            if (presupuesto.exhausted()) return new SimplePathSearch.Result(null, infinito, infinito);
+            if (prefijo.length >= splitDepth) {
+                return SimplePathSearch.search(g, origen, destino, prefijo, costo, distancia, infinito, infinito, cota, cotas,
+                        presupuesto);
+            }
+            // Este nodo del árbol se expande acá (los de las hojas los cuenta SimplePathSearch)
+            if (!presupuesto.spend(1)) return new SimplePathSearch.Result(null, infinito, infinito);
+
+            int[] offsets = g.getOffsets();
+            int[] targets = g.getTargets();
+            int u = prefijo.length == 0 ? origen : targets[prefijo[prefijo.length - 1]];
+
+            // Hijos en el orden de las aristas: caminos que llegan al destino o subárboles a repartir
+            List<Object> hijos = new ArrayList<>();
+            List<Rama> tareas = new ArrayList<>();
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (enPrefijo(v, targets)) continue; // se evita volver a un nodo del camino actual
+                if (!cotas.reaches(v)) continue;      // desde v no se llega al destino
+                double c = costo + g.getCosts()[e];
+                if (c + cotas.costTo(v) > cota.cost() + SimplePathSearch.EPS) continue;
+                double d = distancia + g.getDistances()[e];
+
+                int[] extendido = Arrays.copyOf(prefijo, prefijo.length + 1);
+                extendido[prefijo.length] = e;
+                if (v == destino) {
+                    hijos.add(new SimplePathSearch.Result(extendido, c, d));
+                    cota.offer(c);
+                } else {
+                    Rama hijo = new Rama(g, origen, destino, extendido, c, d, cota, cotas, presupuesto);
+                    hijos.add(hijo);
+                    tareas.add(hijo);
+                }
+            }
+            ForkJoinTask.invokeAll(tareas);
+
+            // Se combinan en orden con la misma regla que la búsqueda secuencial
+            SimplePathSearch.Result mejor = null;
+            for (Object h : hijos) {
+                SimplePathSearch.Result r = (h instanceof Rama rama) ? rama.join() : (SimplePathSearch.Result) h;
+                if (!r.found()) continue;
+                if (mejor == null || SimplePathSearch.improves(r.cost(), r.distance(), mejor.cost(), mejor.distance())) {
+                    mejor = r;
+                }
+            }
+            return (mejor != null) ? mejor : new SimplePathSearch.Result(null, infinito, infinito);
+        }
+
+        private boolean enPrefijo(int v, int[] targets) {
+            if (v == origen) return true;
+            for (int e : prefijo) if (targets[e] == v) return true;
+            return false;
+        }
+    }
+}
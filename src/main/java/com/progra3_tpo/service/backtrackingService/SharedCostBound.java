@@ -0,0 +1,33 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SharedCostBound
+ * -------------------------------------------------------------
+ * Costo del mejor camino encontrado por cualquiera de las búsquedas que corren en paralelo, sin locks: un
+ * AtomicLong con los bits del double que sólo baja (compare-and-set). Cada rama poda contra el mínimo de su
+ * propia cota y ésta, así que lo que encuentra un hilo acorta enseguida las ramas de los demás.
+ * Sólo guarda el costo: la distancia desempata caminos de igual costo y esos nunca se podan.
+ */
+final class SharedCostBound {
+
+    private final AtomicLong bits;
+
+    SharedCostBound(double costoInicial) {
+        this.bits = new AtomicLong(Double.doubleToLongBits(costoInicial));
+    }
+
+    double cost() {
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    // Baja la cota a costo si es menor que la actual
+    void offer(double costo) {
+        long actual = bits.get();
+        while (costo < Double.longBitsToDouble(actual)) {
+            if (bits.compareAndSet(actual, Double.doubleToLongBits(costo))) return;
+            actual = bits.get();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SimplePathSearch
+ * -------------------------------------------------------------
+ * Motor de búsqueda exhaustiva de caminos simples (sin repetir nodos) entre dos nodos de una foto del grafo,
+ * quedándose con el de menor costo y, a igual costo, el de menor distancia. Es el recorrido que hacían en forma
+ * recursiva BacktrackingService y DfsService, pero:
+ *   - con una pila explícita (nodo, próxima arista, costo y distancia acumulados por profundidad): el largo del
+ *     camino no depende de la pila de Java;
+ *   - sobre índices de nodo y arista del CSR: el camino actual es un int[] que se pisa, y al mejorar sólo se
+ *     copian sus aristas a otro int[]; los nombres se arman una sola vez, para el mejor camino final;
+ *   - con los arrays de trabajo reutilizados por hilo y las marcas de visitado con número de ronda: una consulta
+ *     no reserva memoria salvo el resultado.
+ * Cada consulta calcula antes las cotas de CostToGo (Dijkstra inverso desde el destino) y poda con ellas:
+ *   - nodos desde los que no se llega al destino no se visitan;
+ *   - una rama se corta cuando acumulado + costo mínimo restante supera al mejor camino (más EPS), o cuando
+ *     sólo podría empatar el costo y acumulado + distancia mínima restante no baja la distancia del mejor.
+ * Esas ramas no tienen ningún camino que la regla de elección aceptaría, así que recorriendo las aristas en el
+ * mismo orden se elige exactamente el mismo camino que la versión recursiva sin cotas.
+ */
+public final class SimplePathSearch {
+
+    static final double EPS = 1e-9; // margen de error para comparar números con coma flotante
+    // Expansiones entre dos consultas al presupuesto (cada una suma al contador compartido y mira el reloj)
+    static final int LOTE = 256;
+
+    // Espacio de trabajo reutilizable por hilo
+    private static final class Espacio {
+        int[] marca = new int[0];        // == ronda si el nodo está en el camino actual
+        int[] nodo = new int[0];         // nodo en cada profundidad
+        int[] cursor = new int[0];       // próxima arista a probar en cada profundidad
+        int[] arista = new int[0];       // arista usada para bajar de cada profundidad a la siguiente
+        double[] costo = new double[0];  // costo acumulado en cada profundidad
+        double[] distancia = new double[0];
+        int[] mejor = new int[0];        // aristas del mejor camino encontrado
+        int ronda;
+
+        void preparar(int n) {
+            if (marca.length < n) {
+                marca = new int[n];
+                nodo = new int[n];
+                cursor = new int[n];
+                arista = new int[n];
+                costo = new double[n];
+                distancia = new double[n];
+                mejor = new int[n];
+                ronda = 0;
+            }
+            if (++ronda == Integer.MAX_VALUE) { // vuelta completa del contador: se limpian las marcas
+                Arrays.fill(marca, 0);
+                ronda = 1;
+            }
+        }
+    }
+
+    private static final ThreadLocal<Espacio> ESPACIOS = ThreadLocal.withInitial(Espacio::new);
+
+    /**
+     * Result
+     * ------
+     * Mejor camino encontrado por la búsqueda, como aristas del CSR en orden desde el origen.
+     * Si no se encontró ninguno mejor que la cota inicial, found() es false.
+     */
+    public static final class Result {
+        private final int[] edges;
+        private final double cost;
+        private final double distance;
+
+        Result(int[] edges, double cost, double distance) {
+            this.edges = edges;
+            this.cost = cost;
+            this.distance = distance;
+        }
+
+        public boolean found() { return edges != null; }
+
+        public int[] edges() { return edges; }
+
+        public double cost() { return cost; }
+
+        public double distance() { return distance; }
+
+        // Nombres de los nodos del camino, empezando por el origen
+        public List<String> nodeNames(GraphSnapshot g, int origen) {
+            List<String> nombres = new ArrayList<>(edges.length + 1);
+            nombres.add(g.nameOf(origen));
+            for (int e : edges) nombres.add(g.nameOf(g.getTargets()[e]));
+            return nombres;
+        }
+
+        // Nombres de las rutas del camino, en orden
+        public List<String> routeNames(GraphSnapshot g) {
+            List<String> nombres = new ArrayList<>(edges.length);
+            for (int e : edges) nombres.add(g.routeName(e));
+            return nombres;
+        }
+    }
+
+    private SimplePathSearch() {}
+
+    /**
+     * search
+     * ------
+     * ENTRA: foto del grafo, índices de origen y destino y la cota inicial (costo y distancia de un camino ya
+     *        conocido; infinito si no hay ninguno).
+     * HACE: calcula las cotas de CostToGo y recorre en profundidad los caminos simples desde el origen, cortando
+     *       una rama cuando con esas cotas ya no puede mejorar al mejor camino. Al llegar al destino se queda con el camino si tiene
+     *       menor costo, o igual costo y menor distancia; el destino no se sigue expandiendo.
+     * SALE: el mejor camino encontrado que mejora la cota, o un Result con found() == false.
+     * COMPLEJIDAD: exponencial en el peor caso (todos los caminos simples); O(V) de memoria reutilizada por hilo.
+     */
+    public static Result search(GraphSnapshot g, int origen, int destino, double costoCota, double distanciaCota) {
+        return search(g, origen, destino, costoCota, distanciaCota, SearchBudget.unlimited());
+    }
+
+    // Igual que el de arriba, cortando cuando se agota el presupuesto (queda el mejor camino encontrado hasta ahí)
+    public static Result search(GraphSnapshot g, int origen, int destino, double costoCota, double distanciaCota,
+                                SearchBudget presupuesto) {
+        // El origen ya es el destino: el camino sin aristas
+        if (origen == destino) {
+            if (improves(0.0, 0.0, costoCota, distanciaCota)) {
+                return new Result(new int[0], 0.0, 0.0);
+            }
+            return new Result(null, costoCota, distanciaCota);
+        }
+        if (!Double.isInfinite(costoCota) && 0.0 > costoCota + EPS) return new Result(null, costoCota, distanciaCota);
+        return search(g, origen, destino, new int[0], 0.0, 0.0, costoCota, distanciaCota, null,
+                CostToGo.toTarget(g, destino), presupuesto);
+    }
+
+    // true si un camino (costo, distancia) reemplaza al mejor: menor costo o, a igual costo, menor distancia
+    static boolean improves(double costo, double distancia, double mejorCosto, double mejorDistancia) {
+        if (Double.isInfinite(mejorCosto)) return true;
+        if (costo < mejorCosto - EPS) return true;
+        return Math.abs(costo - mejorCosto) <= EPS && distancia < mejorDistancia - EPS;
+    }
+
+    /**
+     * search (desde un prefijo)
+     * ------
+     * ENTRA: foto del grafo, origen, destino, un prefijo de aristas ya fijado desde el origen (camino simple que
+     *        no llega al destino) con su costo y distancia acumulados, la cota local y, opcionalmente, una cota
+     *        compartida con otras búsquedas en paralelo, las cotas hasta el destino ya calculadas y el
+     *        presupuesto (compartido también entre búsquedas en paralelo).
+     * HACE: lo mismo que search, pero sólo sobre los caminos que empiezan con el prefijo y sin volver atrás más
+     *       allá de él. La cota compartida sólo poda (nunca decide qué camino se elige) y recibe el costo de cada
+     *       camino que mejora la cota local. Descuenta del presupuesto cada LOTE nodos expandidos y corta si
+     *       se agotó.
+     * SALE: el mejor camino del subárbol (con el prefijo incluido) que mejora la cota local; si se cortó por
+     *       presupuesto, el mejor encontrado hasta ese momento.
+     */
+    static Result search(GraphSnapshot g, int origen, int destino, int[] prefijo, double costoPrefijo,
+                         double distanciaPrefijo, double costoCota, double distanciaCota, SharedCostBound compartida,
+                         CostToGo cotas, SearchBudget presupuesto) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] costos = g.getCosts();
+        double[] distancias = g.getDistances();
+        double[] faltaCosto = cotas.costs();
+        double[] faltaDistancia = cotas.distances();
+
+        Espacio w = ESPACIOS.get();
+        w.preparar(g.nodeCount());
+        int ronda = w.ronda;
+        int[] marca = w.marca, nodo = w.nodo, cursor = w.cursor, arista = w.arista, mejor = w.mejor;
+        double[] costo = w.costo, distancia = w.distancia;
+
+        boolean hayMejor = !Double.isInfinite(costoCota);
+        double mejorCosto = costoCota;
+        double mejorDistancia = distanciaCota;
+        int mejorLargo = -1;
+
+        // Se arma la pila con el prefijo: la búsqueda arranca en su último nodo y no lo desarma
+        int base = prefijo.length;
+        nodo[0] = origen;
+        marca[origen] = ronda;
+        for (int i = 0; i < base; i++) {
+            arista[i] = prefijo[i];
+            nodo[i + 1] = targets[prefijo[i]];
+            marca[nodo[i + 1]] = ronda;
+        }
+        int prof = base;
+        cursor[prof] = offsets[nodo[prof]];
+        costo[prof] = costoPrefijo;
+        distancia[prof] = distanciaPrefijo;
+        int pendientes = 1; // expansiones todavía no descontadas del presupuesto (la primera es la del prefijo)
+
+        while (prof >= base) {
+            int u = nodo[prof];
+            if (cursor[prof] == offsets[u + 1]) {
+                // Se terminaron las aristas de u: se desmarca y se vuelve al nivel anterior
+                marca[u] = 0;
+                prof--;
+                continue;
+            }
+            int e = cursor[prof]++;
+            int v = targets[e];
+            if (marca[v] == ronda) continue; // se evita volver a un nodo del camino actual
+
+            if (faltaCosto[v] == Double.POSITIVE_INFINITY) continue; // desde v no se llega al destino
+
+            // Poda por cota inferior: ni el camino más barato desde v puede mejorar al mejor
+            double c = costo[prof] + costos[e];
+            double minimo = c + faltaCosto[v];
+            if (hayMejor && minimo > mejorCosto + EPS) continue;
+            if (compartida != null && minimo > compartida.cost() + EPS) continue;
+            double d = distancia[prof] + distancias[e];
+            // Si ya no puede bajar el costo, tiene que empatarlo con menos distancia
+            if (hayMejor && minimo >= mejorCosto - EPS / 2 && d + faltaDistancia[v] >= mejorDistancia - EPS / 2) continue;
+
+            if (v == destino) {
+                if (improves(c, d, mejorCosto, mejorDistancia)) {
+                    System.arraycopy(arista, 0, mejor, 0, prof);
+                    mejor[prof] = e;
+                    mejorLargo = prof + 1;
+                    mejorCosto = c;
+                    mejorDistancia = d;
+                    hayMejor = true;
+                    if (compartida != null) compartida.offer(c);
+                }
+                continue;
+            }
+
+            // Se baja un nivel por la arista e (una expansión más; cada LOTE se consulta el presupuesto)
+            if (++pendientes == LOTE) {
+                pendientes = 0;
+                if (!presupuesto.spend(LOTE)) break;
+            }
+            arista[prof] = e;
+            prof++;
+            nodo[prof] = v;
+            cursor[prof] = offsets[v];
+            costo[prof] = c;
+            distancia[prof] = d;
+            marca[v] = ronda;
+        }
+
+        presupuesto.record(pendientes);
+
+        if (mejorLargo < 0) return new Result(null, mejorCosto, mejorDistancia);
+        return new Result(Arrays.copyOf(mejor, mejorLargo), mejorCosto, mejorDistancia);
+    }
+}
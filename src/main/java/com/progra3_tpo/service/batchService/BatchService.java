@@ -0,0 +1,172 @@
+package com.progra3_tpo.service.batchService;
+
+import com.progra3_tpo.service.PathRequest;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.SearchBudgetDefaults;
+import com.progra3_tpo.service.backtrackingService.BacktrackingService;
+import com.progra3_tpo.service.bfsService.BfsService;
+import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.divideyconquista.DivideyConquistaService;
+import com.progra3_tpo.service.grafoService.GrafoService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import com.progra3_tpo.service.greedy.GreedyService;
+import com.progra3_tpo.service.kruscalService.KruscalService;
+import com.progra3_tpo.service.primService.PrimService;
+import com.progra3_tpo.service.progradinamica.PrograDinamicaService;
+import com.progra3_tpo.service.ramificacion_podaService.Ramificacion_podaService;
+import com.progra3_tpo.service.resultCacheService.RouteResultCache;
+import com.progra3_tpo.validator.PathRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BatchService
+ * -------------------------------------------------------------
+ * POST /api/batch/{algorithm}: muchos pares origen/destino en un solo pedido HTTP.
+ *   - Se toma UNA foto del grafo y todos los ítems se validan y calculan contra ella.
+ *   - Los ítems se reparten en tareas sobre hilos virtuales; cada tarea resuelve su parte en secuencia,
+ *     así las colas por hilo de Dijkstra (ThreadLocal) se reservan una vez por tarea y no una por ítem.
+ *   - Cada ítem lleva su propia métrica y alpha (si faltan, los del pedido).
+ *   - Un ítem inválido o que falla devuelve su PathResponse de error en su posición; el resto sigue.
+ *   - Los ítems válidos pasan por la misma caché de respuestas que los endpoints individuales.
+ *   - Los algoritmos exhaustivos (backtracking, dfs, ramificacion_poda, divideyconquista) corren cada ítem con
+ *     su propio presupuesto por defecto (SearchBudgetDefaults), que arranca al empezar ese ítem: un par
+ *     caro se corta con la mejor respuesta encontrada en vez de dejar tomada su tarea.
+ * Los resultados salen en el mismo orden que los pedidos.
+ */
+@Service
+public class BatchService {
+
+    // Cálculo de un ítem ya validado contra la foto del lote (presupuesto null en los algoritmos que no lo usan)
+    private interface Algoritmo {
+        PathResponse resolver(GraphSnapshot g, PathRequest req, String metric, double alpha, SearchBudget presupuesto);
+    }
+
+    // Algoritmos que usan metric y alpha: en el resto no entran en la clave de la caché
+    private static final Set<String> CON_METRICA = Set.of("dijkstra", "backtracking", "prim", "kruscal", "ramificacion_poda");
+
+    // Algoritmos exhaustivos: cada ítem lleva su presupuesto de búsqueda
+    private static final Set<String> CON_PRESUPUESTO = Set.of("backtracking", "dfs", "ramificacion_poda", "divideyconquista");
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final PathRequestValidator validator;
+    private final RouteResultCache resultCache;
+    private final SearchBudgetDefaults presupuestos;
+    private final Map<String, Algoritmo> algoritmos = new LinkedHashMap<>();
+    private final int maxItems;
+    private final int tareasMax;
+
+    public BatchService(GraphSnapshotService graphSnapshotService, PathRequestValidator validator,
+                        RouteResultCache resultCache, SearchBudgetDefaults presupuestos,
+                        GrafoService grafoService, BacktrackingService backtrackingService,
+                        PrimService primService, KruscalService kruscalService,
+                        Ramificacion_podaService ramificacionPodaService, BfsService bfsService,
+                        DfsService dfsService, GreedyService greedyService,
+                        PrograDinamicaService prograDinamicaService, DivideyConquistaService divideyConquistaService,
+                        @Value("${routing.batch.max-items:10000}") int maxItems,
+                        @Value("${routing.batch.parallelism:0}") int parallelism) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.validator = validator;
+        this.resultCache = resultCache;
+        this.presupuestos = presupuestos;
+        this.maxItems = Math.max(1, maxItems);
+        int hilos = (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.tareasMax = hilos * 4; // más tareas que núcleos para emparejar ítems caros y baratos
+
+        // Mismos nombres que los endpoints individuales
+        algoritmos.put("dijkstra", (g, r, m, a, p) -> grafoService.computeWithDijkstra(g, r.getFrom(), r.getTo(), m, a));
+        algoritmos.put("backtracking", (g, r, m, a, p) -> backtrackingService.computeOptimalPath(g, r.getFrom(), r.getTo(), m, a, p));
+        algoritmos.put("prim", (g, r, m, a, p) -> primService.computeOptimalPath(g, r.getFrom(), r.getTo(), m, a));
+        algoritmos.put("kruscal", (g, r, m, a, p) -> kruscalService.computeOptimalPath(g, r.getFrom(), r.getTo(), m, a));
+        algoritmos.put("ramificacion_poda", (g, r, m, a, p) -> ramificacionPodaService.computeOptimalPath(g, r.getFrom(), r.getTo(), m, a, p));
+        algoritmos.put("bfs", (g, r, m, a, p) -> bfsService.computeBfsShortestHops(g, r.getFrom(), r.getTo()));
+        algoritmos.put("dfs", (g, r, m, a, p) -> dfsService.computeDfsPure(g, r.getFrom(), r.getTo(), p));
+        algoritmos.put("greedy", (g, r, m, a, p) -> greedyService.compute(g, r.getFrom(), r.getTo()));
+        algoritmos.put("divideyconquista", (g, r, m, a, p) -> divideyConquistaService.compute(g, r.getFrom(), r.getTo(), p));
+        algoritmos.put("programaciondinamica", (g, r, m, a, p) -> prograDinamicaService.compute(g, r.getFrom(), r.getTo()));
+    }
+
+    public List<PathResponse> compute(String algorithm, List<PathRequest> requests, String metric, Double alpha) {
+        return compute(graphSnapshotService.current(), algorithm, requests, metric, alpha);
+    }
+
+    /**
+     * compute
+     * -------
+     * ENTRA: foto del grafo, nombre del algoritmo (el del endpoint individual), pedidos, y métrica y alpha
+     *        por defecto para los ítems que no traen los suyos.
+     * HACE: valida y calcula cada ítem contra la foto, repartiendo los ítems en tareas sobre hilos virtuales.
+     *       Un error en un ítem (validación o excepción del algoritmo) queda en su respuesta.
+     * SALE: un PathResponse por pedido, en el mismo orden; con un algoritmo desconocido o un lote vacío o
+     *       demasiado grande, una sola entrada con el mensaje de error.
+     * COMPLEJIDAD: la suma de los ítems repartida entre los núcleos.
+     */
+    public List<PathResponse> compute(GraphSnapshot g, String algorithm, List<PathRequest> requests,
+                                      String metric, Double alpha) {
+        String nombre = (algorithm == null) ? "" : algorithm.trim().toLowerCase();
+        Algoritmo algoritmo = algoritmos.get(nombre);
+        if (algoritmo == null)
+            return List.of(error("Algoritmo desconocido: '" + algorithm + "'. Opciones: " + String.join(", ", algoritmos.keySet()) + "."));
+        if (requests == null || requests.isEmpty())
+            return List.of(error("Datos ingresados inválidos: el lote está vacío."));
+        if (requests.size() > maxItems)
+            return List.of(error("El lote tiene " + requests.size() + " pedidos; el máximo es " + maxItems + "."));
+
+        String metricPorDefecto = (metric == null || metric.isBlank()) ? "distance" : metric;
+        double alphaPorDefecto = (alpha == null) ? 0.5 : alpha;
+        boolean conMetrica = CON_METRICA.contains(nombre);
+
+        int n = requests.size();
+        PathResponse[] resultados = new PathResponse[n];
+        int tareas = Math.min(n, tareasMax);
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < tareas; t++) {
+                int primera = t;
+                // Reparto intercalado: los ítems caros consecutivos no caen todos en la misma tarea
+                ejecutor.submit(() -> {
+                    for (int i = primera; i < n; i += tareas)
+                        resultados[i] = resolver(g, nombre, algoritmo, requests.get(i), metricPorDefecto, alphaPorDefecto,
+                                conMetrica);
+                });
+            }
+        } // close() espera a que terminen todas las tareas
+
+        List<PathResponse> respuesta = new ArrayList<>(n);
+        for (PathResponse r : resultados)
+            respuesta.add(r != null ? r : error("El cálculo del lote fue interrumpido antes de llegar a este pedido."));
+        return respuesta;
+    }
+
+    // Valida y calcula un ítem; nunca lanza: los errores vuelven como PathResponse
+    private PathResponse resolver(GraphSnapshot g, String nombre, Algoritmo algoritmo, PathRequest req,
+                                  String metricPorDefecto, double alphaPorDefecto, boolean conMetrica) {
+        PathResponse resp;
+        try {
+            Optional<PathResponse> invalido = validator.validate(req, g);
+            if (invalido.isPresent()) {
+                resp = invalido.get();
+            } else {
+                String m = (req.getMetric() == null || req.getMetric().isBlank()) ? metricPorDefecto : req.getMetric();
+                double a = (req.getAlpha() == null) ? alphaPorDefecto : req.getAlpha();
+                // El reloj del presupuesto arranca con el ítem (incluye la espera a otro cálculo igual en curso)
+                SearchBudget p = CON_PRESUPUESTO.contains(nombre) ? presupuestos.forRequest(null, null) : null;
+                resp = resultCache.get(g.getVersion(), nombre, req.getFrom(), req.getTo(),
+                        conMetrica ? m : "-", conMetrica ? a : 0, p, () -> algoritmo.resolver(g, req, m, a, p));
+            }
+        } catch (RuntimeException e) {
+            resp = error("Error al calcular el recorrido: " + e.getMessage());
+        }
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    private static PathResponse error(String mensaje) {
+        return new PathResponse(mensaje, List.of(), List.of(), 0.0, 0.0);
+    }
+}
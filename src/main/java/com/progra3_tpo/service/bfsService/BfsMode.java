@@ -0,0 +1,21 @@
+package com.progra3_tpo.service.bfsService;
+
+/**
+ * BfsMode
+ * -------------------------------------------------------------
+ * Variante de búsqueda de /api/bfs:
+ *   - "bidirectional" (por defecto) → BFS desde origen y destino a la vez, expandiendo la frontera más chica
+ *   - "direction-optimizing"        → un BFS desde el origen que alterna top-down y bottom-up
+ */
+public enum BfsMode {
+    BIDIRECTIONAL,
+    DIRECTION_OPTIMIZING;
+
+    public static BfsMode of(String mode) {
+        String m = (mode == null) ? "" : mode.trim().toLowerCase();
+        return switch (m) {
+            case "direction-optimizing", "direction_optimizing", "do", "unidirectional" -> DIRECTION_OPTIMIZING;
+            default -> BIDIRECTIONAL;
+        };
+    }
+}
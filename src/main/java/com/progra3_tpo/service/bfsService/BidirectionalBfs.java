@@ -0,0 +1,164 @@
+package com.progra3_tpo.service.bfsService;
+
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BidirectionalBfs
+ * -------------------------------------------------------------
+ * Menor cantidad de saltos entre dos nodos con dos BFS a la vez: uno desde el origen por aristas salientes y
+ * otro desde el destino por aristas entrantes (CSR inverso de la foto). En cada ronda se expande un nivel
+ * completo del lado cuya frontera tiene menos aristas por mirar; la búsqueda termina cuando un lado descubre
+ * un nodo ya visto por el otro. En grafos de diámetro chico cada lado llega a la mitad de la profundidad, así
+ * que se explora mucho menos que con un BFS desde el origen.
+ *   - maxSaltos corta antes de expandir un nivel que ya no puede dar un camino dentro del límite: una consulta
+ *     imposible o demasiado larga cuesta lo mismo que las dos bolas exploradas, no todo el grafo.
+ *   - Las estructuras son arrays de int por hilo, marcados con un número de ronda: no se reservan ni se
+ *     limpian O(V) por consulta, así que el costo es proporcional a lo explorado.
+ */
+final class BidirectionalBfs {
+
+    // Espacio de trabajo reutilizable por hilo
+    private static final class Espacio {
+        int[] marcaAdelante = new int[0];   // == ronda si lo vio el BFS desde el origen
+        int[] marcaAtras = new int[0];      // == ronda si lo vio el BFS desde el destino
+        int[] aristaAdelante = new int[0];  // arista por la que se llegó desde el origen
+        int[] aristaAtras = new int[0];     // arista por la que se sigue hacia el destino
+        int[] fronteraAdelante = new int[0];
+        int[] fronteraAtras = new int[0];
+        int[] siguiente = new int[0];
+        int ronda;
+
+        void preparar(int n) {
+            if (marcaAdelante.length < n) {
+                marcaAdelante = new int[n];
+                marcaAtras = new int[n];
+                aristaAdelante = new int[n];
+                aristaAtras = new int[n];
+                fronteraAdelante = new int[n];
+                fronteraAtras = new int[n];
+                siguiente = new int[n];
+                ronda = 0;
+            }
+            if (++ronda == Integer.MAX_VALUE) { // vuelta completa del contador: se limpian las marcas
+                Arrays.fill(marcaAdelante, 0);
+                Arrays.fill(marcaAtras, 0);
+                ronda = 1;
+            }
+        }
+    }
+
+    private static final ThreadLocal<Espacio> ESPACIOS = ThreadLocal.withInitial(Espacio::new);
+
+    private BidirectionalBfs() {}
+
+    /**
+     * pathEdges
+     * ---------
+     * ENTRA: foto del grafo, origen, destino y máximo de saltos (Integer.MAX_VALUE = sin límite).
+     * HACE: BFS desde ambos extremos, expandiendo por ronda el nivel del lado con menos aristas en la frontera,
+     *       hasta que se tocan o ya no se puede cumplir maxSaltos.
+     * SALE: aristas del camino en orden desde el origen (vacía si s == t), o null si no hay camino con a lo
+     *       sumo maxSaltos saltos.
+     * COMPLEJIDAD: O(V + E) en el peor caso; en la práctica, lo que cubren las dos bolas de radio ~d/2.
+     */
+    static List<Integer> pathEdges(GraphSnapshot g, int s, int t, int maxSaltos) {
+        if (s == t) return new ArrayList<>();
+        if (maxSaltos < 1) return null;
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] reverseOffsets = g.getReverseOffsets();
+        int[] reverseSources = g.getReverseSources();
+        int[] reverseEdges = g.getReverseEdges();
+
+        Espacio w = ESPACIOS.get();
+        w.preparar(g.nodeCount());
+        int ronda = w.ronda;
+        int[] marcaAdelante = w.marcaAdelante, marcaAtras = w.marcaAtras;
+        int[] aristaAdelante = w.aristaAdelante, aristaAtras = w.aristaAtras;
+
+        marcaAdelante[s] = ronda;
+        marcaAtras[t] = ronda;
+        w.fronteraAdelante[0] = s;
+        w.fronteraAtras[0] = t;
+        int tamAdelante = 1, tamAtras = 1;
+        long aristasAdelante = offsets[s + 1] - offsets[s];
+        long aristasAtras = reverseOffsets[t + 1] - reverseOffsets[t];
+        int nivelAdelante = 0, nivelAtras = 0;
+
+        while (tamAdelante > 0 && tamAtras > 0) {
+            // Un nivel más da caminos de nivelAdelante + nivelAtras + 1 saltos
+            if (nivelAdelante + nivelAtras + 1 > maxSaltos) return null;
+
+            int tamSiguiente = 0;
+            long aristasSiguiente = 0;
+            int encuentro = -1;
+            if (aristasAdelante <= aristasAtras) {
+                int[] frontera = w.fronteraAdelante;
+                for (int i = 0; i < tamAdelante && encuentro < 0; i++) {
+                    int u = frontera[i];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = targets[e];
+                        if (marcaAdelante[v] == ronda) continue;
+                        marcaAdelante[v] = ronda;
+                        aristaAdelante[v] = e;
+                        if (marcaAtras[v] == ronda) { encuentro = v; break; }
+                        w.siguiente[tamSiguiente++] = v;
+                        aristasSiguiente += offsets[v + 1] - offsets[v];
+                    }
+                }
+                if (encuentro >= 0) return unir(offsets, targets, s, t, encuentro, aristaAdelante, aristaAtras);
+                w.fronteraAdelante = w.siguiente;
+                w.siguiente = frontera;
+                tamAdelante = tamSiguiente;
+                aristasAdelante = aristasSiguiente;
+                nivelAdelante++;
+            } else {
+                int[] frontera = w.fronteraAtras;
+                for (int i = 0; i < tamAtras && encuentro < 0; i++) {
+                    int v = frontera[i];
+                    for (int k = reverseOffsets[v]; k < reverseOffsets[v + 1]; k++) {
+                        int u = reverseSources[k];
+                        if (marcaAtras[u] == ronda) continue;
+                        marcaAtras[u] = ronda;
+                        aristaAtras[u] = reverseEdges[k];
+                        if (marcaAdelante[u] == ronda) { encuentro = u; break; }
+                        w.siguiente[tamSiguiente++] = u;
+                        aristasSiguiente += reverseOffsets[u + 1] - reverseOffsets[u];
+                    }
+                }
+                if (encuentro >= 0) return unir(offsets, targets, s, t, encuentro, aristaAdelante, aristaAtras);
+                w.fronteraAtras = w.siguiente;
+                w.siguiente = frontera;
+                tamAtras = tamSiguiente;
+                aristasAtras = aristasSiguiente;
+                nivelAtras++;
+            }
+        }
+        return null;
+    }
+
+    // Une la mitad desde el origen (aristaAdelante hacia atrás) con la mitad hacia el destino (aristaAtras)
+    private static List<Integer> unir(int[] offsets, int[] targets, int s, int t, int encuentro,
+                                      int[] aristaAdelante, int[] aristaAtras) {
+        List<Integer> camino = new ArrayList<>();
+        for (int at = encuentro; at != s; ) {
+            int e = aristaAdelante[at];
+            camino.add(e);
+            at = DijkstraService.sourceOf(offsets, e);
+        }
+        Collections.reverse(camino);
+        for (int at = encuentro; at != t; ) {
+            int e = aristaAtras[at];
+            camino.add(e);
+            at = targets[e];
+        }
+        return camino;
+    }
+}
@@ -0,0 +1,161 @@
+package com.progra3_tpo.service.bfsService;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * DirectionOptimizingBfs
+ * -------------------------------------------------------------
+ * BFS por niveles que alterna entre dos formas de armar el nivel siguiente (Beamer, "direction-optimizing"):
+ *   - top-down: cada nodo de la frontera mira sus aristas salientes (lo de siempre; barato con frontera chica).
+ *   - bottom-up: cada nodo sin visitar mira sus aristas ENTRANTES (CSR inverso de la foto) y se queda con el
+ *     primer padre que esté en la frontera. Con una frontera grande casi todos encuentran padre enseguida y
+ *     se evita recorrer las muchas aristas que van a nodos ya visitados.
+ * Frontera (en bottom-up) y visitados son bitsets long[]; todo el resto son arrays de int, sin boxing.
+ * Cambios de dirección:
+ *   - top-down → bottom-up cuando las aristas que salen de la frontera superan a las aún sin explorar / alpha
+ *     y la frontera viene creciendo;
+ *   - bottom-up → top-down cuando la frontera baja de n / beta y viene achicándose.
+ * alpha <= 0 deja siempre top-down (BFS clásico); beta <= 0 no vuelve nunca a top-down.
+ * Con maxSaltos no se arma ningún nivel más profundo que el límite.
+ */
+final class DirectionOptimizingBfs {
+
+    private DirectionOptimizingBfs() {}
+
+    /**
+     * parentEdges
+     * -----------
+     * ENTRA: foto del grafo, origen, destino, los umbrales alpha y beta y el máximo de saltos
+     *        (Integer.MAX_VALUE = sin límite).
+     * HACE: BFS por niveles desde s, eligiendo la dirección de cada nivel; corta apenas aparece t
+     *       o cuando el próximo nivel ya superaría maxSaltos.
+     * SALE: parentEdge (arista por la que se llegó a cada nodo, -1 si no se llegó) con un camino de
+     *       mínima cantidad de saltos hasta t, o null si t no es alcanzable en maxSaltos saltos.
+     * COMPLEJIDAD: O(V + E) en el peor caso; en grafos de diámetro chico, los niveles bottom-up miran
+     *       una fracción de las aristas.
+     */
+    static int[] parentEdges(GraphSnapshot g, int s, int t, double alpha, double beta, int maxSaltos) {
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] reverseOffsets = g.getReverseOffsets();
+        int[] reverseSources = g.getReverseSources();
+        int[] reverseEdges = g.getReverseEdges();
+
+        int palabras = (n + 63) >>> 6;
+        long[] visitado = new long[palabras];
+        int[] parentEdge = new int[n];
+        Arrays.fill(parentEdge, -1);
+
+        visitado[s >>> 6] |= 1L << s;
+        if (s == t) return parentEdge;
+
+        // Frontera en top-down: lista de nodos; en bottom-up: bitset
+        int[] frontera = new int[n];
+        int[] siguiente = new int[n];
+        long[] fronteraBits = null;
+        long[] siguienteBits = null;
+        boolean abajoArriba = false;
+
+        frontera[0] = s;
+        int tamFrontera = 1;
+        int tamAnterior = 0;
+        long aristasFrontera = offsets[s + 1] - offsets[s];
+        long aristasSinExplorar = g.edgeCount() - aristasFrontera;
+        double umbralVuelta = (beta > 0) ? n / beta : -1;
+        int nivel = 0; // profundidad de la frontera actual
+
+        while (tamFrontera > 0 && nivel < maxSaltos) {
+            boolean creciendo = tamFrontera > tamAnterior;
+            if (!abajoArriba && alpha > 0 && creciendo && aristasFrontera > aristasSinExplorar / alpha) {
+                if (fronteraBits == null) {
+                    fronteraBits = new long[palabras];
+                    siguienteBits = new long[palabras];
+                } else {
+                    Arrays.fill(fronteraBits, 0);
+                }
+                for (int i = 0; i < tamFrontera; i++) fronteraBits[frontera[i] >>> 6] |= 1L << frontera[i];
+                abajoArriba = true;
+            } else if (abajoArriba && !creciendo && tamFrontera < umbralVuelta) {
+                tamFrontera = aLista(fronteraBits, frontera);
+                abajoArriba = false;
+            }
+
+            int tamSiguiente = 0;
+            long aristasSiguiente = 0;
+            if (!abajoArriba) {
+                // top-down: aristas salientes de cada nodo de la frontera
+                for (int i = 0; i < tamFrontera; i++) {
+                    int u = frontera[i];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = targets[e];
+                        long bit = 1L << v;
+                        if ((visitado[v >>> 6] & bit) != 0) continue;
+                        visitado[v >>> 6] |= bit;
+                        parentEdge[v] = e;
+                        if (v == t) return parentEdge;
+                        siguiente[tamSiguiente++] = v;
+                        aristasSiguiente += offsets[v + 1] - offsets[v];
+                    }
+                }
+                int[] aux = frontera;
+                frontera = siguiente;
+                siguiente = aux;
+            } else {
+                // Consulta punto a punto: si t ya tiene un padre en la frontera, no hace falta armar el nivel
+                for (int i = reverseOffsets[t]; i < reverseOffsets[t + 1]; i++) {
+                    int u = reverseSources[i];
+                    if ((fronteraBits[u >>> 6] & (1L << u)) != 0) {
+                        parentEdge[t] = reverseEdges[i];
+                        return parentEdge;
+                    }
+                }
+                // bottom-up: cada nodo sin visitar busca un padre en la frontera entre sus aristas entrantes
+                Arrays.fill(siguienteBits, 0);
+                for (int w = 0; w < palabras; w++) {
+                    long libres = ~visitado[w];
+                    if (w == palabras - 1 && (n & 63) != 0) libres &= (1L << n) - 1; // bits de más del final
+                    while (libres != 0) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(libres);
+                        libres &= libres - 1;
+                        for (int i = reverseOffsets[v]; i < reverseOffsets[v + 1]; i++) {
+                            int u = reverseSources[i];
+                            if ((fronteraBits[u >>> 6] & (1L << u)) == 0) continue;
+                            parentEdge[v] = reverseEdges[i];
+                            siguienteBits[w] |= 1L << v;
+                            tamSiguiente++;
+                            aristasSiguiente += offsets[v + 1] - offsets[v];
+                            break;
+                        }
+                    }
+                    visitado[w] |= siguienteBits[w];
+                }
+                long[] aux = fronteraBits;
+                fronteraBits = siguienteBits;
+                siguienteBits = aux;
+            }
+
+            tamAnterior = tamFrontera;
+            tamFrontera = tamSiguiente;
+            aristasSinExplorar -= aristasSiguiente;
+            aristasFrontera = aristasSiguiente;
+            nivel++;
+        }
+        return null;
+    }
+
+    // Pasa un bitset a lista de nodos (en orden de índice); devuelve cuántos quedaron
+    private static int aLista(long[] bits, int[] destino) {
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long b = bits[w];
+            while (b != 0) {
+                destino[k++] = (w << 6) + Long.numberOfTrailingZeros(b);
+                b &= b - 1;
+            }
+        }
+        return k;
+    }
+}
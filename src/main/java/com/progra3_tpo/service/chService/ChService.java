@@ -0,0 +1,249 @@
+package com.progra3_tpo.service.chService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.IndexedDaryHeap;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotPublishedEvent;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ChService
+ * -------------------------------------------------------------
+ * Modo "ch" de /api/dijkstra: consultas sobre jerarquías de contracción.
+ * Se preprocesa una jerarquía por métrica: "distance", "cost" y "weighted" para cada alpha de
+ * routing.ch.alphas. Las jerarquías se arman en segundo plano cuando se publica una foto nueva;
+ * si la foto sólo agregó una ubicación (withLocation), se reparan en O(V + E) en lugar de reconstruirlas.
+ * Una consulta cuya versión o métrica no tenga jerarquía lista se resuelve con el Dijkstra común.
+ */
+@Service
+public class ChService {
+
+    private static final ThreadLocal<IndexedDaryHeap> FORWARD_HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+    private static final ThreadLocal<IndexedDaryHeap> BACKWARD_HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final DijkstraService dijkstraService;
+    private final List<MetricWeight> metricas;
+    private final AtomicReference<Map<String, ContractionHierarchy>> jerarquias = new AtomicReference<>(Map.of());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ch-builder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ChService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                     @Value("${routing.ch.alphas:0.25,0.5,0.75}") double[] alphas) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.dijkstraService = dijkstraService;
+        List<MetricWeight> m = new ArrayList<>();
+        m.add(MetricWeight.of("distance", 0.5));
+        m.add(MetricWeight.of("cost", 0.5));
+        if (alphas != null) for (double a : alphas) m.add(MetricWeight.of("weighted", a));
+        this.metricas = List.copyOf(m);
+    }
+
+    // Clave de la jerarquía para una métrica: "distance", "cost" o "weighted:<alpha>"
+    static String keyOf(MetricWeight peso) {
+        return peso.key();
+    }
+
+    @EventListener
+    public void onSnapshotPublished(GraphSnapshotPublishedEvent event) {
+        executor.execute(() -> update(event));
+    }
+
+    // Repara si la foto nueva sólo agregó una ubicación sobre la versión ya preprocesada; si no, reconstruye
+    private void update(GraphSnapshotPublishedEvent event) {
+        GraphSnapshot g = event.getSnapshot();
+        Map<String, ContractionHierarchy> actuales = jerarquias.get();
+        long version = actuales.isEmpty() ? 0 : actuales.values().iterator().next().getVersion();
+        if (version >= g.getVersion()) return;
+
+        if (!actuales.isEmpty() && event.getAddedNode() >= 0 && version == g.getVersion() - 1) {
+            Map<String, ContractionHierarchy> reparadas = new HashMap<>();
+            for (Map.Entry<String, ContractionHierarchy> e : actuales.entrySet()) {
+                ContractionHierarchy ch = e.getValue().withLeafNode(g, event.getAddedNode());
+                if (ch == null) break;
+                reparadas.put(e.getKey(), ch);
+            }
+            if (reparadas.size() == actuales.size()) {
+                jerarquias.set(Map.copyOf(reparadas));
+                return;
+            }
+        }
+        rebuild(graphSnapshotService.current());
+    }
+
+    private void rebuild(GraphSnapshot g) {
+        if (!jerarquias.get().isEmpty() && jerarquias.get().values().iterator().next().getVersion() >= g.getVersion())
+            return;
+        Map<String, ContractionHierarchy> nuevas = new HashMap<>();
+        for (MetricWeight peso : metricas) nuevas.put(keyOf(peso), ContractionHierarchyBuilder.build(g, peso));
+        jerarquias.set(Map.copyOf(nuevas));
+    }
+
+    // Jerarquía lista para esa versión y métrica, o null
+    public ContractionHierarchy hierarchyFor(GraphSnapshot g, String metric, double alpha) {
+        ContractionHierarchy ch = jerarquias.get().get(keyOf(MetricWeight.of(metric, alpha)));
+        return (ch != null && ch.getVersion() == g.getVersion()) ? ch : null;
+    }
+
+    public PathResponse compute(GraphSnapshot g, int start, int goal, String metric, double alpha, DijkstraQueue queue) {
+        ContractionHierarchy ch = hierarchyFor(g, metric, alpha);
+        if (ch == null) return dijkstraService.compute(g, start, goal, metric, alpha, queue);
+        return search(g, ch, start, goal);
+    }
+
+    /**
+     * search
+     * ------
+     * ENTRA: snapshot, jerarquía de esa versión y métrica, origen y destino.
+     * HACE: búsqueda bidireccional "sólo hacia arriba": adelante desde el origen por arcos hacia nodos de
+     *       mayor rango y atrás desde el destino por arcos que llegan desde nodos de mayor rango. Cada lado
+     *       para cuando su tope ya no puede mejorar mu. Después desarma los atajos del camino en rutas originales.
+     * SALE: el mismo PathResponse que Dijkstra (nombreRuta originales en aristasARecorrer) con los nodos asentados.
+     * COMPLEJIDAD: en redes tipo vial, unos pocos cientos de nodos asentados por consulta.
+     */
+    PathResponse search(GraphSnapshot g, ContractionHierarchy ch, int start, int goal) {
+        int n = ch.nodeCount();
+        if (start < 0 || goal < 0 || start >= n || goal >= n)
+            return new PathResponse("Parámetros inválidos", List.of(), List.of(), 0, 0);
+
+        int[] upOffsets = ch.getUpOffsets();
+        int[] upTargets = ch.getUpTargets();
+        double[] upWeights = ch.getUpWeights();
+        int[] downOffsets = ch.getDownOffsets();
+        int[] downSources = ch.getDownSources();
+        double[] downWeights = ch.getDownWeights();
+
+        double[] distF = new double[n];
+        double[] distB = new double[n];
+        int[] prevF = new int[n]; // nodo anterior en la búsqueda hacia adelante
+        int[] nextB = new int[n]; // nodo siguiente (hacia el destino) en la búsqueda hacia atrás
+        Arrays.fill(distF, Double.POSITIVE_INFINITY);
+        Arrays.fill(distB, Double.POSITIVE_INFINITY);
+        Arrays.fill(prevF, -1);
+        Arrays.fill(nextB, -1);
+        distF[start] = 0;
+        distB[goal] = 0;
+
+        IndexedDaryHeap adelante = FORWARD_HEAPS.get();
+        IndexedDaryHeap atras = BACKWARD_HEAPS.get();
+        adelante.reset(n, IndexedDaryHeap.DEFAULT_ARITY);
+        atras.reset(n, IndexedDaryHeap.DEFAULT_ARITY);
+        adelante.insertOrDecrease(start, 0);
+        atras.insertOrDecrease(goal, 0);
+
+        double mu = (start == goal) ? 0 : Double.POSITIVE_INFINITY;
+        int meet = (start == goal) ? start : -1;
+        int settled = 0;
+
+        while (true) {
+            boolean puedeF = !adelante.isEmpty() && adelante.peekKey() < mu;
+            boolean puedeB = !atras.isEmpty() && atras.peekKey() < mu;
+            if (!puedeF && !puedeB) break;
+
+            if (puedeF && (!puedeB || adelante.peekKey() <= atras.peekKey())) {
+                int u = adelante.pollMin();
+                settled++;
+                if (distF[u] + distB[u] < mu) {
+                    mu = distF[u] + distB[u];
+                    meet = u;
+                }
+                for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++) {
+                    int v = upTargets[i];
+                    double nd = distF[u] + upWeights[i];
+                    if (nd < distF[v]) {
+                        distF[v] = nd;
+                        prevF[v] = u;
+                        adelante.insertOrDecrease(v, nd);
+                    }
+                }
+            } else {
+                int u = atras.pollMin();
+                settled++;
+                if (distF[u] + distB[u] < mu) {
+                    mu = distF[u] + distB[u];
+                    meet = u;
+                }
+                for (int i = downOffsets[u]; i < downOffsets[u + 1]; i++) {
+                    int v = downSources[i];
+                    double nd = distB[u] + downWeights[i];
+                    if (nd < distB[v]) {
+                        distB[v] = nd;
+                        nextB[v] = u;
+                        atras.insertOrDecrease(v, nd);
+                    }
+                }
+            }
+        }
+
+        PathResponse resp;
+        if (meet < 0) {
+            resp = new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        } else {
+            // Secuencia de nodos de la jerarquía: origen → meet → destino
+            LinkedList<Integer> nodos = new LinkedList<>();
+            for (int at = meet; at != -1; at = prevF[at]) nodos.addFirst(at);
+            for (int at = nextB[meet]; at != -1; at = nextB[at]) nodos.addLast(at);
+            resp = DijkstraService.buildPathResponse(g, start, unpack(g, ch, nodos));
+        }
+        resp.setSettledNodes(settled);
+        return resp;
+    }
+
+    // Desarma cada arco (atajo o no) de la secuencia en ids de aristas originales del snapshot
+    private static List<Integer> unpack(GraphSnapshot g, ContractionHierarchy ch, List<Integer> nodos) {
+        List<Integer> aristas = new ArrayList<>();
+        Deque<int[]> pila = new ArrayDeque<>();
+        Iterator<Integer> it = nodos.iterator();
+        int anterior = it.next();
+        while (it.hasNext()) {
+            int siguiente = it.next();
+            pila.push(new int[]{anterior, siguiente});
+            while (!pila.isEmpty()) {
+                int[] arco = pila.pop();
+                int u = arco[0], v = arco[1];
+                int middle = ch.middleOf(u, v, ch.findArc(u, v));
+                if (middle < 0) {
+                    aristas.add(originalEdge(g, ch.getPeso(), u, v));
+                } else {
+                    // u → middle → v: se apila al revés para procesar primero el tramo u → middle
+                    pila.push(new int[]{middle, v});
+                    pila.push(new int[]{u, middle});
+                }
+            }
+            anterior = siguiente;
+        }
+        return aristas;
+    }
+
+    // La ruta u → v de menor peso en el snapshot (la que la jerarquía tomó al cargar los arcos)
+    private static int originalEdge(GraphSnapshot g, MetricWeight peso, int u, int v) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int mejor = -1;
+        double mejorPeso = Double.POSITIVE_INFINITY;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if (targets[e] != v) continue;
+            double w = peso.apply(g.getDistances()[e], g.getCosts()[e]);
+            if (w < 0 || Double.isNaN(w)) continue;
+            if (mejor < 0 || w < mejorPeso) {
+                mejor = e;
+                mejorPeso = w;
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,156 @@
+package com.progra3_tpo.service.chService;
+
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * ContractionHierarchy
+ * -------------------------------------------------------------
+ * Jerarquía de contracción de una versión del grafo para una métrica fija.
+ *   - rank[v]: orden en que se contrajo v (más alto = más "importante").
+ *   - Arcos hacia arriba (CSR por origen): upOffsets[u] .. upOffsets[u + 1] son los arcos u → x con
+ *     rank[x] > rank[u]. Los recorre la búsqueda hacia adelante desde el origen.
+ *   - Arcos hacia abajo (CSR por destino): downOffsets[v] .. downOffsets[v + 1] son los arcos u → v con
+ *     rank[u] > rank[v]. Los recorre la búsqueda hacia atrás desde el destino.
+ *   - middle[i] = -1 si el arco es una ruta original; si es un atajo, el nodo contraído por el que pasa
+ *     (u → middle → x), lo que permite desarmarlo recursivamente en rutas originales.
+ * Los arcos originales no guardan id de arista: al desarmar se busca la ruta u → v de menor peso en el
+ * snapshot, así la jerarquía sigue valiendo cuando withLocation renumera las aristas.
+ */
+public final class ContractionHierarchy {
+
+    private final long version;
+    private final MetricWeight peso;
+    private final int[] rank;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddle;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final double[] downWeights;
+    private final int[] downMiddle;
+    private final int shortcuts;
+
+    ContractionHierarchy(long version, MetricWeight peso, int[] rank,
+                         int[] upOffsets, int[] upTargets, double[] upWeights, int[] upMiddle,
+                         int[] downOffsets, int[] downSources, double[] downWeights, int[] downMiddle,
+                         int shortcuts) {
+        this.version = version;
+        this.peso = peso;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+        this.shortcuts = shortcuts;
+    }
+
+    /**
+     * withLeafNode
+     * ------------
+     * ENTRA: la foto nueva (versión siguiente, con un nodo x agregado al final) y el índice de x.
+     * HACE: repara la jerarquía sin volver a contraer: una ubicación recién creada sólo tiene rutas
+     *       entrantes, así que no puede ser nodo intermedio de ningún camino. Se la ubica con el rango
+     *       más bajo (contraerla primero no genera atajos) y sus rutas entrantes quedan como arcos
+     *       hacia abajo de x.
+     * SALE: la jerarquía de la versión nueva, o null si x tiene rutas salientes (hay que reconstruir).
+     * COMPLEJIDAD: O(V + E) en copias de arrays.
+     */
+    public ContractionHierarchy withLeafNode(GraphSnapshot g, int x) {
+        int n = rank.length;
+        if (x != n || g.nodeCount() != n + 1) return null;
+        int[] offsets = g.getOffsets();
+        if (offsets[x + 1] != offsets[x]) return null;
+
+        int[] newRank = Arrays.copyOf(rank, n + 1);
+        int minimo = 0;
+        for (int r : rank) minimo = Math.min(minimo, r);
+        newRank[x] = minimo - 1;
+
+        // Arcos hacia arriba: x no tiene salientes, así que sólo se agrega un bloque vacío
+        int[] newUpOffsets = Arrays.copyOf(upOffsets, n + 2);
+        newUpOffsets[n + 1] = newUpOffsets[n];
+
+        // Arcos hacia abajo de x: la ruta entrante de menor peso desde cada origen
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+        int[] revEdges = g.getReverseEdges();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+        int m = downSources.length;
+        int[] fuentes = new int[revOffsets[x + 1] - revOffsets[x]];
+        double[] pesos = new double[fuentes.length];
+        int k = 0;
+        for (int i = revOffsets[x]; i < revOffsets[x + 1]; i++) {
+            int e = revEdges[i];
+            double w = peso.apply(distances[e], costs[e]);
+            if (w < 0 || Double.isNaN(w)) continue;
+            int u = revSources[i];
+            int j = 0;
+            while (j < k && fuentes[j] != u) j++;
+            if (j == k) {
+                fuentes[k] = u;
+                pesos[k++] = w;
+            } else if (w < pesos[j]) {
+                pesos[j] = w;
+            }
+        }
+
+        int[] newDownOffsets = Arrays.copyOf(downOffsets, n + 2);
+        newDownOffsets[n + 1] = m + k;
+        int[] newDownSources = Arrays.copyOf(downSources, m + k);
+        double[] newDownWeights = Arrays.copyOf(downWeights, m + k);
+        int[] newDownMiddle = Arrays.copyOf(downMiddle, m + k);
+        for (int j = 0; j < k; j++) {
+            newDownSources[m + j] = fuentes[j];
+            newDownWeights[m + j] = pesos[j];
+            newDownMiddle[m + j] = -1;
+        }
+
+        return new ContractionHierarchy(g.getVersion(), peso, newRank,
+                newUpOffsets, upTargets, upWeights, upMiddle,
+                newDownOffsets, newDownSources, newDownWeights, newDownMiddle, shortcuts);
+    }
+
+    // Peso y nodo intermedio del arco u → v de la jerarquía (busca hacia arriba o hacia abajo según los rangos);
+    // devuelve el índice del arco en el array correspondiente, o -1 si no existe
+    int findArc(int u, int v) {
+        if (rank[u] < rank[v]) {
+            for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++) if (upTargets[i] == v) return i;
+        } else {
+            for (int i = downOffsets[v]; i < downOffsets[v + 1]; i++) if (downSources[i] == u) return i;
+        }
+        return -1;
+    }
+
+    int middleOf(int u, int v, int arc) {
+        return rank[u] < rank[v] ? upMiddle[arc] : downMiddle[arc];
+    }
+
+    public long getVersion() { return version; }
+
+    public MetricWeight getPeso() { return peso; }
+
+    public int nodeCount() { return rank.length; }
+
+    public int shortcutCount() { return shortcuts; }
+
+    int[] getUpOffsets() { return upOffsets; }
+
+    int[] getUpTargets() { return upTargets; }
+
+    double[] getUpWeights() { return upWeights; }
+
+    int[] getDownOffsets() { return downOffsets; }
+
+    int[] getDownSources() { return downSources; }
+
+    double[] getDownWeights() { return downWeights; }
+}
@@ -0,0 +1,248 @@
+package com.progra3_tpo.service.chService;
+
+import com.progra3_tpo.service.dikstraService.IndexedDaryHeap;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ContractionHierarchyBuilder
+ * -------------------------------------------------------------
+ * Arma una ContractionHierarchy contrayendo los nodos de a uno:
+ *   - Orden: heap con prioridad perezosa = (atajos que agregaría - arcos que elimina) + vecinos ya contraídos.
+ *     Al sacar un nodo se recalcula su prioridad; si ya no es la menor, vuelve a la cola.
+ *   - Contraer v: para cada par u → v → x de vecinos sin contraer se agrega el atajo u → x salvo que
+ *     una búsqueda testigo (Dijkstra local desde u que evita v, limitada en nodos asentados) encuentre
+ *     un camino igual o más corto.
+ * Si la búsqueda testigo corta por el límite, se agrega un atajo de más: nunca se pierde un camino óptimo.
+ */
+final class ContractionHierarchyBuilder {
+
+    // Nodos que puede asentar cada búsqueda testigo antes de rendirse
+    private static final int WITNESS_LIMIT = 64;
+
+    private static final class Arc {
+        final int other;
+        double weight;
+        int middle;
+
+        Arc(int other, double weight, int middle) {
+            this.other = other;
+            this.weight = weight;
+            this.middle = middle;
+        }
+    }
+
+    private final int n;
+    private final List<List<Arc>> out;
+    private final List<List<Arc>> in;
+    private final boolean[] contracted;
+    private final int[] deletedNeighbors;
+
+    // Estado reutilizable de la búsqueda testigo
+    private final double[] wdist;
+    private final int[] tocados;
+    private final IndexedDaryHeap wheap;
+
+    private ContractionHierarchyBuilder(int n) {
+        this.n = n;
+        this.out = new ArrayList<>(n);
+        this.in = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new ArrayList<>());
+            in.add(new ArrayList<>());
+        }
+        this.contracted = new boolean[n];
+        this.deletedNeighbors = new int[n];
+        this.wdist = new double[n];
+        this.tocados = new int[n];
+        Arrays.fill(wdist, Double.POSITIVE_INFINITY);
+        this.wheap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * build
+     * -----
+     * ENTRA: snapshot y función de peso de la métrica a preprocesar.
+     * HACE: carga las rutas válidas (la de menor peso por par de nodos, sin lazos), contrae todos los
+     *       nodos y separa los arcos finales en hacia arriba / hacia abajo según el rango.
+     * SALE: la jerarquía lista para consultar.
+     * COMPLEJIDAD: depende de la red; en redes tipo vial, cerca de O(V log V) búsquedas testigo acotadas.
+     */
+    static ContractionHierarchy build(GraphSnapshot g, MetricWeight peso) {
+        int n = g.nodeCount();
+        ContractionHierarchyBuilder b = new ContractionHierarchyBuilder(n);
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                double w = peso.apply(distances[e], costs[e]);
+                if (w < 0 || Double.isNaN(w) || targets[e] == u) continue;
+                b.addArc(u, targets[e], w, -1);
+            }
+        }
+
+        int[] rank = b.contractAll();
+        return b.toHierarchy(g.getVersion(), peso, rank);
+    }
+
+    private int[] contractAll() {
+        int[] rank = new int[n];
+        IndexedDaryHeap cola = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+        for (int v = 0; v < n; v++) cola.insertOrDecrease(v, priority(v));
+
+        int orden = 0;
+        while (!cola.isEmpty()) {
+            int v = cola.pollMin();
+            double p = priority(v);
+            if (!cola.isEmpty() && p > cola.peekKey()) {
+                cola.insertOrDecrease(v, p); // prioridad desactualizada: vuelve a la cola
+                continue;
+            }
+            contract(v, true);
+            contracted[v] = true;
+            rank[v] = orden++;
+            for (Arc a : out.get(v)) if (!contracted[a.other]) deletedNeighbors[a.other]++;
+            for (Arc a : in.get(v)) if (!contracted[a.other]) deletedNeighbors[a.other]++;
+        }
+        return rank;
+    }
+
+    // Prioridad de v: diferencia de arcos si se contrajera ahora, más los vecinos ya contraídos
+    private double priority(int v) {
+        int atajos = contract(v, false);
+        int eliminados = 0;
+        for (Arc a : out.get(v)) if (!contracted[a.other]) eliminados++;
+        for (Arc a : in.get(v)) if (!contracted[a.other]) eliminados++;
+        return atajos - eliminados + deletedNeighbors[v];
+    }
+
+    // Simula (agregar = false) o hace (agregar = true) la contracción de v; devuelve la cantidad de atajos
+    private int contract(int v, boolean agregar) {
+        double maxSalida = 0;
+        for (Arc a : out.get(v)) if (!contracted[a.other]) maxSalida = Math.max(maxSalida, a.weight);
+
+        int atajos = 0;
+        List<double[]> nuevos = agregar ? new ArrayList<>() : null;
+        for (Arc entrada : in.get(v)) {
+            int u = entrada.other;
+            if (contracted[u]) continue;
+
+            int asentados = witnessSearch(u, v, entrada.weight + maxSalida);
+            for (Arc salida : out.get(v)) {
+                int x = salida.other;
+                if (contracted[x] || x == u) continue;
+                double viaV = entrada.weight + salida.weight;
+                if (wdist[x] <= viaV) continue; // hay testigo: no hace falta atajo
+                atajos++;
+                if (agregar) nuevos.add(new double[]{u, x, viaV});
+            }
+            limpiarTestigo(asentados);
+        }
+        if (agregar) {
+            for (double[] s : nuevos) addArc((int) s[0], (int) s[1], s[2], v);
+        }
+        return atajos;
+    }
+
+    // Dijkstra local desde u sobre nodos sin contraer, sin pasar por v, hasta superar maxPeso o el límite
+    private int witnessSearch(int u, int evitar, double maxPeso) {
+        int cantidad = 0;
+        wdist[u] = 0;
+        tocados[cantidad++] = u;
+        wheap.insertOrDecrease(u, 0);
+        int asentados = 0;
+        while (!wheap.isEmpty() && asentados < WITNESS_LIMIT) {
+            if (wheap.peekKey() > maxPeso) break;
+            int y = wheap.pollMin();
+            asentados++;
+            for (Arc a : out.get(y)) {
+                int z = a.other;
+                if (contracted[z] || z == evitar) continue;
+                double nd = wdist[y] + a.weight;
+                if (nd < wdist[z]) {
+                    if (wdist[z] == Double.POSITIVE_INFINITY) tocados[cantidad++] = z;
+                    wdist[z] = nd;
+                    wheap.insertOrDecrease(z, nd);
+                }
+            }
+        }
+        wheap.clear();
+        return cantidad;
+    }
+
+    private void limpiarTestigo(int cantidad) {
+        for (int i = 0; i < cantidad; i++) wdist[tocados[i]] = Double.POSITIVE_INFINITY;
+    }
+
+    // Agrega el arco u → x o, si ya existe uno más caro, lo reemplaza (en ambas listas)
+    private void addArc(int u, int x, double w, int middle) {
+        for (Arc a : out.get(u)) {
+            if (a.other != x) continue;
+            if (w < a.weight) {
+                a.weight = w;
+                a.middle = middle;
+                for (Arc b : in.get(x)) {
+                    if (b.other == u) {
+                        b.weight = w;
+                        b.middle = middle;
+                    }
+                }
+            }
+            return;
+        }
+        out.get(u).add(new Arc(x, w, middle));
+        in.get(x).add(new Arc(u, w, middle));
+    }
+
+    private ContractionHierarchy toHierarchy(long version, MetricWeight peso, int[] rank) {
+        int[] upOffsets = new int[n + 1];
+        int[] downOffsets = new int[n + 1];
+        int atajos = 0;
+        for (int u = 0; u < n; u++) {
+            for (Arc a : out.get(u)) {
+                if (rank[a.other] > rank[u]) upOffsets[u + 1]++;
+                else downOffsets[a.other + 1]++;
+                if (a.middle >= 0) atajos++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            upOffsets[i + 1] += upOffsets[i];
+            downOffsets[i + 1] += downOffsets[i];
+        }
+
+        int[] upTargets = new int[upOffsets[n]];
+        double[] upWeights = new double[upOffsets[n]];
+        int[] upMiddle = new int[upOffsets[n]];
+        int[] downSources = new int[downOffsets[n]];
+        double[] downWeights = new double[downOffsets[n]];
+        int[] downMiddle = new int[downOffsets[n]];
+        int[] siguienteUp = Arrays.copyOf(upOffsets, n);
+        int[] siguienteDown = Arrays.copyOf(downOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (Arc a : out.get(u)) {
+                if (rank[a.other] > rank[u]) {
+                    int i = siguienteUp[u]++;
+                    upTargets[i] = a.other;
+                    upWeights[i] = a.weight;
+                    upMiddle[i] = a.middle;
+                } else {
+                    int i = siguienteDown[a.other]++;
+                    downSources[i] = u;
+                    downWeights[i] = a.weight;
+                    downMiddle[i] = a.middle;
+                }
+            }
+        }
+
+        return new ContractionHierarchy(version, peso, rank,
+                upOffsets, upTargets, upWeights, upMiddle,
+                downOffsets, downSources, downWeights, downMiddle, atajos);
+    }
+}
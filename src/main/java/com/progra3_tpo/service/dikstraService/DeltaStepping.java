@@ -0,0 +1,319 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * DeltaStepping
+ * -------------------------------------------------------------
+ * Árbol de caminos mínimos completo desde una fuente con delta-stepping (Meyer y Sanders) en paralelo,
+ * para grafos grandes donde un Dijkstra secuencial deja ocupado un solo núcleo.
+ *   - Los nodos se agrupan en baldes de ancho delta según su distancia tentativa; el balde i se procesa
+ *     entero a la vez. Aristas livianas (peso <= delta) se relajan en rondas hasta que el balde no cambia;
+ *     las pesadas, una sola vez al final, porque siempre caen en baldes posteriores.
+ *   - Cada fase es sincrónica en dos pasos sobre un ForkJoinPool propio:
+ *       1. generar: los hilos se reparten la frontera y arman pedidos (v, arista, distancia) separados
+ *          por dueño de v (v % hilos), sin escribir dist;
+ *       2. aplicar: cada hilo aplica sólo los pedidos de sus nodos, así dist[] y prevEdge[] no tienen carreras
+ *          y el resultado no depende del orden de los hilos.
+ *   - Sólo se reemplaza un valor con una mejora estricta: prevEdge queda siempre como un árbol.
+ *   - Fronteras chicas se relajan en el hilo que llama: repartirlas cuesta más que hacerlas.
+ * Da las mismas distancias que DijkstraService para todas las métricas (con empates puede elegir otra
+ * arista predecesora de igual peso). Aristas con peso negativo o NaN se ignoran, igual que en Dijkstra.
+ */
+@Component
+public class DeltaStepping {
+
+    private static final int MIN_PARALELO_DEFAULT = 512;
+
+    private final int threads;
+    private final int minNodes;
+    private final int minParalelo;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public DeltaStepping(@Value("${routing.dijkstra.delta.threads:0}") int threads,
+                         @Value("${routing.dijkstra.delta.min-nodes:500000}") int minNodes) {
+        this(threads, minNodes, MIN_PARALELO_DEFAULT);
+    }
+
+    // minParalelo: frontera mínima para repartir una fase entre hilos (los tests lo bajan para forzar el paralelo)
+    DeltaStepping(int threads, int minNodes, int minParalelo) {
+        this.threads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        this.minNodes = (minNodes > 0) ? minNodes : Integer.MAX_VALUE;
+        this.minParalelo = Math.max(1, minParalelo);
+        this.pool = (this.threads > 1) ? new ForkJoinPool(this.threads) : null;
+    }
+
+    // Deshabilitado: DijkstraService sin Spring sigue siempre con el heap secuencial
+    public static DeltaStepping disabled() {
+        return new DeltaStepping(1, 0, MIN_PARALELO_DEFAULT);
+    }
+
+    // true si conviene usarlo en esa foto (hay más de un hilo y el grafo llega al tamaño configurado)
+    public boolean appliesTo(GraphSnapshot g) {
+        return pool != null && g.nodeCount() >= minNodes;
+    }
+
+    public int threads() { return threads; }
+
+    public ShortestPathTree tree(GraphSnapshot g, int source, MetricWeight peso) {
+        return tree(g, source, peso, 0);
+    }
+
+    /**
+     * tree
+     * ----
+     * ENTRA: snapshot, fuente, función de peso y ancho de balde (delta <= 0 = peso promedio de las aristas).
+     * HACE: delta-stepping completo desde la fuente, con las fases repartidas entre los hilos del pool.
+     * SALE: el árbol de caminos mínimos completo (mismo formato que el de DijkstraService).
+     * COMPLEJIDAD: O(V + E + L · hilos) de trabajo, con L fases; el tiempo se divide entre los hilos en
+     *              las fases con frontera grande. Un delta chico da más fases y menos relajaciones repetidas.
+     */
+    public ShortestPathTree tree(GraphSnapshot g, int source, MetricWeight peso, double delta) {
+        return new Corrida(g, peso, delta).correr(source);
+    }
+
+    // Corre f(0..tareas-1): en el pool si son varias, en el hilo actual si es una sola
+    private void ejecutar(int tareas, IntConsumer f) {
+        if (tareas == 1) {
+            f.accept(0);
+            return;
+        }
+        List<Callable<Void>> trabajos = new ArrayList<>(tareas);
+        for (int t = 0; t < tareas; t++) {
+            int id = t;
+            trabajos.add(() -> {
+                f.accept(id);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> fut : pool.invokeAll(trabajos)) fut.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Delta-stepping interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una fase de delta-stepping", e.getCause());
+        }
+    }
+
+    // Pedidos de relajación (nodo, arista, distancia nueva) en arrays paralelos que crecen solos
+    private static final class Pedidos {
+        int[] nodos = new int[16];
+        int[] aristas = new int[16];
+        double[] distancias = new double[16];
+        int size;
+
+        void add(int v, int e, double d) {
+            if (size == nodos.length) {
+                nodos = Arrays.copyOf(nodos, size * 2);
+                aristas = Arrays.copyOf(aristas, size * 2);
+                distancias = Arrays.copyOf(distancias, size * 2);
+            }
+            nodos[size] = v;
+            aristas[size] = e;
+            distancias[size] = d;
+            size++;
+        }
+    }
+
+    // Nodos de un balde; vaciarlo es poner size en 0
+    private static final class Balde {
+        int[] nodos = new int[8];
+        int size;
+
+        void add(int v) {
+            if (size == nodos.length) nodos = Arrays.copyOf(nodos, size * 2);
+            nodos[size++] = v;
+        }
+    }
+
+    // Estado de una corrida: cada llamada a tree() arma el suyo, así varias consultas comparten el pool
+    private final class Corrida {
+        final GraphSnapshot g;
+        final int[] offsets;
+        final int[] targets;
+        final double[] pesos;   // peso de cada arista según la métrica (-1 = se ignora)
+        final double delta;
+        final int p = threads;
+
+        final double[] dist;
+        final int[] prevEdge;
+        final Pedidos[][] pedidos;            // [hilo que genera][dueño del nodo destino]
+        final List<List<Balde>> baldes;       // [dueño][índice de balde]; entradas viejas se filtran al juntar
+        final int[] cursor;                   // primer balde posiblemente no vacío de cada dueño
+
+        final int[] marcaRonda;
+        final int[] marcaFase;
+        int ronda;
+        int fase;
+        int[] frontera = new int[64];
+        int tamFrontera;
+        int[] asentadosFase = new int[64];
+        int tamAsentadosFase;
+        int asentados;
+
+        Corrida(GraphSnapshot g, MetricWeight peso, double deltaPedido) {
+            this.g = g;
+            this.offsets = g.getOffsets();
+            this.targets = g.getTargets();
+            int n = g.nodeCount();
+            int m = g.edgeCount();
+
+            double[] distances = g.getDistances();
+            double[] costs = g.getCosts();
+            this.pesos = new double[m];
+            double suma = 0;
+            int validas = 0;
+            for (int e = 0; e < m; e++) {
+                double w = peso.apply(distances[e], costs[e]);
+                if (w < 0 || Double.isNaN(w) || Double.isInfinite(w)) {
+                    pesos[e] = -1;
+                    continue;
+                }
+                pesos[e] = w;
+                suma += w;
+                validas++;
+            }
+            double promedio = (validas == 0) ? 0 : suma / validas;
+            this.delta = (deltaPedido > 0) ? deltaPedido : (promedio > 0 ? promedio : 1.0);
+
+            this.dist = new double[n];
+            this.prevEdge = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(prevEdge, -1);
+            this.marcaRonda = new int[n];
+            this.marcaFase = new int[n];
+
+            this.pedidos = new Pedidos[p][p];
+            for (Pedidos[] fila : pedidos)
+                for (int q = 0; q < p; q++) fila[q] = new Pedidos();
+            this.baldes = new ArrayList<>(p);
+            for (int q = 0; q < p; q++) baldes.add(new ArrayList<>());
+            this.cursor = new int[p];
+        }
+
+        ShortestPathTree correr(int source) {
+            dist[source] = 0;
+            agregarABalde(source % p, source, 0);
+
+            for (int i = siguienteBalde(); i >= 0; i = siguienteBalde()) {
+                fase++;
+                tamAsentadosFase = 0;
+                // Aristas livianas: se repite mientras el balde i reciba nodos nuevos o mejorados
+                while (juntarFrontera(i)) relajar(frontera, tamFrontera, true);
+                // Aristas pesadas de todo lo asentado en el balde: una sola vez
+                relajar(asentadosFase, tamAsentadosFase, false);
+            }
+            return new ShortestPathTree(g, source, dist, prevEdge, asentados);
+        }
+
+        // Menor índice de balde con alguna entrada (de cualquier dueño), o -1 si no queda nada
+        int siguienteBalde() {
+            int min = Integer.MAX_VALUE;
+            for (int q = 0; q < p; q++) {
+                List<Balde> propios = baldes.get(q);
+                while (cursor[q] < propios.size() && propios.get(cursor[q]).size == 0) cursor[q]++;
+                if (cursor[q] < propios.size()) min = Math.min(min, cursor[q]);
+            }
+            return (min == Integer.MAX_VALUE) ? -1 : min;
+        }
+
+        // Pasa a la frontera los nodos del balde i que siguen perteneciendo a él; vacía el balde en todos los dueños
+        boolean juntarFrontera(int i) {
+            ronda++;
+            tamFrontera = 0;
+            for (int q = 0; q < p; q++) {
+                List<Balde> propios = baldes.get(q);
+                if (i >= propios.size()) continue;
+                Balde b = propios.get(i);
+                for (int k = 0; k < b.size; k++) {
+                    int v = b.nodos[k];
+                    if (marcaRonda[v] == ronda || indiceDe(dist[v]) != i) continue; // repetido o ya mejoró a otro balde
+                    marcaRonda[v] = ronda;
+                    if (tamFrontera == frontera.length) frontera = Arrays.copyOf(frontera, tamFrontera * 2);
+                    frontera[tamFrontera++] = v;
+                    if (marcaFase[v] != fase) {
+                        marcaFase[v] = fase;
+                        if (tamAsentadosFase == asentadosFase.length)
+                            asentadosFase = Arrays.copyOf(asentadosFase, tamAsentadosFase * 2);
+                        asentadosFase[tamAsentadosFase++] = v;
+                        asentados++;
+                    }
+                }
+                b.size = 0;
+            }
+            return tamFrontera > 0;
+        }
+
+        // Relaja las aristas livianas o pesadas de los nodos dados: genera pedidos en paralelo y los aplica por dueño
+        void relajar(int[] nodos, int cantidad, boolean livianas) {
+            if (cantidad == 0) return;
+            if (p == 1 || cantidad < minParalelo) {
+                generar(0, 1, nodos, cantidad, livianas);
+                for (int q = 0; q < p; q++) aplicar(q, 1);
+                return;
+            }
+            ejecutar(p, t -> generar(t, p, nodos, cantidad, livianas));
+            ejecutar(p, q -> aplicar(q, p));
+        }
+
+        void generar(int t, int tareas, int[] nodos, int cantidad, boolean livianas) {
+            Pedidos[] salida = pedidos[t];
+            int desde = (int) ((long) cantidad * t / tareas);
+            int hasta = (int) ((long) cantidad * (t + 1) / tareas);
+            for (int k = desde; k < hasta; k++) {
+                int u = nodos[k];
+                double du = dist[u];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    double w = pesos[e];
+                    if (w < 0 || (w <= delta) != livianas) continue;
+                    int v = targets[e];
+                    double nd = du + w;
+                    if (nd < dist[v]) salida[v % p].add(v, e, nd); // dist sólo se lee en este paso
+                }
+            }
+        }
+
+        // El dueño q aplica en orden fijo los pedidos que le generaron; sólo él escribe dist y prevEdge de sus nodos
+        void aplicar(int q, int generadores) {
+            for (int t = 0; t < generadores; t++) {
+                Pedidos ps = pedidos[t][q];
+                for (int k = 0; k < ps.size; k++) {
+                    int v = ps.nodos[k];
+                    double nd = ps.distancias[k];
+                    if (nd < dist[v]) {
+                        dist[v] = nd;
+                        prevEdge[v] = ps.aristas[k];
+                        agregarABalde(q, v, nd);
+                    }
+                }
+                ps.size = 0;
+            }
+        }
+
+        void agregarABalde(int q, int v, double d) {
+            List<Balde> propios = baldes.get(q);
+            int i = indiceDe(d);
+            while (propios.size() <= i) propios.add(new Balde());
+            propios.get(i).add(v);
+            if (i < cursor[q]) cursor[q] = i;
+        }
+
+        int indiceDe(double d) {
+            return (int) Math.min(d / delta, Integer.MAX_VALUE - 1);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.progra3_tpo.service.dikstraService;
+
+/**
+ * DijkstraMode
+ * -------------------------------------------------------------
+ * Variante de búsqueda punto a punto de /api/dijkstra:
+ *   - "unidirectional" (por defecto) → un solo Dijkstra desde el origen
+ *   - "bidirectional"                → Dijkstra desde el origen y desde el destino a la vez
+ *   - "alt"                          → A* con cotas de landmarks (LandmarkService)
+ *   - "ch"                           → jerarquías de contracción precalculadas (ChService)
+ */
+public enum DijkstraMode {
+    UNIDIRECTIONAL,
+    BIDIRECTIONAL,
+    ALT,
+    CH;
+
+    public static DijkstraMode of(String mode) {
+        String m = (mode == null) ? "" : mode.trim().toLowerCase();
+        return switch (m) {
+            case "bidirectional", "bidi" -> BIDIRECTIONAL;
+            case "alt", "landmarks" -> ALT;
+            case "ch", "contraction" -> CH;
+            default -> UNIDIRECTIONAL;
+        };
+    }
+}
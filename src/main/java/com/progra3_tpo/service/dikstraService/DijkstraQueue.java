@@ -0,0 +1,49 @@
+package com.progra3_tpo.service.dikstraService;
+
+/**
+ * DijkstraQueue
+ * -------------------------------------------------------------
+ * Cola de prioridad que usa DijkstraService en una consulta:
+ *   - "dary" / "indexed"            → IndexedDaryHeap con decrease-key (aridad configurable, 4 por defecto)
+ *   - "pq" / "priorityqueue"        → java.util.PriorityQueue con borrado perezoso (el camino original)
+ *   - "radix" / "bucket"            → RadixHeap monótono sobre pesos enteros en punto fijo (centésimos);
+ *                                     si la foto tiene valores con más de dos decimales vuelve al heap indexado
+ * Cualquier otro valor (o ninguno) cae en el heap indexado.
+ */
+public final class DijkstraQueue {
+
+    public static final DijkstraQueue DEFAULT = new DijkstraQueue(true, IndexedDaryHeap.DEFAULT_ARITY);
+    public static final DijkstraQueue PRIORITY_QUEUE = new DijkstraQueue(false, 2);
+    public static final DijkstraQueue RADIX = new DijkstraQueue(false, 2, true);
+
+    // Aridad máxima aceptada: más hijos por nodo ya no mejora nada y sólo alarga siftDown
+    private static final int MAX_ARITY = 16;
+
+    private final boolean indexed;
+    private final int arity;
+    private final boolean fixedPoint;
+
+    private DijkstraQueue(boolean indexed, int arity) {
+        this(indexed, arity, false);
+    }
+
+    private DijkstraQueue(boolean indexed, int arity, boolean fixedPoint) {
+        this.indexed = indexed;
+        this.arity = arity;
+        this.fixedPoint = fixedPoint;
+    }
+
+    public static DijkstraQueue of(String heap, Integer arity) {
+        String h = (heap == null) ? "" : heap.trim().toLowerCase();
+        if (h.equals("pq") || h.equals("priorityqueue")) return PRIORITY_QUEUE;
+        if (h.equals("radix") || h.equals("bucket")) return RADIX;
+        if (arity == null) return DEFAULT;
+        return new DijkstraQueue(true, Math.max(2, Math.min(MAX_ARITY, arity)));
+    }
+
+    public boolean isIndexed() { return indexed; }
+
+    public int arity() { return arity; }
+
+    public boolean isFixedPoint() { return fixedPoint; }
+}
@@ -1,8 +1,9 @@
 package com.progra3_tpo.service.dikstraService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.FixedPointWeights;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -10,22 +11,6 @@ import java.util.*;
 @Service
 public class DijkstraService {
 
-    // Clase interna que representa una conexión (arista) entre dos nodos.
-    // Contiene el índice del nodo destino, la distancia, el costo y la ruta asociada.
-    public static class EdgeDto {
-        public final int to;
-        public final double distance;
-        public final double cost;
-        public final RouteDto route;
-
-        public EdgeDto(int to, double distance, double cost, RouteDto route) {
-            this.to = to;
-            this.distance = distance;
-            this.cost = cost;
-            this.route = route;
-        }
-    }
-
     // Clase usada para manejar la cola de prioridad del algoritmo.
     // Guarda el índice del nodo y la distancia acumulada desde el origen hasta ese punto.
     private static class Node implements Comparable<Node> {
@@ -44,114 +29,565 @@ public class DijkstraService {
         }
     }
 
-    // Metodo principal que ejecuta el algoritmo de Dijkstra.
+    // Un heap indexado por hilo: se reutiliza entre consultas para no reservar arrays en cada una
+    private static final ThreadLocal<IndexedDaryHeap> HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+    // Segundo heap por hilo para la búsqueda hacia atrás del modo bidireccional
+    private static final ThreadLocal<IndexedDaryHeap> BACKWARD_HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+    // Cola de baldes por hilo para el modo de punto fijo
+    private static final ThreadLocal<RadixHeap> RADIX_HEAPS = ThreadLocal.withInitial(RadixHeap::new);
+    // Marcas de destino por hilo para oneToMany
+    private static final ThreadLocal<MarcasDeDestino> GOAL_MARKS = ThreadLocal.withInitial(MarcasDeDestino::new);
+
+    // marca[v] == ronda si v es uno de los destinos de la consulta actual; así no se reserva un array por consulta
+    private static final class MarcasDeDestino {
+        int[] marca = new int[0];
+        int ronda;
+
+        // Abre una ronda nueva para n nodos (agranda el array si no alcanza)
+        void preparar(int n) {
+            if (marca.length < n) {
+                marca = new int[n];
+                ronda = 0;
+            }
+            if (++ronda == Integer.MAX_VALUE) { // vuelta completa del contador: se limpian las marcas
+                Arrays.fill(marca, 0);
+                ronda = 1;
+            }
+        }
+    }
+
+    // Árboles completos ya calculados por (versión, fuente, métrica); deshabilitada si no se configura
+    private final ShortestPathTreeCache treeCache;
+    // Árboles completos en paralelo para grafos grandes; deshabilitado si no se configura
+    private final DeltaStepping deltaStepping;
+
+    public DijkstraService() {
+        this(new ShortestPathTreeCache(0), DeltaStepping.disabled());
+    }
+
+    public DijkstraService(ShortestPathTreeCache treeCache) {
+        this(treeCache, DeltaStepping.disabled());
+    }
+
+    @Autowired
+    public DijkstraService(ShortestPathTreeCache treeCache, DeltaStepping deltaStepping) {
+        this.treeCache = treeCache;
+        this.deltaStepping = deltaStepping;
+    }
+
+    // Metodo principal que ejecuta el algoritmo de Dijkstra con la cola por defecto (heap 4-ario indexado)
+    public PathResponse compute(GraphSnapshot g, int start, int goal, String metric, double alpha) {
+        return compute(g, start, goal, metric, alpha, DijkstraQueue.DEFAULT);
+    }
+
     // Calcula el camino más corto entre un nodo de origen y uno de destino
-    // dentro de un grafo ponderado, según la métrica elegida.
-    public PathResponse compute(int start, int goal, List<List<EdgeDto>> adjList, List<LocationDto> nodes, String metric, double alpha) {
+    // dentro de un grafo ponderado, según la métrica elegida y con la cola de prioridad pedida.
+    // Recorre directamente los arrays CSR del snapshot (sin objetos por arista).
+    public PathResponse compute(GraphSnapshot g, int start, int goal, String metric, double alpha, DijkstraQueue queue) {
 
         // Validación básica de los parámetros recibidos
-        if (!isValidInput(start, goal, adjList, nodes))
+        if (!isValidInput(g, start, goal))
             return new PathResponse("Parámetros inválidos", List.of(), List.of(), 0, 0);
 
-        // Aseguramos que el valor de alpha esté entre 0 y 1
-        alpha = Math.max(0, Math.min(1, alpha));
+        // Resolvemos la métrica una sola vez (por defecto, distancia; alpha queda entre 0 y 1)
+        MetricWeight peso = MetricWeight.of(metric, alpha);
 
-        // Definimos la métrica por defecto (distancia)
-        metric = (metric == null) ? "distance" : metric.toLowerCase();
+        // Punto fijo: si la foto no tiene pesos representables en centésimos se sigue con el heap indexado
+        if (queue != null && queue.isFixedPoint()) {
+            PathResponse fijo = computeFixedPoint(g, start, goal, peso);
+            if (fijo != null) return fijo;
+            queue = DijkstraQueue.DEFAULT;
+        }
+
+        // Con la caché de árboles activa, el heap indexado resuelve la fuente completa una sola vez
+        if (treeCache.isEnabled() && (queue == null || queue.isIndexed()))
+            return computeFromTree(g, start, goal, peso, arityOf(queue));
 
         //inicializacion
 
-        int n = adjList.size(); // Número de nodos en el grafo
+        int n = g.nodeCount(); // Número de nodos en el grafo
         double[] dist = new double[n]; // Distancias acumuladas desde el nodo inicial
-        int[] prev = new int[n];       // Vector de predecesores (para reconstruir el camino)
+        int[] prevEdge = new int[n];   // Arista por la que se llegó a cada nodo (para reconstruir el camino)
         Arrays.fill(dist, Double.POSITIVE_INFINITY); // Inicialmente todas las distancias son infinitas
-        Arrays.fill(prev, -1); // Inicialmente no hay predecesores
+        Arrays.fill(prevEdge, -1); // Inicialmente no hay predecesores
         dist[start] = 0; // La distancia al nodo inicial siempre es cero
 
+        int settled;
+        if (queue != null && !queue.isIndexed()) {
+            settled = runWithPriorityQueue(g, start, goal, peso, dist, prevEdge);
+        } else {
+            settled = runWithIndexedHeap(g, start, goal, peso, dist, prevEdge, arityOf(queue));
+        }
+
+        // Si el destino no fue alcanzado, significa que no existe un camino posible
+        PathResponse resp;
+        if (Double.isInfinite(dist[goal]))
+            resp = new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        else
+            resp = buildPathResponse(g, start, goal, prevEdge); // Si existe camino, reconstruimos el recorrido
+        resp.setSettledNodes(settled);
+        return resp;
+    }
+
+    /**
+     * computeFromTree
+     * ---------------
+     * ENTRA: snapshot, origen, destino, función de peso y aridad del heap.
+     * HACE: busca en la caché el árbol de caminos mínimos del origen para esa versión y métrica.
+     *       Si no está, calcula el árbol completo (shortestPathTree, sin cortar en el destino)
+     *       y lo guarda, así las próximas consultas desde el mismo origen sólo reconstruyen el camino.
+     * SALE: el mismo PathResponse que compute(); settledNodes es 0 cuando la respuesta sale de la caché.
+     * COMPLEJIDAD: O((V + E) log V) en un fallo; O(largo del camino · log V) en un acierto.
+     */
+    private PathResponse computeFromTree(GraphSnapshot g, int start, int goal, MetricWeight peso, int arity) {
+        ShortestPathTree arbol = treeCache.get(g.getVersion(), start, peso);
+        if (arbol != null) {
+            PathResponse resp = arbol.toPathResponse(goal);
+            resp.setSettledNodes(0);
+            return resp;
+        }
+
+        arbol = shortestPathTree(g, start, peso, arity);
+        treeCache.put(g.getVersion(), start, peso, arbol);
+        return arbol.toPathResponse(goal);
+    }
+
+    // Árbol de caminos mínimos completo desde la fuente con el heap por defecto (o delta-stepping, ver abajo)
+    public ShortestPathTree shortestPathTree(GraphSnapshot g, int source, MetricWeight peso) {
+        return shortestPathTree(g, source, peso, IndexedDaryHeap.DEFAULT_ARITY);
+    }
+
+    // true si shortestPathTree usa delta-stepping en esa foto (ver abajo)
+    public boolean usesDeltaStepping(GraphSnapshot g) {
+        return deltaStepping.appliesTo(g);
+    }
+
+    // En grafos de al menos routing.dijkstra.delta.min-nodes nodos el árbol se calcula con delta-stepping
+    // en paralelo (mismas distancias); en el resto, Dijkstra secuencial con el heap indexado.
+    private ShortestPathTree shortestPathTree(GraphSnapshot g, int source, MetricWeight peso, int arity) {
+        if (deltaStepping.appliesTo(g))
+            return deltaStepping.tree(g, source, peso);
+
+        int n = g.nodeCount();
+        double[] dist = new double[n];
+        int[] prevEdge = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(prevEdge, -1);
+        dist[source] = 0;
+        int settled = runWithIndexedHeap(g, source, -1, peso, dist, prevEdge, arity);
+        return new ShortestPathTree(g, source, dist, prevEdge, settled);
+    }
+
+    /**
+     * computeFixedPoint
+     * -----------------
+     * ENTRA: snapshot, origen, destino y función de peso.
+     * HACE: Dijkstra sobre los pesos enteros de la foto (centésimos, ver FixedPointWeights) con una cola
+     *       de baldes monótona (RadixHeap): sin comparaciones de double ni decrease-key. En "weighted" el
+     *       peso entero usa alpha redondeado a 1/MetricWeight.ALPHA_SCALE.
+     *       Los totales se suman en centésimos y se pasan a double al final, así salen exactos.
+     * SALE: el mismo PathResponse que compute(), o null si la foto no es representable en punto fijo.
+     * COMPLEJIDAD: O(E + V · log C) con C el peso máximo de arista.
+     */
+    private PathResponse computeFixedPoint(GraphSnapshot g, int start, int goal, MetricWeight peso) {
+        FixedPointWeights fijos = g.fixedPointWeights();
+        if (!fijos.isExact()) return null;
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] distances = fijos.getDistances();
+        int[] costs = fijos.getCosts();
+
+        int n = g.nodeCount();
+        long[] dist = new long[n];
+        int[] prevEdge = new int[n];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        Arrays.fill(prevEdge, -1);
+        dist[start] = 0;
+
+        RadixHeap cola = RADIX_HEAPS.get();
+        cola.clear();
+        cola.push(start, 0);
+        int settled = 0;
+
+        while (!cola.isEmpty()) {
+            int u = cola.pollMin();
+            if (cola.lastKey() != dist[u]) continue; // entrada vieja: u ya salió con una clave menor
+            settled++;
+            if (u == goal) break;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                long nd = dist[u] + peso.applyFixed(distances[e], costs[e]);
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    prevEdge[v] = e;
+                    cola.push(v, nd);
+                }
+            }
+        }
+
+        PathResponse resp;
+        if (dist[goal] == Long.MAX_VALUE) {
+            resp = new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        } else {
+            resp = buildPathResponse(g, start, goal, prevEdge);
+            long totalDistance = 0, totalCost = 0;
+            for (int at = goal; at != start; at = sourceOf(offsets, prevEdge[at])) {
+                totalDistance += distances[prevEdge[at]];
+                totalCost += costs[prevEdge[at]];
+            }
+            resp.setTotalDistance(FixedPointWeights.toDouble(totalDistance));
+            resp.setTotalCost(FixedPointWeights.toDouble(totalCost));
+        }
+        resp.setSettledNodes(settled);
+        return resp;
+    }
+
+    // Contadores de la caché de árboles (aciertos, fallos, desalojos y memoria ocupada)
+    public ShortestPathTreeCache.Stats treeCacheStats() {
+        return treeCache.stats();
+    }
+
+    /**
+     * computeBidirectional
+     * --------------------
+     * ENTRA: snapshot, índices de origen y destino, métrica, alpha y cola (se usa su aridad).
+     * HACE: corre dos Dijkstra a la vez: uno hacia adelante desde el origen por las rutas salientes
+     *       y otro hacia atrás desde el destino por las rutas entrantes (vista inversa del snapshot).
+     *       Cada vez que una relajación toca un nodo ya alcanzado por la otra búsqueda se actualiza
+     *       mu, el mejor camino completo visto. Se avanza siempre el lado con menor tope y se corta
+     *       cuando topeAdelante + topeAtras >= mu: ningún camino sin explorar puede mejorar a mu.
+     * SALE: el mismo PathResponse que compute(), con la cantidad de nodos asentados en ambos lados.
+     * COMPLEJIDAD: O((V + E) log V) en el peor caso; en redes tipo vial asienta cerca de la mitad de nodos.
+     */
+    public PathResponse computeBidirectional(GraphSnapshot g, int start, int goal, String metric, double alpha,
+                                             DijkstraQueue queue) {
+        if (!isValidInput(g, start, goal))
+            return new PathResponse("Parámetros inválidos", List.of(), List.of(), 0, 0);
+
+        MetricWeight peso = MetricWeight.of(metric, alpha);
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+        int[] revEdges = g.getReverseEdges();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
+        double[] distF = new double[n]; // distancia desde el origen
+        double[] distB = new double[n]; // distancia hasta el destino
+        int[] prevF = new int[n];       // arista por la que se llega a cada nodo desde el origen
+        int[] nextB = new int[n];       // arista por la que cada nodo sigue hacia el destino
+        Arrays.fill(distF, Double.POSITIVE_INFINITY);
+        Arrays.fill(distB, Double.POSITIVE_INFINITY);
+        Arrays.fill(prevF, -1);
+        Arrays.fill(nextB, -1);
+        distF[start] = 0;
+        distB[goal] = 0;
+
+        int arity = arityOf(queue);
+        IndexedDaryHeap adelante = HEAPS.get();
+        IndexedDaryHeap atras = BACKWARD_HEAPS.get();
+        adelante.reset(n, arity);
+        atras.reset(n, arity);
+        adelante.insertOrDecrease(start, 0);
+        atras.insertOrDecrease(goal, 0);
+
+        double mu = (start == goal) ? 0 : Double.POSITIVE_INFINITY; // mejor camino completo encontrado
+        int meet = (start == goal) ? start : -1;                    // nodo donde se juntan las dos búsquedas
+        int settled = 0;
+
+        while (!adelante.isEmpty() && !atras.isEmpty()) {
+            double topeF = adelante.peekKey();
+            double topeB = atras.peekKey();
+            if (topeF + topeB >= mu) break; // criterio de corte
+
+            if (topeF <= topeB) {
+                int u = adelante.pollMin();
+                settled++;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    double weight = peso.apply(distances[e], costs[e]);
+                    if (weight < 0 || Double.isNaN(weight)) continue;
+                    int v = targets[e];
+                    double nd = distF[u] + weight;
+                    if (nd < distF[v]) {
+                        distF[v] = nd;
+                        prevF[v] = e;
+                        adelante.insertOrDecrease(v, nd);
+                    }
+                    if (distF[v] + distB[v] < mu) {
+                        mu = distF[v] + distB[v];
+                        meet = v;
+                    }
+                }
+            } else {
+                int u = atras.pollMin();
+                settled++;
+                for (int i = revOffsets[u]; i < revOffsets[u + 1]; i++) {
+                    int e = revEdges[i];
+                    double weight = peso.apply(distances[e], costs[e]);
+                    if (weight < 0 || Double.isNaN(weight)) continue;
+                    int v = revSources[i];
+                    double nd = distB[u] + weight;
+                    if (nd < distB[v]) {
+                        distB[v] = nd;
+                        nextB[v] = e;
+                        atras.insertOrDecrease(v, nd);
+                    }
+                    if (distF[v] + distB[v] < mu) {
+                        mu = distF[v] + distB[v];
+                        meet = v;
+                    }
+                }
+            }
+        }
+
+        PathResponse resp;
+        if (meet < 0) {
+            resp = new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        } else {
+            // Tramo origen → meet (predecesores hacia adelante) + tramo meet → destino (sucesores hacia atrás)
+            LinkedList<Integer> pathEdges = new LinkedList<>();
+            for (int at = meet; at != start; ) {
+                int e = prevF[at];
+                pathEdges.addFirst(e);
+                at = sourceOf(offsets, e);
+            }
+            for (int at = meet; at != goal; ) {
+                int e = nextB[at];
+                pathEdges.addLast(e);
+                at = targets[e];
+            }
+            resp = buildPathResponse(g, start, pathEdges);
+        }
+        resp.setSettledNodes(settled);
+        return resp;
+    }
+
+    // Versión original: PriorityQueue de Node con borrado perezoso.
+    // Cada relajación exitosa agrega un Node nuevo; las entradas viejas se descartan al salir (visited).
+    private int runWithPriorityQueue(GraphSnapshot g, int start, int goal, MetricWeight peso,
+                                      double[] dist, int[] prevEdge) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
         PriorityQueue<Node> pq = new PriorityQueue<>(); // Cola de prioridad que elige el nodo con la menor distancia acumulada
         pq.add(new Node(start, 0)); // agrega el vértice `start` con distancia 0 (origen)
 
-        boolean[] visited = new boolean[n]; // Marca los nodos ya procesados
+        boolean[] visited = new boolean[g.nodeCount()]; // Marca los nodos ya procesados
+        int settled = 0;
 
         // Bucle principal del algoritmo de Dijkstra
         while (!pq.isEmpty()) {//mientras la cola no esté vacía
             Node current = pq.poll(); // acá se obtiene y elimina el nodo con menor distancia
-            if (visited[current.index]) continue;
-            visited[current.index] = true;
+            int u = current.index;
+            if (visited[u]) continue;
+            visited[u] = true;
+            settled++;
 
             // Si llegamos al nodo destino, podemos cortar el proceso
-            if (current.index == goal) break;
+            if (u == goal) break;
 
             // Relajacion, recorremos todas las aristas del nodo actual para actualizar distancias
-            for (EdgeDto edge : adjList.get(current.index)) {
-                double weight = calculateWeight(edge, metric, alpha);//caculamos el peso de cada arista
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                double weight = peso.apply(distances[e], costs[e]);//caculamos el peso de cada arista
                 if (weight < 0 || Double.isNaN(weight)) continue; // Rechaza NaN infinitos y también pesos negativos
 
-                double newDist = dist[current.index] + weight;
+                int v = targets[e];
+                double newDist = dist[u] + weight;
 
                 // Si encontramos un camino más corto hacia el nodo vecino, lo actualizamos
-                if (newDist < dist[edge.to]) {//si la distancia calculada es menor a la guardada en el nodo
-                    dist[edge.to] = newDist;
-                    prev[edge.to] = current.index;
-                    pq.add(new Node(edge.to, newDist));
+                if (newDist < dist[v]) {//si la distancia calculada es menor a la guardada en el nodo
+                    dist[v] = newDist;
+                    prevEdge[v] = e;
+                    pq.add(new Node(v, newDist));
                 }
             }
         }
+        return settled;
+    }
 
-        // Si el destino no fue alcanzado, significa que no existe un camino posible
-        if (Double.isInfinite(dist[goal]))
-            return new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+    // Versión con heap d-ario indexado: cada nodo está a lo sumo una vez en la cola y
+    // una relajación exitosa baja su clave en el lugar (decrease-key), sin crear objetos.
+    // Corta al asentar goal (con goal = -1 recorre todo).
+    private int runWithIndexedHeap(GraphSnapshot g, int start, int goal, MetricWeight peso,
+                                    double[] dist, int[] prevEdge, int arity) {
+        return runWithIndexedHeap(g, start, goal, null, 0, goal >= 0 ? 1 : 0, peso, dist, prevEdge, arity);
+    }
 
-        // Si existe camino, reconstruimos el recorrido y armamos la respuesta
-        return buildPathResponse(start, goal, prev, nodes, adjList);
+    // Igual, pero también cuenta como destino todo v con marcas[v] == ronda: corta cuando asentó "pendientes"
+    // destinos (con pendientes <= 0 recorre todo).
+    // No marca los asentados: con pesos no negativos un nodo que ya salió de la cola nunca mejora su distancia,
+    // así que tampoco vuelve a entrar.
+    private int runWithIndexedHeap(GraphSnapshot g, int start, int goal, int[] marcas, int ronda, int pendientes,
+                                    MetricWeight peso, double[] dist, int[] prevEdge, int arity) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
+        IndexedDaryHeap heap = HEAPS.get();
+        heap.reset(g.nodeCount(), arity);
+        heap.insertOrDecrease(start, 0);
+
+        int settled = 0;
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled++;
+
+            // Al salir de la cola la distancia de u ya es definitiva
+            if ((u == goal || (marcas != null && marcas[u] == ronda)) && --pendientes == 0) break;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                double weight = peso.apply(distances[e], costs[e]);
+                if (weight < 0 || Double.isNaN(weight)) continue;
+
+                int v = targets[e];
+                double newDist = dist[u] + weight;
+
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    prevEdge[v] = e;
+                    heap.insertOrDecrease(v, newDist);
+                }
+            }
+        }
+        return settled;
     }
 
 
-    // ======================= MÉTODOS AUXILIARES =======================
+    /**
+     * oneToMany
+     * ---------
+     * ENTRA: snapshot, nodo fuente, índices de los destinos y función de peso.
+     * HACE: un solo Dijkstra desde la fuente (heap indexado) que corta en cuanto asentó todos los destinos;
+     *       los índices fuera de rango o repetidos se ignoran.
+     * SALE: el árbol de caminos mínimos parcial, con distancias definitivas para todos los destinos.
+     * COMPLEJIDAD: O((V + E) log V) en el peor caso; suele asentar sólo la bola que contiene a los destinos.
+     */
+    public ShortestPathTree oneToMany(GraphSnapshot g, int source, int[] goals, MetricWeight peso) {
+        int n = g.nodeCount();
+        double[] dist = new double[n];
+        int[] prevEdge = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(prevEdge, -1);
+        dist[source] = 0;
+
+        MarcasDeDestino objetivo = GOAL_MARKS.get();
+        objetivo.preparar(n);
+        int[] marca = objetivo.marca;
+        int ronda = objetivo.ronda;
+        int pendientes = 0;
+        for (int t : goals) {
+            if (t < 0 || t >= n || marca[t] == ronda) continue;
+            marca[t] = ronda;
+            pendientes++;
+        }
 
-    // Verifica que los datos de entrada sean válidos antes de ejecutar el algoritmo
-    private boolean isValidInput(int start, int goal, List<List<EdgeDto>> adjList, List<LocationDto> nodes) {
-        return adjList != null && nodes != null &&
-                start >= 0 && goal >= 0 &&
-                start < adjList.size() && goal < adjList.size();
+        int settled = (pendientes == 0) ? 0
+                : runWithIndexedHeap(g, source, -1, marca, ronda, pendientes, peso, dist, prevEdge,
+                        IndexedDaryHeap.DEFAULT_ARITY);
+        return new ShortestPathTree(g, source, dist, prevEdge, settled);
     }
 
-    // Calcula el peso de una arista según la métrica elegida:
-    // puede basarse en distancia, costo, o una combinación de ambas.
-    private double calculateWeight(EdgeDto edge, String metric, double alpha) {
-        return switch (metric) {
-            case "cost" -> edge.cost;
-            case "weighted" -> alpha * edge.distance + (1 - alpha) * edge.cost;
-            default -> edge.distance;
-        };
+    /**
+     * distancesFrom
+     * -------------
+     * ENTRA: snapshot, nodo fuente, función de peso y sentido (reverse = recorrer rutas entrantes).
+     * HACE: Dijkstra completo (sin destino) desde la fuente con el heap indexado.
+     *       Con reverse = true devuelve la distancia de cada nodo HACIA la fuente.
+     * SALE: array de distancias (infinito para los nodos no alcanzables).
+     * COMPLEJIDAD: O((V + E) log V).
+     */
+    public double[] distancesFrom(GraphSnapshot g, int source, MetricWeight peso, boolean reverse) {
+        return distancesFrom(g, source, peso, reverse, null);
     }
 
-    // Reconstruye el camino encontrado desde el nodo origen hasta el destino
-    // y calcula las métricas finales de distancia y costo.
-    private PathResponse buildPathResponse(int start, int goal, int[] prev,
-                                           List<LocationDto> nodes, List<List<EdgeDto>> adjList) {
+    // Igual que el anterior; si treeEdge no es null, deja en treeEdge[v] la arista del árbol que une v con la fuente
+    // (con reverse = true es la primera arista del camino mínimo v → fuente; -1 para la fuente y los no alcanzables)
+    public double[] distancesFrom(GraphSnapshot g, int source, MetricWeight peso, boolean reverse, int[] treeEdge) {
+        int n = g.nodeCount();
+        int[] offsets = reverse ? g.getReverseOffsets() : g.getOffsets();
+        int[] vecinos = reverse ? g.getReverseSources() : g.getTargets();
+        int[] reverseEdges = g.getReverseEdges();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        if (treeEdge != null) Arrays.fill(treeEdge, -1);
+
+        IndexedDaryHeap heap = HEAPS.get();
+        heap.reset(n, IndexedDaryHeap.DEFAULT_ARITY);
+        heap.insertOrDecrease(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = reverse ? reverseEdges[i] : i;
+                double weight = peso.apply(distances[e], costs[e]);
+                if (weight < 0 || Double.isNaN(weight)) continue;
+                int v = vecinos[i];
+                double nd = dist[u] + weight;
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    if (treeEdge != null) treeEdge[v] = e;
+                    heap.insertOrDecrease(v, nd);
+                }
+            }
+        }
+        return dist;
+    }
 
-        // Reconstrucción del camino a partir del vector de predecesores
-        LinkedList<Integer> path = new LinkedList<>();
-        for (int at = goal; at != -1; at = prev[at]) path.addFirst(at);
+    // ======================= MÉTODOS AUXILIARES =======================
 
-        // Obtenemos los objetos LocationDto y RouteDto correspondientes al recorrido
-        List<LocationDto> locations = path.stream().map(nodes::get).toList();
-        List<RouteDto> routes = getRoutesFromPath(path, adjList);
+    // Verifica que los datos de entrada sean válidos antes de ejecutar el algoritmo
+    private boolean isValidInput(GraphSnapshot g, int start, int goal) {
+        return g != null &&
+                start >= 0 && goal >= 0 &&
+                start < g.nodeCount() && goal < g.nodeCount();
+    }
 
-        // Calculamos la distancia y el costo total del recorrido
-        double totalDistance = routes.stream().filter(Objects::nonNull)
-                .mapToDouble(RouteDto::getDistancia).sum();
-        double totalCost = routes.stream().filter(Objects::nonNull)
-                .mapToDouble(RouteDto::getCosto).sum();
+    private static int arityOf(DijkstraQueue queue) {
+        return (queue == null || !queue.isIndexed()) ? IndexedDaryHeap.DEFAULT_ARITY : queue.arity();
+    }
 
-        // Listas de nombres de los nodos y rutas para la respuesta final
-        List<String> nodeNames = locations.stream()
-                .map(l -> Optional.ofNullable(l.getNombre()).orElse("?")).toList();
+    // Reconstruye el camino encontrado desde el nodo origen hasta el destino
+    // a partir del vector de aristas predecesoras, y calcula las métricas finales
+    // de distancia y costo. Recién acá se consulta la tabla lateral de nombres de ruta.
+    public static PathResponse buildPathResponse(GraphSnapshot g, int start, int goal, int[] prevEdge) {
+        int[] offsets = g.getOffsets();
+
+        // Reconstrucción del camino: para cada nodo, su arista predecesora dice de dónde vino
+        LinkedList<Integer> pathEdges = new LinkedList<>();
+        for (int at = goal; at != start; ) {
+            int e = prevEdge[at];
+            pathEdges.addFirst(e);
+            at = sourceOf(offsets, e);
+        }
+        return buildPathResponse(g, start, pathEdges);
+    }
 
-        List<String> routeNames = routes.stream()
-                .map(r -> (r == null || r.getNombreRuta() == null) ? "?" : r.getNombreRuta())
-                .toList();
+    // Arma la respuesta a partir de la secuencia de aristas del camino (en orden desde el origen)
+    public static PathResponse buildPathResponse(GraphSnapshot g, int start, List<Integer> pathEdges) {
+        int[] targets = g.getTargets();
+
+        List<String> nodeNames = new ArrayList<>(pathEdges.size() + 1);
+        List<String> routeNames = new ArrayList<>(pathEdges.size());
+        double totalDistance = 0.0;
+        double totalCost = 0.0;
+
+        nodeNames.add(g.nameOf(start));
+        for (int e : pathEdges) {
+            nodeNames.add(g.nameOf(targets[e]));
+            routeNames.add(g.routeName(e));
+            totalDistance += g.getDistances()[e];
+            totalCost += g.getCosts()[e];
+        }
 
         // Devuelve el resultado final del cálculo del camino
         return new PathResponse(
@@ -163,17 +599,14 @@ public class DijkstraService {
         );
     }
 
-    // Busca las rutas (aristas) que conectan los nodos del camino recorrido
-    private List<RouteDto> getRoutesFromPath(List<Integer> path, List<List<EdgeDto>> adjList) {
-        List<RouteDto> routes = new ArrayList<>();
-        for (int i = 0; i < path.size() - 1; i++) {
-            int u = path.get(i);
-            int v = path.get(i + 1);
-            adjList.get(u).stream()
-                    .filter(e -> e.to == v && e.route != null)
-                    .findFirst()
-                    .ifPresent(e -> routes.add(e.route));
+    // Nodo origen de una arista: el u tal que offsets[u] <= e < offsets[u + 1] (búsqueda binaria)
+    public static int sourceOf(int[] offsets, int edge) {
+        int lo = 0, hi = offsets.length - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= edge) lo = mid;
+            else hi = mid - 1;
         }
-        return routes;
+        return lo;
     }
 }
@@ -0,0 +1,166 @@
+package com.progra3_tpo.service.dikstraService;
+
+import java.util.Arrays;
+
+/**
+ * IndexedDaryHeap
+ * -------------------------------------------------------------
+ * Min-heap d-ario sobre ids de nodo (int) con claves double, pensado para Dijkstra:
+ *   - heap[i]  → id del nodo en la posición i del árbol (el hijo k de i está en d*i + k + 1).
+ *   - pos[v]   → posición de v en heap[], o -1 si v no está en la cola.
+ *   - key[v]   → clave (distancia tentativa) de v.
+ * Cada nodo aparece a lo sumo una vez, así que la cola nunca pasa de V elementos y
+ * decrease-key se hace subiendo el nodo en su lugar (sin entradas viejas que descartar).
+ * Los arrays se reservan una vez y se reutilizan entre consultas con reset(): push, pop y
+ * decrease-key no crean objetos.
+ * No es thread-safe; DijkstraService guarda una instancia por hilo.
+ */
+public final class IndexedDaryHeap {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private int d = DEFAULT_ARITY;
+    private int size;
+    private int[] heap = new int[0];
+    private int[] pos = new int[0];
+    private double[] key = new double[0];
+
+    public IndexedDaryHeap() {}
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        reset(capacity, arity);
+    }
+
+    /**
+     * reset
+     * -----
+     * ENTRA: cantidad de ids posibles (0..capacity-1) y aridad del árbol (mínimo 2).
+     * HACE: deja la cola vacía; sólo agranda los arrays si la capacidad no alcanza.
+     * SALE: nada.
+     * COMPLEJIDAD: O(capacity) para limpiar pos[] (sin reservar memoria si ya alcanzaba).
+     */
+    public void reset(int capacity, int arity) {
+        this.d = Math.max(2, arity);
+        if (pos.length < capacity) {
+            heap = new int[capacity];
+            pos = new int[capacity];
+            key = new double[capacity];
+        }
+        Arrays.fill(pos, 0, capacity, -1);
+        size = 0;
+    }
+
+    // Vacía la cola tocando sólo los elementos que quedaron adentro: O(size) en vez de O(capacity).
+    // Sirve para búsquedas locales cortas que se repiten muchas veces sobre la misma capacidad.
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public int arity() { return d; }
+
+    public boolean contains(int v) { return pos[v] >= 0; }
+
+    // Clave mínima de la cola (infinito si está vacía); no la modifica
+    public double peekKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : key[heap[0]];
+    }
+
+    // Clave actual de v (sólo tiene sentido mientras v está en la cola)
+    public double keyOf(int v) { return key[v]; }
+
+    /**
+     * insertOrDecrease
+     * ----------------
+     * ENTRA: id de nodo y nueva clave.
+     * HACE: si v no está en la cola lo inserta; si está y la clave nueva es menor, la baja
+     *       (decrease-key). Una clave mayor o igual se ignora.
+     * SALE: true si la cola cambió.
+     * COMPLEJIDAD: O(log_d V).
+     */
+    public boolean insertOrDecrease(int v, double k) {
+        int i = pos[v];
+        if (i < 0) {
+            i = size++;
+            heap[i] = v;
+            pos[v] = i;
+            key[v] = k;
+            siftUp(i);
+            return true;
+        }
+        if (k < key[v]) {
+            key[v] = k;
+            siftUp(i);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * pollMin
+     * -------
+     * HACE: saca de la cola el nodo de menor clave (su clave sigue disponible en keyOf).
+     * SALE: el id del nodo, o -1 si la cola está vacía.
+     * COMPLEJIDAD: O(d · log_d V).
+     */
+    public int pollMin() {
+        if (size == 0) return -1;
+        int min = heap[0];
+        pos[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    // Sube el elemento de la posición i mientras su padre tenga una clave mayor
+    private void siftUp(int i) {
+        int v = heap[i];
+        double k = key[v];
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            int p = heap[parent];
+            if (key[p] <= k) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    // Baja el elemento de la posición i intercambiándolo con su hijo de menor clave
+    private void siftDown(int i) {
+        int v = heap[i];
+        double k = key[v];
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) break;
+            int last = Math.min(first + d, size);
+            int best = first;
+            double bestKey = key[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                double ck = key[heap[c]];
+                if (ck < bestKey) {
+                    best = c;
+                    bestKey = ck;
+                }
+            }
+            if (bestKey >= k) break;
+            int child = heap[best];
+            heap[i] = child;
+            pos[child] = i;
+            i = best;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+}
@@ -0,0 +1,76 @@
+package com.progra3_tpo.service.dikstraService;
+
+/**
+ * MetricWeight
+ * -------------------------------------------------------------
+ * Función de peso de una arista según la métrica pedida:
+ *   - "distance"            → distancia
+ *   - "cost"                → costo
+ *   - "weighted"/"combined" → alpha * distancia + (1 - alpha) * costo
+ * Cualquier otro valor cae en distancia, igual que el resto de los servicios.
+ * Se resuelve una sola vez por consulta para no comparar Strings en cada relajación.
+ */
+public final class MetricWeight {
+
+    // Resolución de alpha en punto fijo: el peso "weighted" entero usa alpha redondeado a 1/ALPHA_SCALE
+    public static final int ALPHA_SCALE = 10_000;
+
+    private enum Tipo { DISTANCE, COST, WEIGHTED }
+
+    private final Tipo tipo;
+    private final double alpha;
+
+    private MetricWeight(Tipo tipo, double alpha) {
+        this.tipo = tipo;
+        this.alpha = alpha;
+    }
+
+    public static MetricWeight of(String metric, double alpha) {
+        // Aseguramos que el valor de alpha esté entre 0 y 1
+        double a = Double.isNaN(alpha) ? 0.5 : Math.max(0, Math.min(1, alpha));
+        String m = (metric == null) ? "distance" : metric.toLowerCase();
+        return switch (m) {
+            case "cost" -> new MetricWeight(Tipo.COST, a);
+            case "weighted", "combined" -> new MetricWeight(Tipo.WEIGHTED, a);
+            default -> new MetricWeight(Tipo.DISTANCE, a);
+        };
+    }
+
+    // Peso de una arista con esa distancia y ese costo
+    public double apply(double distance, double cost) {
+        return switch (tipo) {
+            case COST -> cost;
+            case WEIGHTED -> alpha * distance + (1 - alpha) * cost;
+            default -> distance;
+        };
+    }
+
+    // Peso entero de una arista con distancia y costo en punto fijo (centésimos). En "weighted" queda
+    // multiplicado por ALPHA_SCALE, así que sólo sirve para comparar caminos entre sí, no como total.
+    public long applyFixed(int distance, int cost) {
+        return switch (tipo) {
+            case COST -> cost;
+            case WEIGHTED -> {
+                long a = Math.round(alpha * ALPHA_SCALE);
+                yield a * distance + (ALPHA_SCALE - a) * cost;
+            }
+            default -> distance;
+        };
+    }
+
+    // Nombre canónico de la métrica ("distance", "cost" o "weighted")
+    public String metricName() {
+        return switch (tipo) {
+            case COST -> "cost";
+            case WEIGHTED -> "weighted";
+            default -> "distance";
+        };
+    }
+
+    public double alpha() { return alpha; }
+
+    // Identifica la función de peso: "distance", "cost" o "weighted:<alpha>" (alpha sólo importa en weighted)
+    public String key() {
+        return (tipo == Tipo.WEIGHTED) ? "weighted:" + alpha : metricName();
+    }
+}
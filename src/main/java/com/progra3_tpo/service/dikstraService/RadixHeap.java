@@ -0,0 +1,100 @@
+package com.progra3_tpo.service.dikstraService;
+
+import java.util.Arrays;
+
+/**
+ * RadixHeap
+ * -------------------------------------------------------------
+ * Cola de prioridad monótona sobre claves enteras (long) no negativas, pensada para Dijkstra con pesos
+ * en punto fijo: ninguna clave insertada es menor que la última sacada.
+ *   - 65 baldes; una clave k va al balde 64 - nlz(k XOR ultimo) (0 si k == ultimo), donde ultimo es el
+ *     último mínimo sacado. Las claves del balde i sólo difieren de ultimo en los i bits más bajos.
+ *   - pollMin saca del balde 0; si está vacío busca el primer balde con algo, toma su mínimo como nuevo
+ *     ultimo y redistribuye ese balde entre los de más abajo. Cada entrada baja de balde a lo sumo 64 veces:
+ *     O(log C) amortizado por operación (C = peso máximo de arista) y sin comparaciones entre claves.
+ * No tiene decrease-key: una relajación inserta otra entrada y quien consume descarta las viejas
+ * (comparando lastKey() con su distancia). Los arrays se reutilizan entre consultas con clear().
+ * No es thread-safe; DijkstraService guarda una instancia por hilo.
+ */
+public final class RadixHeap {
+
+    private static final int BUCKETS = 65;
+
+    private final int[][] nodes = new int[BUCKETS][];
+    private final long[][] keys = new long[BUCKETS][];
+    private final int[] sizes = new int[BUCKETS];
+    private int size;
+    private long ultimo;
+    private long lastKey;
+
+    public RadixHeap() {
+        for (int i = 0; i < BUCKETS; i++) {
+            nodes[i] = new int[8];
+            keys[i] = new long[8];
+        }
+    }
+
+    // Vacía la cola y vuelve a aceptar claves desde 0 (no libera los arrays)
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        size = 0;
+        ultimo = 0;
+        lastKey = 0;
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    // Inserta el nodo con esa clave; la clave no puede ser menor que la del último pollMin
+    public void push(int node, long key) {
+        if (key < ultimo)
+            throw new IllegalArgumentException("Clave " + key + " menor que el último mínimo " + ultimo + " (cola monótona)");
+        agregar(balde(key), node, key);
+        size++;
+    }
+
+    /**
+     * pollMin
+     * -------
+     * ENTRA: nada.
+     * HACE: saca una entrada de clave mínima; si el balde 0 está vacío, redistribuye el primer balde no vacío.
+     * SALE: el nodo de esa entrada (su clave queda en lastKey()), o -1 si la cola está vacía.
+     * COMPLEJIDAD: O(1) amortizado más las redistribuciones, que suman O(64) por entrada en total.
+     */
+    public int pollMin() {
+        if (size == 0) return -1;
+        if (sizes[0] == 0) {
+            int i = 1;
+            while (sizes[i] == 0) i++;
+            long min = Long.MAX_VALUE;
+            for (int j = 0; j < sizes[i]; j++) min = Math.min(min, keys[i][j]);
+            ultimo = min;
+            int cantidad = sizes[i];
+            sizes[i] = 0;
+            for (int j = 0; j < cantidad; j++) agregar(balde(keys[i][j]), nodes[i][j], keys[i][j]);
+        }
+        size--;
+        int k = --sizes[0];
+        lastKey = keys[0][k];
+        return nodes[0][k];
+    }
+
+    // Clave de la última entrada que devolvió pollMin
+    public long lastKey() { return lastKey; }
+
+    private int balde(long key) {
+        return 64 - Long.numberOfLeadingZeros(key ^ ultimo);
+    }
+
+    private void agregar(int b, int node, long key) {
+        int n = sizes[b];
+        if (n == nodes[b].length) {
+            nodes[b] = Arrays.copyOf(nodes[b], n * 2);
+            keys[b] = Arrays.copyOf(keys[b], n * 2);
+        }
+        nodes[b][n] = node;
+        keys[b][n] = key;
+        sizes[b] = n + 1;
+    }
+}
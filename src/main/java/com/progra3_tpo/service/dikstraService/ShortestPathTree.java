@@ -0,0 +1,84 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * ShortestPathTree
+ * -------------------------------------------------------------
+ * Resultado de un Dijkstra desde una fuente sobre una versión del grafo:
+ *   - dist[v]     → peso del camino mínimo fuente → v según la métrica (infinito si no se alcanzó).
+ *   - prevEdge[v] → arista por la que se llega a v en ese camino (-1 para la fuente y los no alcanzados).
+ * Si la búsqueda cortó antes de recorrer todo, sólo valen los nodos asentados (entre ellos, los destinos pedidos).
+ * Los totales de distancia y costo se obtienen recorriendo el camino hacia atrás; los arrays no se copian.
+ */
+public final class ShortestPathTree {
+
+    private final GraphSnapshot graph;
+    private final int source;
+    private final double[] dist;
+    private final int[] prevEdge;
+    private final int settledNodes;
+
+    public ShortestPathTree(GraphSnapshot graph, int source, double[] dist, int[] prevEdge, int settledNodes) {
+        this.graph = graph;
+        this.source = source;
+        this.dist = dist;
+        this.prevEdge = prevEdge;
+        this.settledNodes = settledNodes;
+    }
+
+    public boolean reaches(int v) { return dist[v] != Double.POSITIVE_INFINITY; }
+
+    // Peso del camino mínimo hasta v según la métrica de la búsqueda
+    public double weightTo(int v) { return dist[v]; }
+
+    // Suma de RouteDto.distancia sobre el camino fuente → v (infinito si v no se alcanzó)
+    public double totalDistanceTo(int v) { return sumar(v, graph.getDistances()); }
+
+    // Suma de RouteDto.costo sobre el camino fuente → v (infinito si v no se alcanzó)
+    public double totalCostTo(int v) { return sumar(v, graph.getCosts()); }
+
+    private double sumar(int v, double[] valores) {
+        if (!reaches(v)) return Double.POSITIVE_INFINITY;
+        int[] offsets = graph.getOffsets();
+        double total = 0;
+        for (int at = v; at != source; ) {
+            int e = prevEdge[at];
+            total += valores[e];
+            at = DijkstraService.sourceOf(offsets, e);
+        }
+        return total;
+    }
+
+    // Aristas del camino fuente → v, en orden desde la fuente (vacío si v no se alcanzó o es la fuente)
+    public List<Integer> pathEdgesTo(int v) {
+        LinkedList<Integer> aristas = new LinkedList<>();
+        if (!reaches(v)) return aristas;
+        int[] offsets = graph.getOffsets();
+        for (int at = v; at != source; ) {
+            int e = prevEdge[at];
+            aristas.addFirst(e);
+            at = DijkstraService.sourceOf(offsets, e);
+        }
+        return aristas;
+    }
+
+    // El mismo PathResponse que DijkstraService.compute para el destino v
+    public PathResponse toPathResponse(int v) {
+        PathResponse resp = reaches(v)
+                ? DijkstraService.buildPathResponse(graph, source, pathEdgesTo(v))
+                : new PathResponse("No existe un camino entre los nodos.", List.of(), List.of(), 0, 0);
+        resp.setSettledNodes(settledNodes);
+        return resp;
+    }
+
+    public GraphSnapshot getGraph() { return graph; }
+
+    public int getSource() { return source; }
+
+    public int getSettledNodes() { return settledNodes; }
+}
@@ -0,0 +1,126 @@
+package com.progra3_tpo.service.dikstraService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ShortestPathTreeCache
+ * -------------------------------------------------------------
+ * Caché de árboles de caminos mínimos completos por (versión del grafo, fuente, métrica).
+ * Una consulta desde una fuente ya resuelta sólo reconstruye el camino sobre los arrays guardados.
+ *   - Acotada por memoria: cada árbol pesa ~12 bytes por nodo (dist[] + prevEdge[]); al pasarse del
+ *     máximo se desalojan los menos usados (LRU, LinkedHashMap en orden de acceso).
+ *   - Al guardar un árbol de una versión nueva se descartan los de versiones anteriores: nunca se
+ *     responde con datos de otra foto y no se retienen snapshots viejos.
+ *   - maxBytes = 0 la deshabilita (es el valor por defecto): con la caché activa cada fallo resuelve
+ *     la fuente completa en vez de cortar al asentar el destino, y eso sólo conviene si las fuentes se repiten.
+ * Los contadores de aciertos, fallos y desalojos se exponen con stats().
+ */
+@Component
+public class ShortestPathTreeCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, ShortestPathTree> arboles = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long version = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ShortestPathTreeCache(@Value("${routing.dijkstra.tree-cache-mb:0}") long maxMegabytes) {
+        this.maxBytes = Math.max(0, maxMegabytes) * 1024 * 1024;
+    }
+
+    public boolean isEnabled() { return maxBytes > 0; }
+
+    // Árbol guardado para esa fuente y métrica en esa versión, o null (cuenta como acierto o fallo)
+    public synchronized ShortestPathTree get(long graphVersion, int source, MetricWeight peso) {
+        ShortestPathTree arbol = (graphVersion == version) ? arboles.get(keyOf(source, peso)) : null;
+        if (arbol == null) misses.incrementAndGet();
+        else hits.incrementAndGet();
+        return arbol;
+    }
+
+    /**
+     * put
+     * ---
+     * ENTRA: versión del grafo, fuente, métrica y el árbol completo calculado.
+     * HACE: si la versión es más nueva que la guardada, vacía la caché; después agrega el árbol y
+     *       desaloja los menos usados hasta volver a entrar en maxBytes. Un árbol más grande que
+     *       maxBytes no se guarda; uno de una versión más vieja que la vigente tampoco.
+     * SALE: nada.
+     * COMPLEJIDAD: O(1) amortizado por árbol desalojado.
+     */
+    public synchronized void put(long graphVersion, int source, MetricWeight peso, ShortestPathTree arbol) {
+        long tamanio = sizeOf(arbol);
+        if (!isEnabled() || tamanio > maxBytes || graphVersion < version) return;
+        if (graphVersion > version) {
+            evictions.addAndGet(arboles.size());
+            arboles.clear();
+            bytes = 0;
+            version = graphVersion;
+        }
+
+        ShortestPathTree anterior = arboles.put(keyOf(source, peso), arbol);
+        if (anterior != null) bytes -= sizeOf(anterior);
+        bytes += tamanio;
+
+        Iterator<Map.Entry<String, ShortestPathTree>> it = arboles.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            ShortestPathTree viejo = it.next().getValue();
+            it.remove();
+            bytes -= sizeOf(viejo);
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), arboles.size(), bytes, maxBytes);
+    }
+
+    private static String keyOf(int source, MetricWeight peso) {
+        return source + "|" + peso.key();
+    }
+
+    // dist[] (8 bytes) + prevEdge[] (4 bytes) por nodo, más los encabezados de los arrays y del objeto
+    private static long sizeOf(ShortestPathTree arbol) {
+        return 12L * arbol.getGraph().nodeCount() + 64;
+    }
+
+    // Foto de los contadores de la caché, tal como se devuelve en GET /api/dijkstra/cache
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+        private final long maxBytes;
+
+        public Stats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public int getEntries() { return entries; }
+        public long getBytes() { return bytes; }
+        public long getMaxBytes() { return maxBytes; }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
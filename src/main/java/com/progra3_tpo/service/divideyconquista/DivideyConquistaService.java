@@ -1,169 +1,196 @@
 package com.progra3_tpo.service.divideyconquista;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.backtrackingService.SimplePathSearch;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotPublishedEvent;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DivideyConquistaService
+ * -------------------------------------------------------------
+ * /divideyconquista: mejor camino (menor costo y, a igual costo, menor distancia) por divide y conquista sobre
+ * una descomposición del grafo por separadores (SeparatorDecomposition): el grafo se parte recursivamente,
+ * cada celda resuelve de antemano los caminos entre los nodos de su borde y la consulta combina esas tablas.
+ * La descomposición se arma por versión del grafo, siempre en el hilo "dyc-builder" (nunca en el de la consulta):
+ *   - La primera consulta pide la de su foto; desde ahí, cada foto nueva publicada se arma en segundo plano.
+ *     Si nunca se consultó /divideyconquista no se arma nada.
+ *   - Hay un solo armado por versión (un CompletableFuture compartido). Una consulta con presupuesto que llega
+ *     mientras tanto lo espera como mucho ESPERA_ARMADO_MS y después usa la búsqueda exhaustiva con su
+ *     presupuesto (devuelve lo mejor que encuentre); una sin ningún límite espera el armado, que es polinomial.
+ *   - Un armado encolado que ya quedó viejo (se publicó una foto más nueva) se descarta sin armar.
+ * Sin descomposición se cae a la búsqueda exhaustiva de caminos simples (SimplePathSearch), que respeta el
+ * presupuesto: con costos o distancias negativos, o si la foto de la consulta ya no es la última.
+ */
 @Service
 public class DivideyConquistaService {
 
-    private final LocationRepository locationRepository;
-
-    public DivideyConquistaService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
-    }
+    // Cuánto espera una consulta con presupuesto a que termine el armado antes de buscar por su cuenta
+    static final long ESPERA_ARMADO_MS = 50;
 
-    public PathResponse compute(String from, String to) {
-        List<LocationDto> nodes = locationRepository.findAll();
-        if (nodes == null || nodes.isEmpty()) {
-            return new PathResponse("Inicio o destino no encontrado",
-                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
-        }
+    private final GraphSnapshotService graphSnapshotService;
+    private final AtomicReference<Indice> indice = new AtomicReference<>();
+    private final Executor executor;
 
-        // Mapeamos los nombres de las ubicaciones a índices
-        Map<String, Integer> nameToIndex = new HashMap<>();
-        for (int i = 0; i < nodes.size(); i++) {
-            LocationDto n = nodes.get(i);
-            if (n != null && n.getNombre() != null)
-                nameToIndex.put(n.getNombre(), i);
-        }
+    // Armado de la descomposición de una foto: en curso o terminado (con null si la foto tiene pesos negativos o NaN)
+    private static final class Indice {
+        final GraphSnapshot foto;
+        final CompletableFuture<SeparatorDecomposition> armado = new CompletableFuture<>();
 
-        Integer start = nameToIndex.get(from);
-        Integer end = nameToIndex.get(to);
-        if (start == null || end == null) {
-            return new PathResponse("Inicio o destino no encontrado",
-                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
+        Indice(GraphSnapshot foto) {
+            this.foto = foto;
         }
+    }
 
-        // Creamos la lista de adyacencia
-        List<List<Edge>> adj = new ArrayList<>();
-        for (int i = 0; i < nodes.size(); i++) adj.add(new ArrayList<>());
-        for (int i = 0; i < nodes.size(); i++) {
-            LocationDto src = nodes.get(i);
-            if (src.getRutas() == null) continue;
-            for (RouteDto r : src.getRutas()) {
-                if (r.getDestino() == null || r.getDestino().getNombre() == null) continue;
-                Integer dest = nameToIndex.get(r.getDestino().getNombre());
-                if (dest == null) continue;
-                adj.get(i).add(new Edge(dest, r.getDistancia(), r.getCosto(), r));
-            }
-        }
+    @Autowired
+    public DivideyConquistaService(GraphSnapshotService graphSnapshotService) {
+        this(graphSnapshotService, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "dyc-builder");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
 
-        boolean[] visited = new boolean[nodes.size()];
-        visited[start] = true;
+    // Con otro ejecutor para los armados (los tests los corren a mano)
+    DivideyConquistaService(GraphSnapshotService graphSnapshotService, Executor executor) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.executor = executor;
+    }
 
-        // Acá arrancamos el divide y conquista de verdad
-        PathCandidate best = buscarCamino(start, end, adj, visited);
+    // Sólo si ya se usó el servicio (hay un índice): adelanta el armado de la foto nueva
+    @EventListener
+    public void onSnapshotPublished(GraphSnapshotPublishedEvent event) {
+        if (indice.get() != null) armadoDe(event.getSnapshot());
+    }
 
-        if (best == null)
-            return new PathResponse("No hay camino posible entre los nodos.",
-                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
+    public PathResponse compute(String from, String to) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = compute(g, from, to);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
 
-        // Convertimos a nombres para la respuesta
-        List<String> nodeNames = best.nodeIdx.stream()
-                .map(i -> nodes.get(i).getNombre())
-                .collect(Collectors.toList());
-
-        List<String> routeNames = best.edges.stream()
-                .map(r -> r.getNombreRuta())
-                .collect(Collectors.toList());
-
-        return new PathResponse(
-                "Recorrido calculado exitosamente.",
-                nodeNames,
-                routeNames,
-                best.totalDistance,
-                best.totalCost
-        );
+    // Variante que trabaja sobre una foto del grafo ya tomada por quien llama
+    public PathResponse compute(GraphSnapshot g, String from, String to) {
+        return compute(g, from, to, SearchBudget.unlimited());
     }
 
-    // ---- Divide y conquista puro ----
-    private PathCandidate buscarCamino(int actual, int destino, List<List<Edge>> adj, boolean[] visited) {
-        // Caso base: si ya llegamos al destino, devolvemos un camino vacío
-        if (actual == destino) {
-            return new PathCandidate(
-                    new ArrayList<>(List.of(actual)),
-                    new ArrayList<>(),
-                    0.0,
-                    0.0
-            );
+    // Con presupuesto: acota la búsqueda exhaustiva, que se usa si la descomposición no está lista (si se agota,
+    // devuelve el mejor camino encontrado con provenOptimal = false); la respuesta informa siempre los nodos
+    // explorados
+    public PathResponse compute(GraphSnapshot g, String from, String to, SearchBudget presupuesto) {
+        if (g.isEmpty()) {
+            return new PathResponse("Inicio o destino no encontrado",
+                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        List<Edge> aristas = adj.get(actual);
-        if (aristas == null || aristas.isEmpty()) return null;
-
-        PathCandidate mejor = null;
-
-        // Recorremos cada arista saliente
-        for (Edge e : aristas) {
-            if (visited[e.to]) continue;
-
-            // Marcamos el nodo como visitado
-            visited[e.to] = true;
-
-            // DIVIDIMOS: exploramos recursivamente el subcamino desde el siguiente nodo
-            PathCandidate subcamino = buscarCamino(e.to, destino, adj, visited);
-
-            // Desmarcamos para probar otras rutas
-            visited[e.to] = false;
-
-            // Si no hay camino por esa arista, seguimos con la siguiente
-            if (subcamino == null) continue;
-
-            // CONQUISTAMOS: combinamos este tramo con el resto del camino
-            List<Integer> nuevosNodos = new ArrayList<>();
-            nuevosNodos.add(actual);
-            nuevosNodos.addAll(subcamino.nodeIdx);
-
-            List<RouteDto> nuevasRutas = new ArrayList<>();
-            nuevasRutas.add(e.route);
-            nuevasRutas.addAll(subcamino.edges);
+        // Buscamos los índices por nombre en el snapshot
+        int start = g.indexOf(from);
+        int end = g.indexOf(to);
+        if (start < 0 || end < 0) {
+            return new PathResponse("Inicio o destino no encontrado",
+                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
+        }
 
-            double totalDist = e.distance + subcamino.totalDistance;
-            double totalCost = e.cost + subcamino.totalCost;
+        CompletableFuture<SeparatorDecomposition> armado = armadoDe(g);
+        if (armado == null) return exhaustiva(g, start, end, presupuesto);
+        SeparatorDecomposition d;
+        try {
+            d = presupuesto.isUnlimited() ? armado.get()
+                    : armado.get(Math.min(ESPERA_ARMADO_MS, presupuesto.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Todavía se está armando: búsqueda exhaustiva con el presupuesto (el armado sigue para las próximas)
+            return exhaustiva(g, start, end, presupuesto);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return exhaustiva(g, start, end, presupuesto);
+        } catch (CancellationException | ExecutionException e) {
+            // El armado se descartó (llegó una foto más nueva) o falló
+            return exhaustiva(g, start, end, presupuesto);
+        }
+        if (d == null) return exhaustiva(g, start, end, presupuesto);
 
-            PathCandidate candidato = new PathCandidate(nuevosNodos, nuevasRutas, totalDist, totalCost);
+        // Combinamos las tablas de las celdas (ver SeparatorDecomposition.route)
+        PathResponse resp = d.route(g, start, end);
+        presupuesto.record(resp.getSettledNodes());
+        return presupuesto.report(resp);
+    }
 
-            // Elegimos el mejor (el de menor costo, y si empatan, el de menor distancia)
-            if (mejor == null
-                    || totalCost < mejor.totalCost
-                    || (totalCost == mejor.totalCost && totalDist < mejor.totalDistance)) {
-                mejor = candidato;
+    /**
+     * armadoDe
+     * --------
+     * ENTRA: una foto del grafo.
+     * HACE: si el índice guardado es de esa foto, devuelve su armado (en curso o terminado). Si la foto es más nueva,
+     *       la pasa a ser la del índice y encola su armado en "dyc-builder".
+     * SALE: el armado de la foto, o null si ya hay un índice de una versión más nueva (no se arma para fotos viejas).
+     */
+    private CompletableFuture<SeparatorDecomposition> armadoDe(GraphSnapshot g) {
+        while (true) {
+            Indice actual = indice.get();
+            if (actual != null && actual.foto == g) return actual.armado;
+            if (actual != null && actual.foto.getVersion() > g.getVersion()) return null;
+            Indice nuevo = new Indice(g);
+            if (indice.compareAndSet(actual, nuevo)) {
+                executor.execute(() -> armar(nuevo));
+                return nuevo.armado;
             }
         }
-
-        return mejor;
     }
 
-    // ----- Clases auxiliares -----
-    private static class Edge {
-        int to;
-        double distance;
-        double cost;
-        RouteDto route;
-        Edge(int to, double distance, double cost, RouteDto route) {
-            this.to = to;
-            this.distance = distance;
-            this.cost = cost;
-            this.route = route;
+    // En "dyc-builder": arma la descomposición, salvo que mientras esperaba en la cola ya la haya reemplazado otra foto
+    private void armar(Indice pendiente) {
+        if (indice.get() != pendiente) {
+            pendiente.armado.cancel(false);
+            return;
         }
+        try {
+            pendiente.armado.complete(SeparatorDecompositionBuilder.build(pendiente.foto));
+        } catch (RuntimeException e) {
+            pendiente.armado.completeExceptionally(e);
+        }
+    }
+
+    // Descomposición de la foto esperando su armado (para los tests); null si tiene pesos negativos o es vieja
+    SeparatorDecomposition indiceDe(GraphSnapshot g) {
+        CompletableFuture<SeparatorDecomposition> armado = armadoDe(g);
+        return (armado == null) ? null : armado.join();
     }
 
-    private static class PathCandidate {
-        List<Integer> nodeIdx;
-        List<RouteDto> edges;
-        double totalDistance;
-        double totalCost;
-        PathCandidate(List<Integer> nodeIdx, List<RouteDto> edges, double totalDistance, double totalCost) {
-            this.nodeIdx = nodeIdx;
-            this.edges = edges;
-            this.totalDistance = totalDistance;
-            this.totalCost = totalCost;
+    // Sin descomposición: todos los caminos simples, con la misma regla de elección
+    private PathResponse exhaustiva(GraphSnapshot g, int start, int end, SearchBudget presupuesto) {
+        SimplePathSearch.Result best = SimplePathSearch.search(g, start, end,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, presupuesto);
+
+        if (!best.found()) {
+            String mensaje = presupuesto.exhausted()
+                    ? "No se encontró camino dentro del presupuesto de búsqueda."
+                    : "No hay camino posible entre los nodos.";
+            return presupuesto.report(new PathResponse(mensaje,
+                    Collections.emptyList(), Collections.emptyList(), 0.0, 0.0));
         }
+
+        return presupuesto.report(new PathResponse(
+                presupuesto.exhausted()
+                        ? "Recorrido calculado con el presupuesto de búsqueda agotado: puede no ser el óptimo."
+                        : "Recorrido calculado exitosamente.",
+                best.nodeNames(g, start),
+                best.routeNames(g),
+                best.distance(),
+                best.cost()
+        ));
     }
 }
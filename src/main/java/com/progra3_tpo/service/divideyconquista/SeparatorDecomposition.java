@@ -0,0 +1,337 @@
+package com.progra3_tpo.service.divideyconquista;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SeparatorDecomposition
+ * -------------------------------------------------------------
+ * Descomposición del grafo por separadores de vértices, para divide y conquista de verdad:
+ *   - DIVIDIR: cada celda (conjunto de nodos) se parte con un separador chico S en dos celdas hijas A y B
+ *     sin rutas entre ellas (toda ruta de A a B pasa por S). Las celdas de hasta HOJA nodos no se parten.
+ *   - CONQUISTAR (preproceso, de abajo hacia arriba): cada celda X guarda su borde (nodos de X con rutas
+ *     desde o hacia afuera de X) y la tabla de (costo, distancia) del mejor camino entre cada par de nodos
+ *     del borde que no sale de X. La tabla de X se calcula sobre un grafo chico: los separadores de X, los
+ *     bordes de A y B unidos por las tablas de A y B, y las rutas originales entre esos nodos.
+ *   - COMBINAR (consulta): se abren las celdas que contienen al origen o al destino; de las demás sólo se usa
+ *     su borde y su tabla. Un Dijkstra sobre ese grafo reducido da el mejor camino, y cada tramo que cruza una
+ *     celda cerrada se desarma bajando por sus hijas hasta las rutas originales.
+ * "Mejor" es el criterio de siempre de /divideyconquista: menor costo y, a igual costo, menor distancia
+ * (orden lexicográfico exacto). Requiere pesos no negativos (ver SeparatorDecompositionBuilder).
+ * Celdas en preorden: la celda c contiene a las celdas c .. fin[c] - 1 y un nodo v está en c si su celda
+ * más profunda (hogar[v]) está en ese rango. La celda 0 es todo el grafo.
+ */
+public final class SeparatorDecomposition {
+
+    private final long version;
+    private final int[] hogar;        // celda más profunda que contiene a cada nodo (hoja o celda de su separador)
+    private final int[] padre;        // celda padre (-1 para la raíz)
+    private final int[] fin;          // fin (exclusivo) del subárbol de cada celda en preorden
+    private final int[][] borde;      // nodos del borde de cada celda, ordenados
+    private final double[][] tablaCosto;      // borde x borde, por filas: mejor costo de borde[i] a borde[j]
+    private final double[][] tablaDistancia;  // distancia de ese mismo camino
+
+    // Espacio de trabajo reutilizable por hilo (etiquetas con número de ronda)
+    private static final class Espacio {
+        int[] marca = new int[0];          // == ronda si el nodo tiene etiqueta en esta búsqueda
+        int[] asentado = new int[0];       // == ronda si el nodo ya salió de la cola
+        double[] costo = new double[0];
+        double[] distancia = new double[0];
+        int[] previo = new int[0];         // nodo anterior del mejor camino
+        int[] via = new int[0];            // arista original usada (>= 0) o -(celda + 1) si fue un tramo de tabla
+        int[] cola = new int[0];           // heap binario de nodos ordenado por (costo, distancia)
+        int[] pos = new int[0];            // posición en la cola (-1 si no está)
+        int[] abierta = new int[0];        // == ronda si la celda está abierta en la consulta
+        int tamanio;
+        int ronda;
+
+        void preparar(int n, int celdas) {
+            if (marca.length < n) {
+                marca = new int[n];
+                asentado = new int[n];
+                costo = new double[n];
+                distancia = new double[n];
+                previo = new int[n];
+                via = new int[n];
+                cola = new int[n];
+                pos = new int[n];
+                Arrays.fill(pos, -1);
+                ronda = 0;
+            }
+            if (abierta.length < celdas) {
+                abierta = new int[celdas];
+                ronda = 0;
+            }
+            if (ronda == 0 || ++ronda == Integer.MAX_VALUE) {
+                Arrays.fill(marca, 0);
+                Arrays.fill(asentado, 0);
+                Arrays.fill(abierta, 0);
+                ronda = 1;
+            }
+        }
+
+        // Nueva búsqueda sobre el mismo espacio: las etiquetas viejas quedan invalidadas por la ronda
+        void nuevaRonda() {
+            if (++ronda == Integer.MAX_VALUE) {
+                Arrays.fill(marca, 0);
+                Arrays.fill(asentado, 0);
+                Arrays.fill(abierta, 0);
+                ronda = 1;
+            }
+        }
+
+        boolean menor(int a, int b) {
+            return costo[a] < costo[b] || (costo[a] == costo[b] && distancia[a] < distancia[b]);
+        }
+
+        void insertarOSubir(int v) {
+            int i = pos[v];
+            if (i < 0) {
+                i = tamanio++;
+                cola[i] = v;
+                pos[v] = i;
+            }
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (!menor(v, cola[p])) break;
+                cola[i] = cola[p];
+                pos[cola[i]] = i;
+                i = p;
+            }
+            cola[i] = v;
+            pos[v] = i;
+        }
+
+        int sacarMinimo() {
+            int min = cola[0];
+            pos[min] = -1;
+            int ultimo = cola[--tamanio];
+            if (tamanio > 0) {
+                int i = 0;
+                while (true) {
+                    int h = 2 * i + 1;
+                    if (h >= tamanio) break;
+                    if (h + 1 < tamanio && menor(cola[h + 1], cola[h])) h++;
+                    if (!menor(cola[h], ultimo)) break;
+                    cola[i] = cola[h];
+                    pos[cola[i]] = i;
+                    i = h;
+                }
+                cola[i] = ultimo;
+                pos[ultimo] = i;
+            }
+            return min;
+        }
+
+        void vaciar() {
+            for (int i = 0; i < tamanio; i++) pos[cola[i]] = -1;
+            tamanio = 0;
+        }
+    }
+
+    private static final ThreadLocal<Espacio> ESPACIOS = ThreadLocal.withInitial(Espacio::new);
+
+    SeparatorDecomposition(long version, int[] hogar, int[] padre, int[] fin, int[][] borde) {
+        this.version = version;
+        this.hogar = hogar;
+        this.padre = padre;
+        this.fin = fin;
+        this.borde = borde;
+        this.tablaCosto = new double[padre.length][];
+        this.tablaDistancia = new double[padre.length][];
+    }
+
+    public long getVersion() { return version; }
+
+    public int cellCount() { return padre.length; }
+
+    // Nodos del borde de una celda (ordenados)
+    public int[] boundaryOf(int celda) { return borde[celda]; }
+
+    /**
+     * completarTablas
+     * ---------------
+     * ENTRA: foto del grafo (la misma con la que se armaron las celdas).
+     * HACE: calcula las tablas borde a borde de cada celda de abajo hacia arriba (en preorden inverso las hijas
+     *       van antes que la madre): un Dijkstra desde cada nodo del borde, dentro de la celda, usando las
+     *       tablas de las hijas ya calculadas.
+     * SALE: nada; la descomposición queda lista para consultar.
+     * COMPLEJIDAD: por celda, |borde| Dijkstra sobre separador + bordes de las hijas.
+     */
+    void completarTablas(GraphSnapshot g) {
+        Espacio w = ESPACIOS.get();
+        w.preparar(g.nodeCount(), padre.length);
+        for (int c = padre.length - 1; c >= 0; c--) {
+            int[] b = borde[c];
+            int k = b.length;
+            double[] costos = new double[k * k];
+            double[] distancias = new double[k * k];
+            for (int i = 0; i < k; i++) {
+                w.nuevaRonda();
+                buscar(g, w, c, b[i], -1);
+                for (int j = 0; j < k; j++) {
+                    boolean llega = w.marca[b[j]] == w.ronda;
+                    costos[i * k + j] = llega ? w.costo[b[j]] : Double.POSITIVE_INFINITY;
+                    distancias[i * k + j] = llega ? w.distancia[b[j]] : Double.POSITIVE_INFINITY;
+                }
+            }
+            tablaCosto[c] = costos;
+            tablaDistancia[c] = distancias;
+        }
+    }
+
+    /**
+     * route
+     * -----
+     * ENTRA: foto del grafo de esta versión, índices de origen y destino.
+     * HACE: abre las celdas desde la raíz hasta la celda de cada extremo y corre un Dijkstra lexicográfico
+     *       (costo, distancia) sobre el grafo reducido: nodos de las celdas abiertas que no están dentro de
+     *       una celda cerrada, bordes de las celdas cerradas con sus tablas, y rutas originales entre ellos.
+     *       Después desarma los tramos de tabla en rutas originales.
+     * SALE: el mismo PathResponse que el resto de los servicios, con los nodos asentados en settledNodes.
+     * COMPLEJIDAD: Dijkstra sobre las hojas del origen y destino, los separadores de sus ancestros y los bordes
+     *       de las celdas hermanas (en redes tipo vial, mucho menos que el grafo entero).
+     */
+    public PathResponse route(GraphSnapshot g, int origen, int destino) {
+        Espacio w = ESPACIOS.get();
+        w.preparar(g.nodeCount(), padre.length);
+        w.nuevaRonda();
+        for (int c = hogar[origen]; c >= 0; c = padre[c]) w.abierta[c] = w.ronda;
+        for (int c = hogar[destino]; c >= 0; c = padre[c]) w.abierta[c] = w.ronda;
+
+        int asentados = buscar(g, w, -1, origen, destino);
+        if (w.marca[destino] != w.ronda) {
+            PathResponse resp = new PathResponse("No hay camino posible entre los nodos.", List.of(), List.of(), 0.0, 0.0);
+            resp.setSettledNodes(asentados);
+            return resp;
+        }
+
+        // Tramos del camino reducido (desde el destino hacia atrás); se guardan antes de desarmar, que pisa etiquetas
+        List<int[]> tramos = tramosHasta(w, origen, destino);
+        List<Integer> aristas = new ArrayList<>();
+        asentados += desarmar(g, w, tramos, aristas);
+
+        PathResponse resp = DijkstraService.buildPathResponse(g, origen, aristas);
+        resp.setSettledNodes(asentados);
+        return resp;
+    }
+
+    // Tramos (desde, hasta, via) del mejor camino encontrado, en orden desde el origen
+    private static List<int[]> tramosHasta(Espacio w, int origen, int destino) {
+        List<int[]> tramos = new ArrayList<>();
+        for (int v = destino; v != origen; v = w.previo[v]) tramos.add(new int[]{w.previo[v], v, w.via[v]});
+        Collections.reverse(tramos);
+        return tramos;
+    }
+
+    // Agrega a 'aristas' las rutas originales de cada tramo, bajando por las celdas de los tramos de tabla
+    private int desarmar(GraphSnapshot g, Espacio w, List<int[]> tramos, List<Integer> aristas) {
+        int asentados = 0;
+        for (int[] tramo : tramos) {
+            if (tramo[2] >= 0) {
+                aristas.add(tramo[2]);
+                continue;
+            }
+            // Tramo de tabla de la celda X: es el mejor camino dentro de X, que se vuelve a buscar en X
+            int celda = -tramo[2] - 1;
+            w.nuevaRonda();
+            asentados += buscar(g, w, celda, tramo[0], tramo[1]);
+            asentados += desarmar(g, w, tramosHasta(w, tramo[0], tramo[1]), aristas);
+        }
+        return asentados;
+    }
+
+    /**
+     * buscar
+     * ------
+     * ENTRA: espacio con ronda nueva, la celda raíz de la búsqueda (o -1 para una consulta, con las celdas
+     *        abiertas marcadas), el nodo de partida y el de llegada (-1 = recorrer todo).
+     * HACE: Dijkstra por (costo, distancia) sobre los nodos habilitados: están dentro de la raíz y no están
+     *       dentro de una celda cerrada, salvo en su borde. En una búsqueda de tabla la única celda abierta es
+     *       la raíz; en una consulta, las marcadas. Desde un nodo del borde de una celda cerrada se sigue además
+     *       por la tabla de esa celda.
+     * SALE: la cantidad de nodos asentados; las etiquetas quedan en el espacio.
+     */
+    private int buscar(GraphSnapshot g, Espacio w, int raiz, int desde, int hasta) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] costos = g.getCosts();
+        double[] distancias = g.getDistances();
+        int ronda = w.ronda;
+
+        w.marca[desde] = ronda;
+        w.costo[desde] = 0.0;
+        w.distancia[desde] = 0.0;
+        w.previo[desde] = -1;
+        w.insertarOSubir(desde);
+        int asentados = 0;
+
+        while (w.tamanio > 0) {
+            int u = w.sacarMinimo();
+            w.asentado[u] = ronda;
+            asentados++;
+            if (u == hasta) break;
+
+            double cu = w.costo[u];
+            double du = w.distancia[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (w.asentado[v] == ronda || celdaCerrada(w, raiz, v) == -2) continue;
+                relajar(w, u, v, cu + costos[e], du + distancias[e], e);
+            }
+
+            // Tramos de tabla: u es borde de una celda cerrada
+            int celda = celdaCerrada(w, raiz, u);
+            if (celda >= 0) {
+                int[] b = borde[celda];
+                int k = b.length;
+                int i = Arrays.binarySearch(b, u);
+                double[] tc = tablaCosto[celda];
+                double[] td = tablaDistancia[celda];
+                for (int j = 0; j < k; j++) {
+                    double c = tc[i * k + j];
+                    if (j == i || c == Double.POSITIVE_INFINITY || w.asentado[b[j]] == ronda) continue;
+                    relajar(w, u, b[j], cu + c, du + td[i * k + j], -celda - 1);
+                }
+            }
+        }
+        w.vaciar();
+        return asentados;
+    }
+
+    private static void relajar(Espacio w, int u, int v, double c, double d, int via) {
+        if (w.marca[v] == w.ronda && !(c < w.costo[v] || (c == w.costo[v] && d < w.distancia[v]))) return;
+        w.marca[v] = w.ronda;
+        w.costo[v] = c;
+        w.distancia[v] = d;
+        w.previo[v] = u;
+        w.via[v] = via;
+        w.insertarOSubir(v);
+    }
+
+    /**
+     * celdaCerrada
+     * ------------
+     * ENTRA: espacio, raíz de la búsqueda (-1 = consulta) y un nodo.
+     * HACE: sube desde la celda del nodo hasta la raíz buscando la celda cerrada más alta que lo contiene.
+     * SALE: -2 si el nodo no está habilitado (fuera de la raíz, o dentro de una celda cerrada sin ser de su
+     *       borde); -1 si no está dentro de ninguna celda cerrada; si no, esa celda (el nodo es de su borde).
+     */
+    private int celdaCerrada(Espacio w, int raiz, int v) {
+        int h = hogar[v];
+        if (raiz >= 0 && (h < raiz || h >= fin[raiz])) return -2;
+        int cerrada = -1;
+        for (int c = h; c != raiz && c >= 0; c = padre[c]) {
+            boolean abierta = raiz < 0 && w.abierta[c] == w.ronda;
+            if (!abierta) cerrada = c;
+        }
+        if (cerrada >= 0 && Arrays.binarySearch(borde[cerrada], v) < 0) return -2;
+        return cerrada;
+    }
+}
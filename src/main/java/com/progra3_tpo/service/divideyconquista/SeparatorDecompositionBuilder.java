@@ -0,0 +1,255 @@
+package com.progra3_tpo.service.divideyconquista;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * SeparatorDecompositionBuilder
+ * -------------------------------------------------------------
+ * Arma una SeparatorDecomposition partiendo el grafo (sin tener en cuenta el sentido de las rutas):
+ *   - Una celda con varias componentes se reparte entre las dos hijas por tamaño, con separador vacío.
+ *   - Una celda conexa se parte por niveles de BFS desde un nodo "periférico" (el más lejano de un primer BFS):
+ *     las rutas sólo unen niveles vecinos, así que un nivel entero separa los anteriores de los siguientes.
+ *     Se elige el nivel más chico que deje al menos un quinto de la celda de cada lado.
+ *   - Las celdas de hasta HOJA nodos, o que no se pueden partir con un nivel, quedan como hojas.
+ * Después calcula el borde de cada celda y las tablas borde a borde (de abajo hacia arriba).
+ * Si alguna ruta tiene costo o distancia negativos o NaN no hay descomposición (Dijkstra no sirve): devuelve null.
+ */
+final class SeparatorDecompositionBuilder {
+
+    // Tamaño máximo de una celda hoja
+    static final int HOJA = 32;
+
+    private final GraphSnapshot g;
+    private final int n;
+    private final int[] hogar;
+    private final List<Integer> padres = new ArrayList<>();
+
+    // Estado reutilizable de los BFS
+    private final int[] enCelda;   // == marcaCelda si el nodo está en la celda que se está partiendo
+    private final int[] nivel;
+    private final int[] visto;     // == marcaBfs si el BFS ya pasó por el nodo
+    private int marcaCelda;
+    private int marcaBfs;
+
+    private SeparatorDecompositionBuilder(GraphSnapshot g) {
+        this.g = g;
+        this.n = g.nodeCount();
+        this.hogar = new int[n];
+        this.enCelda = new int[n];
+        this.nivel = new int[n];
+        this.visto = new int[n];
+    }
+
+    // Celda pendiente de partir: sus nodos y su padre
+    private static final class Pendiente {
+        final int[] nodos;
+        final int padre;
+
+        Pendiente(int[] nodos, int padre) {
+            this.nodos = nodos;
+            this.padre = padre;
+        }
+    }
+
+    /**
+     * build
+     * -----
+     * ENTRA: foto del grafo.
+     * HACE: parte el grafo en celdas (preorden, con pila explícita), calcula bordes y tablas.
+     * SALE: la descomposición de esa versión, o null si hay pesos negativos o NaN.
+     * COMPLEJIDAD: O(V + E) por nivel de la partición más las tablas (ver SeparatorDecomposition).
+     */
+    static SeparatorDecomposition build(GraphSnapshot g) {
+        for (double c : g.getCosts()) if (c < 0 || Double.isNaN(c)) return null;
+        for (double d : g.getDistances()) if (d < 0 || Double.isNaN(d)) return null;
+
+        SeparatorDecompositionBuilder b = new SeparatorDecompositionBuilder(g);
+        b.partir();
+        int celdas = b.padres.size();
+        int[] padre = new int[celdas];
+        for (int c = 0; c < celdas; c++) padre[c] = b.padres.get(c);
+
+        // fin[c]: en preorden el subárbol de c es c .. fin[c] - 1 (las hijas tienen número mayor que la madre)
+        int[] fin = new int[celdas];
+        for (int c = celdas - 1; c >= 0; c--) {
+            fin[c] = Math.max(fin[c], c + 1);
+            if (padre[c] >= 0) fin[padre[c]] = Math.max(fin[padre[c]], fin[c]);
+        }
+
+        SeparatorDecomposition d = new SeparatorDecomposition(g.getVersion(), b.hogar, padre, fin,
+                b.bordes(padre, fin));
+        d.completarTablas(g);
+        return d;
+    }
+
+    // Partición en preorden: se saca una celda, se le da número y se apilan sus hijas (primero la de la izquierda)
+    private void partir() {
+        Deque<Pendiente> pila = new ArrayDeque<>();
+        int[] todos = new int[n];
+        for (int v = 0; v < n; v++) todos[v] = v;
+        pila.push(new Pendiente(todos, -1));
+
+        while (!pila.isEmpty()) {
+            Pendiente p = pila.pop();
+            int celda = padres.size();
+            padres.add(p.padre);
+            for (int v : p.nodos) hogar[v] = celda; // las hijas lo pisan para sus nodos: queda el separador
+
+            int[][] partes = (p.nodos.length > HOJA) ? dividir(p.nodos) : null;
+            if (partes == null) continue;
+            pila.push(new Pendiente(partes[1], celda));
+            pila.push(new Pendiente(partes[0], celda));
+        }
+    }
+
+    /**
+     * dividir
+     * -------
+     * ENTRA: nodos de una celda.
+     * HACE: busca un separador por componentes o por niveles de BFS (ver comentario de la clase).
+     * SALE: {A, B} (el separador es lo que no está en ninguna de las dos), o null si la celda queda como hoja.
+     */
+    private int[][] dividir(int[] nodos) {
+        marcaCelda++;
+        for (int v : nodos) enCelda[v] = marcaCelda;
+
+        // Componentes de la celda
+        List<int[]> componentes = new ArrayList<>();
+        marcaBfs++;
+        for (int v : nodos) {
+            if (visto[v] == marcaBfs) continue;
+            componentes.add(bfs(v, false));
+        }
+        if (componentes.size() > 1) {
+            componentes.sort((x, y) -> Integer.compare(y.length, x.length));
+            List<int[]> a = new ArrayList<>();
+            List<int[]> b = new ArrayList<>();
+            int ta = 0, tb = 0;
+            for (int[] comp : componentes) {
+                if (ta <= tb) {
+                    a.add(comp);
+                    ta += comp.length;
+                } else {
+                    b.add(comp);
+                    tb += comp.length;
+                }
+            }
+            return new int[][]{unir(a, ta), unir(b, tb)};
+        }
+
+        // Celda conexa: dos BFS, el segundo desde el nodo más lejano del primero
+        marcaBfs++;
+        int[] orden = bfs(nodos[0], true);
+        int lejano = orden[orden.length - 1];
+        marcaBfs++;
+        orden = bfs(lejano, true);
+        int niveles = nivel[orden[orden.length - 1]] + 1;
+        if (niveles < 3) return null;
+
+        int[] porNivel = new int[niveles];
+        for (int v : orden) porNivel[nivel[v]]++;
+        int total = nodos.length;
+        int elegido = -1;
+        int antes = porNivel[0];
+        for (int l = 1; l < niveles - 1; l++) {
+            int despues = total - antes - porNivel[l];
+            if (Math.min(antes, despues) * 5 >= total
+                    && (elegido < 0 || porNivel[l] < porNivel[elegido])) {
+                elegido = l;
+            }
+            antes += porNivel[l];
+        }
+        if (elegido < 0) return null;
+
+        int[] a = new int[total];
+        int[] b = new int[total];
+        int ta = 0, tb = 0;
+        for (int v : orden) {
+            if (nivel[v] < elegido) a[ta++] = v;
+            else if (nivel[v] > elegido) b[tb++] = v;
+        }
+        return new int[][]{Arrays.copyOf(a, ta), Arrays.copyOf(b, tb)};
+    }
+
+    // BFS sin sentido dentro de la celda (rutas salientes y entrantes); con niveles, anota la distancia en saltos
+    private int[] bfs(int inicio, boolean conNiveles) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+
+        List<Integer> orden = new ArrayList<>();
+        visto[inicio] = marcaBfs;
+        nivel[inicio] = 0;
+        orden.add(inicio);
+        for (int i = 0; i < orden.size(); i++) {
+            int u = orden.get(i);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) visitar(u, targets[e], orden, conNiveles);
+            for (int e = revOffsets[u]; e < revOffsets[u + 1]; e++) visitar(u, revSources[e], orden, conNiveles);
+        }
+        int[] r = new int[orden.size()];
+        for (int i = 0; i < r.length; i++) r[i] = orden.get(i);
+        return r;
+    }
+
+    private void visitar(int u, int v, List<Integer> orden, boolean conNiveles) {
+        if (enCelda[v] != marcaCelda || visto[v] == marcaBfs) return;
+        visto[v] = marcaBfs;
+        if (conNiveles) nivel[v] = nivel[u] + 1;
+        orden.add(v);
+    }
+
+    private static int[] unir(List<int[]> partes, int total) {
+        int[] r = new int[total];
+        int i = 0;
+        for (int[] p : partes) {
+            System.arraycopy(p, 0, r, i, p.length);
+            i += p.length;
+        }
+        return r;
+    }
+
+    // Borde de cada celda: los nodos con una ruta (de salida o de entrada) hacia un nodo de fuera de la celda.
+    // Para cada ruta u - v se sube desde la celda de u hasta la primera que también contiene a v.
+    private int[][] bordes(int[] padre, int[] fin) {
+        int celdas = padre.length;
+        List<List<Integer>> listas = new ArrayList<>(celdas);
+        for (int c = 0; c < celdas; c++) listas.add(new ArrayList<>());
+        int[] ultimo = new int[celdas];
+        Arrays.fill(ultimo, -1);
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int[] revOffsets = g.getReverseOffsets();
+        int[] revSources = g.getReverseSources();
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) anotarBorde(u, targets[e], padre, fin, listas, ultimo);
+            for (int e = revOffsets[u]; e < revOffsets[u + 1]; e++) anotarBorde(u, revSources[e], padre, fin, listas, ultimo);
+        }
+
+        // Se recorren los nodos en orden creciente: cada lista ya queda ordenada
+        int[][] borde = new int[celdas][];
+        for (int c = 0; c < celdas; c++) {
+            List<Integer> l = listas.get(c);
+            borde[c] = new int[l.size()];
+            for (int i = 0; i < borde[c].length; i++) borde[c][i] = l.get(i);
+        }
+        return borde;
+    }
+
+    private void anotarBorde(int u, int v, int[] padre, int[] fin, List<List<Integer>> listas, int[] ultimo) {
+        for (int c = hogar[u]; c >= 0; c = padre[c]) {
+            if (hogar[v] >= c && hogar[v] < fin[c]) return; // v también está en c (y en sus ancestros)
+            if (ultimo[c] != u) {
+                ultimo[c] = u;
+                listas.get(c).add(u);
+            }
+        }
+    }
+}
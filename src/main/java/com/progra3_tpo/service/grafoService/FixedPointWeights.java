@@ -0,0 +1,66 @@
+package com.progra3_tpo.service.grafoService;
+
+/**
+ * FixedPointWeights
+ * -------------------------------------------------------------
+ * Distancias y costos de las aristas de una foto en punto fijo: enteros en centésimos (valor · 100).
+ * Los datos cargados son kilómetros y montos con a lo sumo dos decimales, así que la conversión es exacta.
+ * Es una copia adicional a los arrays double de la foto (que se siguen usando en el resto de los algoritmos):
+ * suma 8 bytes por arista, y sólo se arma la primera vez que se pide el modo de punto fijo.
+ * Si algún valor tiene más de dos decimales, es negativo o NaN, o no entra en un int, la foto no es representable
+ * (isExact() = false, sin arrays) y quien la use tiene que volver a los double.
+ */
+public final class FixedPointWeights {
+
+    // Centésimos: dos decimales exactos
+    public static final int SCALE = 100;
+
+    private static final FixedPointWeights NOT_EXACT = new FixedPointWeights(null, null);
+
+    private final int[] distances;
+    private final int[] costs;
+
+    private FixedPointWeights(int[] distances, int[] costs) {
+        this.distances = distances;
+        this.costs = costs;
+    }
+
+    /**
+     * of
+     * --
+     * ENTRA: arrays de distancia y costo de la foto (double).
+     * HACE: multiplica cada valor por SCALE y verifica que el resultado sea entero (con tolerancia de redondeo).
+     * SALE: los pesos en punto fijo, o una instancia con isExact() = false si algún valor no es representable.
+     * COMPLEJIDAD: O(E).
+     */
+    public static FixedPointWeights of(double[] distances, double[] costs) {
+        int[] d = new int[distances.length];
+        int[] c = new int[costs.length];
+        for (int e = 0; e < d.length; e++) {
+            d[e] = toFixed(distances[e]);
+            c[e] = toFixed(costs[e]);
+            if (d[e] == Integer.MIN_VALUE || c[e] == Integer.MIN_VALUE) return NOT_EXACT;
+        }
+        return new FixedPointWeights(d, c);
+    }
+
+    // Valor en centésimos, o Integer.MIN_VALUE si no es representable
+    private static int toFixed(double valor) {
+        if (Double.isNaN(valor) || valor < 0) return Integer.MIN_VALUE;
+        double escalado = valor * SCALE;
+        if (escalado > Integer.MAX_VALUE) return Integer.MIN_VALUE;
+        long redondeado = Math.round(escalado);
+        if (Math.abs(escalado - redondeado) > 1e-6 * Math.max(1.0, escalado)) return Integer.MIN_VALUE;
+        return (int) redondeado;
+    }
+
+    public static double toDouble(long centesimos) {
+        return (double) centesimos / SCALE;
+    }
+
+    public boolean isExact() { return distances != null; }
+
+    public int[] getDistances() { return distances; }
+
+    public int[] getCosts() { return costs; }
+}
@@ -1,80 +1,84 @@
 package com.progra3_tpo.service.grafoService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.altService.LandmarkService;
+import com.progra3_tpo.service.chService.ChService;
+import com.progra3_tpo.service.dikstraService.DijkstraMode;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
 import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.ShortestPathTreeCache;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 @Service
 public class GrafoService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
     private final DijkstraService dijkstraService;
+    private final LandmarkService landmarkService;
+    private final ChService chService;
 
     // Constructor: inyecta los servicios necesarios
-    public GrafoService(LocationRepository locationRepository, DijkstraService dijkstraService) {
-        this.locationRepository = locationRepository;
+    public GrafoService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                        LandmarkService landmarkService, ChService chService) {
+        this.graphSnapshotService = graphSnapshotService;
         this.dijkstraService = dijkstraService;
+        this.landmarkService = landmarkService;
+        this.chService = chService;
     }
 
-    // Metodo que arma el grafo y ejecuta Dijkstra
+    // Metodo que toma el grafo en memoria y ejecuta Dijkstra
     public PathResponse computeWithDijkstra(String from, String to, String metric, double alpha) {
-        // 1. Obtiene todas las ubicaciones (nodos del grafo)
-        List<LocationDto> nodes = locationRepository.findAll();
-        int n = nodes.size();
-
-        // 2. Crea un mapa para relacionar el nombre de cada ubicación con un índice numérico
-        Map<String, Integer> nameToIndex = new HashMap<>();
-        for (int i = 0; i < n; i++) {
-            nameToIndex.put(nodes.get(i).getNombre(), i);
-        }
-
-        // 3. Inicializa una lista de adyacencia: una lista de listas que representa el grafo
-        List<List<DijkstraService.EdgeDto>> adjList = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) adjList.add(new ArrayList<>());
+        return computeWithDijkstra(from, to, metric, alpha, DijkstraQueue.DEFAULT);
+    }
 
-        // 4. Recorre cada ubicación para construir las conexiones (aristas)
-        for (int i = 0; i < n; i++) {
-            LocationDto src = nodes.get(i);
-            List<RouteDto> rutas = src.getRutas(); // Rutas salientes desde esta ubicación
-            if (rutas == null) continue; // Si no tiene rutas, pasa al siguiente nodo
+    // Igual que el anterior, eligiendo la cola de prioridad de Dijkstra (heap indexado o PriorityQueue)
+    public PathResponse computeWithDijkstra(String from, String to, String metric, double alpha, DijkstraQueue queue) {
+        return computeWithDijkstra(from, to, metric, alpha, queue, DijkstraMode.UNIDIRECTIONAL);
+    }
 
-            // 5. Por cada ruta, obtiene el nodo destino y agrega la arista al grafo
-            for (RouteDto r : rutas) {
-                if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) continue;
+    // Igual que el anterior, eligiendo además el modo de búsqueda (unidireccional, bidireccional, ALT o CH)
+    public PathResponse computeWithDijkstra(String from, String to, String metric, double alpha,
+                                            DijkstraQueue queue, DijkstraMode mode) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = computeWithDijkstra(g, from, to, metric, alpha, queue, mode);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
 
-                // Busca el índice del nodo destino
-                Integer destIdx = nameToIndex.get(r.getDestino().getNombre());
-                if (destIdx == null) continue;
+    // Contadores de la caché de árboles de caminos mínimos de Dijkstra
+    public ShortestPathTreeCache.Stats dijkstraCacheStats() {
+        return dijkstraService.treeCacheStats();
+    }
 
-                // Agrega una nueva arista (con distancia y costo) a la lista de adyacencia
-                adjList.get(i).add(
-                        new DijkstraService.EdgeDto(destIdx, r.getDistancia(), r.getCosto(), r)
-                );
-            }
-        }
+    // Variante que trabaja sobre una foto del grafo ya tomada por quien llama
+    public PathResponse computeWithDijkstra(GraphSnapshot g, String from, String to, String metric, double alpha) {
+        return computeWithDijkstra(g, from, to, metric, alpha, DijkstraQueue.DEFAULT, DijkstraMode.UNIDIRECTIONAL);
+    }
 
-        // 6. Busca los índices de los nodos de origen y destino
-        Integer s = nameToIndex.get(from);
-        Integer t = nameToIndex.get(to);
+    public PathResponse computeWithDijkstra(GraphSnapshot g, String from, String to, String metric, double alpha,
+                                            DijkstraQueue queue, DijkstraMode mode) {
+        // 1. Busca los índices de los nodos de origen y destino
+        int s = g.indexOf(from);
+        int t = g.indexOf(to);
 
-        // 7. Si alguno no existe, devuelve una respuesta vacía con un mensaje de error
-        if (s == null || t == null) {
+        // 2. Si alguno no existe, devuelve una respuesta vacía con un mensaje de error
+        if (s < 0 || t < 0) {
             return new PathResponse("Inicio o destino no encontrado", new ArrayList<>(), new ArrayList<>(), 0.0, 0.0);
         }
 
-        // 8. Define el criterio de cálculo (por defecto, "distance") y el peso alpha
+        // 3. Define el criterio de cálculo (por defecto, "distance") y el peso alpha
         String m = (metric == null) ? "distance" : metric;
         if (Double.isNaN(alpha)) alpha = 0.5;
 
-        // 9. Llama al servicio de Dijkstra para calcular el mejor camino
-        return dijkstraService.compute(s, t, adjList, nodes, m, alpha);
+        // 4. Llama al servicio de Dijkstra para calcular el mejor camino con el modo pedido
+        if (mode == DijkstraMode.BIDIRECTIONAL)
+            return dijkstraService.computeBidirectional(g, s, t, m, alpha, queue);
+        if (mode == DijkstraMode.ALT)
+            return landmarkService.compute(g, s, t, m, alpha, queue);
+        if (mode == DijkstraMode.CH)
+            return chService.compute(g, s, t, m, alpha, queue);
+        return dijkstraService.compute(g, s, t, m, alpha, queue);
     }
 }
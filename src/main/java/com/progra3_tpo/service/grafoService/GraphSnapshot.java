@@ -0,0 +1,282 @@
+package com.progra3_tpo.service.grafoService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+
+import java.util.*;
+
+/**
+ * GraphSnapshot
+ * -------------------------------------------------------------
+ * Foto inmutable del grafo Location/CONECTA_A en formato CSR (compressed sparse row):
+ *   - offsets[u] .. offsets[u + 1] son los ids de las aristas que salen de u.
+ *   - targets[e], distances[e] y costs[e] describen la arista e (arrays primitivos paralelos).
+ *   - routeNames[e] es la tabla lateral con el nombreRuta de la arista e; sólo se consulta
+ *     al reconstruir el camino para la respuesta.
+ *   - La vista inversa (rutas entrantes) es otro CSR sobre los mismos ids de arista:
+ *     reverseOffsets[v] .. reverseOffsets[v + 1] recorren las aristas que llegan a v;
+ *     reverseEdges[i] es el id de la arista original y reverseSources[i] su nodo origen.
+ * Los índices de nodo coinciden con la posición en la lista devuelta por findAll().
+ * No se guardan referencias a las entidades LocationDto/RouteDto: todo queda en arrays.
+ * Los arrays se exponen sin copiar: son de sólo lectura para quien los use.
+ * Cada foto lleva un número de versión creciente; una escritura nunca modifica una foto
+ * existente, sino que publica otra con la versión siguiente (copy-on-write).
+ */
+public final class GraphSnapshot {
+
+    private final long version;
+    private final String[] names;
+    private final String[] tipos;
+    private final Map<String, Integer> nameToIndex;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] distances;
+    private final double[] costs;
+    private final String[] routeNames;
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+    private final int[] reverseEdges;
+    // Pesos en centésimos (int), se calculan la primera vez que alguien los pide
+    private volatile FixedPointWeights fixedPoint;
+    // Componentes fuertes + etiquetas de alcanzabilidad; GraphSnapshotService lo arma al publicar la foto
+    private volatile ReachabilityIndex reachability;
+
+    private GraphSnapshot(long version, String[] names, String[] tipos, Map<String, Integer> nameToIndex,
+                          int[] offsets, int[] targets, double[] distances, double[] costs, String[] routeNames) {
+        this.version = version;
+        this.names = names;
+        this.tipos = tipos;
+        this.nameToIndex = nameToIndex;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.distances = distances;
+        this.costs = costs;
+        this.routeNames = routeNames;
+
+        // Vista inversa: se arma una vez por foto, en O(V + E), con el mismo conteo en dos pasadas
+        int n = names.length;
+        int m = targets.length;
+        this.reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) reverseOffsets[targets[e] + 1]++;
+        for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+        this.reverseSources = new int[m];
+        this.reverseEdges = new int[m];
+        int[] siguiente = Arrays.copyOf(reverseOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int i = siguiente[targets[e]]++;
+                reverseSources[i] = u;
+                reverseEdges[i] = e;
+            }
+        }
+    }
+
+    /**
+     * fromLocations
+     * -------------
+     * ENTRA: número de versión y lista de ubicaciones (tal como la devuelve el repositorio, con sus rutas salientes).
+     * HACE: indexa los nombres y vuelca las rutas válidas en los arrays CSR, en dos pasadas
+     *       (primero cuenta el grado de salida de cada nodo, después llena).
+     * SALE: snapshot inmutable listo para compartir entre hilos.
+     * COMPLEJIDAD: O(V + E).
+     */
+    public static GraphSnapshot fromLocations(long version, List<LocationDto> locations) {
+        List<LocationDto> nodes = (locations == null) ? List.of() : locations;
+        int n = nodes.size();
+
+        String[] names = new String[n];
+        String[] tipos = new String[n];
+        Map<String, Integer> nameToIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            names[i] = nodes.get(i).getNombre();
+            tipos[i] = nodes.get(i).getTipo();
+            if (names[i] != null) nameToIndex.put(names[i], i);
+        }
+
+        // 1ra pasada: grado de salida de cada nodo
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            List<RouteDto> rutas = nodes.get(i).getRutas();
+            if (rutas == null) continue;
+            for (RouteDto r : rutas) {
+                if (destinoValido(r, nameToIndex) >= 0) offsets[i + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) offsets[i + 1] += offsets[i];
+
+        // 2da pasada: llenamos los arrays de aristas
+        int m = offsets[n];
+        int[] targets = new int[m];
+        double[] distances = new double[m];
+        double[] costs = new double[m];
+        String[] routeNames = new String[m];
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            List<RouteDto> rutas = nodes.get(i).getRutas();
+            if (rutas == null) continue;
+            for (RouteDto r : rutas) {
+                int dest = destinoValido(r, nameToIndex);
+                if (dest < 0) continue;
+                targets[e] = dest;
+                distances[e] = r.getDistancia();
+                costs[e] = r.getCosto();
+                routeNames[e] = r.getNombreRuta();
+                e++;
+            }
+        }
+
+        return new GraphSnapshot(version, names, tipos, Collections.unmodifiableMap(nameToIndex),
+                offsets, targets, distances, costs, routeNames);
+    }
+
+    // Devuelve el índice del destino de la ruta, o -1 si la ruta no se puede ubicar en el grafo
+    private static int destinoValido(RouteDto r, Map<String, Integer> nameToIndex) {
+        if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) return -1;
+        Integer idx = nameToIndex.get(r.getDestino().getNombre());
+        return idx == null ? -1 : idx;
+    }
+
+    /**
+     * withLocation
+     * ------------
+     * ENTRA: número de la nueva versión, la ubicación recién creada y sus rutas entrantes.
+     * HACE: arma una copia de la foto con el nodo agregado al final (índice n) y cada ruta entrante
+     *       insertada al final del bloque CSR de su origen (los bloques se copian con arraycopy).
+     * SALE: la foto nueva; esta queda intacta para las consultas que ya la están usando.
+     * COMPLEJIDAD: O(V + E) en copias de arrays, sin volver a la base.
+     */
+    public GraphSnapshot withLocation(long newVersion, LocationDto location, List<IncomingRoute> entrantes) {
+        int n = names.length;
+        int nuevo = n;
+
+        String[] newNames = Arrays.copyOf(names, n + 1);
+        String[] newTipos = Arrays.copyOf(tipos, n + 1);
+        newNames[nuevo] = location.getNombre();
+        newTipos[nuevo] = location.getTipo();
+
+        Map<String, Integer> index = new HashMap<>(nameToIndex);
+        if (location.getNombre() != null) index.put(location.getNombre(), nuevo);
+
+        // Agrupamos las rutas entrantes por nodo origen (las que no se pueden ubicar se descartan)
+        Map<Integer, List<RouteDto>> porOrigen = new HashMap<>();
+        if (entrantes != null) {
+            for (IncomingRoute ir : entrantes) {
+                int src = indexOf(ir.sourceName);
+                if (src < 0 || ir.route == null) continue;
+                porOrigen.computeIfAbsent(src, k -> new ArrayList<>()).add(ir.route);
+            }
+        }
+
+        int[] newOffsets = new int[n + 2];
+        for (int u = 0; u < n; u++) {
+            List<RouteDto> extra = porOrigen.get(u);
+            newOffsets[u + 1] = newOffsets[u] + (offsets[u + 1] - offsets[u]) + (extra == null ? 0 : extra.size());
+        }
+        newOffsets[n + 1] = newOffsets[n]; // el nodo nuevo todavía no tiene rutas salientes
+
+        int m = newOffsets[n + 1];
+        int[] newTargets = new int[m];
+        double[] newDistances = new double[m];
+        double[] newCosts = new double[m];
+        String[] newRouteNames = new String[m];
+
+        for (int u = 0; u < n; u++) {
+            int desde = offsets[u];
+            int grado = offsets[u + 1] - desde;
+            int base = newOffsets[u];
+            System.arraycopy(targets, desde, newTargets, base, grado);
+            System.arraycopy(distances, desde, newDistances, base, grado);
+            System.arraycopy(costs, desde, newCosts, base, grado);
+            System.arraycopy(routeNames, desde, newRouteNames, base, grado);
+
+            List<RouteDto> extra = porOrigen.get(u);
+            if (extra == null) continue;
+            int e = base + grado;
+            for (RouteDto r : extra) {
+                newTargets[e] = nuevo;
+                newDistances[e] = r.getDistancia();
+                newCosts[e] = r.getCosto();
+                newRouteNames[e] = r.getNombreRuta();
+                e++;
+            }
+        }
+
+        return new GraphSnapshot(newVersion, newNames, newTipos, Collections.unmodifiableMap(index),
+                newOffsets, newTargets, newDistances, newCosts, newRouteNames);
+    }
+
+    // ======================= CONSULTAS =======================
+
+    public long getVersion() { return version; }
+
+    public int nodeCount() { return names.length; }
+
+    public int edgeCount() { return targets.length; }
+
+    public boolean isEmpty() { return names.length == 0; }
+
+    public boolean hasEdges() { return targets.length > 0; }
+
+    // Índice del nodo con ese nombre, o -1 si no existe
+    public int indexOf(String nombre) {
+        if (nombre == null) return -1;
+        Integer idx = nameToIndex.get(nombre);
+        return idx == null ? -1 : idx;
+    }
+
+    public String nameOf(int node) {
+        return names[node] == null ? "?" : names[node];
+    }
+
+    public String tipoOf(int node) { return tipos[node]; }
+
+    // Nombre de la ruta asociada a la arista (tabla lateral), "?" si no tiene
+    public String routeName(int edge) {
+        return routeNames[edge] == null ? "?" : routeNames[edge];
+    }
+
+    public int[] getOffsets() { return offsets; }
+
+    public int[] getTargets() { return targets; }
+
+    public double[] getDistances() { return distances; }
+
+    public double[] getCosts() { return costs; }
+
+    public int[] getReverseOffsets() { return reverseOffsets; }
+
+    public int[] getReverseSources() { return reverseSources; }
+
+    public int[] getReverseEdges() { return reverseEdges; }
+
+    // Distancias y costos en punto fijo; si dos hilos los piden a la vez ambos calculan lo mismo, sin problema
+    public FixedPointWeights fixedPointWeights() {
+        FixedPointWeights f = fixedPoint;
+        if (f == null) {
+            f = FixedPointWeights.of(distances, costs);
+            fixedPoint = f;
+        }
+        return f;
+    }
+
+    // Índice de alcanzabilidad de esta versión; igual que los pesos en punto fijo, se calcula una sola vez
+    public ReachabilityIndex reachability() {
+        ReachabilityIndex r = reachability;
+        if (r == null) {
+            r = ReachabilityIndex.build(this);
+            reachability = r;
+        }
+        return r;
+    }
+
+    // Ruta entrante hacia una ubicación nueva, identificada por el nombre de su origen
+    public static class IncomingRoute {
+        public final String sourceName;
+        public final RouteDto route;
+
+        public IncomingRoute(String sourceName, RouteDto route) {
+            this.sourceName = sourceName;
+            this.route = route;
+        }
+    }
+}
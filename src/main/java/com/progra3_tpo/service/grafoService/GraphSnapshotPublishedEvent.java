@@ -0,0 +1,25 @@
+package com.progra3_tpo.service.grafoService;
+
+/**
+ * GraphSnapshotPublishedEvent
+ * -------------------------------------------------------------
+ * Evento que GraphSnapshotService publica cada vez que queda vigente una foto nueva
+ * (carga inicial, recarga completa o alta de una ubicación). Lo escuchan los servicios
+ * que precalculan estructuras sobre el grafo para rehacerlas con la versión nueva.
+ */
+public class GraphSnapshotPublishedEvent {
+
+    private final GraphSnapshot snapshot;
+    private final int addedNode;
+
+    public GraphSnapshotPublishedEvent(GraphSnapshot snapshot, int addedNode) {
+        this.snapshot = snapshot;
+        this.addedNode = addedNode;
+    }
+
+    public GraphSnapshot getSnapshot() { return snapshot; }
+
+    // Índice del nodo agregado si la foto sale de withLocation sobre la versión anterior;
+    // -1 si es una carga completa (en ese caso puede haber cambiado cualquier cosa)
+    public int getAddedNode() { return addedNode; }
+}
@@ -0,0 +1,115 @@
+package com.progra3_tpo.service.grafoService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.repository.LocationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * GraphSnapshotService
+ * -------------------------------------------------------------
+ * Mantiene el GraphSnapshot vigente de todo el proceso.
+ * El grafo se lee de Neo4j una sola vez (al arrancar o en la primera consulta) y se publica
+ * con una referencia atómica: cada consulta toma la foto actual y trabaja sobre ella sin
+ * volver a la base.
+ * Las escrituras de LocationService no tocan la foto publicada: generan una nueva con la
+ * versión siguiente, de modo que las consultas en curso terminan sobre la versión con la que
+ * empezaron y las nuevas ya ven el cambio.
+ * Cada foto publicada se anuncia con un GraphSnapshotPublishedEvent.
+ */
+@Service
+public class GraphSnapshotService {
+
+    private final LocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<GraphSnapshot> actual = new AtomicReference<>();
+
+    public GraphSnapshotService(LocationRepository locationRepository, ApplicationEventPublisher eventPublisher) {
+        this.locationRepository = locationRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Se dispara después de los CommandLineRunner (DataLoader), así la primera foto ya trae los datos de ejemplo
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    // Devuelve la foto vigente; si todavía no se cargó ninguna, la construye
+    public GraphSnapshot current() {
+        GraphSnapshot g = actual.get();
+        return (g != null) ? g : loadIfAbsent();
+    }
+
+    // Versión de la foto vigente (0 si todavía no se cargó ninguna)
+    public long currentVersion() {
+        GraphSnapshot g = actual.get();
+        return (g == null) ? 0L : g.getVersion();
+    }
+
+    // Vuelve a leer todo el grafo desde Neo4j y publica la nueva foto
+    public synchronized GraphSnapshot reload() {
+        GraphSnapshot g = GraphSnapshot.fromLocations(currentVersion() + 1, locationRepository.findAll());
+        publish(g, -1);
+        return g;
+    }
+
+    /**
+     * addLocation
+     * -----------
+     * ENTRA: la ubicación recién persistida y sus rutas entrantes.
+     * HACE: publica una foto nueva con el nodo y las rutas agregados (delta sobre la vigente,
+     *       sin releer la base). Si hay una transacción en curso, la publicación espera al commit
+     *       para no exponer datos que todavía podrían deshacerse.
+     * SALE: nada; la nueva versión queda visible para las próximas consultas.
+     */
+    public void addLocation(LocationDto location, List<GraphSnapshot.IncomingRoute> entrantes) {
+        afterCommit(() -> publishLocation(location, entrantes));
+    }
+
+    // Igual que reload(), pero esperando el commit si hay una transacción activa
+    public void reloadAfterCommit() {
+        afterCommit(this::reload);
+    }
+
+    private synchronized void publishLocation(LocationDto location, List<GraphSnapshot.IncomingRoute> entrantes) {
+        GraphSnapshot g = actual.get();
+        if (g == null) {
+            reload(); // no había foto: la primera carga ya incluye el cambio
+            return;
+        }
+        publish(g.withLocation(g.getVersion() + 1, location, entrantes), g.nodeCount());
+    }
+
+    // Deja vigente la foto y avisa a quienes mantienen estructuras derivadas del grafo
+    private void publish(GraphSnapshot g, int addedNode) {
+        g.reachability(); // el índice de alcanzabilidad se arma antes de que la foto quede vigente
+        actual.set(g);
+        eventPublisher.publishEvent(new GraphSnapshotPublishedEvent(g, addedNode));
+    }
+
+    private void afterCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    private synchronized GraphSnapshot loadIfAbsent() {
+        GraphSnapshot g = actual.get();
+        return (g != null) ? g : reload();
+    }
+}
@@ -0,0 +1,287 @@
+package com.progra3_tpo.service.grafoService;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ReachabilityIndex
+ * -------------------------------------------------------------
+ * Índice de alcanzabilidad de una foto del grafo: responde "¿hay camino de u a v?" sin recorrer el grafo.
+ *   - Componentes fuertemente conexas (Tarjan iterativo). Dentro de una misma componente siempre hay camino.
+ *     Tarjan cierra las componentes en orden topológico inverso: si hay una ruta de la componente A a la B,
+ *     id(A) > id(B). Con eso, id(A) < id(B) ya descarta el camino.
+ *   - DAG de condensación en CSR (una arista por par de componentes vecinas).
+ *   - Etiquetas de intervalos (GRAIL): por cada uno de K recorridos en profundidad con orden al azar,
+ *     R(c) = número de post-orden de c y L(c) = mínimo R entre todo lo alcanzable desde c.
+ *     Si B es alcanzable desde A, [L(B), R(B)] está dentro de [L(A), R(A)] en todas las etiquetas;
+ *     si en alguna no lo está, seguro no hay camino.
+ *   - Si ningún filtro decide, DFS sobre el DAG podando con los mismos filtros (casi nunca pasa de unos
+ *     pocos nodos: cada hijo que no contiene al destino en sus intervalos se descarta sin entrar).
+ * Se arma una vez por versión (GraphSnapshot.reachability()) en O(K · (V + E)) y es de sólo lectura.
+ */
+public final class ReachabilityIndex {
+
+    // Cantidad de etiquetas de intervalos: más etiquetas descartan más pares sin DFS, a costo de memoria
+    private static final int ETIQUETAS = 3;
+
+    // Marcas de visitado para el DFS de respaldo, por hilo (se limpian con un número de ronda)
+    private static final ThreadLocal<int[][]> MARCAS = ThreadLocal.withInitial(() -> new int[][]{new int[0], {0}});
+
+    private final int[] componente;        // componente de cada nodo
+    private final int componentes;
+    private final int[] dagOffsets;        // CSR del DAG de condensación
+    private final int[] dagTargets;
+    private final int[][] bajo;            // L por etiqueta y componente
+    private final int[][] alto;            // R por etiqueta y componente
+
+    private ReachabilityIndex(int[] componente, int componentes, int[] dagOffsets, int[] dagTargets,
+                              int[][] bajo, int[][] alto) {
+        this.componente = componente;
+        this.componentes = componentes;
+        this.dagOffsets = dagOffsets;
+        this.dagTargets = dagTargets;
+        this.bajo = bajo;
+        this.alto = alto;
+    }
+
+    /**
+     * build
+     * -----
+     * ENTRA: una foto del grafo.
+     * HACE: Tarjan iterativo para las componentes, arma el DAG de condensación sin aristas repetidas y
+     *       calcula ETIQUETAS intervalos por componente con recorridos en profundidad de orden al azar
+     *       (semilla fija: el índice de una misma foto siempre sale igual).
+     * SALE: el índice listo para consultar desde varios hilos.
+     * COMPLEJIDAD: O(V + E) para las componentes y el DAG, O(ETIQUETAS · (C + E_dag)) para las etiquetas.
+     */
+    public static ReachabilityIndex build(GraphSnapshot g) {
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+
+        // ---------- Tarjan iterativo ----------
+        int[] indice = new int[n];
+        int[] lowlink = new int[n];
+        int[] componente = new int[n];
+        boolean[] enPila = new boolean[n];
+        Arrays.fill(indice, -1);
+        int[] pila = new int[n];          // pila de Tarjan (nodos de componentes abiertas)
+        int tope = 0;
+        int[] llamadas = new int[n];      // pila de recursión simulada: nodo
+        int[] siguiente = new int[n];     // próxima arista a mirar de cada nodo en la recursión
+        int contador = 0;
+        int componentes = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (indice[raiz] >= 0) continue;
+            int profundidad = 0;
+            llamadas[profundidad] = raiz;
+            siguiente[raiz] = offsets[raiz];
+            indice[raiz] = lowlink[raiz] = contador++;
+            pila[tope++] = raiz;
+            enPila[raiz] = true;
+
+            while (profundidad >= 0) {
+                int u = llamadas[profundidad];
+                if (siguiente[u] < offsets[u + 1]) {
+                    int v = targets[siguiente[u]++];
+                    if (indice[v] < 0) {
+                        indice[v] = lowlink[v] = contador++;
+                        pila[tope++] = v;
+                        enPila[v] = true;
+                        siguiente[v] = offsets[v];
+                        llamadas[++profundidad] = v;
+                    } else if (enPila[v]) {
+                        lowlink[u] = Math.min(lowlink[u], indice[v]);
+                    }
+                    continue;
+                }
+                // u terminó: si es raíz de su componente, se cierra
+                if (lowlink[u] == indice[u]) {
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        enPila[w] = false;
+                        componente[w] = componentes;
+                    } while (w != u);
+                    componentes++;
+                }
+                profundidad--;
+                if (profundidad >= 0) {
+                    int padre = llamadas[profundidad];
+                    lowlink[padre] = Math.min(lowlink[padre], lowlink[u]);
+                }
+            }
+        }
+
+        // ---------- DAG de condensación (CSR, sin repetidas) ----------
+        int[] grado = new int[componentes + 1];
+        int[] ultimaVista = new int[componentes];
+        Arrays.fill(ultimaVista, -1);
+        // Se recorren los nodos agrupados por componente para deduplicar con una sola marca por origen
+        int[] porComponente = ordenarPorComponente(componente, componentes);
+        int[] inicio = new int[componentes + 1];
+        for (int v = 0; v < n; v++) inicio[componente[v] + 1]++;
+        for (int c = 0; c < componentes; c++) inicio[c + 1] += inicio[c];
+
+        for (int c = 0; c < componentes; c++) {
+            for (int k = inicio[c]; k < inicio[c + 1]; k++) {
+                int u = porComponente[k];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = componente[targets[e]];
+                    if (d == c || ultimaVista[d] == c) continue;
+                    ultimaVista[d] = c;
+                    grado[c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < componentes; c++) grado[c + 1] += grado[c];
+        int[] dagOffsets = grado;
+        int[] dagTargets = new int[dagOffsets[componentes]];
+        Arrays.fill(ultimaVista, -1);
+        for (int c = 0; c < componentes; c++) {
+            int pos = dagOffsets[c];
+            for (int k = inicio[c]; k < inicio[c + 1]; k++) {
+                int u = porComponente[k];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int d = componente[targets[e]];
+                    if (d == c || ultimaVista[d] == c) continue;
+                    ultimaVista[d] = c;
+                    dagTargets[pos++] = d;
+                }
+            }
+        }
+
+        // ---------- Etiquetas de intervalos ----------
+        int[][] bajo = new int[ETIQUETAS][];
+        int[][] alto = new int[ETIQUETAS][];
+        Random rnd = new Random(componentes * 31L + dagTargets.length);
+        for (int k = 0; k < ETIQUETAS; k++) {
+            alto[k] = postOrdenAlAzar(componentes, dagOffsets, dagTargets, rnd);
+            // Los hijos tienen id menor (orden topológico inverso de Tarjan): subiendo por id ya están listos
+            int[] l = new int[componentes];
+            for (int c = 0; c < componentes; c++) {
+                int min = alto[k][c];
+                for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) min = Math.min(min, l[dagTargets[i]]);
+                l[c] = min;
+            }
+            bajo[k] = l;
+        }
+
+        return new ReachabilityIndex(componente, componentes, dagOffsets, dagTargets, bajo, alto);
+    }
+
+    // Nodos ordenados por componente (counting sort)
+    private static int[] ordenarPorComponente(int[] componente, int componentes) {
+        int[] cuenta = new int[componentes + 1];
+        for (int c : componente) cuenta[c + 1]++;
+        for (int c = 0; c < componentes; c++) cuenta[c + 1] += cuenta[c];
+        int[] orden = new int[componente.length];
+        for (int v = 0; v < componente.length; v++) orden[cuenta[componente[v]]++] = v;
+        return orden;
+    }
+
+    // Número de post-orden de cada componente en un DFS del DAG con raíces e hijos en orden al azar
+    private static int[] postOrdenAlAzar(int c, int[] offs, int[] dst, Random rnd) {
+        int[] post = new int[c];
+        Arrays.fill(post, -1);
+        boolean[] visto = new boolean[c];
+        int[] raices = new int[c];
+        for (int i = 0; i < c; i++) raices[i] = i;
+        mezclar(raices, 0, c, rnd);
+
+        // Hijos de cada componente en una copia mezclada (para no tocar el CSR compartido)
+        int[] hijos = Arrays.copyOf(dst, dst.length);
+        for (int u = 0; u < c; u++) mezclar(hijos, offs[u], offs[u + 1], rnd);
+
+        int[] pila = new int[c];
+        int[] siguiente = new int[c];
+        int numero = 0;
+        for (int r : raices) {
+            if (visto[r]) continue;
+            int tope = 0;
+            pila[tope++] = r;
+            visto[r] = true;
+            siguiente[r] = offs[r];
+            while (tope > 0) {
+                int u = pila[tope - 1];
+                if (siguiente[u] < offs[u + 1]) {
+                    int v = hijos[siguiente[u]++];
+                    if (!visto[v]) {
+                        visto[v] = true;
+                        siguiente[v] = offs[v];
+                        pila[tope++] = v;
+                    }
+                } else {
+                    post[u] = numero++;
+                    tope--;
+                }
+            }
+        }
+        return post;
+    }
+
+    private static void mezclar(int[] a, int desde, int hasta, Random rnd) {
+        for (int i = hasta - 1; i > desde; i--) {
+            int j = desde + rnd.nextInt(i - desde + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * reaches
+     * -------
+     * ENTRA: índices de nodo de origen y destino.
+     * HACE: misma componente → sí; orden topológico o intervalos incompatibles → no; si no decide,
+     *       DFS sobre el DAG de condensación podando los hijos que no pueden contener al destino.
+     * SALE: true si existe un camino dirigido de from a to.
+     * COMPLEJIDAD: O(ETIQUETAS) en casi todas las consultas; el peor caso es O(C + E_dag).
+     */
+    public boolean reaches(int from, int to) {
+        int a = componente[from];
+        int b = componente[to];
+        if (a == b) return true;
+        if (!puedeContener(a, b)) return false;
+
+        int[][] marcas = MARCAS.get();
+        if (marcas[0].length < componentes) marcas[0] = new int[componentes];
+        int[] visto = marcas[0];
+        int ronda = ++marcas[1][0];
+        if (ronda == Integer.MAX_VALUE) { // vuelta completa del contador: se limpian las marcas
+            Arrays.fill(visto, 0);
+            marcas[1][0] = ronda = 1;
+        }
+
+        int[] pila = new int[16];
+        int tope = 0;
+        pila[tope++] = a;
+        visto[a] = ronda;
+        while (tope > 0) {
+            int u = pila[--tope];
+            for (int i = dagOffsets[u]; i < dagOffsets[u + 1]; i++) {
+                int v = dagTargets[i];
+                if (v == b) return true;
+                if (visto[v] == ronda || !puedeContener(v, b)) continue;
+                visto[v] = ronda;
+                if (tope == pila.length) pila = Arrays.copyOf(pila, tope * 2);
+                pila[tope++] = v;
+            }
+        }
+        return false;
+    }
+
+    // false si seguro que desde la componente a no se llega a la b (filtro topológico e intervalos)
+    private boolean puedeContener(int a, int b) {
+        if (a < b) return false; // las aristas del DAG van siempre de id mayor a id menor
+        for (int k = 0; k < ETIQUETAS; k++) {
+            if (bajo[k][b] < bajo[k][a] || alto[k][b] > alto[k][a]) return false;
+        }
+        return true;
+    }
+
+    public int componentOf(int node) { return componente[node]; }
+
+    public int componentCount() { return componentes; }
+}
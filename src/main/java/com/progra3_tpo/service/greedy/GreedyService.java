@@ -1,10 +1,8 @@
 package com.progra3_tpo.service.greedy;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
-import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -12,13 +10,21 @@ import java.util.*;
 @Service
 public class GreedyService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public GreedyService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public GreedyService(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
     }
 
     public PathResponse compute(String from, String to) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = compute(g, from, to);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    // Variante que trabaja sobre una foto del grafo ya tomada por quien llama
+    public PathResponse compute(GraphSnapshot g, String from, String to) {
 
         // Validaciones básicas de entrada
         if (from == null || to == null || from.isBlank() || to.isBlank()) {
@@ -26,35 +32,21 @@ public class GreedyService {
                     Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        // Trae todas las localizaciones desde la base
-        List<LocationDto> locations = locationRepository.findAll();
-        if (locations == null || locations.isEmpty()) {
+        if (g.isEmpty()) {
             return new PathResponse("No hay localizaciones cargadas en la base.",
                     Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        // Mapea los nombres de las localizaciones a sus índices
-        Map<String, Integer> nameToIndex = new HashMap<>();
-        for (int i = 0; i < locations.size(); i++) {
-            String nombre = locations.get(i).getNombre();
-            if (nombre != null) {
-                nameToIndex.put(nombre, i);
-            }
-        }
-
-        Integer origen = nameToIndex.get(from);
-        Integer destino = nameToIndex.get(to);
+        int origen = g.indexOf(from);
+        int destino = g.indexOf(to);
 
-        if (origen == null || destino == null) {
+        if (origen < 0 || destino < 0) {
             return new PathResponse("Origen o destino no encontrados en la base.",
                     Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        // Arma la lista de adyacencia (las conexiones entre nodos)
-        List<List<DijkstraService.EdgeDto>> adyacencia = construirAdyacencia(locations, nameToIndex);
-
-        // Variables para el recorrido
-        boolean[] visitado = new boolean[locations.size()];
+        // Variables para el recorrido (el grafo son los arrays CSR del snapshot)
+        boolean[] visitado = new boolean[g.nodeCount()];
         List<String> nodosRecorridos = new ArrayList<>();
         List<String> rutasRecorridas = new ArrayList<>();
         double distanciaTotal = 0.0;
@@ -62,29 +54,29 @@ public class GreedyService {
 
         int actual = origen;
         visitado[actual] = true;
-        nodosRecorridos.add(obtenerNombre(locations.get(actual).getNombre()));
+        nodosRecorridos.add(obtenerNombre(g.nameOf(actual)));
 
         // Algoritmo greedy: en cada paso elige la arista más barata
         while (actual != destino) {
-            DijkstraService.EdgeDto mejorOpcion = seleccionarMejorRuta(adyacencia, actual, destino, visitado);
+            int mejorOpcion = seleccionarMejorRuta(g, actual, destino, visitado);
 
-            if (mejorOpcion == null) {
+            if (mejorOpcion < 0) {
                 // No hay camino válido al destino
                 return new PathResponse("No existe recorrido posible entre origen y destino.",
                         Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
             }
 
-            int siguiente = mejorOpcion.to;
+            int siguiente = g.getTargets()[mejorOpcion];
             visitado[siguiente] = true;
 
-            String nombreSiguiente = obtenerNombre(locations.get(siguiente).getNombre());
-            String nombreRuta = obtenerNombre(mejorOpcion.route != null ? mejorOpcion.route.getNombreRuta() : null);
+            String nombreSiguiente = obtenerNombre(g.nameOf(siguiente));
+            String nombreRuta = obtenerNombre(g.routeName(mejorOpcion));
 
             nodosRecorridos.add(nombreSiguiente);
             rutasRecorridas.add(nombreRuta);
 
-            distanciaTotal += mejorOpcion.route != null ? mejorOpcion.route.getDistancia() : mejorOpcion.distance;
-            costoTotal += mejorOpcion.route != null ? mejorOpcion.route.getCosto() : mejorOpcion.cost;
+            distanciaTotal += g.getDistances()[mejorOpcion];
+            costoTotal += g.getCosts()[mejorOpcion];
 
             actual = siguiente;
         }
@@ -93,45 +85,20 @@ public class GreedyService {
                 nodosRecorridos, rutasRecorridas, distanciaTotal, costoTotal);
     }
 
-    // Arma la lista de adyacencia a partir de las rutas de cada localización
-    private List<List<DijkstraService.EdgeDto>> construirAdyacencia(List<LocationDto> locations, Map<String, Integer> nameToIndex) {
-        int n = locations.size();
-        List<List<DijkstraService.EdgeDto>> adj = new ArrayList<>(n);
-
-        for (int i = 0; i < n; i++) {
-            adj.add(new ArrayList<>());
-        }
-
-        for (int i = 0; i < n; i++) {
-            LocationDto origen = locations.get(i);
-            List<RouteDto> rutas = origen.getRutas();
-            if (rutas == null) continue;
-
-            for (RouteDto r : rutas) {
-                if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) continue;
-
-                Integer idxDestino = nameToIndex.get(r.getDestino().getNombre());
-                if (idxDestino != null) {
-                    adj.get(i).add(new DijkstraService.EdgeDto(idxDestino, r.getDistancia(), r.getCosto(), r));
-                }
-            }
-        }
-
-        return adj;
-    }
-
-    // Selecciona la arista más barata disponible desde el nodo actual
-    private DijkstraService.EdgeDto seleccionarMejorRuta(List<List<DijkstraService.EdgeDto>> adj, int actual, int destino, boolean[] visitado) {
-        DijkstraService.EdgeDto mejor = null;
+    // Selecciona la arista más barata disponible desde el nodo actual; devuelve su id o -1 si no hay
+    private int seleccionarMejorRuta(GraphSnapshot g, int actual, int destino, boolean[] visitado) {
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        int mejor = -1;
         double mejorCosto = Double.POSITIVE_INFINITY;
         double mejorDistancia = Double.POSITIVE_INFINITY;
 
-        for (DijkstraService.EdgeDto e : adj.get(actual)) {
-            if (visitado[e.to]) continue; // si ya fue visitado, lo salteo
-            if (!puedeLlegar(adj, e.to, destino)) continue; // si no puede llegar al destino, lo descarto
+        for (int e = offsets[actual]; e < offsets[actual + 1]; e++) {
+            if (visitado[targets[e]]) continue; // si ya fue visitado, lo salteo
+            if (!puedeLlegar(g, targets[e], destino)) continue; // si no puede llegar al destino, lo descarto
 
-            double costo = e.route != null ? e.route.getCosto() : e.cost;
-            double distancia = e.route != null ? e.route.getDistancia() : e.distance;
+            double costo = g.getCosts()[e];
+            double distancia = g.getDistances()[e];
 
             if (Double.isNaN(costo) || Double.isNaN(distancia)) continue;
 
@@ -146,18 +113,20 @@ public class GreedyService {
     }
 
     // BFS simple para comprobar si desde un nodo se puede llegar al destino
-    private boolean puedeLlegar(List<List<DijkstraService.EdgeDto>> adj, int start, int goal) {
+    private boolean puedeLlegar(GraphSnapshot g, int start, int goal) {
         if (start == goal) return true;
 
-        boolean[] visto = new boolean[adj.size()];
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        boolean[] visto = new boolean[g.nodeCount()];
         Queue<Integer> cola = new ArrayDeque<>();
         cola.add(start);
         visto[start] = true;
 
         while (!cola.isEmpty()) {
             int actual = cola.poll();
-            for (DijkstraService.EdgeDto e : adj.get(actual)) {
-                int prox = e.to;
+            for (int e = offsets[actual]; e < offsets[actual + 1]; e++) {
+                int prox = targets[e];
                 if (prox == goal) return true;
                 if (!visto[prox]) {
                     visto[prox] = true;
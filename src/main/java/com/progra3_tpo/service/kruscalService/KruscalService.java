@@ -1,9 +1,8 @@
 package com.progra3_tpo.service.kruscalService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -18,16 +17,23 @@ import java.util.*;
 @Service
 public class KruscalService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public KruscalService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public KruscalService(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
+    }
+
+    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = computeOptimalPath(g, from, to, metric, alpha);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
     }
 
     /**
      * computeOptimalPath
      * ------------------
-     * ENTRA: from, to, metric, alpha.
+     * ENTRA: foto del grafo, from, to, metric, alpha.
      * HACE:
      *   1) Valida nodos.
      *   2) Junta todas las aristas y las ordena por peso (según metric/alpha).
@@ -37,12 +43,12 @@ public class KruscalService {
      * SALE: PathResponse con nodos/aristas y totales.
      * COMPLEJIDAD: O(E log E) dominante por el sort.
      */
-    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+    public PathResponse computeOptimalPath(GraphSnapshot g, String from, String to, String metric, double alpha) {
         // Obtener nodos
-        LocationDto origenLocation = locationRepository.findByNombre(from);
-        LocationDto destinoLocation = locationRepository.findByNombre(to);
+        int origen = g.indexOf(from);
+        int destino = g.indexOf(to);
 
-        if (origenLocation == null || destinoLocation == null) {
+        if (origen < 0 || destino < 0) {
             return new PathResponse(
                     "Nodo de origen o destino no existe en el grafo",
                     Collections.emptyList(),
@@ -51,115 +57,94 @@ public class KruscalService {
                     0.0
             );
         }
+        int n = g.nodeCount();
+        int[] origenDeArista = origenes(g);
+
         //acá empezamos a usar greedy
-        // Obtener todas las aristas y ordenarlas por peso
-        List<RouteDto> todasLasAristas = obtenerTodasLasAristas();
-        todasLasAristas.sort(Comparator.comparingDouble(r ->
-                calcularPeso(r, metric, alpha)));
+        // Obtener todas las aristas y ordenarlas por peso (sort estable: a igual peso, orden del CSR)
+        Integer[] todasLasAristas = obtenerTodasLasAristas(g, origenDeArista);
+        double[] distancias = g.getDistances();
+        double[] costos = g.getCosts();
+        Arrays.sort(todasLasAristas, Comparator.comparingDouble(e ->
+                calcularPeso(distancias[e], costos[e], metric, alpha)));
 
         //acá empezamos a usar greedy
         // Union-Find para detectar ciclos
-        UnionFind uf = new UnionFind();
-        List<RouteDto> aristasArbolExpansion = new ArrayList<>();
+        UnionFind uf = new UnionFind(n);
+        List<Integer> aristasArbolExpansion = new ArrayList<>();
 
         // Algoritmo de Kruskal - construir MST
-        for (RouteDto arista : todasLasAristas) {
-            LocationDto origen = obtenerOrigenDeArista(arista);
-            LocationDto destino = arista.getDestino();
-
-            if (origen != null && destino != null) {
-                if (!uf.connected(origen.getNombre(), destino.getNombre())) {
-                    uf.union(origen.getNombre(), destino.getNombre());
-                    aristasArbolExpansion.add(arista);
-                }
+        for (int arista : todasLasAristas) {
+            int u = origenDeArista[arista];
+            int v = g.getTargets()[arista];
+            if (!uf.connected(u, v)) {
+                uf.union(u, v);
+                aristasArbolExpansion.add(arista);
             }
         }
 
         // Construir grafo del MST
-        Map<String, List<RouteDto>> mst = construirGrafoMST(aristasArbolExpansion);
+        List<List<int[]>> mst = construirGrafoMST(g, origenDeArista, aristasArbolExpansion);
 
         // Buscar camino en el MST desde origen a destino usando BFS
-        return encontrarCaminoEnMST(from, to, mst);
+        return encontrarCaminoEnMST(g, origen, destino, mst);
     }
 
-    /**
-     * obtenerTodasLasAristas
-     * ----------------------
-     * ENTRA: nada.
-     * HACE: recorre todos los LocationDto y acumula sus rutas, evitando duplicados
-     *       (para grafos no dirigidos) con un set de pares (u-v) y (v-u).
-     * SALE: lista con todas las aristas únicas.
-     */
-    private List<RouteDto> obtenerTodasLasAristas() {
-        List<RouteDto> aristas = new ArrayList<>();
-        Set<String> procesados = new HashSet<>();
-
-        Iterable<LocationDto> todasLocations = locationRepository.findAll();
-
-        for (LocationDto location : todasLocations) {
-            if (location.getRutas() != null) {
-                for (RouteDto ruta : location.getRutas()) {
-                    String key = location.getNombre() + "-" + ruta.getDestino().getNombre();
-                    String keyInverso = ruta.getDestino().getNombre() + "-" + location.getNombre();
-
-                    if (!procesados.contains(key) && !procesados.contains(keyInverso)) {
-                        aristas.add(ruta);
-                        procesados.add(key);
-                    }
-                }
-            }
-        }
-        return aristas;
+    // Nodo de salida de cada arista del CSR (el CSR guarda sólo el destino)
+    private static int[] origenes(GraphSnapshot g) {
+        int[] offsets = g.getOffsets();
+        int[] origen = new int[g.edgeCount()];
+        for (int u = 0; u < g.nodeCount(); u++)
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) origen[e] = u;
+        return origen;
     }
 
     /**
-     * obtenerOrigenDeArista
-     * ---------------------
-     * ENTRA: una arista (RouteDto).
-     * HACE: escanea las locations y devuelve aquella que contiene a esa arista en su lista de rutas.
-     * SALE: el LocationDto origen o null.
-     * COMPLEJIDAD: O(V + grado(origen)). Costoso, ver notas de optimización.
+     * obtenerTodasLasAristas
+     * ----------------------
+     * ENTRA: foto del grafo y el origen de cada arista.
+     * HACE: recorre las aristas del CSR, evitando duplicados (para grafos no dirigidos) con un set
+     *       de pares (u-v) y (v-u).
+     * SALE: índices de todas las aristas únicas.
      */
-    private LocationDto obtenerOrigenDeArista(RouteDto arista) {
-        Iterable<LocationDto> todasLocations = locationRepository.findAll();
-        for (LocationDto location : todasLocations) {
-            if (location.getRutas() != null && location.getRutas().contains(arista)) {
-                return location;
+    private Integer[] obtenerTodasLasAristas(GraphSnapshot g, int[] origenDeArista) {
+        List<Integer> aristas = new ArrayList<>();
+        Set<Long> procesados = new HashSet<>();
+        long n = g.nodeCount();
+
+        for (int e = 0; e < g.edgeCount(); e++) {
+            int u = origenDeArista[e];
+            int v = g.getTargets()[e];
+            long key = u * n + v;
+            long keyInverso = v * n + u;
+
+            if (!procesados.contains(key) && !procesados.contains(keyInverso)) {
+                aristas.add(e);
+                procesados.add(key);
             }
         }
-        return null;
+        return aristas.toArray(new Integer[0]);
     }
 
     /**
      * construirGrafoMST
      * -----------------
-     * ENTRA: lista de aristas seleccionadas por Kruskal (MST).
-     * HACE: arma una lista de adyacencia bidireccional (clona arista inversa).
-     * SALE: Map<String, List<RouteDto>> (adjacency list del MST).
-     * COMPLEJIDAD: O(E_MST) ≈ O(V).
+     * ENTRA: foto, origen de cada arista y las aristas seleccionadas por Kruskal (MST).
+     * HACE: arma una lista de adyacencia bidireccional: cada arista del MST aparece en sus dos extremos
+     *       como par {vecino, arista}.
+     * SALE: lista de adyacencia del MST por índice de nodo.
+     * COMPLEJIDAD: O(V + E_MST).
      */
-    private Map<String, List<RouteDto>> construirGrafoMST(List<RouteDto> aristas) {
-        Map<String, List<RouteDto>> mst = new HashMap<>();
-
-        for (RouteDto arista : aristas) {
-            LocationDto origen = obtenerOrigenDeArista(arista);
-            LocationDto destino = arista.getDestino();
-
-            if (origen != null && destino != null) {
-                mst.computeIfAbsent(origen.getNombre(), k -> new ArrayList<>())
-                        .add(arista);
-
-                // Agregar arista bidireccional (crear copia invertida)
-                RouteDto aristaInversa = new RouteDto(
-                        arista.getNombreRuta(),
-                        arista.getDistancia(),
-                        arista.getCosto(),
-                        arista.getTipoCamino(),
-                        origen
-                );
-                mst.computeIfAbsent(destino.getNombre(), k -> new ArrayList<>())
-                        .add(aristaInversa);
-            }
+    private List<List<int[]>> construirGrafoMST(GraphSnapshot g, int[] origenDeArista, List<Integer> aristas) {
+        List<List<int[]>> mst = new ArrayList<>(g.nodeCount());
+        for (int i = 0; i < g.nodeCount(); i++) mst.add(new ArrayList<>(2));
+
+        for (int arista : aristas) {
+            int u = origenDeArista[arista];
+            int v = g.getTargets()[arista];
+            mst.get(u).add(new int[]{v, arista});
+            // Agregar arista bidireccional (misma ruta recorrida al revés)
+            mst.get(v).add(new int[]{u, arista});
         }
         return mst;
     }
@@ -167,56 +152,56 @@ public class KruscalService {
     /**
      * encontrarCaminoEnMST (BFS)
      * --------------------------
-     * ENTRA: from, to y el MST como adjacency list.
+     * ENTRA: foto, from, to y el MST como adjacency list.
      * HACE: BFS para hallar el camino simple (en un árbol hay único camino).
      * SALE: PathResponse con camino y totales, o “no hay camino”.
      * COMPLEJIDAD: O(V + E_MST) ≈ O(V).
      */
-    private PathResponse encontrarCaminoEnMST(String from, String to, Map<String, List<RouteDto>> mst) {
-        Queue<String> cola = new LinkedList<>();
-        Map<String, RouteDto> aristaPrevia = new HashMap<>();
-        Set<String> visitados = new HashSet<>();
+    private PathResponse encontrarCaminoEnMST(GraphSnapshot g, int from, int to, List<List<int[]>> mst) {
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        int[] aristaPrevia = new int[g.nodeCount()];
+        int[] nodoPrevio = new int[g.nodeCount()];
+        Arrays.fill(aristaPrevia, -1);
+        boolean[] visitados = new boolean[g.nodeCount()];
 
         cola.add(from);
-        visitados.add(from);
+        visitados[from] = true;
 
         // BFS para encontrar el camino
         while (!cola.isEmpty()) {
-            String nodoActual = cola.poll();
+            int nodoActual = cola.poll();
 
-            if (nodoActual.equals(to)) {
+            if (nodoActual == to) {
                 break;
             }
 
-            List<RouteDto> vecinos = mst.get(nodoActual);
-            if (vecinos != null) {
-                for (RouteDto arista : vecinos) {
-                    String destino = arista.getDestino().getNombre();
-                    if (!visitados.contains(destino)) {
-                        visitados.add(destino);
-                        aristaPrevia.put(destino, arista);
-                        cola.add(destino);
-                    }
+            for (int[] vecino : mst.get(nodoActual)) {
+                int destino = vecino[0];
+                if (!visitados[destino]) {
+                    visitados[destino] = true;
+                    aristaPrevia[destino] = vecino[1];
+                    nodoPrevio[destino] = nodoActual;
+                    cola.add(destino);
                 }
             }
         }
 
         // Reconstruir el camino
-        return reconstruirCamino(from, to, aristaPrevia);
+        return reconstruirCamino(g, from, to, aristaPrevia, nodoPrevio);
     }
 
     /**
      * reconstruirCamino
      * -----------------
-     * ENTRA: from, to y mapa aristaPrevia (para cada nodo, la arista con la que llegué).
-     * HACE: camina hacia atrás desde 'to' usando aristaPrevia y obtiene nodos/aristas.
+     * ENTRA: foto, from, to, aristaPrevia y nodoPrevio (para cada nodo, la arista y el nodo desde donde llegué).
+     * HACE: camina hacia atrás desde 'to' y obtiene nodos/aristas.
      * SALE: PathResponse listo (o mensaje de no camino).
      * COMPLEJIDAD: O(L) (L = longitud del camino).
      */
-    private PathResponse reconstruirCamino(String from, String to, Map<String, RouteDto> aristaPrevia) {
-        if (!aristaPrevia.containsKey(to) && !from.equals(to)) {
+    private PathResponse reconstruirCamino(GraphSnapshot g, int from, int to, int[] aristaPrevia, int[] nodoPrevio) {
+        if (aristaPrevia[to] < 0 && from != to) {
             return new PathResponse(
-                    "No se encontró un camino entre " + from + " y " + to,
+                    "No se encontró un camino entre " + g.nameOf(from) + " y " + g.nameOf(to),
                     Collections.emptyList(),
                     Collections.emptyList(),
                     0.0,
@@ -229,26 +214,19 @@ public class KruscalService {
         double distanciaTotal = 0.0;
         double costoTotal = 0.0;
 
-        String nodoActual = to;
+        int nodoActual = to;
 
         // Reconstruir el camino desde el destino hasta el origen
-        while (!nodoActual.equals(from)) {
-            RouteDto arista = aristaPrevia.get(nodoActual);
-            nodosRecorrido.add(0, nodoActual);
-            aristasRecorrido.add(0, arista.getNombreRuta());
-            distanciaTotal += arista.getDistancia();
-            costoTotal += arista.getCosto();
-
-            // Obtener el origen de la arista actual
-            LocationDto origenArista = obtenerOrigenDeArista(arista);
-            if (origenArista != null) {
-                nodoActual = origenArista.getNombre();
-            } else {
-                break;
-            }
+        while (nodoActual != from) {
+            int arista = aristaPrevia[nodoActual];
+            nodosRecorrido.add(0, g.nameOf(nodoActual));
+            aristasRecorrido.add(0, g.routeName(arista));
+            distanciaTotal += g.getDistances()[arista];
+            costoTotal += g.getCosts()[arista];
+            nodoActual = nodoPrevio[nodoActual];
         }
 
-        nodosRecorrido.add(0, from);
+        nodosRecorrido.add(0, g.nameOf(from));
 
         return new PathResponse(
                 "Recorrido calculado exitosamente usando algoritmo de Kruskal",
@@ -262,57 +240,58 @@ public class KruscalService {
     /**
      * calcularPeso
      * ------------
-     * ENTRA: una ruta y la política (metric/alpha).
+     * ENTRA: distancia y costo de una ruta y la política (metric/alpha).
      * HACE: devuelve el peso de la arista.
      * SALE: double.
      * COMPLEJIDAD: O(1).
      */
-    private double calcularPeso(RouteDto ruta, String metric, double alpha) {
+    private double calcularPeso(double distancia, double costo, String metric, double alpha) {
         return switch (metric.toLowerCase()) {
-            case "distance" -> ruta.getDistancia();
-            case "cost" -> ruta.getCosto();
-            case "combined" -> alpha * ruta.getDistancia()
-                    + (1 - alpha) * ruta.getCosto();
-            default -> ruta.getDistancia();
+            case "distance" -> distancia;
+            case "cost" -> costo;
+            case "combined" -> alpha * distancia
+                    + (1 - alpha) * costo;
+            default -> distancia;
         };
     }
 
+    // Union-Find por índice de nodo, con compresión de caminos y unión por rango
     private static class UnionFind {
-        private final Map<String, String> parent = new HashMap<>();
-        private final Map<String, Integer> rank = new HashMap<>();
+        private final int[] parent;
+        private final int[] rank;
 
-        public String find(String node) {
-            if (!parent.containsKey(node)) {
-                parent.put(node, node);
-                rank.put(node, 0);
-            }
-            if (!parent.get(node).equals(node)) {
-                parent.put(node, find(parent.get(node)));
-            }
-            return parent.get(node);
+        UnionFind(int n) {
+            parent = new int[n];
+            rank = new int[n];
+            for (int i = 0; i < n; i++) parent[i] = i;
         }
 
-        public void union(String node1, String node2) {
-            String root1 = find(node1);
-            String root2 = find(node2);
+        public int find(int node) {
+            while (parent[node] != node) {
+                parent[node] = parent[parent[node]];
+                node = parent[node];
+            }
+            return node;
+        }
 
-            if (!root1.equals(root2)) {
-                int rank1 = rank.get(root1);
-                int rank2 = rank.get(root2);
+        public void union(int node1, int node2) {
+            int root1 = find(node1);
+            int root2 = find(node2);
 
-                if (rank1 > rank2) {
-                    parent.put(root2, root1);
-                } else if (rank1 < rank2) {
-                    parent.put(root1, root2);
+            if (root1 != root2) {
+                if (rank[root1] > rank[root2]) {
+                    parent[root2] = root1;
+                } else if (rank[root1] < rank[root2]) {
+                    parent[root1] = root2;
                 } else {
-                    parent.put(root2, root1);
-                    rank.put(root1, rank1 + 1);
+                    parent[root2] = root1;
+                    rank[root1]++;
                 }
             }
         }
 
-        public boolean connected(String node1, String node2) {
-            return find(node1).equals(find(node2));
+        public boolean connected(int node1, int node2) {
+            return find(node1) == find(node2);
         }
     }
-}
\ No newline at end of file
+}
@@ -3,24 +3,30 @@ package com.progra3_tpo.service.locationService;
 import com.progra3_tpo.model.LocationDto;
 import com.progra3_tpo.model.RouteDto;
 import com.progra3_tpo.repository.LocationRepository;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class LocationService {
 
     private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public LocationService(LocationRepository locationRepository) {
+    public LocationService(LocationRepository locationRepository, GraphSnapshotService graphSnapshotService) {
         this.locationRepository = locationRepository;
+        this.graphSnapshotService = graphSnapshotService;
     }
 
     @Transactional
     public LocationDto createLocationWithIncomingRoutes(CreateLocationRequest req) {
         LocationDto nueva = new LocationDto(req.getNombre(), req.getTipo(), req.getDireccion());
         LocationDto saved = locationRepository.save(nueva);
+        List<GraphSnapshot.IncomingRoute> entrantes = new ArrayList<>();
 
         if (req.getIncomingRoutes() != null) {
             for (CreateLocationRequest.IncomingRouteRequest ir : req.getIncomingRoutes()) {
@@ -37,17 +43,23 @@ public class LocationService {
                     );
                     source.getRutas().add(ruta);
                     locationRepository.save(source); // persiste la relación desde el source hacia saved
+                    entrantes.add(new GraphSnapshot.IncomingRoute(source.getNombre(), ruta));
                 });
             }
         }
 
+        // el grafo cambió: al confirmar la transacción se publica una nueva versión de la foto en memoria
+        graphSnapshotService.addLocation(saved, entrantes);
+
         // recargar la entidad para que venga con las relaciones entrantes
         return locationRepository.findById(saved.getId()).orElse(saved);
     }
 
     // métodos existentes
     public LocationDto saveLocation(LocationDto location) {
-        return locationRepository.save(location);
+        LocationDto saved = locationRepository.save(location);
+        graphSnapshotService.reloadAfterCommit();
+        return saved;
     }
 
     public java.util.List<LocationDto> getAllLocations() {
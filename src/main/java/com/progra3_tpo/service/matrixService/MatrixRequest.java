@@ -0,0 +1,32 @@
+package com.progra3_tpo.service.matrixService;
+
+import java.util.List;
+
+public class MatrixRequest {
+    private List<String> sources;   // nombres de las ubicaciones de origen (filas)
+    private List<String> targets;   // nombres de las ubicaciones de destino (columnas)
+
+    private String metric;
+    private Double alpha;
+
+    public MatrixRequest() {}
+
+    public MatrixRequest(List<String> sources, List<String> targets, String metric, Double alpha) {
+        this.sources = sources;
+        this.targets = targets;
+        this.metric = metric;
+        this.alpha = alpha;
+    }
+
+    public List<String> getSources() { return sources; }
+    public void setSources(List<String> sources) { this.sources = sources; }
+
+    public List<String> getTargets() { return targets; }
+    public void setTargets(List<String> targets) { this.targets = targets; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public Double getAlpha() { return alpha; }
+    public void setAlpha(Double alpha) { this.alpha = alpha; }
+}
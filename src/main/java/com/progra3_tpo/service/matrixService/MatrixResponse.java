@@ -0,0 +1,45 @@
+package com.progra3_tpo.service.matrixService;
+
+import java.util.List;
+
+public class MatrixResponse {
+    private String message;
+    private List<String> sources;
+    private List<String> targets;
+    private Double[][] distances;   // distances[i][j]: distancia total del mejor camino sources[i] → targets[j] (null si no hay)
+    private Double[][] costs;       // costs[i][j]: costo total de ese mismo camino (null si no hay)
+    private Long graphVersion;
+    private Long settledNodes;      // nodos asentados sumando todas las búsquedas
+
+    public MatrixResponse() {}
+
+    public MatrixResponse(String message, List<String> sources, List<String> targets,
+                          Double[][] distances, Double[][] costs) {
+        this.message = message;
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+        this.costs = costs;
+    }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public List<String> getSources() { return sources; }
+    public void setSources(List<String> sources) { this.sources = sources; }
+
+    public List<String> getTargets() { return targets; }
+    public void setTargets(List<String> targets) { this.targets = targets; }
+
+    public Double[][] getDistances() { return distances; }
+    public void setDistances(Double[][] distances) { this.distances = distances; }
+
+    public Double[][] getCosts() { return costs; }
+    public void setCosts(Double[][] costs) { this.costs = costs; }
+
+    public Long getGraphVersion() { return graphVersion; }
+    public void setGraphVersion(Long graphVersion) { this.graphVersion = graphVersion; }
+
+    public Long getSettledNodes() { return settledNodes; }
+    public void setSettledNodes(Long settledNodes) { this.settledNodes = settledNodes; }
+}
@@ -0,0 +1,141 @@
+package com.progra3_tpo.service.matrixService;
+
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.dikstraService.ShortestPathTree;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MatrixService
+ * -------------------------------------------------------------
+ * POST /api/matrix: matriz densa origen × destino de distancia y costo totales.
+ * Por cada origen corre un solo Dijkstra uno-a-muchos (DijkstraService.oneToMany) que corta cuando
+ * asentó todos los destinos, en vez de N × M consultas punto a punto.
+ * Las filas se reparten entre los hilos de un pool propio; todas leen la misma foto del grafo,
+ * así la matriz entera sale de una única versión.
+ * En grafos donde DijkstraService usa delta-stepping, cada fila es el árbol completo del origen calculado
+ * en paralelo; como ese cálculo ya ocupa todos sus hilos, las filas se hacen una tras otra.
+ */
+@Service
+public class MatrixService {
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final DijkstraService dijkstraService;
+    private final ExecutorService executor;
+
+    public MatrixService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                         @Value("${routing.matrix.threads:0}") int threads) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.dijkstraService = dijkstraService;
+        int hilos = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread t = new Thread(r, "matrix-worker-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public MatrixResponse compute(MatrixRequest req) {
+        GraphSnapshot g = graphSnapshotService.current();
+        MatrixResponse resp = compute(g, req);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    /**
+     * compute
+     * -------
+     * ENTRA: foto del grafo y pedido con orígenes, destinos, métrica y alpha.
+     * HACE: valida los nombres, resuelve la métrica una vez y corre una búsqueda uno-a-muchos por origen
+     *       (en paralelo si hay más de uno), o el árbol completo con delta-stepping en grafos grandes.
+     *       Para cada par toma el camino óptimo según la métrica y suma su distancia y su costo.
+     * SALE: MatrixResponse con distances[i][j] y costs[i][j] (null donde no hay camino).
+     * COMPLEJIDAD: O(S · (V + E) log V) en el peor caso, repartido entre los hilos del pool.
+     */
+    public MatrixResponse compute(GraphSnapshot g, MatrixRequest req) {
+        if (req == null || req.getSources() == null || req.getTargets() == null
+                || req.getSources().isEmpty() || req.getTargets().isEmpty()) {
+            return error("Datos ingresados inválidos: se requieren 'sources' y 'targets'.");
+        }
+        if (g.isEmpty()) return error("No hay nodos en la base de datos.");
+
+        int[] origenes = indices(g, req.getSources());
+        int[] destinos = indices(g, req.getTargets());
+        if (origenes == null || destinos == null)
+            return error("Datos ingresados inválidos: origen o destino no encontrados en la base de datos.");
+
+        double alpha = (req.getAlpha() == null) ? 0.5 : req.getAlpha();
+        MetricWeight peso = MetricWeight.of(req.getMetric(), alpha);
+
+        Double[][] distancias = new Double[origenes.length][];
+        Double[][] costos = new Double[origenes.length][];
+        long asentados = 0;
+        boolean arbolCompleto = dijkstraService.usesDeltaStepping(g);
+
+        if (origenes.length == 1 || arbolCompleto) {
+            for (int i = 0; i < origenes.length; i++)
+                asentados += fila(g, origenes[i], destinos, peso, arbolCompleto, distancias, costos, i);
+        } else {
+            List<Callable<Integer>> filas = new ArrayList<>(origenes.length);
+            for (int i = 0; i < origenes.length; i++) {
+                int fila = i;
+                filas.add(() -> fila(g, origenes[fila], destinos, peso, false, distancias, costos, fila));
+            }
+            try {
+                for (Future<Integer> f : executor.invokeAll(filas)) asentados += f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return error("El cálculo de la matriz fue interrumpido.");
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló el cálculo de la matriz", e.getCause());
+            }
+        }
+
+        MatrixResponse resp = new MatrixResponse("Matriz calculada exitosamente.",
+                req.getSources(), req.getTargets(), distancias, costos);
+        resp.setSettledNodes(asentados);
+        return resp;
+    }
+
+    // Llena la fila i de ambas matrices con una búsqueda uno-a-muchos (o con el árbol completo del origen,
+    // que en grafos grandes sale de delta-stepping); devuelve los nodos asentados
+    private int fila(GraphSnapshot g, int origen, int[] destinos, MetricWeight peso, boolean arbolCompleto,
+                     Double[][] distancias, Double[][] costos, int i) {
+        ShortestPathTree arbol = arbolCompleto
+                ? dijkstraService.shortestPathTree(g, origen, peso)
+                : dijkstraService.oneToMany(g, origen, destinos, peso);
+        Double[] d = new Double[destinos.length];
+        Double[] c = new Double[destinos.length];
+        for (int j = 0; j < destinos.length; j++) {
+            if (!arbol.reaches(destinos[j])) continue;
+            d[j] = arbol.totalDistanceTo(destinos[j]);
+            c[j] = arbol.totalCostTo(destinos[j]);
+        }
+        distancias[i] = d;
+        costos[i] = c;
+        return arbol.getSettledNodes();
+    }
+
+    // Índices de los nombres en la foto, o null si alguno no existe
+    private static int[] indices(GraphSnapshot g, List<String> nombres) {
+        int[] idx = new int[nombres.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = g.indexOf(nombres.get(i));
+            if (idx[i] < 0) return null;
+        }
+        return idx;
+    }
+
+    private static MatrixResponse error(String mensaje) {
+        return new MatrixResponse(mensaje, List.of(), List.of(), new Double[0][], new Double[0][]);
+    }
+}
@@ -0,0 +1,157 @@
+package com.progra3_tpo.service.paretoService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * ParetoService
+ * -------------------------------------------------------------
+ * POST /api/pareto: todos los caminos no dominados en (distancia, costo) entre dos ubicaciones,
+ * con una búsqueda multicriterio de etiquetas permanentes (label-setting, Martins).
+ *   - Una etiqueta es un camino parcial hasta un nodo: (distancia, costo, etiqueta anterior, arista).
+ *   - La cola saca siempre la etiqueta lexicográficamente menor (costo, después distancia), así una
+ *     etiqueta que sale de la cola sin estar dominada ya es Pareto-óptima para su nodo.
+ *   - Poda por dominancia: no se encola una etiqueta dominada por otra permanente de su nodo ni por una
+ *     ya encontrada en el destino (con pesos no negativos, extenderla nunca la mejora).
+ *   - Cada nodo guarda a lo sumo maxLabels etiquetas permanentes; con la cota alcanzada el frente
+ *     puede quedar incompleto (se avisa en el mensaje).
+ * Reemplaza las llamadas repetidas a /api/dijkstra variando alpha: sale todo el frente en una pasada,
+ * incluidos los caminos que ninguna combinación lineal de distancia y costo elige.
+ */
+@Service
+public class ParetoService {
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final int maxLabels;
+
+    public ParetoService(GraphSnapshotService graphSnapshotService,
+                         @Value("${routing.pareto.max-labels:64}") int maxLabels) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.maxLabels = Math.max(1, maxLabels);
+    }
+
+    // Etiqueta: camino parcial desde el origen hasta node
+    private static final class Label {
+        final int node;
+        final double distance;
+        final double cost;
+        final Label prev;
+        final int edge;
+
+        Label(int node, double distance, double cost, Label prev, int edge) {
+            this.node = node;
+            this.distance = distance;
+            this.cost = cost;
+            this.prev = prev;
+            this.edge = edge;
+        }
+
+        // true si esta etiqueta es al menos tan buena como la otra en ambos criterios
+        boolean dominates(double d, double c) {
+            return distance <= d && cost <= c;
+        }
+    }
+
+    private static final Comparator<Label> ORDEN = Comparator
+            .comparingDouble((Label l) -> l.cost)
+            .thenComparingDouble(l -> l.distance);
+
+    public List<PathResponse> computeParetoFront(String from, String to, Integer maxLabelsPorNodo) {
+        GraphSnapshot g = graphSnapshotService.current();
+        List<PathResponse> frente = computeParetoFront(g, from, to, maxLabelsPorNodo);
+        for (PathResponse r : frente) r.setGraphVersion(g.getVersion());
+        return frente;
+    }
+
+    /**
+     * computeParetoFront
+     * ------------------
+     * ENTRA: foto del grafo, nombres de origen y destino, y la cota de etiquetas por nodo (null = la configurada).
+     * HACE: búsqueda multicriterio de etiquetas permanentes con poda por dominancia en cada nodo y en el destino.
+     * SALE: un PathResponse por camino del frente, de menor a mayor costo (y de mayor a menor distancia);
+     *       si no hay camino, una sola entrada con el mensaje de error y listas vacías.
+     * COMPLEJIDAD: O(L · (grado + L) · log L) con L etiquetas generadas, acotadas por V · maxLabels.
+     */
+    public List<PathResponse> computeParetoFront(GraphSnapshot g, String from, String to, Integer maxLabelsPorNodo) {
+        if (g.isEmpty())
+            return List.of(error("No hay nodos en la base de datos."));
+        int s = g.indexOf(from);
+        int t = g.indexOf(to);
+        if (s < 0 || t < 0)
+            return List.of(error("Inicio o destino no encontrado"));
+
+        int cota = (maxLabelsPorNodo == null || maxLabelsPorNodo < 1) ? maxLabels : maxLabelsPorNodo;
+        int n = g.nodeCount();
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+
+        // Etiquetas permanentes de cada nodo (se crean al asentar la primera)
+        List<List<Label>> permanentes = new ArrayList<>(Collections.nCopies(n, null));
+        PriorityQueue<Label> cola = new PriorityQueue<>(ORDEN);
+        cola.add(new Label(s, 0, 0, null, -1));
+        boolean truncado = false;
+        int asentadas = 0;
+
+        while (!cola.isEmpty()) {
+            Label l = cola.poll();
+            List<Label> enNodo = permanentes.get(l.node);
+            if (enNodo == null) {
+                enNodo = new ArrayList<>();
+                permanentes.set(l.node, enNodo);
+            }
+            if (dominada(enNodo, l.distance, l.cost)) continue;
+            if (enNodo.size() >= cota) {
+                truncado = true;
+                continue;
+            }
+            enNodo.add(l);
+            asentadas++;
+            if (l.node == t) continue; // el destino no se extiende
+
+            List<Label> enDestino = permanentes.get(t);
+            for (int e = offsets[l.node]; e < offsets[l.node + 1]; e++) {
+                double d = distances[e];
+                double c = costs[e];
+                if (d < 0 || c < 0 || Double.isNaN(d) || Double.isNaN(c)) continue;
+                int v = targets[e];
+                double nd = l.distance + d;
+                double nc = l.cost + c;
+                if (dominada(permanentes.get(v), nd, nc) || dominada(enDestino, nd, nc)) continue;
+                cola.add(new Label(v, nd, nc, l, e));
+            }
+        }
+
+        List<Label> frente = permanentes.get(t);
+        if (frente == null || frente.isEmpty())
+            return List.of(error("No existe un camino entre los nodos."));
+
+        List<PathResponse> respuesta = new ArrayList<>(frente.size());
+        for (Label l : frente) { // ya están en orden de costo creciente: es el orden en que salieron de la cola
+            LinkedList<Integer> aristas = new LinkedList<>();
+            for (Label at = l; at.prev != null; at = at.prev) aristas.addFirst(at.edge);
+            PathResponse r = DijkstraService.buildPathResponse(g, s, aristas);
+            if (truncado) r.setMessage("Recorrido calculado (frente acotado a " + cota + " etiquetas por nodo).");
+            r.setSettledNodes(asentadas);
+            respuesta.add(r);
+        }
+        return respuesta;
+    }
+
+    private static boolean dominada(List<Label> etiquetas, double d, double c) {
+        if (etiquetas == null) return false;
+        for (Label l : etiquetas) if (l.dominates(d, c)) return true;
+        return false;
+    }
+
+    private static PathResponse error(String mensaje) {
+        return new PathResponse(mensaje, List.of(), List.of(), 0.0, 0.0);
+    }
+}
@@ -1,9 +1,8 @@
 package com.progra3_tpo.service.primService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 import java.util.*;
 
@@ -16,26 +15,33 @@ import java.util.*;
 @Service
 public class PrimService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public PrimService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public PrimService(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
+    }
+
+    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = computeOptimalPath(g, from, to, metric, alpha);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
     }
 
     /**
      * computeOptimalPath
      * ------------------
-     * ENTRA: nombres 'from', 'to', métrica ('distance' | 'cost' | 'combined') y alfa (si combined).
+     * ENTRA: foto del grafo, nombres 'from', 'to', métrica ('distance' | 'cost' | 'combined') y alfa (si combined).
      * HACE: corre Prim desde 'from': va tomando la arista más barata hacia un nodo no visitado.
      *       Cuando alcanza 'to', corta y reconstruye el camino usando punteros 'padre'.
      * SALE: PathResponse con nodos/aristas del recorrido y totales de distancia/costo.
      */
-    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+    public PathResponse computeOptimalPath(GraphSnapshot g, String from, String to, String metric, double alpha) {
         // 1) Validaciones de existencia de nodos
-        LocationDto origenLocation = locationRepository.findByNombre(from);
-        LocationDto destinoLocation = locationRepository.findByNombre(to);
+        int origen = g.indexOf(from);
+        int destino = g.indexOf(to);
 
-        if (origenLocation == null || destinoLocation == null) {
+        if (origen < 0 || destino < 0) {
             return new PathResponse(
                     "Nodo de origen o destino no existe en el grafo",
                     Collections.emptyList(),
@@ -45,63 +51,61 @@ public class PrimService {
             );
         }
 
-        // 2) Estructuras auxiliares del algoritmo
-        Set<String> visitados = new HashSet<>();
+        // 2) Estructuras auxiliares del algoritmo (por índice de nodo de la foto)
+        boolean[] visitados = new boolean[g.nodeCount()];
         PriorityQueue<EdgeCandidate> colaPrioridad = new PriorityQueue<>(
                 Comparator.comparingDouble(EdgeCandidate::getWeight)
         );
-        Map<String, RouteDto> mejorArista = new HashMap<>(); // guarda la arista que conectó ese nodo
-        Map<String, String> padre = new HashMap<>();         // puntero para reconstruir camino
+        int[] mejorArista = new int[g.nodeCount()]; // guarda la arista que conectó ese nodo
+        Arrays.fill(mejorArista, -1);
+        int[] padre = new int[g.nodeCount()];       // puntero para reconstruir camino
 
         // 3) Inicialización: partimos desde 'from'
-        visitados.add(from);
-        agregarAristasVecinas(from, colaPrioridad, visitados, metric, alpha);
+        visitados[origen] = true;
+        agregarAristasVecinas(g, origen, colaPrioridad, visitados, metric, alpha);
 
         // 4) Bucle principal de Prim: siempre tomo la arista mínima que sale del corte (visitados -> no visitados)
         while (!colaPrioridad.isEmpty()) {
             EdgeCandidate candidato = colaPrioridad.poll();
-            String nodoDestino = candidato.getRuta().getDestino().getNombre();
+            int nodoDestino = g.getTargets()[candidato.getArista()];
 
-            if (visitados.contains(nodoDestino)) {
+            if (visitados[nodoDestino]) {
                 continue; // descartamos aristas cruzadas a nodos ya visitados
             }
 
             // Acepto esta arista como parte del "árbol" y muevo la frontera
-            visitados.add(nodoDestino);
-            mejorArista.put(nodoDestino, candidato.getRuta());
-            padre.put(nodoDestino, candidato.getOrigenNombre());
+            visitados[nodoDestino] = true;
+            mejorArista[nodoDestino] = candidato.getArista();
+            padre[nodoDestino] = candidato.getOrigen();
 
             // Si ya alcancé el destino, puedo cortar (optimiza tiempo en grafos grandes)
-            if (nodoDestino.equals(to)) {
+            if (nodoDestino == destino) {
                 break;
             }
 
             // Expando la frontera con las aristas que salen del nuevo nodo agregado
-            agregarAristasVecinas(nodoDestino, colaPrioridad, visitados, metric, alpha);
+            agregarAristasVecinas(g, nodoDestino, colaPrioridad, visitados, metric, alpha);
         }
 
         // 5) Reconstrucción del camino usando 'padre'
-        return reconstruirCamino(from, to, mejorArista, padre);
+        return reconstruirCamino(g, origen, destino, mejorArista, padre);
     }
 
     /**
      * agregarAristasVecinas
      * ---------------------
-     * ENTRA: nombre del nodo recién incorporado al corte, heap, conjunto visitados, métrica y alfa.
-     * HACE: mira todas las rutas que salen de 'nodo'; por cada destino no visitado, calcula su peso
-     *       (distance/cost/combined) y la encola en el heap como candidata.
+     * ENTRA: foto del grafo, nodo recién incorporado al corte, heap, visitados, métrica y alfa.
+     * HACE: mira todas las rutas que salen de 'nodo' (su tramo del CSR); por cada destino no visitado,
+     *       calcula su peso (distance/cost/combined) y la encola en el heap como candidata.
      * SALE: heap con nuevas candidatas para el próximo paso de Prim.
      */
-    private void agregarAristasVecinas(String nodo, PriorityQueue<EdgeCandidate> cola,
-                                       Set<String> visitados, String metric, double alpha) {
-        LocationDto location = locationRepository.findByNombre(nodo);
-        if (location != null && location.getRutas() != null) {
-            for (RouteDto ruta : location.getRutas()) {
-                String destino = ruta.getDestino().getNombre();
-                if (!visitados.contains(destino)) {
-                    double peso = calcularPeso(ruta, metric, alpha);
-                    cola.add(new EdgeCandidate(ruta, peso, nodo));
-                }
+    private void agregarAristasVecinas(GraphSnapshot g, int nodo, PriorityQueue<EdgeCandidate> cola,
+                                       boolean[] visitados, String metric, double alpha) {
+        int[] offsets = g.getOffsets();
+        for (int e = offsets[nodo]; e < offsets[nodo + 1]; e++) {
+            if (!visitados[g.getTargets()[e]]) {
+                double peso = calcularPeso(g.getDistances()[e], g.getCosts()[e], metric, alpha);
+                cola.add(new EdgeCandidate(e, peso, nodo));
             }
         }
     }
@@ -109,46 +113,44 @@ public class PrimService {
     /**
      * calcularPeso
      * ------------
-     * ENTRA: la ruta (arista), la métrica y el parámetro alfa (si combined).
+     * ENTRA: distancia y costo de la arista, la métrica y el parámetro alfa (si combined).
      * HACE: devuelve el peso de la arista según la política:
      *       - "distance"  → distancia
      *       - "cost"      → costo
      *       - "combined"  → alpha * distancia + (1 - alpha) * costo
      * SALE: double con el peso final.
      */
-    private double calcularPeso(RouteDto ruta, String metric, double alpha) {
+    private double calcularPeso(double distancia, double costo, String metric, double alpha) {
         return switch (metric.toLowerCase()) {
-            case "distance" -> ruta.getDistancia();
-            case "cost" -> ruta.getCosto();
-            case "combined" -> alpha * ruta.getDistancia() + (1 - alpha) * ruta.getCosto();
-            default -> ruta.getDistancia();
+            case "distance" -> distancia;
+            case "cost" -> costo;
+            case "combined" -> alpha * distancia + (1 - alpha) * costo;
+            default -> distancia;
         };
     }
 
     /**
      * reconstruirCamino
      * -----------------
-     * ENTRA: 'from', 'to', mapas 'mejorArista' (qué arista introdujo cada nodo) y 'padre' (quién lo conectó).
+     * ENTRA: foto, origen, destino, 'mejorArista' (qué arista introdujo cada nodo) y 'padre' (quién lo conectó).
      * HACE: camina desde 'to' hacia atrás con 'padre' hasta llegar a 'from', acumulando nodos/aristas
      *       y sumando distancia/costo.
      * SALE: PathResponse con el recorrido en orden correcto (from → ... → to).
      */
-    private PathResponse reconstruirCamino(String from, String to,
-                                           Map<String, RouteDto> mejorArista,
-                                           Map<String, String> padre) {
+    private PathResponse reconstruirCamino(GraphSnapshot g, int from, int to, int[] mejorArista, int[] padre) {
         List<String> nodosRecorrido = new ArrayList<>();
         List<String> aristasRecorrido = new ArrayList<>();
         double distanciaTotal = 0.0;
         double costoTotal = 0.0;
 
-        String nodoActual = to;
+        int nodoActual = to;
 
         // Bajamos desde 'to' hasta 'from' usando los punteros 'padre'
-        while (nodoActual != null && !nodoActual.equals(from)) {
-            RouteDto arista = mejorArista.get(nodoActual);
-            if (arista == null) {
+        while (nodoActual != from) {
+            int arista = mejorArista[nodoActual];
+            if (arista < 0) {
                 return new PathResponse(
-                        "No se encontró un camino entre " + from + " y " + to,
+                        "No se encontró un camino entre " + g.nameOf(from) + " y " + g.nameOf(to),
                         Collections.emptyList(),
                         Collections.emptyList(),
                         0.0,
@@ -157,16 +159,16 @@ public class PrimService {
             }
 
             // Insertamos al principio para mantener orden from→to
-            nodosRecorrido.add(0, nodoActual);
-            aristasRecorrido.add(0, arista.getNombreRuta());
-            distanciaTotal += arista.getDistancia();
-            costoTotal += arista.getCosto();
+            nodosRecorrido.add(0, g.nameOf(nodoActual));
+            aristasRecorrido.add(0, g.routeName(arista));
+            distanciaTotal += g.getDistances()[arista];
+            costoTotal += g.getCosts()[arista];
 
-            nodoActual = padre.get(nodoActual);
+            nodoActual = padre[nodoActual];
         }
 
         // Agrega el origen al inicio
-        nodosRecorrido.add(0, from);
+        nodosRecorrido.add(0, g.nameOf(from));
 
         return new PathResponse(
                 "Recorrido calculado exitosamente usando algoritmo de Prim",
@@ -178,22 +180,22 @@ public class PrimService {
     }
 
     // ------------------------------------------------------------
-    // Clase interna: representa una arista candidata con su peso.
-    // Se guarda también el nombre del nodo origen para armar 'padre'.
+    // Clase interna: representa una arista candidata (índice en el CSR) con su peso.
+    // Se guarda también el nodo origen para armar 'padre'.
     // ------------------------------------------------------------
     private static class EdgeCandidate {
-        private final RouteDto ruta;
+        private final int arista;
         private final double weight;
-        private final String origenNombre;
+        private final int origen;
 
-        public EdgeCandidate(RouteDto ruta, double weight, String origenNombre) {
-            this.ruta = ruta;
+        public EdgeCandidate(int arista, double weight, int origen) {
+            this.arista = arista;
             this.weight = weight;
-            this.origenNombre = origenNombre;
+            this.origen = origen;
         }
 
-        public RouteDto getRuta() { return ruta; }
+        public int getArista() { return arista; }
         public double getWeight() { return weight; }
-        public String getOrigenNombre() { return origenNombre; }
+        public int getOrigen() { return origen; }
     }
-}
\ No newline at end of file
+}
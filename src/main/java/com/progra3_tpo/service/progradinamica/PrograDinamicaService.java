@@ -1,9 +1,8 @@
 package com.progra3_tpo.service.progradinamica;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -12,71 +11,64 @@ import java.util.stream.Collectors;
 @Service
 public class PrograDinamicaService {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public PrograDinamicaService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public PrograDinamicaService(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
     }
 
     // Método principal: busca el mejor recorrido entre dos nodos usando programación dinámica
     public PathResponse compute(String from, String to) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = compute(g, from, to);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
+    }
+
+    // Variante que trabaja sobre una foto del grafo ya tomada por quien llama
+    public PathResponse compute(GraphSnapshot g, String from, String to) {
 
-        // Traemos todos los nodos de la base de datos
-        List<LocationDto> nodes = locationRepository.findAll();
-        if (nodes == null || nodes.isEmpty()) {
+        if (g.isEmpty()) {
             return new PathResponse("No hay nodos cargados en la base de datos.",
                     Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
-        int n = nodes.size();
-        Map<String, Integer> nameToIndex = new HashMap<>(n);
-
-        // Creamos un mapa que relaciona el nombre del nodo con su índice
-        for (int i = 0; i < n; i++) {
-            LocationDto nodo = nodes.get(i);
-            if (nodo != null && nodo.getNombre() != null) {
-                nameToIndex.put(nodo.getNombre(), i);
-            }
-        }
+        int n = g.nodeCount();
 
         // Obtenemos los índices del nodo de origen y destino
-        Integer origen = nameToIndex.get(from);
-        Integer destino = nameToIndex.get(to);
+        int origen = g.indexOf(from);
+        int destino = g.indexOf(to);
 
         // Validamos que ambos existan
-        if (origen == null || destino == null) {
+        if (origen < 0 || destino < 0) {
             return new PathResponse("Inicio o destino no encontrado.",
                     Collections.emptyList(), Collections.emptyList(), 0.0, 0.0);
         }
 
         // Si origen y destino son el mismo, devolvemos un recorrido trivial
-        if (origen.equals(destino)) {
-            String name = nodes.get(origen).getNombre() == null ? "?" : nodes.get(origen).getNombre();
+        if (origen == destino) {
             return new PathResponse("Recorrido calculado exitosamente.",
-                    Collections.singletonList(name), Collections.emptyList(), 0.0, 0.0);
+                    Collections.singletonList(g.nameOf(origen)), Collections.emptyList(), 0.0, 0.0);
         }
 
         // ------------------------------------------------------------
         // Construcción de la lista de aristas (todas las conexiones del grafo)
         // ------------------------------------------------------------
-        List<Edge> edges = new ArrayList<>();
+        // Se recorre el snapshot en formato CSR: offsets[u]..offsets[u+1] son las aristas de u
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        double[] distances = g.getDistances();
+        double[] costs = g.getCosts();
+        List<Edge> edges = new ArrayList<>(g.edgeCount());
         for (int i = 0; i < n; i++) {
-            LocationDto src = nodes.get(i);
-            List<RouteDto> rutas = (src == null) ? null : src.getRutas();
-            if (rutas == null) continue;
-
-            for (RouteDto r : rutas) {
-                if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) continue;
-                Integer destinoIdx = nameToIndex.get(r.getDestino().getNombre());
-                if (destinoIdx == null) continue;
-
-                double distancia = r.getDistancia();
-                double costo = r.getCosto();
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                double distancia = distances[e];
+                double costo = costs[e];
 
                 // Evitamos valores inválidos o negativos
                 if (Double.isNaN(distancia) || Double.isNaN(costo) || distancia < 0.0 || costo < 0.0) continue;
 
-                edges.add(new Edge(i, destinoIdx, distancia, costo, r));
+                edges.add(new Edge(i, targets[e], distancia, costo, e));
             }
         }
 
@@ -90,7 +82,7 @@ public class PrograDinamicaService {
         PathCandidate mejorPorDistancia = calcularDP(n, origen, destino, edges, false);
 
         // Elegimos el mejor entre ambos (según costo y distancia)
-        PathCandidate mejorCamino = elegirMejor(mejorPorCosto, mejorPorDistancia);
+        PathCandidate mejorCamino = elegirMejor(mejorPorCosto, mejorPorDistancia, distances, costs);
 
         if (mejorCamino == null) {
             return new PathResponse("No existe un camino entre los nodos.",
@@ -103,25 +95,20 @@ public class PrograDinamicaService {
 
         // Convertimos índices de nodos a nombres
         List<String> nodeNames = mejorCamino.nodeIdx.stream()
-                .map(idx -> {
-                    String name = nodes.get(idx).getNombre();
-                    return name == null ? "?" : name;
-                })
+                .map(g::nameOf)
                 .collect(Collectors.toList());
 
         // Convertimos las aristas a nombres de rutas
         List<String> routeNames = mejorCamino.edges.stream()
-                .map(r -> r == null ? "?" : (r.getNombreRuta() == null ? "?" : r.getNombreRuta()))
+                .map(g::routeName)
                 .collect(Collectors.toList());
 
         // Calculamos la distancia y costo total del recorrido
         double totalDistance = 0.0;
         double totalCost = 0.0;
-        for (RouteDto r : mejorCamino.edges) {
-            if (r != null) {
-                totalDistance += r.getDistancia();
-                totalCost += r.getCosto();
-            }
+        for (int e : mejorCamino.edges) {
+            totalDistance += distances[e];
+            totalCost += costs[e];
         }
 
         // Devolvemos el resultado final
@@ -141,13 +128,13 @@ public class PrograDinamicaService {
 
         // pred guarda el nodo anterior en el camino más corto
         int[] pred = new int[n];
-        // predEdge guarda la ruta usada para llegar a cada nodo
-        RouteDto[] predEdge = new RouteDto[n];
+        // predEdge guarda el id de la arista usada para llegar a cada nodo
+        int[] predEdge = new int[n];
 
         Arrays.fill(prim, INF);
         Arrays.fill(sec, INF);
         Arrays.fill(pred, -1);
-        Arrays.fill(predEdge, null);
+        Arrays.fill(predEdge, -1);
 
         // El nodo origen arranca con costo y distancia 0
         prim[origen] = 0.0;
@@ -172,7 +159,7 @@ public class PrograDinamicaService {
                     prim[e.to] = nuevoPrim;
                     sec[e.to] = nuevoSec;
                     pred[e.to] = e.from;
-                    predEdge[e.to] = e.route;
+                    predEdge[e.to] = e.id;
                     actualizado = true;
                 }
             }
@@ -186,13 +173,13 @@ public class PrograDinamicaService {
 
         // Reconstruimos el camino desde el destino hasta el origen
         LinkedList<Integer> nodos = new LinkedList<>();
-        LinkedList<RouteDto> rutas = new LinkedList<>();
+        LinkedList<Integer> rutas = new LinkedList<>();
 
         for (int actual = destino; actual != -1; actual = pred[actual]) {
             nodos.addFirst(actual);
             if (actual != origen) {
-                RouteDto rutaAnterior = predEdge[actual];
-                if (rutaAnterior == null) return null;
+                int rutaAnterior = predEdge[actual];
+                if (rutaAnterior < 0) return null;
                 rutas.addFirst(rutaAnterior);
             }
         }
@@ -209,18 +196,18 @@ public class PrograDinamicaService {
     }
 
     // Decide cuál de los dos caminos candidatos es mejor
-    private PathCandidate elegirMejor(PathCandidate a, PathCandidate b) {
+    private PathCandidate elegirMejor(PathCandidate a, PathCandidate b, double[] distances, double[] costs) {
         if (a == null) return b;
         if (b == null) return a;
 
         // Comparamos por costo total
-        double costoA = a.edges.stream().filter(Objects::nonNull).mapToDouble(RouteDto::getCosto).sum();
-        double costoB = b.edges.stream().filter(Objects::nonNull).mapToDouble(RouteDto::getCosto).sum();
+        double costoA = a.edges.stream().mapToDouble(e -> costs[e]).sum();
+        double costoB = b.edges.stream().mapToDouble(e -> costs[e]).sum();
         if (Double.compare(costoA, costoB) != 0) return costoA <= costoB ? a : b;
 
         // Si el costo es igual, se elige por distancia
-        double distA = a.edges.stream().filter(Objects::nonNull).mapToDouble(RouteDto::getDistancia).sum();
-        double distB = b.edges.stream().filter(Objects::nonNull).mapToDouble(RouteDto::getDistancia).sum();
+        double distA = a.edges.stream().mapToDouble(e -> distances[e]).sum();
+        double distB = b.edges.stream().mapToDouble(e -> distances[e]).sum();
         return distA <= distB ? a : b;
     }
 
@@ -234,23 +221,23 @@ public class PrograDinamicaService {
         final int to;
         final double distance;
         final double cost;
-        final RouteDto route;
+        final int id; // id de la arista en el snapshot
 
-        Edge(int from, int to, double distance, double cost, RouteDto route) {
+        Edge(int from, int to, double distance, double cost, int id) {
             this.from = from;
             this.to = to;
             this.distance = distance;
             this.cost = cost;
-            this.route = route;
+            this.id = id;
         }
     }
 
     // Representa una posible solución (lista de nodos y rutas del camino)
     private static class PathCandidate {
         final List<Integer> nodeIdx;
-        final List<RouteDto> edges;
+        final List<Integer> edges;
 
-        PathCandidate(List<Integer> nodeIdx, List<RouteDto> edges) {
+        PathCandidate(List<Integer> nodeIdx, List<Integer> edges) {
             this.nodeIdx = nodeIdx;
             this.edges = edges;
         }
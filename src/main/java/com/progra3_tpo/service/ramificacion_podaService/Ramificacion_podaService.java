@@ -1,9 +1,9 @@
 package com.progra3_tpo.service.ramificacion_podaService;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -21,18 +21,23 @@ import java.util.*;
 @Service
 public class Ramificacion_podaService {
 
-    private final LocationRepository locationRepository;
-    private PathResponse mejorSolucion;
-    private double mejorCota;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public Ramificacion_podaService(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public Ramificacion_podaService(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
+    }
+
+    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+        GraphSnapshot g = graphSnapshotService.current();
+        PathResponse resp = computeOptimalPath(g, from, to, metric, alpha);
+        resp.setGraphVersion(g.getVersion());
+        return resp;
     }
 
     /**
      * computeOptimalPath
      * ------------------
-     * ENTRA: from, to, metric, alpha.
+     * ENTRA: foto del grafo, from, to, metric, alpha.
      * HACE:
      *   1) Valida nodos.
      *   2) Inicializa mejorCota = +∞ y PQ ordenada por cotaInferior.
@@ -45,12 +50,25 @@ public class Ramificacion_podaService {
      *   5) Reconstruye/retorna mejor solución (o “no hay camino”).
      * SALE: PathResponse (nodos, aristas, distancia y costo).
      */
-    public PathResponse computeOptimalPath(String from, String to, String metric, double alpha) {
+    public PathResponse computeOptimalPath(GraphSnapshot g, String from, String to, String metric, double alpha) {
+        return computeOptimalPath(g, from, to, metric, alpha, SearchBudget.unlimited());
+    }
+
+    /**
+     * computeOptimalPath (con presupuesto)
+     * ------------------
+     * ENTRA: lo mismo más un presupuesto de nodos expandidos y/o tiempo.
+     * HACE: el mismo Branch & Bound; cada nodo sacado de la cola descuenta del presupuesto y, si se agota,
+     *       se deja de expandir y queda la mejor solución encontrada hasta ahí.
+     * SALE: PathResponse con los nodos explorados y provenOptimal = false si se cortó por presupuesto.
+     */
+    public PathResponse computeOptimalPath(GraphSnapshot g, String from, String to, String metric, double alpha,
+                                           SearchBudget presupuesto) {
         // Verificar que existan los nodos
-        LocationDto origenLocation = locationRepository.findByNombre(from);
-        LocationDto destinoLocation = locationRepository.findByNombre(to);
+        int origen = g.indexOf(from);
+        int destino = g.indexOf(to);
 
-        if (origenLocation == null || destinoLocation == null) {
+        if (origen < 0 || destino < 0) {
             return new PathResponse(
                     "Nodo de origen o destino no existe en el grafo",
                     Collections.emptyList(),
@@ -60,9 +78,9 @@ public class Ramificacion_podaService {
             );
         }
 
-        // Inicializar variables para Branch and Bound
-        mejorSolucion = null;
-        mejorCota = Double.MAX_VALUE;
+        // Inicializar variables para Branch and Bound (locales: el servicio es compartido entre hilos)
+        PathResponse mejorSolucion = null;
+        double mejorCota = Double.MAX_VALUE;
 
         // Cola de prioridad para explorar nodos (ordenada por cota inferior)
         PriorityQueue<Nodo> colaPrioridad = new PriorityQueue<>(
@@ -73,7 +91,7 @@ public class Ramificacion_podaService {
         List<String> caminoInicial = new ArrayList<>();
         caminoInicial.add(from);
         List<String> aristasInicial = new ArrayList<>();
-        Nodo nodoInicial = new Nodo(from, caminoInicial, aristasInicial, 0.0, 0.0);
+        Nodo nodoInicial = new Nodo(origen, caminoInicial, aristasInicial, 0.0, 0.0);
         nodoInicial.calcularCotaInferior(to, metric, alpha);
 
         colaPrioridad.add(nodoInicial);
@@ -81,16 +99,17 @@ public class Ramificacion_podaService {
         // Algoritmo de Ramificación y Poda (Branch and Bound)
         while (!colaPrioridad.isEmpty()) {
             Nodo nodoActual = colaPrioridad.poll();
+            if (!presupuesto.spend(1)) break; // presupuesto agotado: queda la mejor solución encontrada
 
             // poda ejemplo: si la cota inferior es ≥ mejorCota, descartar
             if (nodoActual.getCotaInferior() >= mejorCota) {
                 continue;
             }
 
-            String ultimoNodo = nodoActual.getUltimoNodo();
+            int ultimoNodo = nodoActual.getUltimoNodo();
 
             // Si llegamos al destino, actualizar la mejor solución
-            if (ultimoNodo.equals(to)) {
+            if (ultimoNodo == destino) {
                 double pesoTotal = calcularPesoTotal(nodoActual, metric, alpha);
                 if (pesoTotal < mejorCota) {
                     mejorCota = pesoTotal;
@@ -99,32 +118,31 @@ public class Ramificacion_podaService {
                 continue;
             }
 
-            // Expandir vecinos (ramificación)
-            LocationDto location = locationRepository.findByNombre(ultimoNodo);
-            if (location != null && location.getRutas() != null) {
-                for (RouteDto arista : location.getRutas()) {
-                    String destino = arista.getDestino().getNombre();
+            // Expandir vecinos (ramificación): tramo del CSR del último nodo
+            int[] offsets = g.getOffsets();
+            for (int arista = offsets[ultimoNodo]; arista < offsets[ultimoNodo + 1]; arista++) {
+                int vecino = g.getTargets()[arista];
+                String nombreVecino = g.nameOf(vecino);
 
-                    // No visitar nodos ya visitados (evitar ciclos)
-                    if (!nodoActual.getCamino().contains(destino)) {
-                        // Crear nuevo nodo hijo
-                        List<String> nuevoCamino = new ArrayList<>(nodoActual.getCamino());
-                        nuevoCamino.add(destino);
+                // No visitar nodos ya visitados (evitar ciclos)
+                if (!nodoActual.getCamino().contains(nombreVecino)) {
+                    // Crear nuevo nodo hijo
+                    List<String> nuevoCamino = new ArrayList<>(nodoActual.getCamino());
+                    nuevoCamino.add(nombreVecino);
 
-                        List<String> nuevasAristas = new ArrayList<>(nodoActual.getAristas());
-                        nuevasAristas.add(arista.getNombreRuta());
+                    List<String> nuevasAristas = new ArrayList<>(nodoActual.getAristas());
+                    nuevasAristas.add(g.routeName(arista));
 
-                        double nuevaDistancia = nodoActual.getDistanciaAcumulada() + arista.getDistancia();
-                        double nuevoCosto = nodoActual.getCostoAcumulado() + arista.getCosto();
+                    double nuevaDistancia = nodoActual.getDistanciaAcumulada() + g.getDistances()[arista];
+                    double nuevoCosto = nodoActual.getCostoAcumulado() + g.getCosts()[arista];
 
-                        Nodo nuevoNodo = new Nodo(destino, nuevoCamino, nuevasAristas,
-                                nuevaDistancia, nuevoCosto);
-                        nuevoNodo.calcularCotaInferior(to, metric, alpha);
+                    Nodo nuevoNodo = new Nodo(vecino, nuevoCamino, nuevasAristas,
+                            nuevaDistancia, nuevoCosto);
+                    nuevoNodo.calcularCotaInferior(to, metric, alpha);
 
-                        // Solo agregar si la cota inferior es prometedora
-                        if (nuevoNodo.getCotaInferior() < mejorCota) {
-                            colaPrioridad.add(nuevoNodo);
-                        }
+                    // Solo agregar si la cota inferior es prometedora
+                    if (nuevoNodo.getCotaInferior() < mejorCota) {
+                        colaPrioridad.add(nuevoNodo);
                     }
                 }
             }
@@ -132,16 +150,21 @@ public class Ramificacion_podaService {
 
         // Retornar la mejor solución encontrada o indicar que no hay camino
         if (mejorSolucion == null) {
-            return new PathResponse(
-                    "No se encontró un camino entre " + from + " y " + to,
+            return presupuesto.report(new PathResponse(
+                    presupuesto.exhausted()
+                            ? "No se encontró un camino entre " + from + " y " + to + " dentro del presupuesto de búsqueda"
+                            : "No se encontró un camino entre " + from + " y " + to,
                     Collections.emptyList(),
                     Collections.emptyList(),
                     0.0,
                     0.0
-            );
+            ));
+        }
+        if (presupuesto.exhausted()) {
+            mejorSolucion.setMessage("Recorrido calculado con el presupuesto de búsqueda agotado: puede no ser el óptimo");
         }
 
-        return mejorSolucion;
+        return presupuesto.report(mejorSolucion);
     }
 
     /**
@@ -180,17 +203,17 @@ public class Ramificacion_podaService {
 
     // -------------------------------------------------------------------------
     // Clase interna: Nodo de búsqueda para Branch & Bound
-    // Guarda el último vértice, el camino y aristas recorridas, acumulados y cota.
+    // Guarda el último vértice (índice en la foto), el camino y aristas recorridas, acumulados y cota.
     // -------------------------------------------------------------------------
     private static class Nodo {
-        private final String ultimoNodo;
+        private final int ultimoNodo;
         private final List<String> camino;
         private final List<String> aristas;
         private final double distanciaAcumulada;
         private final double costoAcumulado;
         private double cotaInferior;
 
-        public Nodo(String ultimoNodo, List<String> camino, List<String> aristas,
+        public Nodo(int ultimoNodo, List<String> camino, List<String> aristas,
                     double distanciaAcumulada, double costoAcumulado) {
             this.ultimoNodo = ultimoNodo;
             this.camino = camino;
@@ -222,7 +245,7 @@ public class Ramificacion_podaService {
             this.cotaInferior = pesoAcumulado;
         }
 
-        public String getUltimoNodo() { return ultimoNodo; }
+        public int getUltimoNodo() { return ultimoNodo; }
         public List<String> getCamino() { return camino; }
         public List<String> getAristas() { return aristas; }
         public double getDistanciaAcumulada() { return distanciaAcumulada; }
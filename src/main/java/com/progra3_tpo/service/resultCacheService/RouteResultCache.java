@@ -0,0 +1,294 @@
+package com.progra3_tpo.service.resultCacheService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.grafoService.GraphSnapshotPublishedEvent;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * RouteResultCache
+ * -------------------------------------------------------------
+ * Caché de respuestas de los endpoints de recorrido por (algoritmo, origen, destino, métrica, alpha,
+ * versión del grafo). Sirve sobre todo a los algoritmos exponenciales (/backtracking, /ramificacion_poda):
+ * una consulta repetida sale de la caché en vez de volver a explorar.
+ *   - Acotada por memoria (tamaño estimado de cada PathResponse) con desalojo LRU, y por tiempo:
+ *     una entrada más vieja que el TTL se descarta al pedirla.
+ *   - Cada foto nueva del grafo (cualquier escritura de LocationService publica una) vacía la caché.
+ *   - Dos pedidos iguales a la vez calculan una sola vez: el segundo espera el resultado del primero, como mucho
+ *     hasta el tiempo límite de su propio presupuesto. Si no llega a tiempo, o el resultado quedó cortado por el
+ *     presupuesto del otro pedido, lo calcula él con el suyo.
+ *   - Devuelve copias: quien la use puede modificar la respuesta sin tocar la guardada.
+ *   - No guarda respuestas cortadas por presupuesto (provenOptimal = false): dependen del tiempo disponible
+ *     y la próxima consulta puede llegar más lejos. Las completas no dependen del presupuesto.
+ * maxBytes = 0 la deshabilita. Los contadores se exponen con stats() (GET /api/cache/results).
+ */
+@Component
+public class RouteResultCache {
+
+    // Entrada guardada: la respuesta, su tamaño estimado y cuándo se calculó
+    private static final class Entrada {
+        final PathResponse respuesta;
+        final long bytes;
+        final long creada;
+
+        Entrada(PathResponse respuesta, long bytes, long creada) {
+            this.respuesta = respuesta;
+            this.bytes = bytes;
+            this.creada = creada;
+        }
+    }
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<PathResponse>> enCurso = new ConcurrentHashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public RouteResultCache(GraphSnapshotService graphSnapshotService,
+                            @Value("${routing.results.cache-mb:32}") long maxMegabytes,
+                            @Value("${routing.results.ttl-seconds:600}") long ttlSeconds) {
+        this(Math.max(0, maxMegabytes) * 1024 * 1024,
+                (ttlSeconds > 0) ? ttlSeconds * 1_000_000_000L : Long.MAX_VALUE, graphSnapshotService);
+    }
+
+    // Límites exactos en bytes y nanosegundos (los tests los usan para no esperar minutos)
+    RouteResultCache(long maxBytes, long ttlNanos, GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.maxBytes = Math.max(0, maxBytes);
+        this.ttlNanos = ttlNanos;
+    }
+
+    public boolean isEnabled() { return maxBytes > 0; }
+
+    // Igual que el de abajo, con la versión de la foto vigente
+    public PathResponse get(String algorithm, String from, String to, String metric, double alpha,
+                            Supplier<PathResponse> calcular) {
+        return get(graphSnapshotService.currentVersion(), algorithm, from, to, metric, alpha, calcular);
+    }
+
+    /**
+     * get
+     * ---
+     * ENTRA: versión del grafo, algoritmo (con sus opciones si cambian la respuesta), origen, destino,
+     *        métrica, alpha y cómo calcular la respuesta si no está.
+     * HACE: busca la respuesta vigente (no vencida) para esa clave; si no está, la calcula una sola vez
+     *       aunque lleguen varios pedidos iguales a la vez, y la guarda desalojando las menos usadas.
+     *       Si calcular lanza una excepción no se guarda nada y la excepción sigue su camino.
+     * SALE: una copia de la respuesta.
+     * COMPLEJIDAD: O(1) amortizado más el cálculo en un fallo.
+     */
+    public PathResponse get(long graphVersion, String algorithm, String from, String to, String metric, double alpha,
+                            Supplier<PathResponse> calcular) {
+        return get(graphVersion, algorithm, from, to, metric, alpha, null, calcular);
+    }
+
+    /**
+     * get
+     * ---
+     * Igual que el de arriba, para los algoritmos con presupuesto de búsqueda (el del pedido, que usa calcular;
+     * null = sin presupuesto). El presupuesto no entra en la clave: una respuesta completa sirve para cualquiera.
+     * Si otro hilo ya calcula la misma clave, se lo espera como mucho hasta el tiempo límite del presupuesto; si no
+     * termina a tiempo o su respuesta quedó cortada (provenOptimal = false), se calcula con el presupuesto propio.
+     */
+    public PathResponse get(long graphVersion, String algorithm, String from, String to, String metric, double alpha,
+                            SearchBudget presupuesto, Supplier<PathResponse> calcular) {
+        if (!isEnabled()) return calcular.get();
+        String clave = graphVersion + "|" + algorithm + "|" + from + "|" + to + "|" + metric + "|" + alpha;
+
+        PathResponse guardada = buscar(clave);
+        if (guardada != null) {
+            hits.incrementAndGet();
+            return copia(guardada);
+        }
+
+        CompletableFuture<PathResponse> propio = new CompletableFuture<>();
+        CompletableFuture<PathResponse> ajeno = enCurso.putIfAbsent(clave, propio);
+        if (ajeno != null) { // otro hilo ya la está calculando: se espera su resultado
+            PathResponse r = esperar(ajeno, presupuesto);
+            if (r != null) {
+                hits.incrementAndGet();
+                return copia(r);
+            }
+            // Sin respuesta completa a tiempo: se calcula aparte, sin hacer esperar a nadie más
+            misses.incrementAndGet();
+            r = calcular.get();
+            guardar(graphVersion, clave, r);
+            return copia(r);
+        }
+
+        misses.incrementAndGet();
+        try {
+            PathResponse r = calcular.get();
+            guardar(graphVersion, clave, r);
+            propio.complete(r);
+            return copia(r);
+        } catch (RuntimeException e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    // Resultado del cálculo de otro hilo si termina dentro del tiempo límite del presupuesto y no quedó cortado;
+    // si no, null. Una excepción del otro cálculo se relanza igual que si fuera propia.
+    private static PathResponse esperar(CompletableFuture<PathResponse> ajeno, SearchBudget presupuesto) {
+        PathResponse r;
+        try {
+            long espera = (presupuesto == null) ? Long.MAX_VALUE : presupuesto.remainingMillis();
+            r = (espera == Long.MAX_VALUE) ? ajeno.get() : ajeno.get(espera, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new CompletionException(e.getCause());
+        }
+        return Boolean.FALSE.equals(r.getProvenOptimal()) ? null : r;
+    }
+
+    // Una foto nueva deja viejas todas las respuestas guardadas
+    @EventListener
+    public void onSnapshotPublished(GraphSnapshotPublishedEvent event) {
+        invalidateAll();
+    }
+
+    public synchronized void invalidateAll() {
+        if (entradas.isEmpty()) return;
+        invalidations.incrementAndGet();
+        evictions.addAndGet(entradas.size());
+        entradas.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), expirations.get(), invalidations.get(),
+                entradas.size(), bytes, maxBytes);
+    }
+
+    private synchronized PathResponse buscar(String clave) {
+        Entrada e = entradas.get(clave);
+        if (e == null) return null;
+        if (System.nanoTime() - e.creada > ttlNanos) {
+            entradas.remove(clave);
+            bytes -= e.bytes;
+            expirations.incrementAndGet();
+            return null;
+        }
+        return e.respuesta;
+    }
+
+    private synchronized void guardar(long graphVersion, String clave, PathResponse r) {
+        // Si la foto cambió mientras se calculaba, la respuesta ya nació vieja
+        if (graphSnapshotService != null && graphVersion < graphSnapshotService.currentVersion()) return;
+        if (Boolean.FALSE.equals(r.getProvenOptimal())) return;
+        long tamanio = sizeOf(r);
+        if (tamanio > maxBytes) return;
+
+        Entrada anterior = entradas.put(clave, new Entrada(r, tamanio, System.nanoTime()));
+        if (anterior != null) bytes -= anterior.bytes;
+        bytes += tamanio;
+
+        Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Entrada vieja = it.next().getValue();
+            it.remove();
+            bytes -= vieja.bytes;
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static PathResponse copia(PathResponse r) {
+        PathResponse c = new PathResponse(r.getMessage(), r.getNodosARecorrer(), r.getAristasARecorrer(),
+                r.getTotalDistance(), r.getTotalCost());
+        c.setGraphVersion(r.getGraphVersion());
+        c.setSettledNodes(r.getSettledNodes());
+        c.setExploredNodes(r.getExploredNodes());
+        c.setProvenOptimal(r.getProvenOptimal());
+        return c;
+    }
+
+    // Estimación gruesa: encabezados de objeto y listas más cada String (40 bytes + 2 por carácter)
+    private static long sizeOf(PathResponse r) {
+        long total = 128 + sizeOf(r.getMessage());
+        total += sizeOf(r.getNodosARecorrer());
+        total += sizeOf(r.getAristasARecorrer());
+        return total;
+    }
+
+    private static long sizeOf(List<String> l) {
+        if (l == null) return 0;
+        long total = 40;
+        for (String s : l) total += 8 + sizeOf(s);
+        return total;
+    }
+
+    private static long sizeOf(String s) {
+        return (s == null) ? 0 : 40 + 2L * s.length();
+    }
+
+    // Foto de los contadores de la caché, tal como se devuelve en GET /api/cache/results
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long invalidations;
+        private final int entries;
+        private final long bytes;
+        private final long maxBytes;
+
+        public Stats(long hits, long misses, long evictions, long expirations, long invalidations,
+                     int entries, long bytes, long maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.invalidations = invalidations;
+            this.entries = entries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getExpirations() { return expirations; }
+        public long getInvalidations() { return invalidations; }
+        public int getEntries() { return entries; }
+        public long getBytes() { return bytes; }
+        public long getMaxBytes() { return maxBytes; }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
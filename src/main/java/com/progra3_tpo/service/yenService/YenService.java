@@ -0,0 +1,293 @@
+package com.progra3_tpo.service.yenService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.IndexedDaryHeap;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * YenService
+ * -------------------------------------------------------------
+ * POST /api/k-shortest: los K caminos simples (sin repetir nodos) más cortos, algoritmo de Yen.
+ *   - Árbol base: un solo Dijkstra hacia atrás desde el destino da d(v, destino) exacta para todo v y la
+ *     primera arista de ese camino. Se reutiliza en todas las búsquedas de desvío (spur):
+ *       · si el camino del árbol desde el nodo de desvío no pasa por nada bloqueado, ese es el desvío óptimo
+ *         y no hace falta buscar;
+ *       · si no, A* desde el nodo de desvío con h(v) = d(v, destino), que sigue siendo una cota consistente
+ *         con aristas o nodos bloqueados (bloquear sólo alarga caminos).
+ *   - Una sola cola de candidatos para toda la consulta (con un conjunto de caminos ya vistos para no repetir).
+ *   - Mejora de Lawler: cada camino sólo genera desvíos desde su punto de desvío en adelante; los anteriores
+ *     ya los generó su camino padre.
+ * Los arrays y la cola de la búsqueda de desvío se reservan una vez por consulta y se limpian sólo en los nodos tocados.
+ */
+@Service
+public class YenService {
+
+    private static final ThreadLocal<IndexedDaryHeap> HEAPS = ThreadLocal.withInitial(IndexedDaryHeap::new);
+
+    private final GraphSnapshotService graphSnapshotService;
+    private final DijkstraService dijkstraService;
+    private final int maxK;
+
+    public YenService(GraphSnapshotService graphSnapshotService, DijkstraService dijkstraService,
+                      @Value("${routing.yen.max-k:50}") int maxK) {
+        this.graphSnapshotService = graphSnapshotService;
+        this.dijkstraService = dijkstraService;
+        this.maxK = Math.max(1, maxK);
+    }
+
+    // Camino candidato: aristas en orden desde el origen, su peso y el índice desde el que se desvió de su padre
+    private static final class Camino {
+        final int[] edges;
+        final int[] nodes;
+        final double weight;
+        final int deviation;
+
+        Camino(int[] edges, int[] nodes, double weight, int deviation) {
+            this.edges = edges;
+            this.nodes = nodes;
+            this.weight = weight;
+            this.deviation = deviation;
+        }
+    }
+
+    private static final Comparator<Camino> ORDEN = Comparator
+            .comparingDouble((Camino c) -> c.weight)
+            .thenComparingInt(c -> c.edges.length);
+
+    public List<PathResponse> computeKShortest(String from, String to, int k, String metric, double alpha) {
+        GraphSnapshot g = graphSnapshotService.current();
+        List<PathResponse> caminos = computeKShortest(g, from, to, k, metric, alpha);
+        for (PathResponse r : caminos) r.setGraphVersion(g.getVersion());
+        return caminos;
+    }
+
+    /**
+     * computeKShortest
+     * ----------------
+     * ENTRA: foto del grafo, nombres de origen y destino, K (se acota a routing.yen.max-k), métrica y alpha.
+     * HACE: Yen con el árbol inverso del destino como atajo y heurística de las búsquedas de desvío.
+     * SALE: hasta K PathResponse ordenados por peso creciente según la métrica; si no hay camino,
+     *       una sola entrada con el mensaje de error.
+     * COMPLEJIDAD: O(K · L · (V + E) log V) en el peor caso (L = largo de los caminos); con el árbol
+     *              inverso la mayoría de los desvíos se resuelve sin búsqueda o asentando pocos nodos.
+     */
+    public List<PathResponse> computeKShortest(GraphSnapshot g, String from, String to, int k,
+                                               String metric, double alpha) {
+        int s = g.indexOf(from);
+        int t = g.indexOf(to);
+        if (s < 0 || t < 0)
+            return List.of(error("Inicio o destino no encontrado"));
+
+        int cantidad = Math.max(1, Math.min(k, maxK));
+        MetricWeight peso = MetricWeight.of(metric, alpha);
+
+        // Árbol base: distancia de cada nodo al destino y primera arista de ese camino
+        int[] siguiente = new int[g.nodeCount()];
+        double[] hastaDestino = dijkstraService.distancesFrom(g, t, peso, true, siguiente);
+        if (hastaDestino[s] == Double.POSITIVE_INFINITY)
+            return List.of(error("No existe un camino entre los nodos."));
+
+        Busqueda busqueda = new Busqueda(g, peso, hastaDestino, siguiente, t);
+        Camino primero = busqueda.desvio(s, 0, new int[0], new int[]{s}, 0);
+
+        List<Camino> elegidos = new ArrayList<>(cantidad);
+        PriorityQueue<Camino> candidatos = new PriorityQueue<>(ORDEN);
+        Set<List<Integer>> vistos = new HashSet<>();
+        elegidos.add(primero);
+        vistos.add(clave(primero.edges));
+
+        while (elegidos.size() < cantidad) {
+            Camino anterior = elegidos.get(elegidos.size() - 1);
+            double pesoRaiz = 0;
+            for (int i = 0; i < anterior.deviation; i++) pesoRaiz += busqueda.pesoDe(anterior.edges[i]);
+
+            for (int i = anterior.deviation; i < anterior.edges.length; i++) {
+                int desvio = anterior.nodes[i];
+                busqueda.bloquear(anterior, i, elegidos);
+                Camino c = busqueda.desvio(desvio, pesoRaiz, anterior.edges, anterior.nodes, i);
+                if (c != null && vistos.add(clave(c.edges))) candidatos.add(c);
+                pesoRaiz += busqueda.pesoDe(anterior.edges[i]);
+            }
+            if (candidatos.isEmpty()) break;
+            elegidos.add(candidatos.poll());
+        }
+
+        List<PathResponse> respuesta = new ArrayList<>(elegidos.size());
+        for (Camino c : elegidos) {
+            List<Integer> aristas = new ArrayList<>(c.edges.length);
+            for (int e : c.edges) aristas.add(e);
+            PathResponse r = DijkstraService.buildPathResponse(g, s, aristas);
+            r.setSettledNodes(busqueda.asentados);
+            respuesta.add(r);
+        }
+        return respuesta;
+    }
+
+    private static List<Integer> clave(int[] edges) {
+        List<Integer> l = new ArrayList<>(edges.length);
+        for (int e : edges) l.add(e);
+        return l;
+    }
+
+    private static PathResponse error(String mensaje) {
+        return new PathResponse(mensaje, List.of(), List.of(), 0.0, 0.0);
+    }
+
+    /**
+     * Estado de las búsquedas de desvío de una consulta: arrays de tamaño V (y E para las aristas bloqueadas)
+     * que se reservan una vez. Los bloqueos usan un número de ronda en vez de booleanos, así cambiar de
+     * desvío no obliga a limpiar nada.
+     */
+    private final class Busqueda {
+        final GraphSnapshot g;
+        final MetricWeight peso;
+        final double[] hastaDestino;
+        final int[] siguiente;
+        final int t;
+        final int[] offsets;
+        final int[] targets;
+        final double[] distances;
+        final double[] costs;
+
+        final int[] nodoBloqueado;
+        final int[] aristaBloqueada;
+        int ronda = 1; // los arrays arrancan en 0: con ronda 1 no hay nada bloqueado
+
+        final double[] dist;
+        final int[] prevEdge;
+        final int[] tocados;
+        int cantidadTocados;
+        int asentados;
+        final IndexedDaryHeap heap;
+
+        Busqueda(GraphSnapshot g, MetricWeight peso, double[] hastaDestino, int[] siguiente, int t) {
+            this.g = g;
+            this.peso = peso;
+            this.hastaDestino = hastaDestino;
+            this.siguiente = siguiente;
+            this.t = t;
+            this.offsets = g.getOffsets();
+            this.targets = g.getTargets();
+            this.distances = g.getDistances();
+            this.costs = g.getCosts();
+            int n = g.nodeCount();
+            this.nodoBloqueado = new int[n];
+            this.aristaBloqueada = new int[g.edgeCount()];
+            this.dist = new double[n];
+            this.prevEdge = new int[n];
+            this.tocados = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            this.heap = HEAPS.get();
+            heap.reset(n, IndexedDaryHeap.DEFAULT_ARITY);
+        }
+
+        double pesoDe(int e) {
+            return peso.apply(distances[e], costs[e]);
+        }
+
+        // Bloquea los nodos de la raíz (menos el de desvío) y la arista i de cada elegido que comparte esa raíz
+        void bloquear(Camino anterior, int i, List<Camino> elegidos) {
+            ronda++;
+            for (int j = 0; j < i; j++) nodoBloqueado[anterior.nodes[j]] = ronda;
+            for (Camino p : elegidos) {
+                if (p.edges.length <= i) continue;
+                boolean mismaRaiz = true;
+                for (int j = 0; j < i && mismaRaiz; j++) mismaRaiz = p.edges[j] == anterior.edges[j];
+                if (mismaRaiz) aristaBloqueada[p.edges[i]] = ronda;
+            }
+        }
+
+        /**
+         * desvio
+         * ------
+         * ENTRA: nodo de desvío, peso de la raíz y la raíz (primeras i aristas y nodos del camino anterior).
+         * HACE: el camino mínimo desde el nodo de desvío al destino evitando lo bloqueado en esta ronda:
+         *       primero prueba el camino del árbol inverso; si toca algo bloqueado, corre A* con h = hastaDestino.
+         * SALE: el candidato raíz + desvío, o null si el destino no es alcanzable sin lo bloqueado.
+         */
+        Camino desvio(int desde, double pesoRaiz, int[] raizAristas, int[] raizNodos, int i) {
+            int[] tramo = caminoDelArbol(desde);
+            if (tramo == null) tramo = aEstrella(desde);
+            if (tramo == null) return null;
+
+            int[] edges = Arrays.copyOf(raizAristas, i + tramo.length);
+            System.arraycopy(tramo, 0, edges, i, tramo.length);
+            int[] nodes = new int[edges.length + 1];
+            System.arraycopy(raizNodos, 0, nodes, 0, i + 1);
+            double w = pesoRaiz;
+            for (int j = i; j < edges.length; j++) {
+                nodes[j + 1] = targets[edges[j]];
+                w += pesoDe(edges[j]);
+            }
+            return new Camino(edges, nodes, w, i);
+        }
+
+        // El camino del árbol inverso desde v, o null si pasa por una arista o un nodo bloqueados
+        int[] caminoDelArbol(int v) {
+            int largo = 0;
+            for (int at = v; at != t; at = targets[siguiente[at]]) {
+                int e = siguiente[at];
+                if (e < 0 || aristaBloqueada[e] == ronda || nodoBloqueado[targets[e]] == ronda) return null;
+                largo++;
+            }
+            int[] tramo = new int[largo];
+            int j = 0;
+            for (int at = v; at != t; at = targets[siguiente[at]]) tramo[j++] = siguiente[at];
+            return tramo;
+        }
+
+        // A* desde v hasta el destino sobre lo no bloqueado, con la distancia exacta del árbol base como cota
+        int[] aEstrella(int v) {
+            tocar(v, 0, -1);
+            heap.insertOrDecrease(v, hastaDestino[v]);
+            boolean encontrado = false;
+
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                asentados++;
+                if (u == t) {
+                    encontrado = true;
+                    break;
+                }
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (aristaBloqueada[e] == ronda) continue;
+                    int x = targets[e];
+                    if (nodoBloqueado[x] == ronda || hastaDestino[x] == Double.POSITIVE_INFINITY) continue;
+                    double w = pesoDe(e);
+                    if (w < 0 || Double.isNaN(w)) continue;
+                    double nd = dist[u] + w;
+                    if (nd < dist[x]) {
+                        tocar(x, nd, e);
+                        heap.insertOrDecrease(x, nd + hastaDestino[x]);
+                    }
+                }
+            }
+
+            int[] tramo = null;
+            if (encontrado) {
+                int largo = 0;
+                for (int at = t; at != v; at = DijkstraService.sourceOf(offsets, prevEdge[at])) largo++;
+                tramo = new int[largo];
+                for (int at = t; at != v; at = DijkstraService.sourceOf(offsets, prevEdge[at])) tramo[--largo] = prevEdge[at];
+            }
+            // Se limpia sólo lo tocado: lo que quedó en la cola al cortar en el destino y los nodos con distancia
+            heap.clear();
+            for (int j = 0; j < cantidadTocados; j++) dist[tocados[j]] = Double.POSITIVE_INFINITY;
+            cantidadTocados = 0;
+            return tramo;
+        }
+
+        private void tocar(int v, double d, int e) {
+            if (dist[v] == Double.POSITIVE_INFINITY) tocados[cantidadTocados++] = v;
+            dist[v] = d;
+            prevEdge[v] = e;
+        }
+    }
+}
@@ -17,9 +17,11 @@ import java.util.Optional;
 public class PathRequestInterceptor extends RequestBodyAdviceAdapter {
 
     private final PathRequestValidator validator;
+    private final RequestGraphContext graphContext;
 
-    public PathRequestInterceptor(PathRequestValidator validator) {
+    public PathRequestInterceptor(PathRequestValidator validator, RequestGraphContext graphContext) {
         this.validator = validator;
+        this.graphContext = graphContext;
     }
 
     //decide si el advice aplica (aquí cuando el parámetro es PathRequest).
@@ -34,7 +36,8 @@ public class PathRequestInterceptor extends RequestBodyAdviceAdapter {
     public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
                                 Class<? extends HttpMessageConverter<?>> converterType) {
         if (body instanceof PathRequest) {
-            Optional<PathResponse> maybeError = validator.validate((PathRequest) body);
+            // La foto validada queda fijada en el pedido: el controller calcula sobre la misma
+            Optional<PathResponse> maybeError = validator.validate((PathRequest) body, graphContext.snapshot());
             if (maybeError.isPresent()) {
                 throw new BadPathRequestException(maybeError.get());
             }
@@ -1,11 +1,9 @@
 package com.progra3_tpo.validator;
 
-import com.progra3_tpo.model.LocationDto;
-import com.progra3_tpo.model.RouteDto;
-import com.progra3_tpo.repository.LocationRepository;
 import com.progra3_tpo.service.PathRequest;
 import com.progra3_tpo.service.PathResponse;
-import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -13,13 +11,18 @@ import java.util.*;
 @Component
 public class PathRequestValidator {
 
-    private final LocationRepository locationRepository;
+    private final GraphSnapshotService graphSnapshotService;
 
-    public PathRequestValidator(LocationRepository locationRepository) {
-        this.locationRepository = locationRepository;
+    public PathRequestValidator(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
     }
 
     public Optional<PathResponse> validate(PathRequest req) {
+        return validate(req, graphSnapshotService.current());
+    }
+
+    // Igual que el anterior, contra una foto del grafo ya tomada por quien llama (lotes: todos contra la misma)
+    public Optional<PathResponse> validate(PathRequest req, GraphSnapshot g) {
         if (req == null || req.getFrom() == null || req.getTo() == null
                 || req.getFrom().isBlank() || req.getTo().isBlank()) {
             return Optional.of(new PathResponse(
@@ -30,8 +33,7 @@ public class PathRequestValidator {
             ));
         }
 
-        List<LocationDto> nodes = locationRepository.findAll();
-        if (nodes == null || nodes.isEmpty()) {
+        if (g.isEmpty()) {
             return Optional.of(new PathResponse(
                     "No hay nodos en la base de datos.",
                     Collections.emptyList(),
@@ -40,15 +42,9 @@ public class PathRequestValidator {
             ));
         }
 
-        Map<String, Integer> nameToIndex = new HashMap<>();
-        for (int i = 0; i < nodes.size(); i++) {
-            String nombre = nodes.get(i).getNombre();
-            if (nombre != null) nameToIndex.put(nombre, i);
-        }
-
-        Integer s = nameToIndex.get(req.getFrom());
-        Integer t = nameToIndex.get(req.getTo());
-        if (s == null || t == null) {
+        int s = g.indexOf(req.getFrom());
+        int t = g.indexOf(req.getTo());
+        if (s < 0 || t < 0) {
             return Optional.of(new PathResponse(
                     "Datos ingresados inválidos: origen o destino no encontrados en la base de datos.",
                     Collections.emptyList(),
@@ -57,23 +53,7 @@ public class PathRequestValidator {
             ));
         }
 
-        int n = nodes.size();
-        List<List<DijkstraService.EdgeDto>> adj = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-
-        for (int i = 0; i < n; i++) {
-            LocationDto src = nodes.get(i);
-            List<RouteDto> rutas = src.getRutas();
-            if (rutas == null) continue;
-            for (RouteDto r : rutas) {
-                if (r == null || r.getDestino() == null || r.getDestino().getNombre() == null) continue;
-                Integer destIdx = nameToIndex.get(r.getDestino().getNombre());
-                if (destIdx == null) continue;
-                adj.get(i).add(new DijkstraService.EdgeDto(destIdx, r.getDistancia(), r.getCosto(), r));
-            }
-        }
-
-        boolean hasEdges = adj.stream().anyMatch(list -> list != null && !list.isEmpty());
+        boolean hasEdges = g.hasEdges();
         if (!hasEdges) {
             return Optional.of(new PathResponse(
                     "No hay rutas cargadas en la base de datos.",
@@ -83,22 +63,8 @@ public class PathRequestValidator {
             ));
         }
 
-        // BFS para comprobar alcanzabilidad
-        boolean[] visited = new boolean[n];
-        Queue<Integer> q = new ArrayDeque<>();
-        q.add(s);
-        visited[s] = true;
-        boolean reachable = false;
-        while (!q.isEmpty()) {
-            int u = q.poll();
-            if (u == t) { reachable = true; break; }
-            for (DijkstraService.EdgeDto e : adj.get(u)) {
-                if (!visited[e.to]) {
-                    visited[e.to] = true;
-                    q.add(e.to);
-                }
-            }
-        }
+        // Alcanzabilidad con el índice de la foto (componentes fuertes + etiquetas): sin recorrer el grafo
+        boolean reachable = g.reachability().reaches(s, t);
         if (!reachable) {
             return Optional.of(new PathResponse(
                     "No existe recorrido entre origen y destino.",
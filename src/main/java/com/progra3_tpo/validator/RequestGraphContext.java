@@ -0,0 +1,37 @@
+package com.progra3_tpo.validator;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * RequestGraphContext
+ * -------------------------------------------------------------
+ * Foto del grafo de un pedido HTTP: PathRequestInterceptor la toma una sola vez, valida contra ella y la deja
+ * como atributo del pedido; el controller la recupera y se la pasa al algoritmo. Así validación y cálculo ven
+ * la misma versión aunque en el medio se publique otra, y nadie vuelve a leer el grafo.
+ * Fuera de un pedido HTTP (o si el interceptor no corrió) devuelve la foto vigente.
+ */
+@Component
+public class RequestGraphContext {
+
+    private static final String ATRIBUTO = RequestGraphContext.class.getName() + ".snapshot";
+
+    private final GraphSnapshotService graphSnapshotService;
+
+    public RequestGraphContext(GraphSnapshotService graphSnapshotService) {
+        this.graphSnapshotService = graphSnapshotService;
+    }
+
+    // Foto del pedido en curso: la primera vez toma la vigente y la fija; después devuelve siempre esa
+    public GraphSnapshot snapshot() {
+        RequestAttributes pedido = RequestContextHolder.getRequestAttributes();
+        if (pedido == null) return graphSnapshotService.current();
+        if (pedido.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST) instanceof GraphSnapshot g) return g;
+        GraphSnapshot g = graphSnapshotService.current();
+        pedido.setAttribute(ATRIBUTO, g, RequestAttributes.SCOPE_REQUEST);
+        return g;
+    }
+}
@@ -0,0 +1,91 @@
+package com.progra3_tpo.service;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * GraphFixtures
+ * -------------------------------------------------------------
+ * Grafos de prueba compartidos por los tests y benchmarks de los servicios.
+ * Las ubicaciones se llaman "N0" .. "N<n-1>" (tipo CLIENTE) y las rutas al azar "R0" .. "R<m-1>"; de cada ruta
+ * se sacan de rnd, en este orden, origen, destino, distancia y costo (así una misma semilla da el mismo grafo).
+ */
+public final class GraphFixtures {
+
+    private GraphFixtures() {}
+
+    // n ubicaciones sin rutas (la lista de rutas ya creada, para ir agregando)
+    public static List<LocationDto> ubicaciones(int n) {
+        List<LocationDto> nodos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LocationDto l = new LocationDto("N" + i, "CLIENTE", "");
+            l.setRutas(new ArrayList<>());
+            nodos.add(l);
+        }
+        return nodos;
+    }
+
+    // n ubicaciones con m rutas al azar; distancia y costo los sortea cada función con rnd
+    public static List<LocationDto> ubicacionesAlAzar(int n, int m, Random rnd,
+                                                      ToDoubleFunction<Random> distancia, ToDoubleFunction<Random> costo) {
+        List<LocationDto> nodos = ubicaciones(n);
+        for (int i = 0; i < m; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            double d = distancia.applyAsDouble(rnd);
+            double c = costo.applyAsDouble(rnd);
+            nodos.get(u).getRutas().add(new RouteDto("R" + i, d, c, "URBANO", nodos.get(v)));
+        }
+        return nodos;
+    }
+
+    // Distancia y costo enteros entre 1 y 20
+    public static List<LocationDto> ubicacionesAlAzar(int n, int m, Random rnd) {
+        return ubicacionesAlAzar(n, m, rnd, entre1y(20), entre1y(20));
+    }
+
+    public static GraphSnapshot grafoAlAzar(int n, int m, Random rnd) {
+        return GraphSnapshot.fromLocations(1, ubicacionesAlAzar(n, m, rnd));
+    }
+
+    // Distancia entera entre 1 y maxDistancia, costo entre 1 y maxCosto (pesos chicos: muchos empates)
+    public static GraphSnapshot grafoAlAzar(int n, int m, Random rnd, int maxDistancia, int maxCosto) {
+        return GraphSnapshot.fromLocations(1, ubicacionesAlAzar(n, m, rnd, entre1y(maxDistancia), entre1y(maxCosto)));
+    }
+
+    public static GraphSnapshot grafoAlAzar(int n, int m, Random rnd,
+                                            ToDoubleFunction<Random> distancia, ToDoubleFunction<Random> costo) {
+        return GraphSnapshot.fromLocations(1, ubicacionesAlAzar(n, m, rnd, distancia, costo));
+    }
+
+    // Origen, k capas de w nodos conectadas todas con todas (costo 1, distancia al azar) y destino: todos los
+    // caminos por las capas cuestan lo mismo. Cada nodo tiene además un atajo caro al destino con distancia 0,
+    // así la cota de distancia no poda y para desempatar hay que recorrer muchísimos caminos.
+    public static GraphSnapshot capas(int w, int k, Random rnd) {
+        List<LocationDto> nodos = ubicaciones(w * k + 2);
+        LocationDto destino = nodos.get(w * k + 1);
+        int r = 0;
+        for (int capa = 0; capa <= k; capa++) {
+            List<LocationDto> desde = (capa == 0) ? List.of(nodos.get(0)) : nodos.subList(1 + (capa - 1) * w, 1 + capa * w);
+            List<LocationDto> hacia = (capa == k) ? List.of(destino) : nodos.subList(1 + capa * w, 1 + (capa + 1) * w);
+            for (LocationDto u : desde) {
+                for (LocationDto v : hacia) {
+                    u.getRutas().add(new RouteDto("R" + r++, 1 + rnd.nextInt(9), 1, "URBANO", v));
+                }
+                if (capa < k) u.getRutas().add(new RouteDto("R" + r++, 0, 100, "URBANO", destino));
+            }
+        }
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+
+    // Sorteo de un entero entre 1 y max
+    public static ToDoubleFunction<Random> entre1y(int max) {
+        return r -> 1 + r.nextInt(max);
+    }
+}
@@ -0,0 +1,118 @@
+package com.progra3_tpo.service;
+
+import com.progra3_tpo.service.backtrackingService.BacktrackingService;
+import com.progra3_tpo.service.backtrackingService.ParallelSimplePathSearch;
+import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.divideyconquista.DivideyConquistaService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.ramificacion_podaService.Ramificacion_podaService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.capas;
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchBudgetTest {
+
+    private final BacktrackingService backtracking = new BacktrackingService(null, new DijkstraService());
+    private final DfsService dfs = new DfsService(null);
+    private final DivideyConquistaService dyc = new DivideyConquistaService(null);
+    private final Ramificacion_podaService bb = new Ramificacion_podaService(null);
+
+    @Test
+    void cuentaHastaElMaximoYDespuesQuedaAgotado() {
+        SearchBudget p = SearchBudget.of(10, 0);
+        for (int i = 0; i < 10; i++) assertTrue(p.spend(1));
+        assertFalse(p.exhausted());
+        assertFalse(p.spend(1));
+        assertTrue(p.exhausted());
+        assertFalse(p.spend(1)); // una vez agotado no vuelve
+        p.record(5);
+        assertEquals(17, p.explored());
+
+        SearchBudget sinLimite = SearchBudget.unlimited();
+        assertTrue(sinLimite.spend(1_000_000));
+        PathResponse r = sinLimite.report(new PathResponse());
+        assertEquals(1_000_000L, r.getExploredNodes().longValue());
+        assertTrue(r.getProvenOptimal());
+    }
+
+    @Test
+    void seAgotaPorTiempo() throws InterruptedException {
+        SearchBudget p = SearchBudget.of(0, 1);
+        Thread.sleep(5);
+        assertFalse(p.spend(1));
+        assertFalse(p.report(new PathResponse()).getProvenOptimal());
+    }
+
+    @Test
+    void unTiempoLimiteQueDesbordaCuentaComoSinLimite() {
+        for (long timeout : new long[]{Long.MAX_VALUE, Long.MAX_VALUE / 1_000_000L + 1}) {
+            SearchBudget p = SearchBudget.of(0, timeout);
+            assertTrue(p.spend(1));
+            assertEquals(Long.MAX_VALUE, p.remainingMillis());
+        }
+        SearchBudget largo = SearchBudget.of(0, Long.MAX_VALUE / 1_000_000L);
+        assertTrue(largo.spend(1));
+        assertTrue(largo.remainingMillis() > 1_000_000_000L);
+    }
+
+    @Test
+    void sinPresupuestoLasBusquedasTerminanYDicenQueSonOptimas() {
+        GraphSnapshot g = grafoAlAzar(9, 30, new Random(3), 5, 4);
+        PathResponse base = dfs.computeDfsPure(g, "N0", "N8");
+        List<PathResponse> rs = List.of(
+                backtracking.computeOptimalPath(g, "N0", "N8", "cost", 0.5, SearchBudget.unlimited()),
+                dfs.computeDfsPure(g, "N0", "N8", SearchBudget.unlimited()),
+                dyc.compute(g, "N0", "N8", SearchBudget.unlimited()),
+                bb.computeOptimalPath(g, "N0", "N8", "cost", 0.5, SearchBudget.unlimited()));
+        for (PathResponse r : rs) {
+            assertTrue(r.getProvenOptimal(), r.getMessage());
+            assertTrue(r.getExploredNodes() > 0);
+            assertEquals(base.getTotalCost(), r.getTotalCost(), 1e-9);
+        }
+        assertEquals(base.getAristasARecorrer(), rs.get(1).getAristasARecorrer());
+    }
+
+    @Test
+    void conPresupuestoChicoCortanYDevuelvenLoMejorEncontrado() {
+        GraphSnapshot g = capas(5, 8, new Random(11));
+        String destino = "N" + (g.nodeCount() - 1);
+        List<PathResponse> rs = List.of(
+                backtracking.computeOptimalPath(g, "N0", destino, "cost", 0.5, SearchBudget.of(100, 0)),
+                dfs.computeDfsPure(g, "N0", destino, SearchBudget.of(100, 0)),
+                bb.computeOptimalPath(g, "N0", destino, "cost", 0.5, SearchBudget.of(100, 0)));
+        for (PathResponse r : rs) {
+            assertFalse(r.getProvenOptimal(), r.getMessage());
+            assertTrue(r.getExploredNodes() >= 100, r.getMessage());
+            // lo que devuelva es un camino de verdad
+            if (!r.getAristasARecorrer().isEmpty()) {
+                assertEquals("N0", r.getNodosARecorrer().get(0));
+                assertEquals(destino, r.getNodosARecorrer().get(r.getNodosARecorrer().size() - 1));
+                assertEquals(r.getNodosARecorrer().size() - 1, r.getAristasARecorrer().size());
+            }
+        }
+        // backtracking arranca con la solución de Dijkstra: aun cortado, tiene un camino
+        assertFalse(rs.get(0).getAristasARecorrer().isEmpty());
+
+        // divide y conquista combina tablas precalculadas (no es exponencial): no llega a agotar el presupuesto
+        PathResponse porTablas = dyc.compute(g, "N0", destino, SearchBudget.of(100, 0));
+        assertTrue(porTablas.getProvenOptimal());
+        assertEquals(9.0, porTablas.getTotalCost()); // 9 rutas de costo 1 por las capas
+    }
+
+    @Test
+    void laBusquedaParalelaRespetaElPresupuesto() {
+        GraphSnapshot g = capas(5, 8, new Random(12));
+        BacktrackingService enParalelo = new BacktrackingService(null, new DijkstraService(),
+                new ParallelSimplePathSearch(4, 2, 0));
+        PathResponse r = enParalelo.computeOptimalPath(g, "N0", "N" + (g.nodeCount() - 1), "cost", 0.5,
+                SearchBudget.of(100, 0));
+        assertFalse(r.getProvenOptimal());
+        assertFalse(r.getAristasARecorrer().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.progra3_tpo.service.alphaSweepService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaSweepServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private final AlphaSweepService sweep = new AlphaSweepService(null, dijkstra);
+
+    @Test
+    void losIntervalosCubrenCeroAUnoYDanElOptimoDeCadaAlpha() {
+        GraphSnapshot g = grafoAlAzar(300, 1400, new Random(21));
+        Random rnd = new Random(4);
+
+        for (int q = 0; q < 15; q++) {
+            int s = rnd.nextInt(g.nodeCount());
+            int t = rnd.nextInt(g.nodeCount());
+            AlphaSweepResponse r = sweep.sweep(g, "N" + s, "N" + t);
+            if (r.getIntervals().isEmpty()) {
+                assertEquals("No existe un camino entre los nodos.", r.getMessage());
+                continue;
+            }
+
+            List<AlphaInterval> intervalos = r.getIntervals();
+            assertEquals(0.0, intervalos.get(0).getAlphaFrom(), 0);
+            assertEquals(1.0, intervalos.get(intervalos.size() - 1).getAlphaTo(), 0);
+            for (int i = 1; i < intervalos.size(); i++)
+                assertEquals(intervalos.get(i - 1).getAlphaTo(), intervalos.get(i).getAlphaFrom(), 0);
+            assertEquals(intervalos.size() - 1, r.getBreakpoints().size());
+            assertTrue(r.getDijkstraRuns() <= 2 * intervalos.size() + 1);
+
+            for (int k = 0; k <= 40; k++) {
+                double alpha = k / 40.0;
+                PathResponse base = dijkstra.compute(g, s, t, "weighted", alpha, DijkstraQueue.DEFAULT);
+                PathResponse delIntervalo = intervaloDe(intervalos, alpha).getPath();
+                assertEquals(peso(base, alpha), peso(delIntervalo, alpha), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void unSoloIntervaloCuandoElMismoCaminoGanaEnAmbasMetricas() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "");
+        LocationDto b = new LocationDto("B", "CLIENTE", "");
+        LocationDto c = new LocationDto("C", "CLIENTE", "");
+        a.setRutas(List.of(new RouteDto("A-B", 1.0, 1.0, "URBANO", b), new RouteDto("A-C", 5.0, 5.0, "URBANO", c)));
+        c.setRutas(List.of(new RouteDto("C-B", 1.0, 1.0, "URBANO", b)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, List.of(a, b, c));
+
+        AlphaSweepResponse r = sweep.sweep(g, "A", "B");
+        assertEquals(1, r.getIntervals().size());
+        assertEquals(List.of("A-B"), r.getIntervals().get(0).getPath().getAristasARecorrer());
+        assertTrue(r.getBreakpoints().isEmpty());
+    }
+
+    private static AlphaInterval intervaloDe(List<AlphaInterval> intervalos, double alpha) {
+        for (AlphaInterval i : intervalos) if (alpha >= i.getAlphaFrom() && alpha <= i.getAlphaTo()) return i;
+        throw new AssertionError("alpha " + alpha + " sin intervalo");
+    }
+
+    private static double peso(PathResponse r, double alpha) {
+        return alpha * r.getTotalDistance() + (1 - alpha) * r.getTotalCost();
+    }
+}
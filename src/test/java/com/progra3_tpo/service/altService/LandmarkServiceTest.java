@@ -0,0 +1,69 @@
+package com.progra3_tpo.service.altService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.ubicacionesAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandmarkServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private final LandmarkService alt = new LandmarkService(null, dijkstra, 4);
+
+    @Test
+    void eligePrimeroLosDepositosYCompletaConPuntoMasLejano() {
+        GraphSnapshot g = grafoConDeposito(80, 300, new Random(1));
+        LandmarkIndex idx = LandmarkIndex.build(g, 4, dijkstra);
+
+        assertEquals(4, idx.getLandmarks().length);
+        assertEquals(0, idx.getLandmarks()[0]); // N0 es el único DEPOSITO
+        assertEquals(4, Arrays.stream(idx.getLandmarks()).distinct().count());
+    }
+
+    @Test
+    void altDaElMismoOptimoQueDijkstraConMenosNodosAsentados() {
+        GraphSnapshot g = grafoConDeposito(150, 500, new Random(9));
+        LandmarkIndex idx = LandmarkIndex.build(g, 4, dijkstra);
+        Random rnd = new Random(2);
+        long asentadosDijkstra = 0, asentadosAlt = 0;
+
+        for (int q = 0; q < 80; q++) {
+            int s = rnd.nextInt(g.nodeCount());
+            int t = rnd.nextInt(g.nodeCount());
+            for (String m : new String[]{"distance", "cost", "weighted"}) {
+                PathResponse base = dijkstra.compute(g, s, t, m, 0.4, DijkstraQueue.DEFAULT);
+                PathResponse conAlt = alt.search(g, idx, s, t, m, 0.4, DijkstraQueue.DEFAULT);
+
+                assertEquals(base.getMessage(), conAlt.getMessage());
+                assertEquals(peso(base, m), peso(conAlt, m), 1e-9);
+                asentadosDijkstra += base.getSettledNodes();
+                asentadosAlt += conAlt.getSettledNodes();
+            }
+        }
+        assertTrue(asentadosAlt < asentadosDijkstra);
+    }
+
+    private static double peso(PathResponse r, String metrica) {
+        return switch (metrica) {
+            case "cost" -> r.getTotalCost();
+            case "weighted" -> 0.4 * r.getTotalDistance() + 0.6 * r.getTotalCost();
+            default -> r.getTotalDistance();
+        };
+    }
+
+    // Grafo al azar con N0 como único DEPOSITO
+    private static GraphSnapshot grafoConDeposito(int n, int m, Random rnd) {
+        List<LocationDto> nodos = ubicacionesAlAzar(n, m, rnd);
+        nodos.get(0).setTipo("DEPOSITO");
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+}
@@ -0,0 +1,64 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostToGoTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+
+    @Test
+    void lasCotasSonLosCaminosMinimosHastaElDestino() {
+        for (int semilla = 0; semilla < 10; semilla++) {
+            GraphSnapshot g = grafoAlAzar(40, 90, new Random(semilla), 5, 4);
+            int t = semilla % 40;
+            CostToGo cotas = CostToGo.toTarget(g, t);
+            for (int v = 0; v < g.nodeCount(); v++) {
+                PathResponse porCosto = dijkstra.compute(g, v, t, "cost", 0.5);
+                PathResponse porDistancia = dijkstra.compute(g, v, t, "distance", 0.5);
+                if (porCosto.getNodosARecorrer().isEmpty()) {
+                    assertFalse(cotas.reaches(v), v + " -> " + t);
+                    assertEquals(Double.POSITIVE_INFINITY, cotas.costTo(v));
+                    continue;
+                }
+                assertTrue(cotas.reaches(v));
+                assertEquals(porCosto.getTotalCost(), cotas.costTo(v), 1e-9, v + " -> " + t);
+                assertEquals(porDistancia.getTotalDistance(), cotas.distanceTo(v), 1e-9, v + " -> " + t);
+            }
+        }
+    }
+
+    @Test
+    void conCostosNegativosSoloQuedaLaAlcanzabilidad() {
+        // 0 -> 1 (costo 5) -> 2 (costo -3), 0 -> 2 directo (costo 3) y 3 aislado: desde 1 falta -3, así que 0 no sería cota
+        List<LocationDto> nodos = ubicaciones(4);
+        nodos.get(0).getRutas().add(new RouteDto("R0", 1.0, 5.0, "URBANO", nodos.get(1)));
+        nodos.get(1).getRutas().add(new RouteDto("R1", 1.0, -3.0, "URBANO", nodos.get(2)));
+        nodos.get(0).getRutas().add(new RouteDto("R2", 1.0, 3.0, "URBANO", nodos.get(2)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, nodos);
+        CostToGo cotas = CostToGo.toTarget(g, 2);
+
+        assertEquals(Double.NEGATIVE_INFINITY, cotas.costTo(0));
+        assertEquals(Double.NEGATIVE_INFINITY, cotas.costTo(1));
+        assertEquals(0.0, cotas.costTo(2));
+        assertEquals(1.0, cotas.distanceTo(0));
+        assertTrue(cotas.reaches(1));
+        assertFalse(cotas.reaches(3));
+
+        // La búsqueda no poda el camino por 1 aunque su primer tramo ya cueste más que la ruta directa
+        SimplePathSearch.Result r = SimplePathSearch.search(g, 0, 2, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        assertEquals(2.0, r.cost());
+        assertEquals(2, r.edges().length);
+    }
+}
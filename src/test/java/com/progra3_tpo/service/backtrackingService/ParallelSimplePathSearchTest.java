@@ -0,0 +1,94 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSimplePathSearchTest {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    // Cortes a distintas profundidades; min-nodes 0 para que los grafos chicos de los tests también se repartan
+    private final ParallelSimplePathSearch[] paralelas = {
+            new ParallelSimplePathSearch(4, 1, 0),
+            new ParallelSimplePathSearch(4, 2, 0),
+            new ParallelSimplePathSearch(3, 4, 0)
+    };
+
+    @Test
+    void daElMismoCaminoQueLaBusquedaSecuencial() {
+        for (int semilla = 0; semilla < 25; semilla++) {
+            // pesos enteros chicos: muchos empates, donde el orden de combinación decide
+            GraphSnapshot g = grafoAlAzar(12, 48, new Random(semilla), 5, 4);
+            Random rnd = new Random(semilla + 3);
+            for (int q = 0; q < 12; q++) {
+                int s = rnd.nextInt(12);
+                int t = rnd.nextInt(12);
+                SimplePathSearch.Result esperado = SimplePathSearch.search(g, s, t, INF, INF);
+                for (ParallelSimplePathSearch p : paralelas) {
+                    for (int vez = 0; vez < 3; vez++) { // el reparto entre hilos cambia de una corrida a otra
+                        assertMismoResultado(esperado, p.search(g, s, t, INF, INF), s + " -> " + t);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void respetaLaCotaInicialIgualQueLaSecuencial() {
+        for (int semilla = 0; semilla < 15; semilla++) {
+            GraphSnapshot g = grafoAlAzar(10, 36, new Random(70 + semilla), 5, 4);
+            for (int s = 0; s < 10; s++) {
+                for (int t = 0; t < 10; t++) {
+                    SimplePathSearch.Result optimo = SimplePathSearch.search(g, s, t, INF, INF);
+                    if (!optimo.found()) continue;
+                    // cota floja, cota igual al óptimo (empate: se queda la cota) y cota con igual costo y más distancia
+                    double[][] cotas = {
+                            {optimo.cost() + 2, 0.0},
+                            {optimo.cost(), optimo.distance()},
+                            {optimo.cost(), optimo.distance() + 1}
+                    };
+                    for (double[] c : cotas) {
+                        SimplePathSearch.Result esperado = SimplePathSearch.search(g, s, t, c[0], c[1]);
+                        for (ParallelSimplePathSearch p : paralelas)
+                            assertMismoResultado(esperado, p.search(g, s, t, c[0], c[1]), s + " -> " + t);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void backtrackingEnParaleloDevuelveLaMismaRespuesta() {
+        DijkstraService dijkstra = new DijkstraService();
+        BacktrackingService secuencial = new BacktrackingService(null, dijkstra);
+        BacktrackingService paralelo = new BacktrackingService(null, dijkstra, new ParallelSimplePathSearch(4, 2, 0));
+        for (int semilla = 0; semilla < 10; semilla++) {
+            GraphSnapshot g = grafoAlAzar(12, 44, new Random(200 + semilla), 5, 4);
+            for (int q = 0; q < 12; q++) {
+                String from = "N" + q;
+                String to = "N" + (11 - q);
+                PathResponse a = secuencial.computeOptimalPath(g, from, to, "cost", 0.5);
+                PathResponse b = paralelo.computeOptimalPath(g, from, to, "cost", 0.5);
+                assertEquals(a.getNodosARecorrer(), b.getNodosARecorrer(), from + " -> " + to);
+                assertEquals(a.getAristasARecorrer(), b.getAristasARecorrer(), from + " -> " + to);
+                assertEquals(a.getTotalCost(), b.getTotalCost());
+                assertEquals(a.getTotalDistance(), b.getTotalDistance());
+            }
+        }
+    }
+
+    private static void assertMismoResultado(SimplePathSearch.Result esperado, SimplePathSearch.Result r, String caso) {
+        assertEquals(esperado.found(), r.found(), caso);
+        if (!esperado.found()) return;
+        assertArrayEquals(esperado.edges(), r.edges(), caso);
+        assertEquals(esperado.cost(), r.cost(), caso);
+        assertEquals(esperado.distance(), r.distance(), caso);
+    }
+}
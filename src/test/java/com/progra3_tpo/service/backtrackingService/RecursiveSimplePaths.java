@@ -0,0 +1,75 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RecursiveSimplePaths
+ * -------------------------------------------------------------
+ * La búsqueda recursiva que usaban BacktrackingService y DfsService antes de SimplePathSearch (listas de nombres
+ * que crecen y se achican en cada paso, copia de ambas listas en cada llegada al destino). Se guarda como
+ * referencia para los tests y el benchmark.
+ */
+final class RecursiveSimplePaths {
+
+    private static final double EPS = 1e-9;
+
+    private List<String> mejoresNodos = new ArrayList<>();
+    private List<String> mejoresRutas = new ArrayList<>();
+    private double mejorCosto;
+    private double mejorDistancia;
+
+    private RecursiveSimplePaths(double costoCota, double distanciaCota) {
+        this.mejorCosto = costoCota;
+        this.mejorDistancia = distanciaCota;
+    }
+
+    // Mejor camino que mejora la cota (nodos vacíos si no hay ninguno)
+    static PathResponse search(GraphSnapshot g, int origen, int destino, double costoCota, double distanciaCota) {
+        RecursiveSimplePaths b = new RecursiveSimplePaths(costoCota, distanciaCota);
+        boolean[] visitados = new boolean[g.nodeCount()];
+        List<String> camino = new ArrayList<>();
+        visitados[origen] = true;
+        camino.add(g.nameOf(origen));
+        b.dfs(origen, destino, visitados, camino, new ArrayList<>(), 0.0, 0.0, g);
+        return new PathResponse("", b.mejoresNodos, b.mejoresRutas, b.mejorDistancia, b.mejorCosto);
+    }
+
+    private void dfs(int u, int target, boolean[] visitados, List<String> caminoActual, List<String> rutasActuales,
+                     double distanciaAcum, double costoAcum, GraphSnapshot g) {
+        if (u == target) {
+            List<String> nodos = new ArrayList<>(caminoActual);
+            List<String> rutas = new ArrayList<>(rutasActuales);
+            if (Double.isInfinite(mejorCosto) || costoAcum < mejorCosto - EPS
+                    || (Math.abs(costoAcum - mejorCosto) <= EPS && distanciaAcum < mejorDistancia - EPS)) {
+                mejoresNodos = nodos;
+                mejoresRutas = rutas;
+                mejorCosto = costoAcum;
+                mejorDistancia = distanciaAcum;
+            }
+            return;
+        }
+        if (!Double.isInfinite(mejorCosto) && costoAcum > mejorCosto + EPS) return;
+
+        int[] offsets = g.getOffsets();
+        int[] targets = g.getTargets();
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            int v = targets[e];
+            if (visitados[v]) continue;
+            double d = g.getDistances()[e];
+            double c = g.getCosts()[e];
+            if (!Double.isInfinite(mejorCosto) && costoAcum + c > mejorCosto + EPS) continue;
+
+            visitados[v] = true;
+            rutasActuales.add(g.routeName(e));
+            caminoActual.add(g.nameOf(v));
+            dfs(v, target, visitados, caminoActual, rutasActuales, distanciaAcum + d, costoAcum + c, g);
+            visitados[v] = false;
+            rutasActuales.remove(rutasActuales.size() - 1);
+            caminoActual.remove(caminoActual.size() - 1);
+        }
+    }
+}
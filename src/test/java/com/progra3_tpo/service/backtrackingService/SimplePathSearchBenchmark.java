@@ -0,0 +1,70 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+
+/**
+ * SimplePathSearchBenchmark
+ * -------------------------------------------------------------
+ * Búsqueda exhaustiva de caminos simples: la versión recursiva con listas de nombres (RecursiveSimplePaths)
+ * contra SimplePathSearch (pila explícita sobre índices) y ParallelSimplePathSearch (la misma repartida entre
+ * todos los procesadores), sin cota inicial, sobre un grafo al azar chico y denso (muchos caminos simples por
+ * par) y pares origen/destino al azar.
+ * No corre con los tests: se ejecuta a mano con
+ *   java ... com.progra3_tpo.service.backtrackingService.SimplePathSearchBenchmark [nodos] [aristas] [consultas]
+ * Antes de medir verifica que las tres versiones elijan las mismas rutas.
+ */
+public class SimplePathSearchBenchmark {
+
+    private static final ParallelSimplePathSearch PARALELA = new ParallelSimplePathSearch(0, 3, 0);
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int consultas = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+
+        GraphSnapshot g = grafoAlAzar(n, m, new Random(11), 5, 4);
+        System.out.printf("grafo: %d nodos, %d aristas%n", g.nodeCount(), g.edgeCount());
+
+        Random rnd = new Random(4);
+        int[][] pares = new int[consultas][];
+        for (int i = 0; i < consultas; i++) pares[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n)};
+
+        for (int[] p : pares) {
+            PathResponse a = RecursiveSimplePaths.search(g, p[0], p[1], Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+            SimplePathSearch.Result b = SimplePathSearch.search(g, p[0], p[1], Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+            SimplePathSearch.Result c = PARALELA.search(g, p[0], p[1], Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+            if (b.found() ? !a.getAristasARecorrer().equals(b.routeNames(g)) : !a.getNodosARecorrer().isEmpty())
+                throw new IllegalStateException("caminos distintos en " + p[0] + "->" + p[1]);
+            if (b.found() != c.found() || (b.found() && !Arrays.equals(b.edges(), c.edges())))
+                throw new IllegalStateException("la paralela difiere en " + p[0] + "->" + p[1]);
+        }
+
+        medir("recursiva", g, pares, 0);
+        medir("iterativa", g, pares, 1);
+        medir("paralela", g, pares, 2);
+    }
+
+    private static void medir(String nombre, GraphSnapshot g, int[][] pares, int version) {
+        for (int vuelta = 0; vuelta < 10; vuelta++) buscarTodos(g, pares, version); // calentamiento del JIT
+        long t0 = System.nanoTime();
+        for (int vuelta = 0; vuelta < 5; vuelta++) buscarTodos(g, pares, version);
+        System.out.printf("%-10s %10.4f ms/consulta%n", nombre, (System.nanoTime() - t0) / 1e6 / (5.0 * pares.length));
+    }
+
+    private static void buscarTodos(GraphSnapshot g, int[][] pares, int version) {
+        double inf = Double.POSITIVE_INFINITY;
+        for (int[] p : pares) {
+            switch (version) {
+                case 0 -> RecursiveSimplePaths.search(g, p[0], p[1], inf, inf);
+                case 1 -> SimplePathSearch.search(g, p[0], p[1], inf, inf);
+                default -> PARALELA.search(g, p[0], p[1], inf, inf);
+            }
+        }
+    }
+}
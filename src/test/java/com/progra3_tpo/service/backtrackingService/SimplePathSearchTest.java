@@ -0,0 +1,103 @@
+package com.progra3_tpo.service.backtrackingService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimplePathSearchTest {
+
+    private final BacktrackingService backtracking = new BacktrackingService(null, new DijkstraService());
+    private final DfsService dfs = new DfsService(null);
+
+    @Test
+    void eligeElMismoCaminoQueLaVersionRecursiva() {
+        for (int semilla = 0; semilla < 30; semilla++) {
+            // pesos enteros chicos: muchos empates de costo, que se desempatan por distancia
+            GraphSnapshot g = grafoAlAzar(10, 32, new Random(semilla), 5, 4);
+            Random rnd = new Random(semilla + 7);
+            for (int q = 0; q < 15; q++) {
+                int s = rnd.nextInt(10);
+                int t = rnd.nextInt(10);
+                PathResponse esperado = RecursiveSimplePaths.search(g, s, t,
+                        Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+                SimplePathSearch.Result r = SimplePathSearch.search(g, s, t,
+                        Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+                if (esperado.getNodosARecorrer().isEmpty()) {
+                    assertFalse(r.found(), s + " -> " + t);
+                    assertTrue(dfs.computeDfsPure(g, "N" + s, "N" + t).getNodosARecorrer().isEmpty());
+                    continue;
+                }
+                assertEquals(esperado.getNodosARecorrer(), r.nodeNames(g, s), s + " -> " + t);
+                assertEquals(esperado.getAristasARecorrer(), r.routeNames(g), s + " -> " + t);
+                assertEquals(esperado.getTotalCost(), r.cost());
+                assertEquals(esperado.getTotalDistance(), r.distance());
+
+                PathResponse porDfs = dfs.computeDfsPure(g, "N" + s, "N" + t);
+                assertEquals(esperado.getAristasARecorrer(), porDfs.getAristasARecorrer());
+
+                // Backtracking arranca con la cota de Dijkstra: mismo óptimo (costo y, a igual costo, distancia)
+                PathResponse porBacktracking = backtracking.computeOptimalPath(g, "N" + s, "N" + t, "cost", 0.5);
+                assertEquals(esperado.getTotalCost(), porBacktracking.getTotalCost(), 1e-9);
+                assertEquals(esperado.getTotalDistance(), porBacktracking.getTotalDistance(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void conCotaInicialSoloDevuelveCaminosQueLaMejoran() {
+        for (int semilla = 0; semilla < 20; semilla++) {
+            GraphSnapshot g = grafoAlAzar(9, 28, new Random(100 + semilla), 5, 4);
+            for (int s = 0; s < 9; s++) {
+                for (int t = 0; t < 9; t++) {
+                    PathResponse optimo = RecursiveSimplePaths.search(g, s, t,
+                            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+                    if (optimo.getNodosARecorrer().isEmpty()) continue;
+                    double cota = optimo.getTotalCost() + 1;
+                    PathResponse esperado = RecursiveSimplePaths.search(g, s, t, cota, 0.0);
+                    SimplePathSearch.Result r = SimplePathSearch.search(g, s, t, cota, 0.0);
+                    assertEquals(esperado.getAristasARecorrer(), r.found() ? r.routeNames(g) : List.of());
+
+                    // La cota ya es el óptimo: no hay nada mejor
+                    assertFalse(SimplePathSearch.search(g, s, t, optimo.getTotalCost(), optimo.getTotalDistance()).found());
+                }
+            }
+        }
+    }
+
+    @Test
+    void origenIgualADestinoEsUnCaminoSinAristas() {
+        GraphSnapshot g = grafoAlAzar(5, 12, new Random(3), 5, 4);
+        SimplePathSearch.Result r = SimplePathSearch.search(g, 2, 2, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        assertTrue(r.found());
+        assertEquals(List.of("N2"), r.nodeNames(g, 2));
+        assertTrue(r.routeNames(g).isEmpty());
+        assertEquals(List.of("N2"), dfs.computeDfsPure(g, "N2", "N2").getNodosARecorrer());
+    }
+
+    @Test
+    void caminosLargosNoDependenDeLaPilaDeJava() {
+        // Cadena de 200.000 nodos: la versión recursiva desborda la pila
+        int n = 200_000;
+        List<LocationDto> nodos = ubicaciones(n);
+        for (int i = 0; i + 1 < n; i++)
+            nodos.get(i).getRutas().add(new RouteDto("R" + i, 1.0, 2.0, "URBANO", nodos.get(i + 1)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, nodos);
+
+        PathResponse r = dfs.computeDfsPure(g, "N0", "N" + (n - 1));
+        assertEquals(n, r.getNodosARecorrer().size());
+        assertEquals(n - 1, r.getTotalDistance(), 1e-6);
+        assertEquals(2.0 * (n - 1), r.getTotalCost(), 1e-6);
+    }
+}
@@ -0,0 +1,122 @@
+package com.progra3_tpo.service.batchService;
+
+import com.progra3_tpo.service.PathRequest;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudgetDefaults;
+import com.progra3_tpo.service.backtrackingService.BacktrackingService;
+import com.progra3_tpo.service.bfsService.BfsService;
+import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.divideyconquista.DivideyConquistaService;
+import com.progra3_tpo.service.grafoService.GrafoService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.greedy.GreedyService;
+import com.progra3_tpo.service.progradinamica.PrograDinamicaService;
+import com.progra3_tpo.service.ramificacion_podaService.Ramificacion_podaService;
+import com.progra3_tpo.service.resultCacheService.RouteResultCache;
+import com.progra3_tpo.validator.PathRequestValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.capas;
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private final GrafoService grafo = new GrafoService(null, dijkstra, null, null);
+    private final BfsService bfs = new BfsService(null);
+    private final BatchService batch = lote(new SearchBudgetDefaults(0, 10_000));
+
+    @Test
+    void devuelveLosResultadosEnOrdenConLaMetricaDeCadaItem() {
+        GraphSnapshot g = grafoAlAzar(200, 900, new Random(4));
+        Random rnd = new Random(9);
+        String[] metricas = {"distance", "cost", "weighted", null};
+        List<PathRequest> pedidos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            pedidos.add(pedido("N" + rnd.nextInt(200), "N" + rnd.nextInt(200),
+                    metricas[i % metricas.length], (i % 3 == 0) ? null : rnd.nextDouble()));
+        }
+
+        List<PathResponse> r = batch.compute(g, "dijkstra", pedidos, "cost", 0.2);
+        assertEquals(pedidos.size(), r.size());
+        for (int i = 0; i < pedidos.size(); i++) {
+            PathRequest p = pedidos.get(i);
+            String m = (p.getMetric() == null) ? "cost" : p.getMetric();
+            double a = (p.getAlpha() == null) ? 0.2 : p.getAlpha();
+            PathResponse esperado = grafo.computeWithDijkstra(g, p.getFrom(), p.getTo(), m, a);
+            if (esperado.getNodosARecorrer().isEmpty()) {
+                assertTrue(r.get(i).getNodosARecorrer().isEmpty());
+                continue;
+            }
+            assertEquals(esperado.getNodosARecorrer(), r.get(i).getNodosARecorrer(), "ítem " + i);
+            assertEquals(esperado.getTotalDistance(), r.get(i).getTotalDistance(), 1e-9);
+            assertEquals(Long.valueOf(g.getVersion()), r.get(i).getGraphVersion());
+        }
+    }
+
+    @Test
+    void unItemInvalidoNoArruinaElLote() {
+        GraphSnapshot g = grafoAlAzar(50, 200, new Random(2));
+        List<PathRequest> pedidos = List.of(
+                pedido("N0", "N1", null, null),
+                pedido("N0", "NoExiste", null, null),
+                pedido(null, "N1", null, null),
+                pedido("N2", "N3", null, null));
+
+        List<PathResponse> r = batch.compute(g, "bfs", pedidos, null, null);
+        assertEquals(4, r.size());
+        assertEquals(bfs.computeBfsShortestHops(g, "N0", "N1").getNodosARecorrer(), r.get(0).getNodosARecorrer());
+        assertTrue(r.get(1).getMessage().contains("no encontrados"));
+        assertTrue(r.get(2).getMessage().contains("se requiere 'from' y 'to'"));
+        assertEquals(bfs.computeBfsShortestHops(g, "N2", "N3").getNodosARecorrer(), r.get(3).getNodosARecorrer());
+    }
+
+    @Test
+    void algoritmoDesconocidoOLoteDemasiadoGrandeDevuelvenUnSoloError() {
+        GraphSnapshot g = grafoAlAzar(10, 20, new Random(1));
+        List<PathResponse> r = batch.compute(g, "astar", List.of(pedido("N0", "N1", null, null)), null, null);
+        assertEquals(1, r.size());
+        assertTrue(r.get(0).getMessage().startsWith("Algoritmo desconocido"));
+
+        List<PathRequest> muchos = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) muchos.add(pedido("N0", "N1", null, null));
+        assertEquals(1, batch.compute(g, "dijkstra", muchos, null, null).size());
+    }
+
+    @Test
+    void losAlgoritmosExhaustivosUsanElPresupuestoPorDefectoEnCadaItem() {
+        GraphSnapshot g = capas(5, 8, new Random(11));
+        String destino = "N" + (g.nodeCount() - 1);
+        BatchService conPresupuesto = lote(new SearchBudgetDefaults(100, 0));
+        for (String algoritmo : List.of("backtracking", "dfs", "ramificacion_poda")) {
+            List<PathResponse> r = conPresupuesto.compute(g, algoritmo,
+                    List.of(pedido("N0", destino, "cost", null), pedido("N0", destino, "cost", null)), null, null);
+            for (PathResponse item : r) {
+                assertFalse(item.getProvenOptimal(), algoritmo + ": " + item.getMessage());
+                assertTrue(item.getExploredNodes() >= 100, algoritmo);
+            }
+        }
+    }
+
+    private BatchService lote(SearchBudgetDefaults presupuestos) {
+        return new BatchService(null, new PathRequestValidator(null), new RouteResultCache(null, 0, 0), presupuestos,
+                grafo, new BacktrackingService(null, dijkstra), null, null, new Ramificacion_podaService(null), bfs,
+                new DfsService(null), new GreedyService(null), new PrograDinamicaService(null),
+                new DivideyConquistaService(null), 1000, 3);
+    }
+
+    private static PathRequest pedido(String from, String to, String metric, Double alpha) {
+        PathRequest p = new PathRequest();
+        p.setFrom(from);
+        p.setTo(to);
+        p.setMetric(metric);
+        p.setAlpha(alpha);
+        return p;
+    }
+}
@@ -0,0 +1,72 @@
+package com.progra3_tpo.service.bfsService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BfsBenchmark
+ * -------------------------------------------------------------
+ * BFS sólo top-down, el que cambia de dirección y el bidireccional, sobre un grafo al azar de diámetro chico
+ * (grado medio alto, como una red de distribución densa) y pares origen/destino al azar.
+ * No corre con los tests: se ejecuta a mano con
+ *   java ... com.progra3_tpo.service.bfsService.BfsBenchmark [nodos] [gradoMedio] [consultas]
+ * Antes de medir verifica que todas las variantes den la misma cantidad de saltos.
+ */
+public class BfsBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int grado = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int consultas = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        GraphSnapshot g = grafo(n, grado, new Random(5));
+        System.out.printf("grafo: %d nodos, %d aristas%n", g.nodeCount(), g.edgeCount());
+
+        Random rnd = new Random(8);
+        int[][] pares = new int[consultas][];
+        for (int i = 0; i < consultas; i++) pares[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n)};
+
+        BfsService topDown = new BfsService(null, 0, 24);
+        BfsService direccional = new BfsService(null);
+        for (int[] p : pares) {
+            int a = saltos(topDown, BfsMode.DIRECTION_OPTIMIZING, g, p);
+            int b = saltos(direccional, BfsMode.DIRECTION_OPTIMIZING, g, p);
+            int c = saltos(direccional, BfsMode.BIDIRECTIONAL, g, p);
+            if (a != b || a != c) throw new IllegalStateException("saltos distintos en " + p[0] + "->" + p[1]);
+        }
+
+        medir("top-down", topDown, BfsMode.DIRECTION_OPTIMIZING, g, pares);
+        medir("direction-optimizing", direccional, BfsMode.DIRECTION_OPTIMIZING, g, pares);
+        medir("bidirectional", direccional, BfsMode.BIDIRECTIONAL, g, pares);
+    }
+
+    private static void medir(String nombre, BfsService bfs, BfsMode modo, GraphSnapshot g, int[][] pares) {
+        for (int[] p : pares) saltos(bfs, modo, g, p); // calentamiento del JIT
+        long t0 = System.nanoTime();
+        for (int[] p : pares) saltos(bfs, modo, g, p);
+        System.out.printf("%-22s %8.2f ms/consulta%n", nombre, (System.nanoTime() - t0) / 1e6 / pares.length);
+    }
+
+    private static int saltos(BfsService bfs, BfsMode modo, GraphSnapshot g, int[] p) {
+        return bfs.computeBfsShortestHops(g, g.nameOf(p[0]), g.nameOf(p[1]), null, modo).getAristasARecorrer().size();
+    }
+
+    // Grafo al azar con grado de salida fijo: diámetro logarítmico
+    static GraphSnapshot grafo(int n, int grado, Random rnd) {
+        List<LocationDto> nodos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LocationDto l = new LocationDto("N" + i, "CLIENTE", "");
+            l.setRutas(new ArrayList<>(grado));
+            nodos.add(l);
+        }
+        for (int u = 0; u < n; u++)
+            for (int k = 0; k < grado; k++)
+                nodos.get(u).getRutas().add(new RouteDto("R" + u + "_" + k, 1, 1, "URBANO", nodos.get(rnd.nextInt(n))));
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+}
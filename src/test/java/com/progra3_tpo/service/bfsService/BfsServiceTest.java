@@ -0,0 +1,143 @@
+package com.progra3_tpo.service.bfsService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BfsServiceTest {
+
+    // Por defecto, sólo top-down y bottom-up desde el primer nivel sin volver nunca
+    private final BfsService[] variantes = {
+            new BfsService(null),
+            new BfsService(null, 0, 24),
+            new BfsService(null, 1e12, 0)
+    };
+    private final BfsService bfs = variantes[0];
+
+    @Test
+    void todasLasDireccionesDanLaMismaCantidadDeSaltos() {
+        for (int semilla = 0; semilla < 10; semilla++) {
+            // de ralo (diámetro grande) a denso (diámetro chico, bottom-up casi desde el principio)
+            for (int m : new int[]{300, 1500, 6000}) {
+                GraphSnapshot g = grafoAlAzar(300, m, new Random(semilla * 31L + m));
+                Random rnd = new Random(semilla);
+                for (int q = 0; q < 40; q++) {
+                    int s = rnd.nextInt(300);
+                    int t = rnd.nextInt(300);
+                    int esperado = saltos(g, s, t);
+                    for (PathResponse r : respuestas(g, "N" + s, "N" + t, null)) {
+                        if (esperado < 0) {
+                            assertTrue(r.getNodosARecorrer().isEmpty(), s + " -> " + t);
+                            continue;
+                        }
+                        assertEquals(esperado, r.getAristasARecorrer().size(), s + " -> " + t);
+                        assertCaminoValido(g, r, s, t);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void origenIgualADestinoEsUnCaminoSinAristas() {
+        GraphSnapshot g = grafoAlAzar(10, 20, new Random(2));
+        for (PathResponse r : respuestas(g, "N3", "N3", 0)) {
+            assertEquals(List.of("N3"), r.getNodosARecorrer());
+            assertTrue(r.getAristasARecorrer().isEmpty());
+        }
+    }
+
+    @Test
+    void maxHopsAceptaElCaminoJustoYRechazaUnoMasCorto() {
+        GraphSnapshot g = grafoAlAzar(400, 700, new Random(11));
+        Random rnd = new Random(12);
+        int probados = 0;
+        while (probados < 60) {
+            int s = rnd.nextInt(400);
+            int t = rnd.nextInt(400);
+            int esperado = saltos(g, s, t);
+            if (esperado < 1) continue;
+            probados++;
+            for (PathResponse r : respuestas(g, "N" + s, "N" + t, esperado))
+                assertEquals(esperado, r.getAristasARecorrer().size(), s + " -> " + t);
+            for (PathResponse r : respuestas(g, "N" + s, "N" + t, esperado - 1)) {
+                assertTrue(r.getNodosARecorrer().isEmpty(), s + " -> " + t);
+                assertEquals("No existe recorrido entre origen y destino con a lo sumo " + (esperado - 1) + " saltos.",
+                        r.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void bidireccionalSinCaminoDevuelveMensaje() {
+        // N0 -> N1 y N2 -> N3: de N0 a N3 no se llega
+        List<LocationDto> nodos = ubicaciones(4);
+        nodos.get(0).getRutas().add(new RouteDto("A", 1, 1, "URBANO", nodos.get(1)));
+        nodos.get(2).getRutas().add(new RouteDto("B", 1, 1, "URBANO", nodos.get(3)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, nodos);
+
+        PathResponse r = bfs.computeBfsShortestHops(g, "N0", "N3", null, BfsMode.BIDIRECTIONAL);
+        assertTrue(r.getNodosARecorrer().isEmpty());
+        assertEquals("No existe recorrido entre origen y destino.", r.getMessage());
+    }
+
+    // Bidireccional más las tres configuraciones del BFS que cambia de dirección
+    private List<PathResponse> respuestas(GraphSnapshot g, String from, String to, Integer maxHops) {
+        List<PathResponse> r = new ArrayList<>();
+        r.add(bfs.computeBfsShortestHops(g, from, to, maxHops, BfsMode.BIDIRECTIONAL));
+        for (BfsService v : variantes)
+            r.add(v.computeBfsShortestHops(g, from, to, maxHops, BfsMode.DIRECTION_OPTIMIZING));
+        return r;
+    }
+
+    // Cada arista del camino sale del nodo anterior y llega al siguiente
+    private static void assertCaminoValido(GraphSnapshot g, PathResponse r, int s, int t) {
+        List<String> nodos = r.getNodosARecorrer();
+        assertEquals("N" + s, nodos.get(0));
+        assertEquals("N" + t, nodos.get(nodos.size() - 1));
+        double distancia = 0;
+        for (int i = 0; i + 1 < nodos.size(); i++) {
+            int u = g.indexOf(nodos.get(i));
+            int v = g.indexOf(nodos.get(i + 1));
+            String ruta = r.getAristasARecorrer().get(i);
+            int arista = -1;
+            for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++)
+                if (g.getTargets()[e] == v && g.routeName(e).equals(ruta)) arista = e;
+            assertTrue(arista >= 0, "no existe " + ruta + " de " + nodos.get(i) + " a " + nodos.get(i + 1));
+            distancia += g.getDistances()[arista];
+        }
+        assertEquals(distancia, r.getTotalDistance(), 1e-9);
+    }
+
+    // BFS de referencia con cola: saltos de s a t, -1 si no se llega
+    private static int saltos(GraphSnapshot g, int s, int t) {
+        int[] nivel = new int[g.nodeCount()];
+        Arrays.fill(nivel, -1);
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        nivel[s] = 0;
+        cola.add(s);
+        while (!cola.isEmpty()) {
+            int u = cola.poll();
+            for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+                int v = g.getTargets()[e];
+                if (nivel[v] < 0) {
+                    nivel[v] = nivel[u] + 1;
+                    cola.add(v);
+                }
+            }
+        }
+        return nivel[t];
+    }
+}
@@ -0,0 +1,75 @@
+package com.progra3_tpo.service.chService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.ubicacionesAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private final ChService ch = new ChService(null, dijkstra, new double[]{0.5});
+
+    @Test
+    void laJerarquiaDaLosMismosOptimosQueDijkstraYDesarmaLosAtajos() {
+        List<LocationDto> nodos = ubicacionesAlAzar(150, 500, new Random(4));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, nodos);
+        Random rnd = new Random(8);
+
+        for (String m : new String[]{"distance", "cost", "weighted"}) {
+            ContractionHierarchy jerarquia = ContractionHierarchyBuilder.build(g, MetricWeight.of(m, 0.5));
+            for (int q = 0; q < 80; q++) {
+                int s = rnd.nextInt(g.nodeCount());
+                int t = rnd.nextInt(g.nodeCount());
+                PathResponse base = dijkstra.compute(g, s, t, m, 0.5, DijkstraQueue.DEFAULT);
+                PathResponse conCh = ch.search(g, jerarquia, s, t);
+
+                assertEquals(base.getMessage(), conCh.getMessage());
+                assertEquals(peso(base, m), peso(conCh, m), 1e-9);
+                assertEquals(conCh.getNodosARecorrer().isEmpty() ? 0 : conCh.getNodosARecorrer().size() - 1,
+                        conCh.getAristasARecorrer().size());
+            }
+        }
+    }
+
+    @Test
+    void seReparaAlAgregarUnaUbicacionConRutasEntrantes() {
+        List<LocationDto> nodos = ubicacionesAlAzar(60, 200, new Random(6));
+        GraphSnapshot v1 = GraphSnapshot.fromLocations(1, nodos);
+        ContractionHierarchy jerarquia = ContractionHierarchyBuilder.build(v1, MetricWeight.of("distance", 0.5));
+
+        LocationDto nueva = new LocationDto("Nueva", "CLIENTE", "");
+        GraphSnapshot v2 = v1.withLocation(2, nueva, List.of(
+                new GraphSnapshot.IncomingRoute("N3", new RouteDto("N3-Nueva", 4.0, 1.0, "URBANO", nueva)),
+                new GraphSnapshot.IncomingRoute("N40", new RouteDto("N40-Nueva", 2.0, 1.0, "URBANO", nueva))));
+        ContractionHierarchy reparada = jerarquia.withLeafNode(v2, 60);
+
+        assertNotNull(reparada);
+        assertEquals(2, reparada.getVersion());
+        for (int s = 0; s < v2.nodeCount(); s++) {
+            PathResponse base = dijkstra.compute(v2, s, 60, "distance", 0.5, DijkstraQueue.DEFAULT);
+            PathResponse conCh = ch.search(v2, reparada, s, 60);
+            assertEquals(base.getMessage(), conCh.getMessage());
+            assertEquals(base.getTotalDistance(), conCh.getTotalDistance(), 1e-9);
+            assertEquals(base.getAristasARecorrer().size() > 0, conCh.getAristasARecorrer().size() > 0);
+        }
+    }
+
+    private static double peso(PathResponse r, String metrica) {
+        return switch (metrica) {
+            case "cost" -> r.getTotalCost();
+            case "weighted" -> 0.5 * r.getTotalDistance() + 0.5 * r.getTotalCost();
+            default -> r.getTotalDistance();
+        };
+    }
+}
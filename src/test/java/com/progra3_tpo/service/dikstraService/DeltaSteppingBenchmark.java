@@ -0,0 +1,55 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.Random;
+
+/**
+ * DeltaSteppingBenchmark
+ * -------------------------------------------------------------
+ * Escalado del árbol completo con delta-stepping de 1 a N hilos contra el Dijkstra secuencial
+ * (heap indexado), sobre la misma grilla de DijkstraHeapBenchmark.
+ * No corre con los tests: se ejecuta a mano con
+ *   java ... com.progra3_tpo.service.dikstraService.DeltaSteppingBenchmark [lado] [fuentes] [hilosMax]
+ * Antes de medir verifica que todas las variantes den las mismas distancias.
+ */
+public class DeltaSteppingBenchmark {
+
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 700;
+        int fuentes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int hilosMax = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        GraphSnapshot g = DijkstraHeapBenchmark.grilla(lado, new Random(7));
+        System.out.printf("grafo: %d nodos, %d aristas%n", g.nodeCount(), g.edgeCount());
+
+        DijkstraService dijkstra = new DijkstraService();
+        MetricWeight peso = MetricWeight.of("weighted", 0.5);
+        Random rnd = new Random(3);
+        int[] origenes = new int[fuentes];
+        for (int i = 0; i < fuentes; i++) origenes[i] = rnd.nextInt(g.nodeCount());
+
+        for (int s : origenes) dijkstra.shortestPathTree(g, s, peso); // calentamiento del JIT
+        long t0 = System.nanoTime();
+        for (int s : origenes) dijkstra.shortestPathTree(g, s, peso);
+        double secuencial = (System.nanoTime() - t0) / 1e6 / fuentes;
+        System.out.printf("%-22s %8.1f ms/árbol%n", "Dijkstra secuencial", secuencial);
+
+        for (int hilos = 1; hilos <= hilosMax; hilos *= 2) {
+            DeltaStepping delta = new DeltaStepping(hilos, 1);
+            for (int s : origenes) {
+                ShortestPathTree esperado = dijkstra.shortestPathTree(g, s, peso);
+                ShortestPathTree obtenido = delta.tree(g, s, peso);
+                for (int v = 0; v < g.nodeCount(); v++) {
+                    if (Math.abs(esperado.weightTo(v) - obtenido.weightTo(v)) > 1e-9)
+                        throw new IllegalStateException("delta-stepping difiere en " + s + "->" + v);
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int s : origenes) delta.tree(g, s, peso);
+            double ms = (System.nanoTime() - t1) / 1e6 / fuentes;
+            System.out.printf("delta-stepping %2d hilos %8.1f ms/árbol (x%.2f)%n", hilos, ms, secuencial / ms);
+            if (hilos < hilosMax && hilos * 2 > hilosMax) hilos = hilosMax / 2; // termina midiendo hilosMax
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.entre1y;
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSteppingTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+
+    @Test
+    void daLasMismasDistanciasQueDijkstraParaTodasLasMetricasYHilos() {
+        GraphSnapshot g = grafoAlAzar(3000, 12000, new Random(8), r -> r.nextInt(20), entre1y(20));
+        for (int hilos : new int[]{1, 2, 4}) {
+            DeltaStepping delta = new DeltaStepping(hilos, 1, 1); // fases siempre repartidas entre los hilos
+            for (String m : new String[]{"distance", "cost", "weighted"}) {
+                MetricWeight peso = MetricWeight.of(m, 0.25);
+                for (int s : new int[]{0, 17, 2999}) {
+                    double[] esperado = dijkstra.distancesFrom(g, s, peso, false);
+                    ShortestPathTree arbol = delta.tree(g, s, peso);
+
+                    int alcanzados = 0;
+                    for (int v = 0; v < g.nodeCount(); v++) {
+                        assertEquals(esperado[v], arbol.weightTo(v), "hilos " + hilos + " " + m + " nodo " + v);
+                        if (!arbol.reaches(v)) continue;
+                        alcanzados++;
+                        // El camino del árbol llega a la fuente y pesa lo mismo que la distancia
+                        double suma = 0;
+                        for (int e : arbol.pathEdgesTo(v)) suma += peso.apply(g.getDistances()[e], g.getCosts()[e]);
+                        assertEquals(esperado[v], suma, 1e-9);
+                    }
+                    assertEquals(alcanzados, arbol.getSettledNodes());
+                }
+            }
+        }
+    }
+
+    @Test
+    void conDeltaChicoOGrandeElResultadoNoCambia() {
+        GraphSnapshot g = grafoAlAzar(800, 3000, new Random(1), r -> r.nextInt(20), entre1y(20));
+        MetricWeight peso = MetricWeight.of("distance", 0.5);
+        double[] esperado = dijkstra.distancesFrom(g, 5, peso, false);
+        DeltaStepping delta = new DeltaStepping(3, 1, 1);
+        for (double ancho : new double[]{0.5, 3, 1000}) {
+            ShortestPathTree arbol = delta.tree(g, 5, peso, ancho);
+            for (int v = 0; v < g.nodeCount(); v++) assertEquals(esperado[v], arbol.weightTo(v));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+
+/**
+ * DijkstraHeapBenchmark
+ * -------------------------------------------------------------
+ * Compara DijkstraService.compute con PriorityQueue (borrado perezoso) contra el heap
+ * d-ario indexado y la cola de baldes en punto fijo, sobre una grilla tipo red vial con aristas extra al azar.
+ * No corre con los tests: se ejecuta a mano con
+ *   java ... com.progra3_tpo.service.dikstraService.DijkstraHeapBenchmark [lado] [consultas]
+ * Antes de medir verifica que todas las variantes den la misma distancia, y compara los nodos
+ * asentados por la búsqueda unidireccional y la bidireccional.
+ */
+public class DijkstraHeapBenchmark {
+
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        GraphSnapshot g = grilla(lado, new Random(7));
+        System.out.printf("grafo: %d nodos, %d aristas%n", g.nodeCount(), g.edgeCount());
+
+        DijkstraService dijkstra = new DijkstraService();
+        Random rnd = new Random(11);
+        int[][] pares = new int[consultas][2];
+        for (int[] p : pares) {
+            p[0] = rnd.nextInt(g.nodeCount());
+            p[1] = rnd.nextInt(g.nodeCount());
+        }
+
+        DijkstraQueue[] colas = {
+                DijkstraQueue.PRIORITY_QUEUE,
+                DijkstraQueue.of("dary", 2),
+                DijkstraQueue.of("dary", 4),
+                DijkstraQueue.of("dary", 8),
+                DijkstraQueue.RADIX
+        };
+        String[] nombres = {"PriorityQueue", "indexado d=2", "indexado d=4", "indexado d=8", "radix (fijo)"};
+
+        // Todas las colas tienen que dar el mismo resultado
+        for (int[] p : pares) {
+            double esperado = dijkstra.compute(g, p[0], p[1], "distance", 0.5, colas[0]).getTotalDistance();
+            for (int c = 1; c < colas.length; c++) {
+                double obtenido = dijkstra.compute(g, p[0], p[1], "distance", 0.5, colas[c]).getTotalDistance();
+                if (Math.abs(esperado - obtenido) > 1e-9)
+                    throw new IllegalStateException(nombres[c] + " difiere en " + p[0] + "->" + p[1]);
+            }
+        }
+
+        // Nodos asentados: búsqueda unidireccional contra bidireccional
+        long uni = 0, bidi = 0;
+        for (int[] p : pares) {
+            uni += dijkstra.compute(g, p[0], p[1], "distance", 0.5, DijkstraQueue.DEFAULT).getSettledNodes();
+            bidi += dijkstra.computeBidirectional(g, p[0], p[1], "distance", 0.5, DijkstraQueue.DEFAULT).getSettledNodes();
+        }
+        System.out.printf("asentados promedio: unidireccional %d, bidireccional %d%n", uni / consultas, bidi / consultas);
+
+        for (int c = 0; c < colas.length; c++) {
+            correr(dijkstra, g, pares, colas[c]); // calentamiento del JIT
+            long t0 = System.nanoTime();
+            int rondas = 3;
+            for (int r = 0; r < rondas; r++) correr(dijkstra, g, pares, colas[c]);
+            double ms = (System.nanoTime() - t0) / 1e6 / (rondas * (double) consultas);
+            System.out.printf("%-15s %.3f ms/consulta%n", nombres[c], ms);
+        }
+    }
+
+    private static double correr(DijkstraService dijkstra, GraphSnapshot g, int[][] pares, DijkstraQueue cola) {
+        double suma = 0;
+        for (int[] p : pares) {
+            PathResponse r = dijkstra.compute(g, p[0], p[1], "weighted", 0.5, cola);
+            suma += r.getTotalDistance();
+        }
+        return suma;
+    }
+
+    // Grilla lado x lado con calles en ambos sentidos y algunos atajos al azar
+    static GraphSnapshot grilla(int lado, Random rnd) {
+        List<LocationDto> nodos = ubicaciones(lado * lado);
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                int u = f * lado + c;
+                if (c + 1 < lado) calle(nodos, u, u + 1, rnd);
+                if (f + 1 < lado) calle(nodos, u, u + lado, rnd);
+                if (rnd.nextInt(10) == 0) calle(nodos, u, rnd.nextInt(lado * lado), rnd);
+            }
+        }
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+
+    private static void calle(List<LocationDto> nodos, int u, int v, Random rnd) {
+        // Dos decimales, como los datos reales: así el modo radix no cae en los double
+        double d = Math.round(100 + rnd.nextDouble() * 900) / 100.0;
+        double c = Math.round(100 + rnd.nextDouble() * 900) / 100.0;
+        nodos.get(u).getRutas().add(new RouteDto("R" + u + "-" + v, d, c, "URBANO", nodos.get(v)));
+        nodos.get(v).getRutas().add(new RouteDto("R" + v + "-" + u, d, c, "URBANO", nodos.get(u)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.progra3_tpo.service.dikstraService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DijkstraServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+
+    @Test
+    void todasLasColasYModosDanElMismoCaminoOptimo() {
+        GraphSnapshot g = grafoAlAzar(120, 400, new Random(3));
+        Random rnd = new Random(5);
+        String[] metricas = {"distance", "cost", "weighted"};
+
+        for (int q = 0; q < 60; q++) {
+            int s = rnd.nextInt(g.nodeCount());
+            int t = rnd.nextInt(g.nodeCount());
+            for (String m : metricas) {
+                PathResponse base = dijkstra.compute(g, s, t, m, 0.3, DijkstraQueue.PRIORITY_QUEUE);
+                PathResponse heap = dijkstra.compute(g, s, t, m, 0.3, DijkstraQueue.of("dary", 3));
+                PathResponse bidi = dijkstra.computeBidirectional(g, s, t, m, 0.3, DijkstraQueue.DEFAULT);
+
+                assertEquals(base.getMessage(), heap.getMessage());
+                assertEquals(base.getMessage(), bidi.getMessage());
+                double esperado = peso(base, m);
+                assertEquals(esperado, peso(heap, m), 1e-9);
+                assertEquals(esperado, peso(bidi, m), 1e-9);
+                if (!bidi.getNodosARecorrer().isEmpty()) {
+                    List<String> nodos = bidi.getNodosARecorrer();
+                    assertEquals("N" + s, nodos.get(0));
+                    assertEquals("N" + t, nodos.get(nodos.size() - 1));
+                    assertEquals(nodos.size() - 1, bidi.getAristasARecorrer().size());
+                }
+                assertNotNull(bidi.getSettledNodes());
+            }
+        }
+    }
+
+    @Test
+    void bidireccionalInformaSinCaminoCuandoElDestinoNoEsAlcanzable() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "");
+        LocationDto b = new LocationDto("B", "CLIENTE", "");
+        LocationDto c = new LocationDto("C", "CLIENTE", "");
+        a.setRutas(List.of(new RouteDto("A-B", 1.0, 1.0, "URBANO", b)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, List.of(a, b, c));
+
+        PathResponse r = dijkstra.computeBidirectional(g, 0, 2, "distance", 0.5, DijkstraQueue.DEFAULT);
+        assertEquals("No existe un camino entre los nodos.", r.getMessage());
+
+        PathResponse ok = dijkstra.computeBidirectional(g, 0, 1, "distance", 0.5, DijkstraQueue.DEFAULT);
+        assertEquals(List.of("A", "B"), ok.getNodosARecorrer());
+        assertEquals(List.of("A-B"), ok.getAristasARecorrer());
+    }
+
+    @Test
+    void laCacheDeArbolesRespondeIgualYReutilizaElOrigen() {
+        GraphSnapshot g = grafoAlAzar(120, 400, new Random(7));
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(1);
+        DijkstraService conCache = new DijkstraService(cache);
+        Random rnd = new Random(1);
+
+        for (int q = 0; q < 40; q++) {
+            int t = rnd.nextInt(g.nodeCount());
+            for (String m : new String[]{"distance", "weighted"}) {
+                PathResponse base = dijkstra.compute(g, 0, t, m, 0.3, DijkstraQueue.DEFAULT);
+                PathResponse cacheada = conCache.compute(g, 0, t, m, 0.3, DijkstraQueue.DEFAULT);
+                assertEquals(base.getMessage(), cacheada.getMessage());
+                assertEquals(base.getNodosARecorrer(), cacheada.getNodosARecorrer());
+                assertEquals(base.getAristasARecorrer(), cacheada.getAristasARecorrer());
+            }
+        }
+        // Un árbol por métrica desde el origen 0; el resto de las consultas son aciertos
+        assertEquals(2, cache.stats().getMisses());
+        assertEquals(78, cache.stats().getHits());
+        assertEquals(2, cache.stats().getEntries());
+
+        // Otra versión del grafo no usa los árboles anteriores y los descarta al guardar el suyo
+        GraphSnapshot v2 = g.withLocation(2, new LocationDto("Nueva", "CLIENTE", ""), List.of());
+        conCache.compute(v2, 0, 5, "distance", 0.3, DijkstraQueue.DEFAULT);
+        assertEquals(3, cache.stats().getMisses());
+        assertEquals(1, cache.stats().getEntries());
+    }
+
+    @Test
+    void laCacheDesalojaLosArbolesMenosUsadosAlPasarseDeMemoria() {
+        GraphSnapshot g = grafoAlAzar(40_000, 40_000, new Random(2)); // ~480 KB por árbol
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(1);
+        DijkstraService conCache = new DijkstraService(cache);
+
+        conCache.compute(g, 0, 1, "distance", 0.5, DijkstraQueue.DEFAULT);
+        conCache.compute(g, 1, 2, "distance", 0.5, DijkstraQueue.DEFAULT);
+        conCache.compute(g, 0, 3, "distance", 0.5, DijkstraQueue.DEFAULT); // acierto: 0 pasa a ser el más usado
+        conCache.compute(g, 2, 3, "distance", 0.5, DijkstraQueue.DEFAULT); // desaloja el árbol de 1
+
+        ShortestPathTreeCache.Stats stats = cache.stats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(1, stats.getEvictions());
+        assertTrue(stats.getBytes() <= stats.getMaxBytes());
+        conCache.compute(g, 0, 4, "distance", 0.5, DijkstraQueue.DEFAULT);
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    private static double peso(PathResponse r, String metrica) {
+        return switch (metrica) {
+            case "cost" -> r.getTotalCost();
+            case "weighted" -> 0.3 * r.getTotalDistance() + 0.7 * r.getTotalCost();
+            default -> r.getTotalDistance();
+        };
+    }
+
+    @Test
+    void elModoRadixDaElMismoOptimoConTotalesExactosADosDecimales() {
+        GraphSnapshot g = grafoAlAzar(150, 600, new Random(9), conDecimales(100.0), conDecimales(100.0));
+        Random rnd = new Random(4);
+        for (int q = 0; q < 60; q++) {
+            int s = rnd.nextInt(g.nodeCount());
+            int t = rnd.nextInt(g.nodeCount());
+            for (String m : new String[]{"distance", "cost", "weighted"}) {
+                PathResponse heap = dijkstra.compute(g, s, t, m, 0.3, DijkstraQueue.DEFAULT);
+                PathResponse radix = dijkstra.compute(g, s, t, m, 0.3, DijkstraQueue.RADIX);
+
+                assertEquals(heap.getMessage(), radix.getMessage());
+                assertEquals(peso(heap, m), peso(radix, m), 1e-9);
+                // El total es el valor a dos decimales exacto, no una suma de double con error de redondeo
+                assertEquals(Math.round(radix.getTotalDistance() * 100) / 100.0, radix.getTotalDistance());
+                assertEquals(Math.round(radix.getTotalCost() * 100) / 100.0, radix.getTotalCost());
+            }
+        }
+    }
+
+    @Test
+    void elModoRadixVuelveAlHeapSiHayMasDeDosDecimales() {
+        GraphSnapshot g = grafoAlAzar(60, 200, new Random(6), conDecimales(1000.0), conDecimales(1000.0));
+        assertFalse(g.fixedPointWeights().isExact());
+        for (int t = 1; t < g.nodeCount(); t++) {
+            PathResponse heap = dijkstra.compute(g, 0, t, "distance", 0.5, DijkstraQueue.DEFAULT);
+            PathResponse radix = dijkstra.compute(g, 0, t, "distance", 0.5, DijkstraQueue.RADIX);
+            assertEquals(heap.getMessage(), radix.getMessage());
+            assertEquals(heap.getTotalDistance(), radix.getTotalDistance(), 1e-9);
+        }
+    }
+
+    @Test
+    void unoAMuchosSeguidosNoArrastranLosDestinosDeLaConsultaAnterior() {
+        GraphSnapshot grande = grafoAlAzar(200, 800, new Random(8));
+        GraphSnapshot chico = grafoAlAzar(40, 160, new Random(9));
+        MetricWeight peso = MetricWeight.of("distance", 0.5);
+        Random rnd = new Random(10);
+        for (int q = 0; q < 40; q++) {
+            GraphSnapshot g = (q % 3 == 0) ? chico : grande; // el mismo hilo alterna tamaños de foto
+            int s = rnd.nextInt(g.nodeCount());
+            int[] destinos = {rnd.nextInt(g.nodeCount()), rnd.nextInt(g.nodeCount()), rnd.nextInt(g.nodeCount())};
+            double[] esperado = dijkstra.distancesFrom(g, s, peso, false);
+            ShortestPathTree arbol = dijkstra.oneToMany(g, s, destinos, peso);
+            for (int t : destinos) assertEquals(esperado[t], arbol.weightTo(t), 1e-9);
+        }
+    }
+
+    // Pesos al azar con 1 / escala de resolución (escala 100 = dos decimales)
+    private static ToDoubleFunction<Random> conDecimales(double escala) {
+        return r -> (1 + r.nextInt(2000)) / escala;
+    }
+}
@@ -0,0 +1,64 @@
+package com.progra3_tpo.service.dikstraService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedDaryHeapTest {
+
+    @Test
+    void sacaLosNodosEnOrdenDeClaveRespetandoDecreaseKey() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 4);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        heap.insertOrDecrease(2, 8.0);
+        heap.insertOrDecrease(3, 1.0);
+
+        assertTrue(heap.insertOrDecrease(2, 0.5));   // decrease-key
+        assertFalse(heap.insertOrDecrease(1, 4.0));  // una clave mayor se ignora
+        assertEquals(4, heap.size());
+
+        assertEquals(2, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertTrue(heap.isEmpty());
+        assertEquals(-1, heap.pollMin());
+    }
+
+    @Test
+    void resetReutilizaLosArraysYVaciaLaCola() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(4, 2);
+        heap.insertOrDecrease(3, 1.0);
+        heap.reset(4, 8);
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+        assertEquals(8, heap.arity());
+    }
+
+    @Test
+    void coincideConUnOrdenamientoParaClavesAlAzar() {
+        Random rnd = new Random(42);
+        int n = 500;
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, 3);
+        double[] claves = new double[n];
+        for (int v = 0; v < n; v++) {
+            claves[v] = rnd.nextDouble() * 100;
+            heap.insertOrDecrease(v, claves[v]);
+        }
+        for (int v = 0; v < n; v += 7) {
+            claves[v] /= 2;
+            heap.insertOrDecrease(v, claves[v]);
+        }
+
+        double anterior = -1;
+        while (!heap.isEmpty()) {
+            double k = claves[heap.pollMin()];
+            assertTrue(k >= anterior);
+            anterior = k;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.progra3_tpo.service.dikstraService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixHeapTest {
+
+    @Test
+    void sacaEnOrdenAunqueSeInsertenClavesDuranteLaExtraccion() {
+        RadixHeap cola = new RadixHeap();
+        cola.push(0, 7);
+        cola.push(1, 3);
+        cola.push(2, 3);
+
+        assertEquals(3, sacar(cola));
+        cola.push(3, 4);  // mayor o igual que el último mínimo: válido
+        assertEquals(3, sacar(cola));
+        assertEquals(4, sacar(cola));
+        assertEquals(7, sacar(cola));
+        assertTrue(cola.isEmpty());
+        assertEquals(-1, cola.pollMin());
+        assertThrows(IllegalArgumentException.class, () -> cola.push(4, 6));
+    }
+
+    @Test
+    void coincideConUnOrdenamientoParaClavesAlAzar() {
+        Random rnd = new Random(42);
+        RadixHeap cola = new RadixHeap();
+        long[] claves = new long[2000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = rnd.nextInt(1_000_000_000) * 1000L;
+            cola.push(i, claves[i]);
+        }
+        Arrays.sort(claves);
+        for (long esperada : claves) assertEquals(esperada, sacar(cola));
+
+        cola.clear(); // vuelve a aceptar claves chicas
+        cola.push(0, 1);
+        assertEquals(1, sacar(cola));
+    }
+
+    private static long sacar(RadixHeap cola) {
+        cola.pollMin();
+        return cola.lastKey();
+    }
+}
@@ -0,0 +1,237 @@
+package com.progra3_tpo.service.divideyconquista;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import com.progra3_tpo.service.dfsService.DfsService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import com.progra3_tpo.service.grafoService.GraphSnapshotPublishedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.entre1y;
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+import static com.progra3_tpo.service.GraphFixtures.ubicacionesAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DivideyConquistaServiceTest {
+
+    private final DivideyConquistaService dyc = new DivideyConquistaService(null);
+    private final DfsService dfs = new DfsService(null);
+
+    @Test
+    void daElMismoOptimoQueLaBusquedaExhaustiva() {
+        for (int semilla = 0; semilla < 25; semilla++) {
+            // pesos enteros: las sumas son exactas y el óptimo (costo, distancia) coincide sin margen
+            GraphSnapshot g = grafoAlAzar(10, 30, new Random(semilla), 4, 5);
+            Random rnd = new Random(semilla + 9);
+            for (int q = 0; q < 12; q++) {
+                String from = "N" + rnd.nextInt(10);
+                String to = "N" + rnd.nextInt(10);
+                PathResponse esperado = dfs.computeDfsPure(g, from, to);
+                PathResponse r = dyc.compute(g, from, to);
+                assertMismoOptimo(g, from, to, esperado, r);
+            }
+        }
+    }
+
+    @Test
+    void conVariasCeldasCombinaLasTablasSinPerderElOptimo() {
+        for (int semilla = 0; semilla < 8; semilla++) {
+            // grilla con rutas de ida y vuelta: se parte en muchas celdas con separadores chicos
+            GraphSnapshot g = grilla(14, 14, new Random(semilla));
+            SeparatorDecomposition d = dyc.indiceDe(g);
+            assertNotNull(d);
+            assertTrue(d.cellCount() > 5, "celdas: " + d.cellCount());
+            assertEquals(0, d.boundaryOf(0).length); // la raíz es todo el grafo
+
+            Random rnd = new Random(semilla + 3);
+            for (int q = 0; q < 25; q++) {
+                String from = "N" + rnd.nextInt(g.nodeCount());
+                String to = "N" + rnd.nextInt(g.nodeCount());
+                PathResponse esperado = porDijkstraLexicografico(g, g.indexOf(from), g.indexOf(to));
+                PathResponse r = dyc.compute(g, from, to);
+                assertMismoOptimo(g, from, to, esperado, r);
+                assertTrue(r.getProvenOptimal());
+                assertTrue(r.getSettledNodes() > 0);
+            }
+        }
+    }
+
+    @Test
+    void grafosDirigidosYDesconectados() {
+        for (int semilla = 0; semilla < 10; semilla++) {
+            // grafo ralo al azar: rutas de un solo sentido y nodos sin camino entre sí
+            GraphSnapshot g = grafoAlAzar(120, 260, new Random(50 + semilla), 4, 5);
+            Random rnd = new Random(semilla);
+            for (int q = 0; q < 30; q++) {
+                int s = rnd.nextInt(g.nodeCount());
+                int t = rnd.nextInt(g.nodeCount());
+                PathResponse esperado = porDijkstraLexicografico(g, s, t);
+                assertMismoOptimo(g, "N" + s, "N" + t, esperado, dyc.compute(g, "N" + s, "N" + t));
+            }
+        }
+    }
+
+    @Test
+    void conPesosNegativosUsaLaBusquedaExhaustiva() {
+        List<LocationDto> nodos = ubicaciones(3);
+        nodos.get(0).getRutas().add(new RouteDto("R0", 1.0, 5.0, "URBANO", nodos.get(1)));
+        nodos.get(1).getRutas().add(new RouteDto("R1", 1.0, -3.0, "URBANO", nodos.get(2)));
+        nodos.get(0).getRutas().add(new RouteDto("R2", 1.0, 3.0, "URBANO", nodos.get(2)));
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, nodos);
+
+        assertNull(dyc.indiceDe(g));
+        PathResponse r = dyc.compute(g, "N0", "N2", SearchBudget.unlimited());
+        assertEquals(List.of("R0", "R1"), r.getAristasARecorrer());
+        assertEquals(2.0, r.getTotalCost());
+    }
+
+    @Test
+    void armaFueraDelHiloDeLaConsultaUnaVezPorVersionYDescartaLasFotosViejas() {
+        List<Runnable> cola = new ArrayList<>();
+        DivideyConquistaService aMano = new DivideyConquistaService(null, cola::add);
+        GraphSnapshot v1 = foto(1, 3);
+        GraphSnapshot v2 = foto(2, 4);
+        GraphSnapshot v3 = foto(3, 5);
+
+        // Sin consultas no se arma nada
+        aMano.onSnapshotPublished(new GraphSnapshotPublishedEvent(v1, -1));
+        assertTrue(cola.isEmpty());
+
+        // La consulta no arma en su hilo: espera un rato corto y busca por su cuenta con su presupuesto,
+        // sin gastarse todo el tiempo límite esperando
+        for (int q = 1; q < 4; q++) {
+            String to = "N" + q;
+            long inicio = System.nanoTime();
+            PathResponse r = aMano.compute(v1, "N0", to, SearchBudget.of(0, 10_000));
+            assertTrue(System.nanoTime() - inicio < 2_000_000_000L);
+            assertMismoOptimo(v1, "N0", to, dfs.computeDfsPure(v1, "N0", to), r);
+            assertTrue(r.getProvenOptimal());
+        }
+        assertEquals(1, cola.size()); // un solo armado para la versión
+
+        // Ya usado: cada foto publicada encola su armado; al correrlos sólo se arma la última
+        aMano.onSnapshotPublished(new GraphSnapshotPublishedEvent(v2, -1));
+        aMano.onSnapshotPublished(new GraphSnapshotPublishedEvent(v3, -1));
+        assertEquals(3, cola.size());
+        cola.forEach(Runnable::run);
+        assertNotNull(aMano.indiceDe(v3));
+        assertNull(aMano.indiceDe(v2));
+
+        // La última foto usa las tablas; una vieja cae a la búsqueda exhaustiva. Las dos dan el óptimo
+        for (int q = 0; q < 10; q++) {
+            String to = "N" + q;
+            for (GraphSnapshot g : List.of(v3, v1)) {
+                PathResponse r = aMano.compute(g, "N0", to, SearchBudget.unlimited());
+                assertMismoOptimo(g, "N0", to, dfs.computeDfsPure(g, "N0", to), r);
+                assertTrue(r.getProvenOptimal());
+            }
+        }
+        assertEquals(3, cola.size()); // nada más encolado
+    }
+
+    @Test
+    void nodoInexistenteDevuelveMensaje() {
+        PathResponse r = dyc.compute(grafoAlAzar(4, 6, new Random(1), 4, 5), "Z", "N1");
+        assertTrue(r.getNodosARecorrer().isEmpty());
+        assertEquals("Inicio o destino no encontrado", r.getMessage());
+    }
+
+    // Mismo óptimo (costo y, a igual costo, distancia) y un recorrido válido que suma esos totales
+    private static void assertMismoOptimo(GraphSnapshot g, String from, String to, PathResponse esperado, PathResponse r) {
+        if (esperado.getAristasARecorrer().isEmpty() && !from.equals(to)) {
+            assertTrue(r.getAristasARecorrer().isEmpty(), from + " -> " + to);
+            assertEquals("No hay camino posible entre los nodos.", r.getMessage());
+            return;
+        }
+        assertEquals(esperado.getTotalCost(), r.getTotalCost(), 1e-9, from + " -> " + to);
+        assertEquals(esperado.getTotalDistance(), r.getTotalDistance(), 1e-9, from + " -> " + to);
+
+        List<String> nodos = r.getNodosARecorrer();
+        List<String> rutas = r.getAristasARecorrer();
+        assertEquals(from, nodos.get(0));
+        assertEquals(to, nodos.get(nodos.size() - 1));
+        assertEquals(nodos.size() - 1, rutas.size());
+        double costo = 0, distancia = 0;
+        for (int i = 0; i < rutas.size(); i++) {
+            int u = g.indexOf(nodos.get(i));
+            int e = aristaPorNombre(g, u, rutas.get(i));
+            assertTrue(e >= 0, "ruta " + rutas.get(i) + " no sale de " + nodos.get(i));
+            assertEquals(nodos.get(i + 1), g.nameOf(g.getTargets()[e]));
+            costo += g.getCosts()[e];
+            distancia += g.getDistances()[e];
+        }
+        assertEquals(r.getTotalCost(), costo, 1e-9);
+        assertEquals(r.getTotalDistance(), distancia, 1e-9);
+    }
+
+    private static int aristaPorNombre(GraphSnapshot g, int u, String nombre) {
+        for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+            if (g.routeName(e).equals(nombre)) return e;
+        }
+        return -1;
+    }
+
+    // Referencia: Dijkstra lexicográfico (costo, distancia) con una cola lineal sobre todo el grafo
+    private static PathResponse porDijkstraLexicografico(GraphSnapshot g, int s, int t) {
+        int n = g.nodeCount();
+        double[] costo = new double[n];
+        double[] distancia = new double[n];
+        boolean[] listo = new boolean[n];
+        Arrays.fill(costo, Double.POSITIVE_INFINITY);
+        Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+        costo[s] = 0;
+        distancia[s] = 0;
+        while (true) {
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (listo[v] || costo[v] == Double.POSITIVE_INFINITY) continue;
+                if (u < 0 || costo[v] < costo[u] || (costo[v] == costo[u] && distancia[v] < distancia[u])) u = v;
+            }
+            if (u < 0) break;
+            listo[u] = true;
+            for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+                int v = g.getTargets()[e];
+                double c = costo[u] + g.getCosts()[e];
+                double d = distancia[u] + g.getDistances()[e];
+                if (c < costo[v] || (c == costo[v] && d < distancia[v])) {
+                    costo[v] = c;
+                    distancia[v] = d;
+                }
+            }
+        }
+        if (costo[t] == Double.POSITIVE_INFINITY) return new PathResponse("", List.of(), List.of(), 0.0, 0.0);
+        return new PathResponse("", List.of(g.nameOf(s), g.nameOf(t)), List.of("?"), distancia[t], costo[t]);
+    }
+
+    // Grafo al azar de 10 nodos con la versión pedida
+    private static GraphSnapshot foto(long version, int semilla) {
+        return GraphSnapshot.fromLocations(version, ubicacionesAlAzar(10, 30, new Random(semilla), entre1y(4), entre1y(5)));
+    }
+
+    private static GraphSnapshot grilla(int filas, int columnas, Random rnd) {
+        List<LocationDto> nodos = ubicaciones(filas * columnas);
+        int r = 0;
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                int v = f * columnas + c;
+                if (c + 1 < columnas) {
+                    nodos.get(v).getRutas().add(new RouteDto("R" + r++, 1 + rnd.nextInt(4), 1 + rnd.nextInt(5), "URBANO", nodos.get(v + 1)));
+                    nodos.get(v + 1).getRutas().add(new RouteDto("R" + r++, 1 + rnd.nextInt(4), 1 + rnd.nextInt(5), "URBANO", nodos.get(v)));
+                }
+                if (f + 1 < filas) {
+                    nodos.get(v).getRutas().add(new RouteDto("R" + r++, 1 + rnd.nextInt(4), 1 + rnd.nextInt(5), "URBANO", nodos.get(v + columnas)));
+                    nodos.get(v + columnas).getRutas().add(new RouteDto("R" + r++, 1 + rnd.nextInt(4), 1 + rnd.nextInt(5), "URBANO", nodos.get(v)));
+                }
+            }
+        }
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+}
@@ -0,0 +1,87 @@
+package com.progra3_tpo.service.grafoService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphSnapshotTest {
+
+    @Test
+    void armaLosArraysCsrEnOrdenDeNodos() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "dir A");
+        LocationDto b = new LocationDto("B", "CLIENTE", "dir B");
+        LocationDto c = new LocationDto("C", "CLIENTE", "dir C");
+        a.setRutas(List.of(
+                new RouteDto("A-B", 1.0, 10.0, "URBANO", b),
+                new RouteDto("A-C", 4.0, 2.0, "RURAL", c)));
+        b.setRutas(List.of(new RouteDto("B-C", 2.0, 3.0, "URBANO", c)));
+
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, List.of(a, b, c));
+
+        assertEquals(3, g.nodeCount());
+        assertEquals(3, g.edgeCount());
+        assertArrayEquals(new int[]{0, 2, 3, 3}, g.getOffsets());
+        assertArrayEquals(new int[]{1, 2, 2}, g.getTargets());
+        assertArrayEquals(new double[]{1.0, 4.0, 2.0}, g.getDistances());
+        assertArrayEquals(new double[]{10.0, 2.0, 3.0}, g.getCosts());
+        assertEquals("A-C", g.routeName(1));
+        // vista inversa: a C llegan A-C (arista 1) y B-C (arista 2)
+        assertArrayEquals(new int[]{0, 0, 1, 3}, g.getReverseOffsets());
+        assertArrayEquals(new int[]{0, 0, 1}, g.getReverseSources());
+        assertArrayEquals(new int[]{0, 1, 2}, g.getReverseEdges());
+        assertEquals(2, g.indexOf("C"));
+        assertEquals(-1, g.indexOf("Z"));
+    }
+
+    @Test
+    void descartaRutasSinDestinoConocido() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "dir A");
+        LocationDto fuera = new LocationDto("Fuera", "CLIENTE", "no cargado");
+        List<RouteDto> rutas = new ArrayList<>();
+        rutas.add(null);
+        rutas.add(new RouteDto("A-?", 1.0, 1.0, "RURAL", null));
+        rutas.add(new RouteDto("A-Fuera", 1.0, 1.0, "RURAL", fuera));
+        a.setRutas(rutas);
+
+        GraphSnapshot g = GraphSnapshot.fromLocations(1, List.of(a));
+
+        assertEquals(1, g.nodeCount());
+        assertFalse(g.hasEdges());
+        assertArrayEquals(new int[]{0, 0}, g.getOffsets());
+    }
+
+    @Test
+    void withLocationPublicaUnaVersionNuevaSinTocarLaAnterior() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "dir A");
+        LocationDto b = new LocationDto("B", "CLIENTE", "dir B");
+        a.setRutas(List.of(new RouteDto("A-B", 1.0, 10.0, "URBANO", b)));
+        b.setRutas(List.of(new RouteDto("B-A", 3.0, 30.0, "URBANO", a)));
+        GraphSnapshot v1 = GraphSnapshot.fromLocations(1, List.of(a, b));
+
+        LocationDto c = new LocationDto("C", "CLIENTE", "dir C");
+        GraphSnapshot v2 = v1.withLocation(2, c, List.of(
+                new GraphSnapshot.IncomingRoute("A", new RouteDto("A-C", 2.0, 5.0, "RURAL", c)),
+                new GraphSnapshot.IncomingRoute("Inexistente", new RouteDto("X-C", 9.0, 9.0, "RURAL", c))));
+
+        // la versión anterior queda intacta
+        assertEquals(1, v1.getVersion());
+        assertEquals(2, v1.nodeCount());
+        assertEquals(-1, v1.indexOf("C"));
+
+        assertEquals(2, v2.getVersion());
+        assertEquals(3, v2.nodeCount());
+        assertEquals(2, v2.indexOf("C"));
+        assertArrayEquals(new int[]{0, 2, 3, 3}, v2.getOffsets());
+        assertArrayEquals(new int[]{1, 2, 0}, v2.getTargets());
+        assertEquals("A-C", v2.routeName(1));
+        assertEquals(5.0, v2.getCosts()[1]);
+        // los arrays de v1 no se tocaron
+        assertArrayEquals(new int[]{0, 1, 2}, v1.getOffsets());
+        assertArrayEquals(new int[]{1, 0}, v1.getTargets());
+    }
+}
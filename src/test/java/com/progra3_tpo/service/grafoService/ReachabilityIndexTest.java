@@ -0,0 +1,101 @@
+package com.progra3_tpo.service.grafoService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static com.progra3_tpo.service.GraphFixtures.ubicaciones;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+
+    @Test
+    void coincideConBfsEnTodosLosParesDeGrafosAlAzar() {
+        // De muy ralos (muchas componentes, casi un DAG) a densos (una componente gigante)
+        int[][] tamanios = {{40, 30}, {40, 60}, {60, 90}, {80, 400}, {150, 200}};
+        for (int semilla = 0; semilla < 20; semilla++) {
+            for (int[] t : tamanios) {
+                GraphSnapshot g = grafoAlAzar(t[0], t[1], new Random(semilla * 100L + t[1]), r -> 1.0, r -> 1.0);
+                ReachabilityIndex idx = ReachabilityIndex.build(g);
+                for (int s = 0; s < g.nodeCount(); s++) {
+                    boolean[] alcanzables = bfs(g, s);
+                    for (int d = 0; d < g.nodeCount(); d++)
+                        assertEquals(alcanzables[d], idx.reaches(s, d),
+                                "semilla " + semilla + ", n=" + t[0] + ": " + s + " -> " + d);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unCicloEsUnaSolaComponenteYUnaCadenaNo() {
+        // 0 -> 1 -> 2 -> 0 (ciclo) y 2 -> 3 -> 4 (cadena)
+        GraphSnapshot g = grafo(5, new int[][]{{0, 1}, {1, 2}, {2, 0}, {2, 3}, {3, 4}});
+        ReachabilityIndex idx = g.reachability();
+
+        assertEquals(3, idx.componentCount());
+        assertEquals(idx.componentOf(0), idx.componentOf(2));
+        assertNotEquals(idx.componentOf(3), idx.componentOf(4));
+        assertTrue(idx.reaches(1, 4));
+        assertTrue(idx.reaches(2, 1));
+        assertFalse(idx.reaches(4, 0));
+        assertFalse(idx.reaches(3, 2));
+        assertSame(idx, g.reachability());
+    }
+
+    @Test
+    void soportaCadenasLargasSinDesbordarLaPila() {
+        int n = 200_000;
+        int[][] aristas = new int[n - 1][];
+        for (int i = 0; i < n - 1; i++) aristas[i] = new int[]{i, i + 1};
+        ReachabilityIndex idx = ReachabilityIndex.build(grafo(n, aristas));
+
+        assertEquals(n, idx.componentCount());
+        assertTrue(idx.reaches(0, n - 1));
+        assertFalse(idx.reaches(n - 1, 0));
+    }
+
+    @Test
+    void laVersionNuevaConUnNodoAgregadoTieneSuPropioIndice() {
+        GraphSnapshot g = grafo(2, new int[][]{{0, 1}});
+        assertTrue(g.reachability().reaches(0, 1));
+
+        LocationDto nuevo = new LocationDto("N2", "CLIENTE", "");
+        GraphSnapshot g2 = g.withLocation(2, nuevo,
+                List.of(new GraphSnapshot.IncomingRoute("N1", new RouteDto("R-nueva", 1.0, 1.0, "URBANO", nuevo))));
+
+        assertTrue(g2.reachability().reaches(0, 2));
+        assertFalse(g2.reachability().reaches(2, 0));
+        assertNotSame(g.reachability(), g2.reachability());
+    }
+
+    private static boolean[] bfs(GraphSnapshot g, int s) {
+        boolean[] visto = new boolean[g.nodeCount()];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        cola.add(s);
+        visto[s] = true;
+        while (!cola.isEmpty()) {
+            int u = cola.poll();
+            for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+                int v = g.getTargets()[e];
+                if (!visto[v]) {
+                    visto[v] = true;
+                    cola.add(v);
+                }
+            }
+        }
+        return visto;
+    }
+
+    private static GraphSnapshot grafo(int n, int[][] aristas) {
+        List<LocationDto> nodos = ubicaciones(n);
+        for (int[] a : aristas)
+            nodos.get(a[0]).getRutas().add(new RouteDto("R" + a[0] + "-" + a[1], 1.0, 1.0, "URBANO", nodos.get(a[1])));
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.progra3_tpo.service.kruscalService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KruscalServiceTest {
+
+    private final KruscalService kruscal = new KruscalService(null);
+
+    @Test
+    void caminoDentroDelArbolDeExpansionMinima() {
+        // A-B (1), B-C (1), A-C (5): el MST deja afuera A-C y el camino A→C pasa por B
+        GraphSnapshot g = grafo(new String[][]{{"A", "B", "1"}, {"B", "C", "1"}, {"A", "C", "5"}});
+        PathResponse r = kruscal.computeOptimalPath(g, "A", "C", "distance", 0.5);
+
+        assertEquals(List.of("A", "B", "C"), r.getNodosARecorrer());
+        assertEquals(List.of("A-B", "B-C"), r.getAristasARecorrer());
+        assertEquals(2.0, r.getTotalDistance(), 1e-9);
+    }
+
+    @Test
+    void recorreAristasDelArbolEnSentidoContrario() {
+        // El árbol es A-B, C-B: de A a C se baja por B usando C-B al revés
+        GraphSnapshot g = grafo(new String[][]{{"A", "B", "1"}, {"C", "B", "2"}});
+        PathResponse r = kruscal.computeOptimalPath(g, "A", "C", "distance", 0.5);
+
+        assertEquals(List.of("A", "B", "C"), r.getNodosARecorrer());
+        assertEquals(List.of("A-B", "C-B"), r.getAristasARecorrer());
+        assertEquals(3.0, r.getTotalDistance(), 1e-9);
+    }
+
+    @Test
+    void sinCaminoEnElArbolDevuelveMensaje() {
+        GraphSnapshot g = grafo(new String[][]{{"A", "B", "1"}, {"C", "D", "1"}});
+        PathResponse r = kruscal.computeOptimalPath(g, "A", "D", "distance", 0.5);
+        assertTrue(r.getNodosARecorrer().isEmpty());
+        assertEquals("No se encontró un camino entre A y D", r.getMessage());
+    }
+
+    // Aristas {origen, destino, distancia}; el costo es el doble de la distancia y el nombre "origen-destino"
+    static GraphSnapshot grafo(String[][] aristas) {
+        List<LocationDto> nodos = new ArrayList<>();
+        for (String[] a : aristas)
+            for (int i = 0; i < 2; i++) {
+                String nombre = a[i];
+                if (nodos.stream().noneMatch(l -> l.getNombre().equals(nombre))) {
+                    LocationDto l = new LocationDto(nombre, "CLIENTE", "");
+                    l.setRutas(new ArrayList<>());
+                    nodos.add(l);
+                }
+            }
+        for (String[] a : aristas) {
+            LocationDto u = nodos.stream().filter(l -> l.getNombre().equals(a[0])).findFirst().orElseThrow();
+            LocationDto v = nodos.stream().filter(l -> l.getNombre().equals(a[1])).findFirst().orElseThrow();
+            double d = Double.parseDouble(a[2]);
+            u.getRutas().add(new RouteDto(a[0] + "-" + a[1], d, 2 * d, "URBANO", v));
+        }
+        return GraphSnapshot.fromLocations(1, nodos);
+    }
+}
@@ -0,0 +1,89 @@
+package com.progra3_tpo.service.matrixService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DeltaStepping;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.dikstraService.MetricWeight;
+import com.progra3_tpo.service.dikstraService.ShortestPathTreeCache;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixServiceTest {
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private final MatrixService matrix = new MatrixService(null, dijkstra, 3);
+
+    @Test
+    void cadaCeldaCoincideConElDijkstraPuntoAPunto() {
+        GraphSnapshot g = grafoAlAzar(150, 450, new Random(12));
+        List<String> origenes = List.of("N0", "N7", "N33", "N90", "N149");
+        List<String> destinos = List.of("N1", "N7", "N50", "N51", "N120", "N0");
+
+        for (String m : new String[]{"distance", "cost", "weighted"}) {
+            MatrixResponse r = matrix.compute(g, new MatrixRequest(origenes, destinos, m, 0.3));
+            assertEquals("Matriz calculada exitosamente.", r.getMessage());
+            for (int i = 0; i < origenes.size(); i++) {
+                for (int j = 0; j < destinos.size(); j++) {
+                    PathResponse base = dijkstra.compute(g, g.indexOf(origenes.get(i)), g.indexOf(destinos.get(j)),
+                            m, 0.3, DijkstraQueue.DEFAULT);
+                    if (base.getNodosARecorrer().isEmpty()) {
+                        assertNull(r.getDistances()[i][j]);
+                        assertNull(r.getCosts()[i][j]);
+                        continue;
+                    }
+                    assertEquals(peso(base.getTotalDistance(), base.getTotalCost(), m),
+                            peso(r.getDistances()[i][j], r.getCosts()[i][j], m), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void enGrafosGrandesCadaFilaEsElArbolDeDeltaStepping() {
+        // Delta-stepping desde 100 nodos con 2 hilos, sin caché de árboles
+        DijkstraService conDelta = new DijkstraService(new ShortestPathTreeCache(0), new DeltaStepping(2, 100));
+        MatrixService enParalelo = new MatrixService(null, conDelta, 3);
+        GraphSnapshot g = grafoAlAzar(150, 450, new Random(12));
+        assertTrue(conDelta.usesDeltaStepping(g));
+        assertFalse(conDelta.usesDeltaStepping(grafoAlAzar(50, 150, new Random(12))));
+
+        List<String> origenes = List.of("N0", "N7", "N33");
+        List<String> destinos = List.of("N1", "N50", "N0");
+        MatrixResponse r = enParalelo.compute(g, new MatrixRequest(origenes, destinos, "cost", null));
+        MatrixResponse base = matrix.compute(g, new MatrixRequest(origenes, destinos, "cost", null));
+        for (int i = 0; i < origenes.size(); i++)
+            for (int j = 0; j < destinos.size(); j++) assertEquals(base.getCosts()[i][j], r.getCosts()[i][j]);
+
+        // El árbol completo asienta todo lo alcanzable desde cada origen (uno-a-muchos corta antes)
+        long alcanzables = 0;
+        for (String o : origenes) {
+            for (double d : dijkstra.distancesFrom(g, g.indexOf(o), MetricWeight.of("cost", 0.5), false))
+                if (!Double.isInfinite(d)) alcanzables++;
+        }
+        assertEquals(alcanzables, r.getSettledNodes().longValue());
+        assertTrue(base.getSettledNodes() < alcanzables);
+    }
+
+    @Test
+    void rechazaNombresDesconocidos() {
+        GraphSnapshot g = grafoAlAzar(10, 20, new Random(1));
+        MatrixResponse r = matrix.compute(g, new MatrixRequest(List.of("N0"), List.of("X"), "distance", null));
+        assertEquals(0, r.getDistances().length);
+        assertTrue(r.getMessage().startsWith("Datos ingresados inválidos"));
+    }
+
+    private static double peso(double distancia, double costo, String metrica) {
+        return switch (metrica) {
+            case "cost" -> costo;
+            case "weighted" -> 0.3 * distancia + 0.7 * costo;
+            default -> distancia;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.progra3_tpo.service.paretoService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraQueue;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParetoServiceTest {
+
+    private final ParetoService pareto = new ParetoService(null, 64);
+
+    @Test
+    void elFrenteCoincideConLosNoDominadosDeTodosLosCaminosSimples() {
+        for (int semilla = 0; semilla < 20; semilla++) {
+            GraphSnapshot g = grafoAlAzar(9, 28, new Random(semilla));
+            List<double[]> todos = new ArrayList<>();
+            enumerar(g, 0, 8, new boolean[9], 0, 0, todos);
+            List<double[]> esperado = noDominados(todos);
+
+            List<PathResponse> frente = pareto.computeParetoFront(g, "N0", "N8", null);
+            if (esperado.isEmpty()) {
+                assertEquals(1, frente.size());
+                assertEquals("No existe un camino entre los nodos.", frente.get(0).getMessage());
+                continue;
+            }
+            assertEquals(esperado.size(), frente.size(), "semilla " + semilla);
+            for (int i = 0; i < esperado.size(); i++) {
+                assertEquals(esperado.get(i)[0], frente.get(i).getTotalDistance(), 1e-9);
+                assertEquals(esperado.get(i)[1], frente.get(i).getTotalCost(), 1e-9);
+                assertEquals("N0", frente.get(i).getNodosARecorrer().get(0));
+                assertEquals(frente.get(i).getNodosARecorrer().size() - 1, frente.get(i).getAristasARecorrer().size());
+            }
+        }
+    }
+
+    @Test
+    void cadaOptimoPonderadoDeDijkstraEstaEnElFrente() {
+        GraphSnapshot g = grafoAlAzar(200, 900, new Random(3));
+        DijkstraService dijkstra = new DijkstraService();
+        List<PathResponse> frente = pareto.computeParetoFront(g, "N1", "N77", null);
+
+        for (double alpha = 0; alpha <= 1.0; alpha += 0.1) {
+            PathResponse r = dijkstra.compute(g, 1, 77, "weighted", alpha, DijkstraQueue.DEFAULT);
+            double optimo = alpha * r.getTotalDistance() + (1 - alpha) * r.getTotalCost();
+            double mejorDelFrente = Double.POSITIVE_INFINITY;
+            for (PathResponse p : frente)
+                mejorDelFrente = Math.min(mejorDelFrente, alpha * p.getTotalDistance() + (1 - alpha) * p.getTotalCost());
+            assertEquals(optimo, mejorDelFrente, 1e-9);
+        }
+    }
+
+    private static void enumerar(GraphSnapshot g, int u, int t, boolean[] visto, double d, double c, List<double[]> salida) {
+        if (u == t) {
+            salida.add(new double[]{d, c});
+            return;
+        }
+        visto[u] = true;
+        for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+            int v = g.getTargets()[e];
+            if (!visto[v]) enumerar(g, v, t, visto, d + g.getDistances()[e], c + g.getCosts()[e], salida);
+        }
+        visto[u] = false;
+    }
+
+    // No dominados sin repetidos, ordenados por costo creciente
+    private static List<double[]> noDominados(List<double[]> puntos) {
+        List<double[]> frente = new ArrayList<>();
+        for (double[] p : puntos) {
+            boolean dominado = false;
+            for (double[] q : puntos) {
+                if (q != p && q[0] <= p[0] && q[1] <= p[1] && (q[0] < p[0] || q[1] < p[1])) dominado = true;
+            }
+            boolean repetido = frente.stream().anyMatch(f -> f[0] == p[0] && f[1] == p[1]);
+            if (!dominado && !repetido) frente.add(p);
+        }
+        frente.sort(Comparator.comparingDouble(p -> p[1]));
+        return frente;
+    }
+}
@@ -0,0 +1,54 @@
+package com.progra3_tpo.service.primService;
+
+import com.progra3_tpo.model.LocationDto;
+import com.progra3_tpo.model.RouteDto;
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimServiceTest {
+
+    private final PrimService prim = new PrimService(null);
+
+    @Test
+    void tomaSiempreLaAristaMasBarataDelCorte() {
+        // Desde A: A-B (1) entra primero, después B-C (1) le gana a A-C (3)
+        GraphSnapshot g = grafo();
+        PathResponse r = prim.computeOptimalPath(g, "A", "C", "distance", 0.5);
+
+        assertEquals(List.of("A", "B", "C"), r.getNodosARecorrer());
+        assertEquals(List.of("A-B", "B-C"), r.getAristasARecorrer());
+        assertEquals(2.0, r.getTotalDistance(), 1e-9);
+        assertEquals(20.0, r.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void conCostoEligeOtroArbol() {
+        PathResponse r = prim.computeOptimalPath(grafo(), "A", "C", "cost", 0.5);
+        assertEquals(List.of("A", "C"), r.getNodosARecorrer());
+    }
+
+    @Test
+    void destinoInalcanzableDevuelveMensaje() {
+        PathResponse r = prim.computeOptimalPath(grafo(), "C", "A", "distance", 0.5);
+        assertTrue(r.getNodosARecorrer().isEmpty());
+        assertEquals("No se encontró un camino entre C y A", r.getMessage());
+    }
+
+    private static GraphSnapshot grafo() {
+        LocationDto a = new LocationDto("A", "DEPOSITO", "");
+        LocationDto b = new LocationDto("B", "CLIENTE", "");
+        LocationDto c = new LocationDto("C", "CLIENTE", "");
+        a.setRutas(new ArrayList<>(List.of(
+                new RouteDto("A-B", 1.0, 10.0, "URBANO", b),
+                new RouteDto("A-C", 3.0, 1.0, "URBANO", c))));
+        b.setRutas(new ArrayList<>(List.of(new RouteDto("B-C", 1.0, 10.0, "URBANO", c))));
+        c.setRutas(new ArrayList<>());
+        return GraphSnapshot.fromLocations(1, List.of(a, b, c));
+    }
+}
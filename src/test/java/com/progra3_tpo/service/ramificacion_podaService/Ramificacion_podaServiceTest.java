@@ -0,0 +1,55 @@
+package com.progra3_tpo.service.ramificacion_podaService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GrafoService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Ramificacion_podaServiceTest {
+
+    private final Ramificacion_podaService ramificacion = new Ramificacion_podaService(null);
+    private final GrafoService grafo = new GrafoService(null, new DijkstraService(), null, null);
+
+    @Test
+    void encuentraElMismoOptimoQueDijkstraSobreLaFoto() {
+        String[] metricas = {"distance", "cost", "combined"};
+        for (int semilla = 0; semilla < 15; semilla++) {
+            GraphSnapshot g = grafoAlAzar(9, 26, new Random(semilla));
+            Random rnd = new Random(semilla + 50);
+            for (int q = 0; q < 10; q++) {
+                String from = "N" + rnd.nextInt(9);
+                String to = "N" + rnd.nextInt(9);
+                String metric = metricas[q % metricas.length];
+                PathResponse bb = ramificacion.computeOptimalPath(g, from, to, metric, 0.3);
+                PathResponse dj = grafo.computeWithDijkstra(g, from, to, "combined".equals(metric) ? "weighted" : metric, 0.3);
+                if (dj.getNodosARecorrer().isEmpty()) {
+                    assertTrue(bb.getNodosARecorrer().isEmpty(), from + " -> " + to);
+                    continue;
+                }
+                assertEquals(peso(dj, metric), peso(bb, metric), 1e-9, from + " -> " + to + " " + metric);
+            }
+        }
+    }
+
+    @Test
+    void origenDesconocidoDevuelveMensaje() {
+        GraphSnapshot g = grafoAlAzar(4, 6, new Random(1));
+        PathResponse r = ramificacion.computeOptimalPath(g, "Z", "N1", "distance", 0.5);
+        assertTrue(r.getNodosARecorrer().isEmpty());
+        assertEquals("Nodo de origen o destino no existe en el grafo", r.getMessage());
+    }
+
+    private static double peso(PathResponse r, String metric) {
+        return switch (metric) {
+            case "cost" -> r.getTotalCost();
+            case "combined" -> 0.3 * r.getTotalDistance() + 0.7 * r.getTotalCost();
+            default -> r.getTotalDistance();
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.progra3_tpo.service.resultCacheService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.SearchBudget;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteResultCacheTest {
+
+    @Test
+    void unaConsultaRepetidaSaleDeLaCacheYCambiaConLaVersion() {
+        RouteResultCache cache = new RouteResultCache(1024 * 1024, Long.MAX_VALUE, null);
+        AtomicInteger calculos = new AtomicInteger();
+
+        PathResponse a = cache.get(1, "backtracking", "A", "B", "distance", 0.5, () -> respuesta(calculos));
+        PathResponse b = cache.get(1, "backtracking", "A", "B", "distance", 0.5, () -> respuesta(calculos));
+        assertEquals(1, calculos.get());
+        assertEquals(a.getNodosARecorrer(), b.getNodosARecorrer());
+        assertNotSame(a, b); // devuelve copias
+
+        cache.get(1, "backtracking", "A", "B", "cost", 0.5, () -> respuesta(calculos)); // otra métrica
+        cache.get(2, "backtracking", "A", "B", "distance", 0.5, () -> respuesta(calculos)); // otra versión
+        assertEquals(3, calculos.get());
+
+        RouteResultCache.Stats s = cache.stats();
+        assertEquals(1, s.getHits());
+        assertEquals(3, s.getMisses());
+        assertEquals(0.25, s.getHitRatio(), 1e-12);
+        assertTrue(s.getBytes() > 0);
+
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().getEntries());
+        assertEquals(1, cache.stats().getInvalidations());
+        cache.get(1, "backtracking", "A", "B", "distance", 0.5, () -> respuesta(calculos));
+        assertEquals(4, calculos.get());
+    }
+
+    @Test
+    void desalojaPorMemoriaYVencePorTiempo() throws InterruptedException {
+        AtomicInteger calculos = new AtomicInteger();
+        RouteResultCache chica = new RouteResultCache(2000, Long.MAX_VALUE, null);
+        for (int i = 0; i < 20; i++) chica.get(1, "dfs", "A", "N" + i, "-", 0, () -> respuesta(calculos));
+        assertTrue(chica.stats().getBytes() <= 2000);
+        assertTrue(chica.stats().getEvictions() > 0);
+
+        RouteResultCache vence = new RouteResultCache(1024 * 1024, 1_000_000L, null); // 1 ms
+        vence.get(1, "dfs", "A", "B", "-", 0, () -> respuesta(calculos));
+        Thread.sleep(5);
+        int antes = calculos.get();
+        vence.get(1, "dfs", "A", "B", "-", 0, () -> respuesta(calculos));
+        assertEquals(antes + 1, calculos.get());
+        assertEquals(1, vence.stats().getExpirations());
+    }
+
+    @Test
+    void pedidosIgualesALaVezCalculanUnaSolaVez() throws Exception {
+        RouteResultCache cache = new RouteResultCache(1024 * 1024, Long.MAX_VALUE, null);
+        AtomicInteger calculos = new AtomicInteger();
+        CountDownLatch arranque = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] fs = new Future<?>[4];
+            for (int i = 0; i < fs.length; i++) {
+                fs[i] = hilos.submit(() -> cache.get(1, "divideyconquista", "A", "B", "-", 0, () -> {
+                    try {
+                        arranque.await();
+                        Thread.sleep(50); // los demás llegan mientras se calcula
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return respuesta(calculos);
+                }));
+            }
+            arranque.countDown();
+            for (Future<?> f : fs) f.get();
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    void unaExcepcionNoQuedaGuardada() {
+        RouteResultCache cache = new RouteResultCache(1024 * 1024, Long.MAX_VALUE, null);
+        assertThrows(IllegalStateException.class, () -> cache.get(1, "bfs", "A", "B", "-", 0, () -> {
+            throw new IllegalStateException("falla");
+        }));
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    @Test
+    void noGuardaRespuestasCortadasPorPresupuesto() {
+        RouteResultCache cache = new RouteResultCache(1024 * 1024, Long.MAX_VALUE, null);
+        AtomicInteger calculos = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            PathResponse r = cache.get(1, "backtracking", "A", "B", "cost", 0.5, () -> {
+                PathResponse p = respuesta(calculos);
+                p.setExploredNodes(1000L);
+                p.setProvenOptimal(false);
+                return p;
+            });
+            assertFalse(r.getProvenOptimal());
+            assertEquals(1000L, r.getExploredNodes().longValue());
+        }
+        assertEquals(2, calculos.get());
+        assertEquals(0, cache.stats().getEntries());
+
+        cache.get(1, "backtracking", "A", "B", "cost", 0.5, () -> {
+            PathResponse p = respuesta(calculos);
+            p.setProvenOptimal(true);
+            return p;
+        });
+        assertTrue(cache.get(1, "backtracking", "A", "B", "cost", 0.5, () -> respuesta(calculos)).getProvenOptimal());
+        assertEquals(3, calculos.get());
+    }
+
+    @Test
+    void pedidosIgualesConPresupuestosDistintosNoSeArrastranEntreSi() throws Exception {
+        RouteResultCache cache = new RouteResultCache(1024 * 1024, Long.MAX_VALUE, null);
+        AtomicInteger calculos = new AtomicInteger();
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            // Uno sin límite está calculando: el de 50 ms no lo espera más que su tiempo límite y calcula el suyo
+            CountDownLatch calculando = new CountDownLatch(1);
+            CountDownLatch libera = new CountDownLatch(1);
+            Future<PathResponse> sinLimite = hilos.submit(() -> cache.get(1, "dfs", "A", "B", "-", 0,
+                    SearchBudget.unlimited(), () -> {
+                        calculando.countDown();
+                        esperar(libera);
+                        return completa(calculos);
+                    }));
+            calculando.await();
+            long inicio = System.nanoTime();
+            PathResponse apurado = cache.get(1, "dfs", "A", "B", "-", 0, SearchBudget.of(0, 50),
+                    () -> cortada(calculos));
+            assertTrue(System.nanoTime() - inicio < 2_000_000_000L);
+            assertFalse(apurado.getProvenOptimal()); // la suya, no la del otro pedido
+            assertFalse(sinLimite.isDone());
+            libera.countDown();
+            assertTrue(sinLimite.get().getProvenOptimal());
+
+            // Uno con presupuesto chico queda cortado: el que espera sin límite no se queda con esa respuesta
+            CountDownLatch calculando2 = new CountDownLatch(1);
+            CountDownLatch libera2 = new CountDownLatch(1);
+            Future<PathResponse> chico = hilos.submit(() -> cache.get(1, "backtracking", "A", "C", "cost", 0.5,
+                    SearchBudget.of(100, 0), () -> {
+                        calculando2.countDown();
+                        esperar(libera2);
+                        return cortada(calculos);
+                    }));
+            calculando2.await();
+            Future<PathResponse> paciente = hilos.submit(() -> cache.get(1, "backtracking", "A", "C", "cost", 0.5,
+                    SearchBudget.unlimited(), () -> completa(calculos)));
+            Thread.sleep(50); // el segundo llega mientras el primero calcula
+            libera2.countDown();
+            assertFalse(chico.get().getProvenOptimal());
+            assertTrue(paciente.get().getProvenOptimal());
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertEquals(4, calculos.get());
+    }
+
+    private static PathResponse completa(AtomicInteger calculos) {
+        PathResponse p = respuesta(calculos);
+        p.setProvenOptimal(true);
+        return p;
+    }
+
+    private static PathResponse cortada(AtomicInteger calculos) {
+        PathResponse p = respuesta(calculos);
+        p.setProvenOptimal(false);
+        return p;
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PathResponse respuesta(AtomicInteger calculos) {
+        calculos.incrementAndGet();
+        return new PathResponse("Recorrido calculado exitosamente.", List.of("A", "X", "B"), List.of("R1", "R2"), 3.0, 4.0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.progra3_tpo.service.yenService;
+
+import com.progra3_tpo.service.PathResponse;
+import com.progra3_tpo.service.dikstraService.DijkstraService;
+import com.progra3_tpo.service.grafoService.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.progra3_tpo.service.GraphFixtures.grafoAlAzar;
+import static org.junit.jupiter.api.Assertions.*;
+
+class YenServiceTest {
+
+    private final YenService yen = new YenService(null, new DijkstraService(), 50);
+
+    @Test
+    void losKCaminosCoincidenConLosMejoresCaminosSimplesEnumerados() {
+        for (int semilla = 0; semilla < 25; semilla++) {
+            GraphSnapshot g = grafoAlAzar(9, 30, new Random(semilla));
+            for (String m : new String[]{"distance", "cost", "weighted"}) {
+                List<Double> todos = new ArrayList<>();
+                enumerar(g, 0, 8, new boolean[9], 0, m, todos);
+                Collections.sort(todos);
+
+                List<PathResponse> k = yen.computeKShortest(g, "N0", "N8", 10, m, 0.4);
+                if (todos.isEmpty()) {
+                    assertEquals("No existe un camino entre los nodos.", k.get(0).getMessage());
+                    continue;
+                }
+                assertEquals(Math.min(10, todos.size()), k.size(), "semilla " + semilla);
+                Set<List<String>> distintos = new HashSet<>();
+                for (int i = 0; i < k.size(); i++) {
+                    PathResponse r = k.get(i);
+                    assertEquals(todos.get(i), peso(r.getTotalDistance(), r.getTotalCost(), m), 1e-9);
+                    assertEquals(new HashSet<>(r.getNodosARecorrer()).size(), r.getNodosARecorrer().size()); // simple
+                    assertTrue(distintos.add(r.getAristasARecorrer()));
+                }
+            }
+        }
+    }
+
+    private static void enumerar(GraphSnapshot g, int u, int t, boolean[] visto, double w, String m, List<Double> salida) {
+        if (u == t) {
+            salida.add(w);
+            return;
+        }
+        visto[u] = true;
+        for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+            int v = g.getTargets()[e];
+            if (!visto[v]) enumerar(g, v, t, visto, w + peso(g.getDistances()[e], g.getCosts()[e], m), m, salida);
+        }
+        visto[u] = false;
+    }
+
+    private static double peso(double d, double c, String m) {
+        return switch (m) {
+            case "cost" -> c;
+            case "weighted" -> 0.4 * d + 0.6 * c;
+            default -> d;
+        };
+    }
+}